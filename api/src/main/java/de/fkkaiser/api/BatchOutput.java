@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+import de.fkkaiser.model.structure.Document;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Supplies the target of each PDF rendered by
+ * {@link RenderingContext#renderBatch(Iterable, BatchOutput) RenderingContext.renderBatch}.
+ *
+ * <p>{@link #open(long, Document)} is called once per document; the returned stream is
+ * closed by the batch after the PDF has been written. With parallel batches, the methods
+ * are called from several threads at the same time.</p>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * BatchOutput output = (index, document) ->
+ *     Files.newOutputStream(outDir.resolve("invoice-" + index + ".pdf"));
+ * }</pre>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ * @see RenderingContext
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+@FunctionalInterface
+public interface BatchOutput {
+
+    /**
+     * Opens the target for the PDF of one document of the batch.
+     *
+     * @param index    the zero-based position of the document in the batch
+     * @param document the document that is rendered next
+     * @return the stream the PDF is written to; closed by the batch
+     * @throws IOException if the target cannot be opened
+     */
+    OutputStream open(long index, Document document) throws IOException;
+
+    /**
+     * Called after rendering a document failed, e.g. to remove a partially written file.
+     * The stream returned by {@link #open(long, Document)} is already closed.
+     * Does nothing by default.
+     *
+     * @param index    the zero-based position of the document in the batch
+     * @param document the document that failed
+     * @throws IOException if cleaning up fails; the error is logged, the batch continues
+     */
+    default void discard(long index, Document document) throws IOException {
+    }
+
+    /**
+     * Creates an output writing one file per document to the given directory, named
+     * {@code <prefix>-<index>.pdf}. Files of failed documents are deleted.
+     *
+     * @param directory the existing target directory; must not be {@code null}
+     * @param prefix    the file name prefix; must not be {@code null}
+     * @return the output
+     */
+    static BatchOutput directory(Path directory, String prefix) {
+        Objects.requireNonNull(directory, "directory must not be null");
+        Objects.requireNonNull(prefix, "prefix must not be null");
+
+        return new BatchOutput() {
+            @Override
+            public OutputStream open(long index, Document document) throws IOException {
+                return new BufferedOutputStream(Files.newOutputStream(file(index)));
+            }
+
+            @Override
+            public void discard(long index, Document document) throws IOException {
+                Files.deleteIfExists(file(index));
+            }
+
+            private Path file(long index) {
+                return directory.resolve(prefix + "-" + index + ".pdf");
+            }
+        };
+    }
+}
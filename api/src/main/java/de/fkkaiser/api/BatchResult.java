@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+import de.fkkaiser.model.structure.Document;
+
+import java.util.List;
+
+/**
+ * Summary of a batch rendered by {@link RenderingContext}. A failing document does not
+ * abort the batch; it is recorded as a {@link Failure} and the next document is rendered.
+ *
+ * @param total     the number of documents in the batch
+ * @param succeeded the number of documents rendered successfully
+ * @param failures  the failed documents, ordered by their index
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public record BatchResult(long total, long succeeded, List<Failure> failures) {
+
+    /**
+     * Creates a batch result.
+     *
+     * @param total     the number of documents in the batch
+     * @param succeeded the number of documents rendered successfully
+     * @param failures  the failed documents
+     */
+    public BatchResult {
+        failures = List.copyOf(failures);
+    }
+
+    /**
+     * Returns whether at least one document of the batch failed.
+     *
+     * @return {@code true} if the batch has failures
+     */
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    /**
+     * A document of the batch that could not be rendered.
+     *
+     * @param index     the zero-based position of the document in the batch
+     * @param document  the document
+     * @param exception the reason of the failure
+     */
+    public record Failure(long index, Document document, PdfGenerationException exception) {
+    }
+}
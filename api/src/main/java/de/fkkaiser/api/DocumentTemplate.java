@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.generator.FoTemplate;
+import de.fkkaiser.generator.ImageStore;
+import de.fkkaiser.model.annotation.PublicAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A document compiled once by {@link PdfGenerationFacade#compileTemplate} and rendered
+ * many times with different {@link TemplateData}.
+ *
+ * <p>Styles are resolved and the XSL-FO is generated when the template is compiled. Rendering
+ * only substitutes the values into the XSL-FO and lays it out with FOP; the document model
+ * is not walked again. This suits documents that are mostly static, such as letters or
+ * invoices where names, amounts and table rows change per recipient.</p>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * // The document contains text runs like "Dear {{customer}}," and a table row
+ * // with the cells "{{items[].description}}" and "{{items[].price}}"
+ * DocumentTemplate template = facade.compileTemplate(invoiceLayout, styleSheet, fonts);
+ *
+ * for (Customer customer : customers) {
+ *     TemplateData.Builder data = TemplateData.builder().with("customer", customer.name());
+ *     customer.items().forEach(item -> data.addRow("items",
+ *             Map.of("description", item.description(), "price", item.price())));
+ *     template.generatePDF(data.build(), outputFor(customer));
+ * }
+ * }</pre>
+ *
+ * <p><b>Thread Safety:</b></p>
+ * This class is immutable and thread-safe.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.1
+ * @see TemplateData
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public final class DocumentTemplate {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentTemplate.class);
+
+    private final RenderingContext context;
+    private final FoTemplate template;
+    private final ImageStore imageStore;
+
+    /**
+     * Creates a new template. Instances are created by {@link PdfGenerationFacade#compileTemplate}.
+     *
+     * @param context    the prepared style sheet and fonts
+     * @param template   the compiled XSL-FO
+     * @param imageStore the store holding the images the XSL-FO refers to
+     */
+    DocumentTemplate(RenderingContext context, FoTemplate template, ImageStore imageStore) {
+        this.context = context;
+        this.template = template;
+        this.imageStore = imageStore;
+    }
+
+    /**
+     * Returns the names of the {@code {{name}}} slots of the template.
+     *
+     * @return the slot names in document order
+     */
+    public Set<String> slotNames() {
+        return template.slotNames();
+    }
+
+    /**
+     * Returns the repeatable regions of the template with the names of their fields.
+     *
+     * @return a map from collection name to field names
+     */
+    public Map<String, Set<String>> regionFields() {
+        return template.regionFields();
+    }
+
+    /**
+     * Fills the template and returns the PDF.
+     *
+     * @param data the values of the template; must not be {@code null}
+     * @return a ByteArrayOutputStream containing the generated PDF data
+     * @throws PdfGenerationException if a value is missing or rendering fails
+     */
+    public ByteArrayOutputStream generatePDF(TemplateData data) throws PdfGenerationException {
+        ByteArrayOutputStream pdfOutput = new ByteArrayOutputStream();
+        generatePDF(data, pdfOutput);
+        return pdfOutput;
+    }
+
+    /**
+     * Fills the template and writes the PDF to the given OutputStream.
+     * The OutputStream is flushed but not closed.
+     *
+     * @param data the values of the template; must not be {@code null}
+     * @param out  the target of the generated PDF; must not be {@code null}
+     * @throws PdfGenerationException if a value is missing or rendering fails
+     * @throws NullPointerException   if data or out is {@code null}
+     */
+    public void generatePDF(TemplateData data, OutputStream out) throws PdfGenerationException {
+        Objects.requireNonNull(data, "TemplateData must not be null");
+        Objects.requireNonNull(out, "OutputStream must not be null");
+        try {
+            context.facade().render(context, template, imageStore, data, out);
+        } catch (Exception e) {
+            log.error("Failed to generate PDF from document template", e);
+            throw new PdfGenerationException("PDF generation from template failed", e);
+        }
+    }
+}
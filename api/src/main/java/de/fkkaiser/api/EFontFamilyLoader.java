@@ -176,6 +176,7 @@ record EFontFamilyLoader(EResourceProvider resourceProvider, FontFamilyList font
 
         String weight = fontType.fontWeight();
         String style = fontType.fontStyle().toString().toLowerCase();
+        int elementStart = xmlBuilder.length();
 
         // Build font element
         xmlBuilder.append("<").append(XML_FONT)
@@ -202,9 +203,10 @@ record EFontFamilyLoader(EResourceProvider resourceProvider, FontFamilyList font
 
         log.debug("Registered font: family='{}', style='{}', weight='{}', path='{}'",
                 fontFamilyName, style, weight, fontFilePath);
-        log.debug("===== Font XML Element =====");
-        log.debug(xmlBuilder.toString());
-        log.debug("============================");
+        if (log.isTraceEnabled()) {
+            // Only the element appended for this font, not the whole configuration built so far
+            log.trace("Font XML element: {}", xmlBuilder.substring(elementStart));
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Configuration for capturing the generated XSL-FO of render jobs, e.g. to analyse layout
+ * problems or FOP errors in production.
+ *
+ * <p>Diagnostics are disabled by default. A disabled configuration adds no work to a
+ * render job: the XSL-FO is streamed to FOP without being serialized anywhere.</p>
+ *
+ * <p><b>Capture Modes:</b></p>
+ * <ul>
+ *   <li><b>Sampling:</b> a fraction of all render jobs (see {@link Builder#withSampleRate(double)})
+ *       records the XSL-FO while it is streamed to FOP.</li>
+ *   <li><b>On failure:</b> if a render job fails after XSL-FO generation has started,
+ *       the XSL-FO is generated again and captured (see {@link Builder#captureOnFailure(boolean)}).
+ *       Successful jobs do not pay for this mode. Documents with tables that stream their rows
+ *       from a {@link de.fkkaiser.model.structure.TableRowSource} cannot be generated again and
+ *       are only captured if the job was sampled.</li>
+ * </ul>
+ * Captured documents are handed to a {@link FoDumpSink}, e.g. {@link FoDumpSink#directory(java.nio.file.Path)}.
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * FoDiagnostics diagnostics = FoDiagnostics.builder()
+ *     .withSampleRate(0.01)
+ *     .captureOnFailure(true)
+ *     .withSink(FoDumpSink.directory(Path.of("/var/log/pdf/fo")))
+ *     .build();
+ *
+ * PdfGenerationFacade facade = PdfGenerationFacade.builder(provider)
+ *     .withDiagnostics(diagnostics)
+ *     .build();
+ * }</pre>
+ *
+ * <p><b>Thread Safety:</b></p>
+ * Instances are immutable and can be shared by several facades.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.1
+ * @see FoDump
+ * @see FoDumpSink
+ */
+@PublicAPI
+public final class FoDiagnostics {
+
+    private static final Logger log = LoggerFactory.getLogger(FoDiagnostics.class);
+
+    private static final FoDiagnostics DISABLED = new FoDiagnostics(0.0, false, null);
+
+    private final double sampleRate;
+    private final boolean captureOnFailure;
+    private final FoDumpSink sink;
+    private final AtomicLong jobSequence = new AtomicLong();
+
+    private FoDiagnostics(double sampleRate, boolean captureOnFailure, FoDumpSink sink) {
+        this.sampleRate = sampleRate;
+        this.captureOnFailure = captureOnFailure;
+        this.sink = sink;
+    }
+
+    /**
+     * Returns the configuration that captures nothing. This is the default of every facade.
+     *
+     * @return the disabled configuration
+     */
+    public static FoDiagnostics disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Creates a new builder for a diagnostics configuration.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns whether this configuration captures anything at all.
+     *
+     * @return {@code true} if sampling or capture on failure is enabled
+     */
+    public boolean isEnabled() {
+        return sink != null && (sampleRate > 0.0 || captureOnFailure);
+    }
+
+    /**
+     * Returns the fraction of render jobs whose XSL-FO is captured.
+     *
+     * @return the sample rate between {@code 0.0} and {@code 1.0}
+     */
+    public double sampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Returns whether the XSL-FO of failed render jobs is captured.
+     *
+     * @return {@code true} if failed jobs are captured
+     */
+    public boolean captureOnFailure() {
+        return captureOnFailure;
+    }
+
+    /**
+     * Assigns the id of the next render job.
+     *
+     * @return a new job id
+     */
+    long nextJobId() {
+        return jobSequence.incrementAndGet();
+    }
+
+    /**
+     * Decides whether the current render job is captured by sampling.
+     *
+     * @return {@code true} if the job should be captured
+     */
+    boolean sample() {
+        if (sampleRate <= 0.0) {
+            return false;
+        }
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Hands a captured document to the sink. Failures of the sink are logged, never thrown.
+     *
+     * @param jobId   the id of the render job
+     * @param reason  why the document was captured
+     * @param xslFo   the captured XSL-FO
+     * @param failure the exception of a failed job, or {@code null}
+     */
+    void publish(long jobId, FoDump.Reason reason, String xslFo, Throwable failure) {
+        try {
+            sink.accept(new FoDump(jobId, Instant.now(), reason, xslFo, failure));
+        } catch (Exception e) {
+            log.warn("Failed to write XSL-FO dump of job {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FoDiagnostics (sampleRate=%s, captureOnFailure=%s, enabled=%s)",
+                sampleRate, captureOnFailure, isEnabled());
+    }
+
+    /**
+     * Builder for {@link FoDiagnostics}.
+     */
+    public static final class Builder {
+        private double sampleRate = 0.0;
+        private boolean captureOnFailure = false;
+        private FoDumpSink sink;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the fraction of render jobs whose XSL-FO is captured,
+         * e.g. {@code 0.01} for one percent. Defaults to {@code 0.0}.
+         *
+         * @param sampleRate a value between {@code 0.0} and {@code 1.0}
+         * @return this builder for method chaining
+         * @throws IllegalArgumentException if sampleRate is outside {@code [0, 1]}
+         */
+        public Builder withSampleRate(double sampleRate) {
+            if (!(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+                throw new IllegalArgumentException("sampleRate must be between 0.0 and 1.0: " + sampleRate);
+            }
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Enables or disables capturing the XSL-FO of failed render jobs. Defaults to {@code false}.
+         *
+         * @param captureOnFailure {@code true} to capture failed jobs
+         * @return this builder for method chaining
+         */
+        public Builder captureOnFailure(boolean captureOnFailure) {
+            this.captureOnFailure = captureOnFailure;
+            return this;
+        }
+
+        /**
+         * Sets the sink receiving the captured documents.
+         *
+         * @param sink the sink; must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if sink is {@code null}
+         */
+        public Builder withSink(FoDumpSink sink) {
+            this.sink = Objects.requireNonNull(sink, "sink must not be null");
+            return this;
+        }
+
+        /**
+         * Builds the diagnostics configuration.
+         *
+         * @return the configuration
+         * @throws IllegalStateException if a capture mode is enabled but no sink is set
+         */
+        public FoDiagnostics build() {
+            if (sink == null && (sampleRate > 0.0 || captureOnFailure)) {
+                throw new IllegalStateException("A FoDumpSink is required when FO capturing is enabled");
+            }
+            return new FoDiagnostics(sampleRate, captureOnFailure, sink);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * An XSL-FO document captured by {@link FoDiagnostics} for a single render job.
+ *
+ * @param jobId     sequence number of the render job, unique per {@link FoDiagnostics} instance
+ * @param timestamp the time the dump was captured
+ * @param reason    why the XSL-FO was captured
+ * @param xslFo     the XSL-FO document
+ * @param failure   the exception the render job failed with; {@code null} for sampled dumps
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ * @see FoDumpSink
+ */
+@PublicAPI
+public record FoDump(long jobId, Instant timestamp, Reason reason, String xslFo, Throwable failure) {
+
+    /**
+     * Why an XSL-FO document was captured.
+     */
+    public enum Reason {
+        /** The render job was selected by the sample rate. */
+        SAMPLED,
+        /** The render job failed. */
+        FAILURE
+    }
+
+    public FoDump {
+        Objects.requireNonNull(timestamp, "timestamp must not be null");
+        Objects.requireNonNull(reason, "reason must not be null");
+        Objects.requireNonNull(xslFo, "xslFo must not be null");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Receives the XSL-FO documents captured by {@link FoDiagnostics}.
+ *
+ * <p>A sink is a callback, so any lambda can be used, e.g. to forward dumps to a log
+ * or a monitoring system. {@link #directory(Path)} provides a sink that writes every
+ * dump to a file.</p>
+ *
+ * <p>Sinks may be called concurrently from several render threads. Exceptions thrown by a
+ * sink are logged and never fail the render job.</p>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@PublicAPI
+@FunctionalInterface
+public interface FoDumpSink {
+
+    /**
+     * Handles a captured XSL-FO document.
+     *
+     * @param dump the captured document
+     * @throws IOException if the dump could not be written
+     */
+    void accept(FoDump dump) throws IOException;
+
+    /**
+     * Returns a sink that writes every dump as UTF-8 file into the given directory.
+     * The file name contains the capture time (epoch milliseconds), the job id and the
+     * capture reason, e.g. {@code jaccess-fo-1767225600000-42-failure.fo}.
+     * The directory is created if necessary.
+     *
+     * @param directory the target directory; must not be {@code null}
+     * @return a sink writing into the directory
+     */
+    static FoDumpSink directory(Path directory) {
+        Objects.requireNonNull(directory, "directory must not be null");
+        return dump -> {
+            Files.createDirectories(directory);
+            String fileName = String.format("jaccess-fo-%d-%d-%s.fo",
+                    dump.timestamp().toEpochMilli(), dump.jobId(),
+                    dump.reason().name().toLowerCase(Locale.ROOT));
+            Files.writeString(directory.resolve(fileName), dump.xslFo(), StandardCharsets.UTF_8);
+        };
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.api.utils.EResourceProvider;
+import de.fkkaiser.model.annotation.PublicAPI;
+import de.fkkaiser.model.font.FontFamily;
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.font.FontType;
+import org.apache.fop.apps.FopFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, thread-safe cache of configured {@link FopFactory} instances.
+ *
+ * <p>Creating a {@link FopFactory} is expensive: the FOP configuration is parsed and all
+ * registered fonts are loaded and inspected. Since a factory is thread-safe and its
+ * configuration only depends on the registered fonts and the resource provider used to
+ * load them, the same factory can be reused for every PDF that is generated with the same
+ * font setup.</p>
+ *
+ * <p><b>Cache Key:</b></p>
+ * Entries are keyed by a canonical fingerprint of the (validated) {@link FontFamilyList}
+ * and the {@link EResourceProvider}. The fingerprint contains the family names and the
+ * path, style and weight of every font variant, so two independently built font lists
+ * with the same content share one factory. Resource providers are compared with
+ * {@link Object#equals(Object)}.
+ *
+ * <p><b>Eviction:</b></p>
+ * The cache holds at most {@link #maxSize()} factories. When a new factory is added to a
+ * full cache, the least recently used one is evicted. A cache with a maximum size of
+ * {@code 0} never stores anything, so every request creates a new factory.
+ *
+ * <p><b>Thread Safety:</b></p>
+ * All methods are thread-safe. Concurrent requests for the same key create the factory
+ * only once; the other callers wait for the result. Creation for different keys runs in
+ * parallel.
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * FopFactoryCache cache = new FopFactoryCache(4);
+ * PdfGenerationFacade facade = new PdfGenerationFacade(provider, cache);
+ * // ... generate PDFs
+ * log.info("FopFactory cache: {} hits, {} misses", cache.hitCount(), cache.missCount());
+ * }</pre>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ * @see PdfGenerationFacade
+ */
+@PublicAPI
+public final class FopFactoryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(FopFactoryCache.class);
+
+    /**
+     * The maximum number of factories held by the {@link #shared() shared} cache.
+     */
+    public static final int DEFAULT_MAX_SIZE = 16;
+
+    private static final FopFactoryCache SHARED = new FopFactoryCache(DEFAULT_MAX_SIZE);
+
+    private final int maxSize;
+    private final LinkedHashMap<Key, FutureTask<FopFactory>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a new, empty cache.
+     *
+     * @param maxSize the maximum number of factories to keep; {@code 0} disables caching
+     * @throws IllegalArgumentException if maxSize is negative
+     */
+    public FopFactoryCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, FutureTask<FopFactory>> eldest) {
+                if (size() > FopFactoryCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    log.debug("Evicting FopFactory for font configuration '{}'", eldest.getKey().fingerprint());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the process-wide cache used by facades that are not given an explicit cache.
+     *
+     * @return the shared cache instance
+     */
+    public static FopFactoryCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Creates a factory for the given font configuration.
+     * Implemented by the facade; the cache itself does not know how factories are configured.
+     */
+    @FunctionalInterface
+    interface FactoryCreator {
+        FopFactory create() throws Exception;
+    }
+
+    /**
+     * Returns the cached factory for the given font configuration, creating it with
+     * {@code creator} if it is not cached yet. A failed creation is not cached.
+     *
+     * @param fontFamilyList   the validated font family list
+     * @param resourceProvider the resource provider the factory loads its fonts with
+     * @param creator          creates the factory on a cache miss
+     * @return the cached or newly created factory
+     * @throws Exception if the factory could not be created
+     */
+    FopFactory getOrCreate(FontFamilyList fontFamilyList,
+                           EResourceProvider resourceProvider,
+                           FactoryCreator creator) throws Exception {
+        Key key = new Key(fingerprint(fontFamilyList), resourceProvider);
+
+        if (maxSize == 0) {
+            misses.incrementAndGet();
+            return creator.create();
+        }
+
+        FutureTask<FopFactory> task;
+        boolean created = false;
+        synchronized (entries) {
+            task = entries.get(key);
+            if (task == null) {
+                task = new FutureTask<>(creator::create);
+                entries.put(key, task);
+                created = true;
+            }
+        }
+
+        if (created) {
+            misses.incrementAndGet();
+            log.debug("FopFactory cache miss for font configuration '{}'", key.fingerprint());
+            task.run();
+        } else {
+            hits.incrementAndGet();
+            log.debug("FopFactory cache hit for font configuration '{}'", key.fingerprint());
+        }
+
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            synchronized (entries) {
+                entries.remove(key, task);
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    /**
+     * Builds the canonical fingerprint of a font family list. The fingerprint lists every
+     * family with the path, style and weight of each of its font variants.
+     *
+     * @param fontFamilyList the font family list; may be {@code null}
+     * @return the fingerprint, never {@code null}
+     */
+    static String fingerprint(FontFamilyList fontFamilyList) {
+        if (fontFamilyList == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (FontFamily family : fontFamilyList.getFontFamilyList()) {
+            sb.append(family.getName()).append('[');
+            if (family.fontTypes() != null) {
+                for (FontType type : family.fontTypes()) {
+                    sb.append(type.path()).append('|')
+                            .append(type.fontStyle()).append('|')
+                            .append(type.fontWeight()).append(';');
+                }
+            }
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Removes all cached factories. The hit, miss and eviction counters are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the number of currently cached factories.
+     *
+     * @return the current size of the cache
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the maximum number of factories this cache holds.
+     *
+     * @return the maximum size
+     */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns how often a cached factory was reused.
+     *
+     * @return the number of cache hits
+     */
+    public long hitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns how often a new factory had to be created.
+     *
+     * @return the number of cache misses
+     */
+    public long missCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns how often a factory was evicted because the cache was full.
+     *
+     * @return the number of evictions
+     */
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FopFactoryCache (size=%d/%d, hits=%d, misses=%d, evictions=%d)",
+                size(), maxSize, hitCount(), missCount(), evictionCount());
+    }
+
+    /**
+     * Cache key: font configuration fingerprint and the provider the fonts are loaded with.
+     */
+    private record Key(String fingerprint, EResourceProvider resourceProvider) {
+        private Key {
+            Objects.requireNonNull(fingerprint);
+            Objects.requireNonNull(resourceProvider);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for creating a configured {@link org.apache.fop.apps.FopFactory}
+ * on a {@link FopFactoryCache} miss.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@Internal
+@Name("de.fkkaiser.FopFactoryCreate")
+@Label("FOP Factory Creation")
+@Category({"JAccessPDF", "Rendering"})
+@Description("Creating the FOP factory with the font configuration")
+@StackTrace(false)
+final class FopFactoryCreateEvent extends jdk.jfr.Event {
+
+    @Label("Font Families")
+    int fontFamilies;
+
+    @Label("Font Files")
+    @Description("Font variants registered with FOP")
+    int fontFiles;
+}
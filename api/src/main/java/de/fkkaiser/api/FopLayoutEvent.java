@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for rendering the XSL-FO of a job with Apache FOP. The XSL-FO
+ * is streamed into FOP while it is generated, so the event encloses the XSL-FO generation
+ * event of the same job.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@Internal
+@Name("de.fkkaiser.FopLayout")
+@Label("FOP Layout")
+@Category({"JAccessPDF", "Rendering"})
+@Description("Apache FOP building the formatting tree, laying out the pages and writing the PDF")
+@StackTrace(false)
+final class FopLayoutEvent extends jdk.jfr.Event {
+
+    @Label("Document Id")
+    @Description("Identity hash of the Document, shared by the events of the render job; null for templates")
+    String documentId;
+
+    @Label("Template")
+    @Description("Whether the XSL-FO was filled from a compiled template")
+    boolean template;
+
+    @Label("Pages")
+    int pages;
+}
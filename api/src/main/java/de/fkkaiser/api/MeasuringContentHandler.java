@@ -0,0 +1,241 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.generator.ImageStore;
+import de.fkkaiser.model.annotation.Internal;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Package-private {@link ContentHandler} that forwards every SAX event to FOP's handler and
+ * measures the XSL-FO on the way: its length, the number of elements by local name, the
+ * size of the referenced images and the wall time spent inside FOP.
+ *
+ * <p>Not thread-safe; a handler measures a single render job.</p>
+ *
+ * @author Katrin Kaiser
+ * @version 1.1.1
+ */
+@Internal
+final class MeasuringContentHandler implements ContentHandler {
+
+    private static final String SRC_ATTRIBUTE = "src";
+    private static final String BASE64_MARKER = ";base64,";
+
+    private final ContentHandler target;
+    private final Map<String, int[]> elementCounts = new HashMap<>();
+    private long targetNanos;
+    private long length;
+    private long imageBytes;
+
+    /**
+     * Creates a new measuring handler.
+     *
+     * @param target FOP's handler
+     */
+    MeasuringContentHandler(ContentHandler target) {
+        this.target = Objects.requireNonNull(target);
+    }
+
+    /**
+     * Returns the wall time spent inside the target handler.
+     *
+     * @return the time in nanoseconds
+     */
+    long targetNanos() {
+        return targetNanos;
+    }
+
+    /**
+     * Returns the length of the XSL-FO, counted as serialized but without escaping.
+     *
+     * @return the length in characters
+     */
+    long length() {
+        return length;
+    }
+
+    /**
+     * Returns the size of the images embedded as base64 data URIs or referenced in an {@link ImageStore}.
+     *
+     * @return the size in bytes
+     */
+    long imageBytes() {
+        return imageBytes;
+    }
+
+    /**
+     * Returns the number of elements by local name.
+     *
+     * @return a new map of the counts
+     */
+    Map<String, Integer> elementCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        elementCounts.forEach((name, count) -> counts.put(name, count[0]));
+        return counts;
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+        target.setDocumentLocator(locator);
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+        long start = System.nanoTime();
+        try {
+            target.startDocument();
+        } finally {
+            targetNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+        long start = System.nanoTime();
+        try {
+            target.endDocument();
+        } finally {
+            targetNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void startPrefixMapping(String prefix, String uri) throws SAXException {
+        // xmlns:prefix="uri"
+        length += 9 + prefix.length() + uri.length();
+        long start = System.nanoTime();
+        try {
+            target.startPrefixMapping(prefix, uri);
+        } finally {
+            targetNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void endPrefixMapping(String prefix) throws SAXException {
+        long start = System.nanoTime();
+        try {
+            target.endPrefixMapping(prefix);
+        } finally {
+            targetNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+        elementCounts.computeIfAbsent(localName, name -> new int[1])[0]++;
+        length += 2 + qName.length();
+        for (int i = 0; i < atts.getLength(); i++) {
+            String value = atts.getValue(i);
+            length += 4 + atts.getQName(i).length() + value.length();
+            if (SRC_ATTRIBUTE.equals(atts.getLocalName(i))) {
+                imageBytes += decodedSize(value);
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            target.startElement(uri, localName, qName, atts);
+        } finally {
+            targetNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        length += 3 + qName.length();
+        long start = System.nanoTime();
+        try {
+            target.endElement(uri, localName, qName);
+        } finally {
+            targetNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        this.length += length;
+        long startTime = System.nanoTime();
+        try {
+            target.characters(ch, start, length);
+        } finally {
+            targetNanos += System.nanoTime() - startTime;
+        }
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+        this.length += length;
+        long startTime = System.nanoTime();
+        try {
+            target.ignorableWhitespace(ch, start, length);
+        } finally {
+            targetNanos += System.nanoTime() - startTime;
+        }
+    }
+
+    @Override
+    public void processingInstruction(String target, String data) throws SAXException {
+        long start = System.nanoTime();
+        try {
+            this.target.processingInstruction(target, data);
+        } finally {
+            targetNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void skippedEntity(String name) throws SAXException {
+        target.skippedEntity(name);
+    }
+
+    /**
+     * Computes the decoded size of a base64 data URI without decoding it, or looks up the size
+     * of an image in the {@link ImageStore} bound to the current thread.
+     *
+     * @param value the attribute value
+     * @return the size in bytes, or {@code 0} if the value is neither a base64 data URI nor a stored image
+     */
+    static long decodedSize(String value) {
+        if (ImageStore.isStoreUri(value)) {
+            ImageStore.StoredImage image = ImageStore.find(value);
+            return image != null ? image.bytes().length : 0;
+        }
+        if (!value.startsWith("data:")) {
+            return 0;
+        }
+        int marker = value.indexOf(BASE64_MARKER);
+        if (marker < 0) {
+            return 0;
+        }
+        int end = value.length();
+        int padding = 0;
+        while (end > marker + BASE64_MARKER.length() && value.charAt(end - 1) == '=' && padding < 2) {
+            end--;
+            padding++;
+        }
+        long encoded = end - marker - BASE64_MARKER.length() + padding;
+        return encoded / 4 * 3 - padding;
+    }
+}
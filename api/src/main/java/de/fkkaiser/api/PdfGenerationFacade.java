@@ -16,16 +16,27 @@
 package de.fkkaiser.api;
 
 import de.fkkaiser.api.utils.EFopResourceResolver;
-import de.fkkaiser.api.utils.EFopURIResolver;
 import de.fkkaiser.api.utils.EResourceProvider;
+import de.fkkaiser.generator.ExtensionFoGenerator;
+import de.fkkaiser.generator.FoFragmentCache;
+import de.fkkaiser.generator.FoTemplate;
+import de.fkkaiser.generator.ImageCache;
+import de.fkkaiser.generator.ImageOptimizer;
 import de.fkkaiser.generator.ImageResolver;
+import de.fkkaiser.generator.ImageSettings;
+import de.fkkaiser.generator.ImageStore;
+import de.fkkaiser.generator.ImageUtils;
+import de.fkkaiser.generator.PageSequenceSplitting;
 import de.fkkaiser.generator.XslFoGenerator;
 import de.fkkaiser.model.font.FontFamily;
 import de.fkkaiser.model.font.FontFamilyList;
 import de.fkkaiser.model.font.FontStyleValue;
 import de.fkkaiser.model.font.FontType;
 import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.structure.ExtensionElement;
+import de.fkkaiser.model.structure.InlineExtensionElement;
 import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.model.style.SvgRendering;
 import de.fkkaiser.model.style.TextStyle;
 import de.fkkaiser.processor.StyleResolverService;
 import de.fkkaiser.processor.reader.DocumentReader;
@@ -40,14 +51,34 @@ import org.apache.fop.configuration.DefaultConfigurationBuilder;
 import org.apache.xmlgraphics.io.ResourceResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.ContentHandler;
 
-import javax.xml.transform.*;
-import javax.xml.transform.sax.SAXResult;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
-import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.util.*;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * The central facade for PDF generation from structured document models.
@@ -118,6 +149,27 @@ import java.util.*;
  * }
  * }</pre>
  *
+ * <p><b>Streaming Output:</b></p>
+ * Every {@code generatePDF} variant has overloads that write the PDF directly to an
+ * {@link OutputStream}, a {@link WritableByteChannel} or a {@link Path}. Apache FOP writes the
+ * PDF while laying out the document, so these variants avoid buffering the whole PDF in memory:
+ * <pre>{@code
+ * try (OutputStream out = response.getOutputStream()) {
+ *     facade.generatePDF(document, styleSheet, fonts, out);
+ * }
+ * }</pre>
+ *
+ * <p><b>Batches:</b></p>
+ * Documents sharing one style sheet and font list (e.g. a mail merge) can be rendered with a
+ * {@link RenderingContext} created by {@link #prepare(StyleSheet, FontFamilyList)}, which does
+ * the font validation and FOP configuration once for all documents.
+ *
+ * <p><b>Metrics:</b></p>
+ * A {@link RenderListener} set with {@link Builder#withRenderListener(RenderListener)} receives a
+ * {@link RenderReport} for every render job: wall and CPU time per stage, the size of the XSL-FO,
+ * its element counts, the embedded image bytes, the PDF size and the cache hits and misses.
+ * Without a listener, render jobs are not measured.
+ *
  * <p><b>Default Font Fallback:</b></p>
  * If no valid fonts are provided (null, empty, or all fonts are invalid), the facade
  * automatically adds a default font (Open Sans Regular) to ensure PDF generation can proceed.
@@ -151,6 +203,9 @@ public final class PdfGenerationFacade {
     private static final String FOP_PDF_UA_MODE = "PDF/UA-1";
     private static final String FOP_MIME_TYPE = MimeConstants.MIME_PDF;
 
+    // Buffer size for channel and file targets
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
     // FOP configuration XML template
     private static final String FOP_CONFIG_TEMPLATE =
             """
@@ -172,6 +227,11 @@ public final class PdfGenerationFacade {
     private final FontFamilyListReader fontListReader;
     private final XslFoGenerator foGenerator;
     private final EResourceProvider resourceProvider;
+    private final ImageResolver imageResolver;
+    private final FopFactoryCache fopFactoryCache;
+    private final FoDiagnostics diagnostics;
+    private final RenderListener renderListener;
+    private final ImageStore imageStore;
 
     /**
      * Constructs a new PdfGenerationFacade with the specified resource provider.
@@ -182,25 +242,70 @@ public final class PdfGenerationFacade {
      * that will be used for PDF generation. These components are reusable across multiple
      * PDF generation requests.</p>
      *
+     * <p>Configured FOP factories are reused through the {@link FopFactoryCache#shared() shared}
+     * factory cache.</p>
+     *
      * @param provider the resource provider for resolving external resources;
      *                 must not be {@code null}
      * @throws IllegalArgumentException if provider is {@code null}
      */
     public PdfGenerationFacade(EResourceProvider provider) {
+        this(provider, FopFactoryCache.shared());
+    }
+
+    /**
+     * Constructs a new PdfGenerationFacade with the specified resource provider and
+     * FOP factory cache. Use this constructor to control the size of the cache or to
+     * read its hit and miss counters; pass a cache with a maximum size of {@code 0}
+     * to create a new factory for every PDF.
+     *
+     * @param provider        the resource provider for resolving external resources;
+     *                        must not be {@code null}
+     * @param fopFactoryCache the cache for configured FOP factories; must not be {@code null}
+     * @throws IllegalArgumentException if provider or fopFactoryCache is {@code null}
+     */
+    public PdfGenerationFacade(EResourceProvider provider, FopFactoryCache fopFactoryCache) {
+        this(provider, fopFactoryCache, FoDiagnostics.disabled(), null, new XslFoGenerator());
+    }
+
+    private PdfGenerationFacade(EResourceProvider provider, FopFactoryCache fopFactoryCache,
+                                FoDiagnostics diagnostics, RenderListener renderListener, XslFoGenerator foGenerator) {
         if (provider == null) {
             log.error("Attempted to create PdfGenerationFacade with null resource provider");
             throw new IllegalArgumentException("EResourceProvider cannot be null");
         }
+        if (fopFactoryCache == null) {
+            throw new IllegalArgumentException("FopFactoryCache cannot be null");
+        }
 
         this.resourceProvider = provider;
+        // One resolver instance per facade, so cached XSL-FO fragments are reused across jobs
+        this.imageResolver = provider::getResource;
+        this.fopFactoryCache = fopFactoryCache;
+        this.diagnostics = Objects.requireNonNull(diagnostics, "FoDiagnostics cannot be null");
+        this.renderListener = renderListener;
+        // Without a store of the facade, every job registers its images in a store of its own
+        this.imageStore = foGenerator.images().imageStore();
         this.documentReader = new DocumentReader();
         this.styleSheetReader = new StyleSheetReader();
         this.fontListReader = new FontFamilyListReader();
-        this.foGenerator = new XslFoGenerator();
+        this.foGenerator = foGenerator;
 
         log.debug("PdfGenerationFacade initialized successfully");
     }
 
+    /**
+     * Creates a new builder for a facade with optional settings such as a custom
+     * {@link FopFactoryCache}, {@link FoDiagnostics} or a {@link RenderListener}.
+     *
+     * @param provider the resource provider for resolving external resources;
+     *                 must not be {@code null}
+     * @return a new Builder instance
+     */
+    public static Builder builder(EResourceProvider provider) {
+        return new Builder(provider);
+    }
+
     /**
      * Generates a PDF from JSON input streams.
      * This method is ideal for web services, REST APIs, or any scenario where the document
@@ -229,20 +334,48 @@ public final class PdfGenerationFacade {
     public ByteArrayOutputStream generatePDF(InputStream structureJson,
                                              InputStream styleJson,
                                              InputStream fontListJson) throws PdfGenerationException {
+        ByteArrayOutputStream pdfOutput = new ByteArrayOutputStream();
+        generatePDF(structureJson, styleJson, fontListJson, pdfOutput);
+        return pdfOutput;
+    }
+
+    /**
+     * Generates a PDF from JSON input streams and writes it to the given OutputStream.
+     * The PDF is written while FOP lays out the document, so it is never buffered as a
+     * whole in memory. The OutputStream is flushed but not closed.
+     *
+     * @param structureJson an InputStream containing the document structure as JSON;
+     *                      must not be {@code null}
+     * @param styleJson     an InputStream containing the style definitions as JSON;
+     *                      must not be {@code null}
+     * @param fontListJson  an InputStream containing the font configurations as JSON;
+     *                      must not be {@code null}
+     * @param out           the target of the generated PDF; must not be {@code null}
+     * @throws PdfGenerationException if an error occurs during JSON parsing or PDF generation
+     * @throws NullPointerException   if out is {@code null}
+     * @see #generatePDF(InputStream, InputStream, InputStream)
+     */
+    public void generatePDF(InputStream structureJson,
+                            InputStream styleJson,
+                            InputStream fontListJson,
+                            OutputStream out) throws PdfGenerationException {
+        Objects.requireNonNull(out, "OutputStream must not be null");
         log.debug("Starting PDF generation from JSON input streams");
 
+        RenderMetrics metrics = RenderMetrics.start(renderListener);
         try {
-            Document doc = documentReader.readJson(structureJson);
-            StyleSheet styleSheet = styleSheetReader.readJson(styleJson);
-            FontFamilyList fontFamilyList = fontListReader.readJson(fontListJson);
+            JsonInput input = metrics.stage(RenderReport.JSON_PARSING, () -> new JsonInput(
+                    documentReader.readJson(structureJson),
+                    styleSheetReader.readJson(styleJson),
+                    fontListReader.readJson(fontListJson)));
 
             log.debug("Successfully parsed JSON input streams");
 
-            // Delegate to the object-based method
-            return generatePDF(doc, styleSheet, fontFamilyList);
+            generatePDF(input.document(), input.styleSheet(), input.fontFamilyList(), out, metrics);
 
         } catch (Exception e) {
             log.error("Failed to generate PDF from JSON input streams", e);
+            metrics.complete(e);
             throw new PdfGenerationException("Failed to parse JSON input or generate PDF", e);
         }
     }
@@ -257,9 +390,9 @@ public final class PdfGenerationFacade {
      *   <li>Resolves and links styles to document elements</li>
      *   <li>Validates and prepares the font family list (adds default font if necessary)</li>
      *   <li>Validates that all text styles have corresponding fonts</li>
-     *   <li>Creates the Apache FOP factory with font configuration</li>
-     *   <li>Generates XSL-FO (Formatting Objects) from the document model</li>
-     *   <li>Transforms XSL-FO to PDF using Apache FOP</li>
+     *   <li>Creates the Apache FOP factory with font configuration, or reuses a cached one</li>
+     *   <li>Generates XSL-FO (Formatting Objects) from the document model and feeds it
+     *       to Apache FOP as SAX events, which renders the PDF</li>
      * </ol>
      *
      * <p><b>Font Handling:</b></p>
@@ -289,51 +422,355 @@ public final class PdfGenerationFacade {
     public ByteArrayOutputStream generatePDF(Document document,
                                              StyleSheet styleSheet,
                                              FontFamilyList fontFamilyList) throws PdfGenerationException {
-        log.debug("Starting PDF generation from model objects");
+        ByteArrayOutputStream pdfOutput = new ByteArrayOutputStream();
+        generatePDF(document, styleSheet, fontFamilyList, pdfOutput);
+        return pdfOutput;
+    }
 
+    /**
+     * Generates a PDF from pre-built Java model objects and writes it to the given OutputStream.
+     * Apache FOP writes the PDF incrementally while it lays out the document, so the first
+     * bytes reach the stream (e.g. an HTTP response) before the last page is rendered and
+     * the PDF is never buffered as a whole in memory. The OutputStream is flushed but not closed.
+     *
+     * <p>If generation fails, parts of the PDF may already have been written to the stream.</p>
+     *
+     * @param document       the document structure to be rendered as PDF;
+     *                       must not be {@code null}
+     * @param styleSheet     the style definitions to be applied to the document;
+     *                       must not be {@code null}
+     * @param fontFamilyList the list of font families to be used in the PDF;
+     *                       may be {@code null} (default font will be used)
+     * @param out            the target of the generated PDF; must not be {@code null}
+     * @throws PdfGenerationException if an error occurs during PDF generation or if
+     *                                text styles reference missing fonts
+     * @throws NullPointerException   if out is {@code null}
+     * @see #generatePDF(Document, StyleSheet, FontFamilyList)
+     */
+    public void generatePDF(Document document,
+                            StyleSheet styleSheet,
+                            FontFamilyList fontFamilyList,
+                            OutputStream out) throws PdfGenerationException {
+        Objects.requireNonNull(out, "OutputStream must not be null");
+        generatePDF(document, styleSheet, fontFamilyList, out, RenderMetrics.start(renderListener));
+    }
 
+    /**
+     * Generates a PDF from pre-built Java model objects and writes it to the given channel,
+     * e.g. a {@link java.nio.channels.SocketChannel} or {@link java.nio.channels.FileChannel}.
+     * The channel is not closed.
+     *
+     * @param document       the document structure to be rendered as PDF;
+     *                       must not be {@code null}
+     * @param styleSheet     the style definitions to be applied to the document;
+     *                       must not be {@code null}
+     * @param fontFamilyList the list of font families to be used in the PDF;
+     *                       may be {@code null} (default font will be used)
+     * @param channel        the target of the generated PDF; must not be {@code null}
+     * @throws PdfGenerationException if an error occurs during PDF generation
+     * @throws NullPointerException   if channel is {@code null}
+     * @see #generatePDF(Document, StyleSheet, FontFamilyList, OutputStream)
+     */
+    public void generatePDF(Document document,
+                            StyleSheet styleSheet,
+                            FontFamilyList fontFamilyList,
+                            WritableByteChannel channel) throws PdfGenerationException {
+        Objects.requireNonNull(channel, "WritableByteChannel must not be null");
+        // Not closed: closing the stream would close the caller's channel
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), OUTPUT_BUFFER_SIZE);
+        generatePDF(document, styleSheet, fontFamilyList, out);
+    }
+
+    /**
+     * Generates a PDF from pre-built Java model objects and writes it to the given file.
+     * An existing file is overwritten. If generation fails, the partially written file is deleted.
+     *
+     * @param document       the document structure to be rendered as PDF;
+     *                       must not be {@code null}
+     * @param styleSheet     the style definitions to be applied to the document;
+     *                       must not be {@code null}
+     * @param fontFamilyList the list of font families to be used in the PDF;
+     *                       may be {@code null} (default font will be used)
+     * @param target         the file to write the PDF to; must not be {@code null}
+     * @throws PdfGenerationException if an error occurs during PDF generation or writing the file
+     * @throws NullPointerException   if target is {@code null}
+     * @see #generatePDF(Document, StyleSheet, FontFamilyList, OutputStream)
+     */
+    public void generatePDF(Document document,
+                            StyleSheet styleSheet,
+                            FontFamilyList fontFamilyList,
+                            Path target) throws PdfGenerationException {
+        Objects.requireNonNull(target, "Path must not be null");
+        boolean success = false;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), OUTPUT_BUFFER_SIZE)) {
+            generatePDF(document, styleSheet, fontFamilyList, out);
+            success = true;
+        } catch (IOException e) {
+            throw new PdfGenerationException("Failed to write PDF to " + target, e);
+        } finally {
+            if (!success) {
+                deletePartialFile(target);
+            }
+        }
+    }
+
+
+    /**
+     * Prepares a {@link StyleSheet} and {@link FontFamilyList} for rendering many documents.
+     * The font list is validated, the text styles are checked against it, the style lookup
+     * is built and the FOP factory is configured once; the returned context then renders any
+     * number of documents without repeating this work.
+     *
+     * <p>Use this for mail merges and other batches of documents that share their styles
+     * and fonts, see {@link RenderingContext#renderBatch(Iterable, BatchOutput, int)}.</p>
+     *
+     * @param styleSheet     the style definitions to be applied to the documents;
+     *                       must not be {@code null}
+     * @param fontFamilyList the list of font families to be used in the PDFs;
+     *                       may be {@code null} (default font will be used)
+     * @return the prepared rendering context
+     * @throws PdfGenerationException if text styles reference missing fonts or the
+     *                                FOP factory cannot be configured
+     * @throws NullPointerException   if styleSheet is {@code null}
+     */
+    public RenderingContext prepare(StyleSheet styleSheet, FontFamilyList fontFamilyList)
+            throws PdfGenerationException {
+        Objects.requireNonNull(styleSheet, "StyleSheet must not be null");
         try {
-            validateInputs(document, styleSheet);
-        }catch (Exception e) {
-            log.error("Input validation failed", e);
-            throw new PdfGenerationException("Input validation failed: " + e.getMessage(), e);
+            return prepareContext(styleSheet, fontFamilyList, RenderMetrics.disabled());
+        } catch (Exception e) {
+            log.error("Failed to prepare rendering context", e);
+            throw new PdfGenerationException("Preparing the rendering context failed", e);
         }
-        try (EFopResourceResolver fopResolver = new EFopResourceResolver(resourceProvider)) {
+    }
 
-            // Step 1: Resolve styles and link them to document elements
-            StyleResolverService.resolve(document, styleSheet);
-            log.debug("Style resolution completed");
+    /**
+     * Compiles a document containing placeholders into a reusable template. Styles are
+     * resolved and the XSL-FO is generated once; each {@link DocumentTemplate#generatePDF(TemplateData)}
+     * call then only substitutes the values and lets FOP lay out the result.
+     *
+     * <p>Placeholders are written into the text of text runs (or any other text):
+     * {@code {{name}}} for single values and {@code {{items[].price}}} for the fields of a
+     * repeatable table row, which is emitted once per row of the collection {@code items}.</p>
+     *
+     * @param document       the document containing placeholders; must not be {@code null}
+     * @param styleSheet     the style definitions to be applied to the document;
+     *                       must not be {@code null}
+     * @param fontFamilyList the list of font families to be used in the PDFs;
+     *                       may be {@code null} (default font will be used)
+     * @return the compiled template
+     * @throws PdfGenerationException if text styles reference missing fonts, the FOP factory
+     *                                cannot be configured or the placeholders are invalid
+     * @throws NullPointerException   if document or styleSheet is {@code null}
+     */
+    public DocumentTemplate compileTemplate(Document document, StyleSheet styleSheet, FontFamilyList fontFamilyList)
+            throws PdfGenerationException {
+        validateInputs(document, styleSheet);
+        try {
+            RenderingContext context = prepareContext(styleSheet, fontFamilyList, RenderMetrics.disabled());
+            StyleResolverService.resolve(document, context.styleResolverContext());
+            // The template keeps its images for as long as it is used
+            ImageStore templateImageStore = newJobImageStore();
+            FoTemplate template = foGenerator.compileTemplate(document, styleSheet, imageResolver, templateImageStore);
+            log.debug("Template compiled with {} slot(s) and {} repeatable region(s)",
+                    template.slotNames().size(), template.regionFields().size());
+            return new DocumentTemplate(context, template, templateImageStore);
+        } catch (Exception e) {
+            log.error("Failed to compile document template", e);
+            throw new PdfGenerationException("Compiling the document template failed", e);
+        }
+    }
 
-            // Step 2: Ensure we have a valid font list
-            FontFamilyList validatedFonts = ensureValidFontList(fontFamilyList);
+    /**
+     * Loads and initializes everything the first PDF generation with the given fonts and
+     * style sheet would otherwise pay for, e.g. before a service reports readiness.
+     *
+     * <p><b>Parts:</b></p>
+     * <ol>
+     *   <li>{@value WarmUpReport#JAXP}: SAX parser and transformer service lookup</li>
+     *   <li>{@value WarmUpReport#FOP_FACTORY}: font validation and the FOP factory for the
+     *       font configuration, which stays in the {@link FopFactoryCache}</li>
+     *   <li>{@value WarmUpReport#SVG}: detection of Apache Batik and a first SVG conversion</li>
+     *   <li>{@value WarmUpReport#FIRST_RENDER}: rendering a synthetic document that contains every
+     *       element type and one text run per text style, which loads the FOP layout classes
+     *       and parses every font variant in use</li>
+     *   <li>{@value WarmUpReport#SECOND_RENDER}: rendering the synthetic document again, which shows
+     *       the cost of a warm render</li>
+     * </ol>
+     * The synthetic document uses the first page master style of the style sheet and is
+     * rendered to a discarding stream.
+     *
+     * @param fontFamilyList the production font family list;
+     *                       may be {@code null} (default font will be used)
+     * @param styleSheet     the production style sheet; must not be {@code null}
+     *                       and must contain a page master style
+     * @return the timings of the warm-up parts
+     * @throws PdfGenerationException if a part of the warm-up fails
+     * @throws NullPointerException   if styleSheet is {@code null}
+     */
+    public WarmUpReport warmUp(FontFamilyList fontFamilyList, StyleSheet styleSheet) throws PdfGenerationException {
+        Objects.requireNonNull(styleSheet, "StyleSheet must not be null");
+        log.info("Warming up PDF generation");
 
-            // Step 3: Validate text styles
-            validateTextStyleFonts(styleSheet, validatedFonts);
-            log.debug("Text style font validation completed");
+        long start = System.nanoTime();
+        List<WarmUpReport.Part> parts = new ArrayList<>();
+        try {
+            StyleSheet warmUpStyleSheet = WarmUpDocument.styleSheet(styleSheet);
+
+            parts.add(timed(WarmUpReport.JAXP, () -> {
+                SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+                saxParserFactory.setNamespaceAware(true);
+                saxParserFactory.newSAXParser();
+                createSerializer(new StringWriter());
+                return null;
+            }));
+
+            RenderingContext[] context = new RenderingContext[1];
+            parts.add(timed(WarmUpReport.FOP_FACTORY, () -> context[0] = prepareContext(warmUpStyleSheet, fontFamilyList,
+                    RenderMetrics.disabled())));
+
+            parts.add(timed(WarmUpReport.SVG, () -> ImageUtils.svgContentToDataUri(WarmUpDocument.SVG)));
+
+            parts.add(timed(WarmUpReport.FIRST_RENDER, () -> {
+                render(context[0], WarmUpDocument.create(warmUpStyleSheet), OutputStream.nullOutputStream(),
+                        RenderMetrics.disabled());
+                return null;
+            }));
+            parts.add(timed(WarmUpReport.SECOND_RENDER, () -> {
+                render(context[0], WarmUpDocument.create(warmUpStyleSheet), OutputStream.nullOutputStream(),
+                        RenderMetrics.disabled());
+                return null;
+            }));
+        } catch (Exception e) {
+            log.error("Warm-up failed", e);
+            throw new PdfGenerationException("Warm-up failed: " + e.getMessage(), e);
+        }
 
-            // Step 4: Create FOP factory
-            FopFactory fopFactory = createFopFactory(validatedFonts, fopResolver);
-            log.debug("FOP factory created successfully");
+        WarmUpReport report = new WarmUpReport(parts, Duration.ofNanos(System.nanoTime() - start));
+        log.info("Warm-up completed: {}", report);
+        return report;
+    }
 
-            // Step 5: Generate XSL-FO
-            String xslFoString = generateXslFo(document, styleSheet);
-            log.debug("XSL-FO generation completed, length: {} characters", xslFoString.length());
+    /**
+     * Renders a document with a prepared context: resolves its styles, generates the
+     * XSL-FO and streams it into FOP. The OutputStream is flushed but not closed.
+     *
+     * @param context  the prepared style sheet and fonts
+     * @param document the document to render
+     * @param out      the target of the generated PDF
+     * @throws Exception if generation or rendering fails
+     */
+    void render(RenderingContext context, Document document, OutputStream out) throws Exception {
+        RenderMetrics metrics = RenderMetrics.start(renderListener);
+        try {
+            render(context, document, out, metrics);
+        } catch (Exception e) {
+            metrics.complete(e);
+            throw e;
+        }
+        metrics.complete(null);
+    }
 
-            // Step 6: Transform XSL-FO to PDF
-            ByteArrayOutputStream pdfOutput = transformToPdf(fopFactory, xslFoString);
-            log.debug("PDF generation completed successfully, size: {} bytes", pdfOutput.size());
+    // ========== PRIVATE HELPER METHODS ==========
 
-            return pdfOutput;
+    /**
+     * Generates a PDF from model objects as a measured render job, see
+     * {@link #generatePDF(Document, StyleSheet, FontFamilyList, OutputStream)}.
+     *
+     * @param document       the document structure to be rendered as PDF
+     * @param styleSheet     the style definitions to be applied to the document
+     * @param fontFamilyList the list of font families; may be {@code null}
+     * @param out            the target of the generated PDF
+     * @param metrics        the measurements of the job, completed by this method
+     * @throws PdfGenerationException if an error occurs during PDF generation
+     */
+    private void generatePDF(Document document,
+                             StyleSheet styleSheet,
+                             FontFamilyList fontFamilyList,
+                             OutputStream out,
+                             RenderMetrics metrics) throws PdfGenerationException {
+        log.debug("Starting PDF generation from model objects");
+
+        try {
+            validateInputs(document, styleSheet);
+        }catch (Exception e) {
+            log.error("Input validation failed", e);
+            metrics.complete(e);
+            throw new PdfGenerationException("Input validation failed: " + e.getMessage(), e);
+        }
+        try {
+
+            // Steps 1-3: Validate the fonts and text styles, create the FOP factory
+            // (or reuse the cached one for this font configuration)
+            RenderingContext context = prepareContext(styleSheet, fontFamilyList, metrics);
+            log.debug("Rendering context ready");
+
+            // Step 4: Resolve styles, generate XSL-FO and stream it into FOP, which writes the PDF to out
+            render(context, document, out, metrics);
+            log.debug("PDF generation completed successfully");
 
         } catch (Exception e) {
             log.error("Failed to generate PDF from model objects", e);
+            metrics.complete(e);
             throw new PdfGenerationException("PDF generation failed", e);
         }
-
+        metrics.complete(null);
     }
 
+    /**
+     * Resolves the styles of a document, generates the XSL-FO and streams it into FOP.
+     * The OutputStream is flushed but not closed.
+     *
+     * @param context  the prepared style sheet and fonts
+     * @param document the document to render
+     * @param out      the target of the generated PDF
+     * @param metrics  the measurements of the job
+     * @throws Exception if generation or rendering fails
+     */
+    private void render(RenderingContext context, Document document, OutputStream out, RenderMetrics metrics)
+            throws Exception {
+        metrics.stage(RenderReport.STYLE_RESOLUTION, () -> {
+            StyleResolverService.resolve(document, context.styleResolverContext());
+            return null;
+        });
+        log.debug("Style resolution completed");
+
+        renderToPdf(context.fopFactory(), document, context.styleSheet(), out, metrics);
+        out.flush();
+    }
 
-    // ========== PRIVATE HELPER METHODS ==========
+    /**
+     * Does all work for rendering that depends only on the style sheet and the fonts.
+     *
+     * @param styleSheet     the style sheet
+     * @param fontFamilyList the font family list; may be {@code null}
+     * @param metrics        the measurements of the current job
+     * @return the prepared rendering context
+     * @throws Exception if a text style references a missing font or the FOP factory cannot be created
+     */
+    private RenderingContext prepareContext(StyleSheet styleSheet, FontFamilyList fontFamilyList,
+                                            RenderMetrics metrics) throws Exception {
+        FontFamilyList validatedFonts = metrics.stage(RenderReport.FONT_VALIDATION, () -> {
+            // Ensure we have a valid font list
+            FontFamilyList fonts = ensureValidFontList(fontFamilyList);
+
+            // Validate text styles
+            validateTextStyleFonts(styleSheet, fonts);
+            return fonts;
+        });
+        log.debug("Text style font validation completed");
+
+        boolean[] created = new boolean[1];
+        FopFactory fopFactory = metrics.stage(RenderReport.FOP_FACTORY, () -> fopFactoryCache.getOrCreate(
+                validatedFonts, resourceProvider, () -> {
+                    created[0] = true;
+                    return createFopFactory(validatedFonts);
+                }));
+        metrics.cacheLookup(RenderReport.FOP_FACTORY_CACHE, !created[0]);
+        log.debug("FOP factory ready");
+
+        return new RenderingContext(this, styleSheet, StyleResolverService.createContext(styleSheet), fopFactory);
+    }
 
     /**
      * Validates that all text styles in the style sheet have corresponding font variants
@@ -476,11 +913,14 @@ public final class PdfGenerationFacade {
      *
      * <p><b>Validation Steps:</b></p>
      * <ol>
-     *   <li>If fontFamilyList is null, creates a new empty list</li>
+     *   <li>If fontFamilyList is null, starts with an empty list</li>
      *   <li>Removes font families that have null or empty font types</li>
      *   <li>If the resulting list is empty, adds the default font (Open Sans Regular)</li>
      * </ol>
      *
+     * <p>The given list is not modified; the validated fonts are returned as a new list.
+     * This keeps a FontFamilyList that is shared between concurrent render jobs safe.</p>
+     *
      * <p><b>Default Font:</b></p>
      * The default font used is Open Sans Regular (weight 400), which is expected to be
      * available in the classpath at {@value #DEFAULT_FONT_PATH}.
@@ -489,31 +929,27 @@ public final class PdfGenerationFacade {
      * @return a validated FontFamilyList with at least one valid font
      */
     private FontFamilyList ensureValidFontList(FontFamilyList fontFamilyList) {
-        // Create new list if null
-        if (fontFamilyList == null) {
-            log.debug("Font family list is null, creating new empty list");
-            fontFamilyList = new FontFamilyList();
-        }
-
-        // Clean up invalid font families
-        if (fontFamilyList.getFontFamilyList() != null) {
-            List<FontFamily> mutableList = new ArrayList<>(fontFamilyList.getFontFamilyList());
-            int originalSize = mutableList.size();
-
-            mutableList.removeIf(fontFamily ->
+        // Work on a copy: the caller's list may be shared between concurrent render jobs
+        List<FontFamily> validFamilies = new ArrayList<>();
+        if (fontFamilyList != null) {
+            validFamilies.addAll(fontFamilyList.getFontFamilyList());
+
+            // Clean up invalid font families
+            int originalSize = validFamilies.size();
+            validFamilies.removeIf(fontFamily ->
                     fontFamily.fontTypes() == null || fontFamily.fontTypes().isEmpty()
             );
 
-            int removedCount = originalSize - mutableList.size();
+            int removedCount = originalSize - validFamilies.size();
             if (removedCount > 0) {
                 log.debug("Removed {} invalid font families (null or empty font types)", removedCount);
             }
-
-            fontFamilyList.setFontFamilyList(mutableList);
+        } else {
+            log.debug("Font family list is null, using an empty list");
         }
 
         // Add default font if list is empty
-        if (fontFamilyList.getFontFamilyList() == null || fontFamilyList.getFontFamilyList().isEmpty()) {
+        if (validFamilies.isEmpty()) {
             log.info("Font family list is empty, adding default font: {} from {}",
                     DEFAULT_FONT_NAME, DEFAULT_FONT_PATH);
 
@@ -526,26 +962,33 @@ public final class PdfGenerationFacade {
                     DEFAULT_FONT_NAME,
                     Collections.singletonList(defaultFontType)
             );
-            fontFamilyList.setFontFamilyList(Collections.singletonList(defaultFontFamily));
+            validFamilies.add(defaultFontFamily);
         }
 
-        return fontFamilyList;
+        FontFamilyList validatedList = new FontFamilyList();
+        validatedList.setFontFamilyList(validFamilies);
+        return validatedList;
     }
 
     /**
      * Creates and configures an Apache FOP factory with the specified font configuration.
      * The factory is responsible for creating FOP instances that can transform XSL-FO
      * into PDF documents.
-     /**
-     * Creates and configures an Apache FOP factory.
-     * NOTE: The resolver is now passed in, so the caller controls its lifecycle (closing streams).
+     *
+     * <p>The factory is cached and outlives a single PDF generation, so its resource
+     * resolver does not track the streams it opens; FOP closes them after loading
+     * the image or font.</p>
      *
      * @param fontFamilyList the list of font families to register with FOP
-     * @param fopResourceResolver the resource resolver for FOP to locate external resources
      * @return a configured FopFactory instance
      * @throws Exception if an error occurs during FOP factory creation
      */
-    private FopFactory createFopFactory(FontFamilyList fontFamilyList, ResourceResolver fopResourceResolver) throws Exception {
+    private FopFactory createFopFactory(FontFamilyList fontFamilyList) throws Exception {
+        FopFactoryCreateEvent event = new FopFactoryCreateEvent();
+        event.begin();
+
+        ResourceResolver fopResourceResolver = new EFopResourceResolver(resourceProvider, false);
+
         // Build font configuration XML
         EFontFamilyLoader fontLoader = new EFontFamilyLoader(resourceProvider, fontFamilyList);
         String fontConfigXml = fontLoader.getFontListString();
@@ -566,105 +1009,223 @@ public final class PdfGenerationFacade {
         Configuration cfg = cfgBuilder.build(fopConfigStream);
         fopFactoryBuilder.setConfiguration(cfg);
 
-        return fopFactoryBuilder.build();
+        FopFactory fopFactory = fopFactoryBuilder.build();
+        if (event.shouldCommit()) {
+            List<FontFamily> families = fontFamilyList.getFontFamilyList();
+            event.fontFamilies = families.size();
+            event.fontFiles = families.stream()
+                    .mapToInt(family -> family.fontTypes() != null ? family.fontTypes().size() : 0)
+                    .sum();
+            event.commit();
+        }
+        return fopFactory;
     }
 
     /**
      * Generates XSL-FO (Extensible Stylesheet Language Formatting Objects) from the
-     * document model and style sheet. XSL-FO is an XML-based markup language that
-     * describes the layout and formatting of the document for rendering.
+     * document model and style sheet and renders it to PDF using Apache FOP.
      *
-     * <p>The generated XSL-FO includes all document content, applied styles, and
-     * references to external resources such as images.</p>
+     * <p>The XSL-FO document is not copied into a String or encoded to bytes: the generator
+     * delivers it as SAX events directly to the default handler of the FOP instance.</p>
      *
+     * @param fopFactory the configured FOP factory
      * @param document   the document structure to convert to XSL-FO
      * @param styleSheet the style definitions to apply
-     * @return a String containing the complete XSL-FO document
-     */
-    private String generateXslFo(Document document, StyleSheet styleSheet) {
-        ImageResolver imageResolver = resourceProvider::getResource;
-        String result = foGenerator.generate(document, styleSheet, imageResolver);
-
-
-            try {
-                Transformer prettyTransformer = TransformerFactory.newInstance().newTransformer();
-                prettyTransformer.setOutputProperty(OutputKeys.INDENT, "yes");
-                prettyTransformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-                StringWriter writer = new StringWriter();
-                prettyTransformer.transform(new StreamSource(new ByteArrayInputStream(result.getBytes())), new StreamResult(writer));
-                String prettyXslFo = writer.toString();
-                log.debug("----------------- Pretty XSL-FO-String -----------\n{}", prettyXslFo);
-            } catch (Exception e) {
-                log.debug("Result is {}",new String(result.getBytes(), StandardCharsets.UTF_8));
-                throw new RuntimeException(e);
-            }
-
-
-        return result;
+     * @param out        the target of the generated PDF
+     * @param metrics    the measurements of the job
+     * @throws Exception if generation or rendering fails
+     */
+    private void renderToPdf(FopFactory fopFactory, Document document, StyleSheet styleSheet, OutputStream out,
+                             RenderMetrics metrics) throws Exception {
+        ImageStore jobImageStore = newJobImageStore();
+        renderToPdf(fopFactory, document, jobImageStore,
+                handler -> foGenerator.generate(document, styleSheet, imageResolver, jobImageStore, handler), out, metrics);
     }
 
     /**
-     * Transforms XSL-FO content to PDF format using Apache FOP.
-     * This method configures the XSLT transformer with the necessary URI resolver,
-     * creates a FOP instance for PDF output, and performs the transformation.
-     *
-     * <p><b>Process:</b></p>
-     * <ol>
-     *   <li>Creates a FOP instance configured for PDF output</li>
-     *   <li>Sets up an XSLT transformer with custom URI resolver</li>
-     *   <li>Transforms the XSL-FO source to PDF via SAX events</li>
-     *   <li>Returns the PDF data as a ByteArrayOutputStream</li>
-     * </ol>
+     * Returns the store the images of a new render job are registered in: the store set with
+     * {@link Builder#withImageStore(ImageStore)}, or a new store that is released with the job.
      *
-     * @param fopFactory the configured FOP factory
-     * @param xslFoString the XSL-FO content to transform
-     * @return a ByteArrayOutputStream containing the generated PDF
-     * @throws Exception if transformation fails
+     * @return the image store of the job
      */
-    private ByteArrayOutputStream transformToPdf(FopFactory fopFactory, String xslFoString)
-            throws Exception {
-        ByteArrayOutputStream pdfOutputStream = new ByteArrayOutputStream();
-
-        try {
-            // Create FOP instance for PDF generation
-            Fop fop = fopFactory.newFop(FOP_MIME_TYPE, pdfOutputStream);
-
-            // Set up transformer
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            Transformer transformer = transformerFactory.newTransformer();
+    private ImageStore newJobImageStore() {
+        return imageStore != null ? imageStore : new ImageStore();
+    }
 
-            // Set URI resolver for external resource resolution
-            transformer.setURIResolver(new EFopURIResolver(resourceProvider));
+    /**
+     * Renders the XSL-FO delivered by the emitter to PDF using Apache FOP. If diagnostics
+     * are enabled, the XSL-FO of sampled or failed jobs is captured. The image store of the
+     * job is bound to the current thread while FOP loads the images.
+     *
+     * @param fopFactory    the configured FOP factory
+     * @param document      the rendered document, or {@code null} if the XSL-FO is filled from a template
+     * @param jobImageStore the store the emitter registers the images of the job in
+     * @param emitter       delivers the XSL-FO document as SAX events
+     * @param out           the target of the generated PDF
+     * @param metrics       the measurements of the job
+     * @throws Exception if generation or rendering fails
+     */
+    private void renderToPdf(FopFactory fopFactory, Document document, ImageStore jobImageStore, FoEmitter emitter,
+                             OutputStream out, RenderMetrics metrics) throws Exception {
+        try (ImageStore.Binding ignored = jobImageStore.bind()) {
+            renderBound(fopFactory, document, emitter, out, metrics);
+        }
+    }
 
+    /**
+     * Renders the XSL-FO delivered by the emitter while the image store of the job is bound, see
+     * {@link #renderToPdf(FopFactory, Document, ImageStore, FoEmitter, OutputStream, RenderMetrics)}.
+     */
+    private void renderBound(FopFactory fopFactory, Document document, FoEmitter emitter, OutputStream out,
+                             RenderMetrics metrics) throws Exception {
+        FopLayoutEvent event = new FopLayoutEvent();
+        event.begin();
+
+        Fop fop = fopFactory.newFop(FOP_MIME_TYPE, metrics.measure(out));
+        ContentHandler foHandler = metrics.measure(fop.getDefaultHandler());
+
+        if (!diagnostics.isEnabled()) {
+            metrics.foStages(() -> {
+                emitter.emit(foHandler);
+                return null;
+            });
+            commitLayoutEvent(event, document, fop);
+            return;
+        }
 
-                Transformer prettyTransformer = TransformerFactory.newInstance().newTransformer();
-                prettyTransformer.setOutputProperty(OutputKeys.INDENT, "yes");
-                prettyTransformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-                StringWriter writer = new StringWriter();
-                prettyTransformer.transform(new StreamSource(new ByteArrayInputStream(xslFoString.getBytes())), new StreamResult(writer));
-                String prettyXslFo = writer.toString();
-                log.debug("################# Pretty XSL-FO-String ################\n{}", prettyXslFo);
+        long jobId = diagnostics.nextJobId();
+        StringWriter capture = diagnostics.sample() ? new StringWriter() : null;
+        try {
+            ContentHandler handler = capture != null
+                    ? new TeeContentHandler(createSerializer(capture), foHandler)
+                    : foHandler;
+            metrics.foStages(() -> {
+                emitter.emit(handler);
+                return null;
+            });
+        } catch (Exception e) {
+            if (diagnostics.captureOnFailure()) {
+                captureFailure(jobId, document, emitter, capture, e);
+            }
+            throw e;
+        }
+        commitLayoutEvent(event, document, fop);
+        if (capture != null) {
+            diagnostics.publish(jobId, FoDump.Reason.SAMPLED, capture.toString(), null);
+        }
+    }
 
+    /**
+     * Commits the layout event of a successfully rendered job if it is enabled.
+     *
+     * @param event    the begun event
+     * @param document the rendered document, or {@code null} for templates
+     * @param fop      the FOP instance that rendered the job
+     */
+    private static void commitLayoutEvent(FopLayoutEvent event, Document document, Fop fop) {
+        if (event.shouldCommit()) {
+            event.documentId = document != null ? Integer.toHexString(System.identityHashCode(document)) : null;
+            event.template = document == null;
+            event.pages = fop.getResults() != null ? fop.getResults().getPageCount() : 0;
+            event.commit();
+        }
+    }
 
+    /**
+     * Renders a filled template with a prepared context. The OutputStream is flushed but not closed.
+     *
+     * @param context    the prepared style sheet and fonts of the template
+     * @param template   the compiled template
+     * @param imageStore the store holding the images of the template
+     * @param data       the values of the template slots
+     * @param out        the target of the generated PDF
+     * @throws Exception if filling the template or rendering fails
+     */
+    void render(RenderingContext context, FoTemplate template, ImageStore imageStore, TemplateData data,
+                OutputStream out) throws Exception {
+        RenderMetrics metrics = RenderMetrics.start(renderListener);
+        try {
+            renderToPdf(context.fopFactory(), null, imageStore,
+                    handler -> template.fill(data.values(), data.rows(), handler), out, metrics);
+            out.flush();
+        } catch (Exception e) {
+            metrics.complete(e);
+            throw e;
+        }
+        metrics.complete(null);
+    }
 
-            // Prepare source and result
-            InputStream xslFoStream = new ByteArrayInputStream(xslFoString.getBytes());
-            Source source = new StreamSource(xslFoStream);
-            Result result = new SAXResult(fop.getDefaultHandler());
+    /**
+     * Runs a warm-up part and measures its wall time.
+     *
+     * @param name the name of the part
+     * @param part the work of the part
+     * @return the timed part
+     * @throws Exception if the part fails
+     */
+    private static WarmUpReport.Part timed(String name, Callable<?> part) throws Exception {
+        long start = System.nanoTime();
+        part.call();
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        log.debug("Warm-up part '{}' took {} ms", name, duration.toMillis());
+        return new WarmUpReport.Part(name, duration);
+    }
 
-            // Perform transformation
-            transformer.transform(source, result);
+    /**
+     * Deletes a partially written PDF file after a failed generation.
+     *
+     * @param target the file to delete
+     */
+    private static void deletePartialFile(Path target) {
+        try {
+            Files.deleteIfExists(target);
+        } catch (IOException e) {
+            log.warn("Could not delete partially written PDF {}: {}", target, e.getMessage());
+        }
+    }
 
-            return pdfOutputStream;
+    /**
+     * Creates a SAX handler that serializes the received XSL-FO into the writer.
+     *
+     * @param writer the target of the serialized document
+     * @return the serializing handler
+     * @throws TransformerConfigurationException if no serializer is available
+     */
+    private static ContentHandler createSerializer(StringWriter writer) throws TransformerConfigurationException {
+        SAXTransformerFactory factory = (SAXTransformerFactory) TransformerFactory.newInstance();
+        TransformerHandler serializer = factory.newTransformerHandler();
+        serializer.setResult(new StreamResult(writer));
+        return serializer;
+    }
 
-        } catch (Exception e) {
-            // Ensure output stream is closed on error
-            try {
-                pdfOutputStream.close();
-            } catch (Exception closeEx) {
-                log.warn("Failed to close PDF output stream after error", closeEx);
+    /**
+     * Captures the XSL-FO of a failed render job. If the job was sampled, the events received
+     * up to the failure are used; otherwise the XSL-FO is generated again, unless the document
+     * streams table rows from a row source that was consumed by the failed job.
+     *
+     * @param jobId    the id of the render job
+     * @param document the rendered document, or {@code null} if the XSL-FO is filled from a template
+     * @param emitter  delivers the XSL-FO of the job
+     * @param capture  the events captured so far, or {@code null} if the job was not sampled
+     * @param failure  the exception the job failed with
+     */
+    private void captureFailure(long jobId, Document document, FoEmitter emitter, StringWriter capture,
+                                Exception failure) {
+        try {
+            if (capture == null) {
+                if (document != null && !XslFoGenerator.isRepeatable(document)) {
+                    log.warn("Not capturing XSL-FO of failed job {}: its tables stream rows from a TableRowSource, "
+                            + "which can be read only once, so the XSL-FO cannot be generated again. "
+                            + "Sample such jobs to capture them.", jobId);
+                    return;
+                }
+                capture = new StringWriter();
+                ContentHandler serializer = createSerializer(capture);
+                emitter.emit(serializer);
             }
-            throw e;
+            diagnostics.publish(jobId, FoDump.Reason.FAILURE, capture.toString(), failure);
+        } catch (Exception e) {
+            log.warn("Could not capture XSL-FO of failed job {}: {}", jobId, e.getMessage());
         }
     }
 
@@ -708,4 +1269,259 @@ public final class PdfGenerationFacade {
         Objects.requireNonNull(document, "Document must not be null");
         Objects.requireNonNull(styleSheet, "StyleSheet must not be null");
     }
-}
\ No newline at end of file
+
+    /**
+     * Delivers an XSL-FO document as SAX events, either generated from a document model
+     * or filled from a template.
+     */
+    @FunctionalInterface
+    private interface FoEmitter {
+        void emit(ContentHandler handler) throws Exception;
+    }
+
+    /**
+     * The model objects read from the JSON input of a render job.
+     */
+    private record JsonInput(Document document, StyleSheet styleSheet, FontFamilyList fontFamilyList) {
+    }
+
+    /**
+     * Builder for {@link PdfGenerationFacade} instances with optional settings.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>{@code
+     * PdfGenerationFacade facade = PdfGenerationFacade.builder(provider)
+     *     .withFopFactoryCache(new FopFactoryCache(4))
+     *     .withDiagnostics(FoDiagnostics.builder()
+     *         .captureOnFailure(true)
+     *         .withSink(FoDumpSink.directory(Path.of("fo-dumps")))
+     *         .build())
+     *     .build();
+     * }</pre>
+     */
+    public static final class Builder {
+        private final EResourceProvider provider;
+        private FopFactoryCache fopFactoryCache = FopFactoryCache.shared();
+        private FoDiagnostics diagnostics = FoDiagnostics.disabled();
+        private RenderListener renderListener;
+        private final XslFoGenerator.Builder foGenerator = XslFoGenerator.builder();
+        private ImageSettings images = ImageSettings.defaults();
+        private final List<Consumer<XslFoGenerator>> extensions = new ArrayList<>();
+
+        private Builder(EResourceProvider provider) {
+            this.provider = provider;
+        }
+
+        /**
+         * Sets the cache for configured FOP factories. Defaults to {@link FopFactoryCache#shared()}.
+         *
+         * @param fopFactoryCache the cache; must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if fopFactoryCache is {@code null}
+         */
+        public Builder withFopFactoryCache(FopFactoryCache fopFactoryCache) {
+            this.fopFactoryCache = Objects.requireNonNull(fopFactoryCache, "fopFactoryCache must not be null");
+            return this;
+        }
+
+        /**
+         * Sets the XSL-FO diagnostics configuration. Defaults to {@link FoDiagnostics#disabled()}.
+         *
+         * @param diagnostics the diagnostics configuration; must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if diagnostics is {@code null}
+         */
+        public Builder withDiagnostics(FoDiagnostics diagnostics) {
+            this.diagnostics = Objects.requireNonNull(diagnostics, "diagnostics must not be null");
+            return this;
+        }
+
+        /**
+         * Sets the listener receiving a {@link RenderReport} with the timings and sizes of
+         * every render job. By default no listener is set and render jobs are not measured.
+         *
+         * @param renderListener the listener; must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if renderListener is {@code null}
+         */
+        public Builder withRenderListener(RenderListener renderListener) {
+            this.renderListener = Objects.requireNonNull(renderListener, "renderListener must not be null");
+            return this;
+        }
+
+        /**
+         * Generates the XSL-FO of large documents concurrently in the given pool: the headers,
+         * footers and bodies of all page sequences are split into chunks of top-level elements
+         * that are generated in parallel and joined in document order. The generated XSL-FO is
+         * the same as with sequential generation. By default the XSL-FO is generated on the
+         * calling thread.
+         *
+         * <p>The resource provider is then called from the threads of the pool and has to be
+         * thread-safe.</p>
+         *
+         * @param pool the pool, e.g. {@link ForkJoinPool#commonPool()}; must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if pool is {@code null}
+         */
+        public Builder withParallelFoGeneration(ForkJoinPool pool) {
+            foGenerator.withPool(pool);
+            return this;
+        }
+
+        /**
+         * Reuses the generated XSL-FO of repeated content from the given cache: top-level
+         * elements of headers and footers, and top-level sections and parts of bodies, that
+         * contain no headlines, footnotes or notes. Identical content is then generated once per
+         * style sheet instance, within a document and across render jobs with the same
+         * {@link StyleSheet}. By default all elements are generated.
+         *
+         * <p>The JSON methods read a new style sheet per job, so their fragments are reused
+         * within the document only; to reuse them across jobs, render from the model with one
+         * style sheet or with a {@link RenderingContext}.</p>
+         *
+         * <p>Images are cached with their data; clear the cache after changing image
+         * resources of the resource provider.</p>
+         *
+         * @param fragmentCache the cache, e.g. {@code new FoFragmentCache(FoFragmentCache.DEFAULT_MAX_SIZE)};
+         *                      must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if fragmentCache is {@code null}
+         */
+        public Builder withFragmentCache(FoFragmentCache fragmentCache) {
+            foGenerator.withFragmentCache(fragmentCache);
+            return this;
+        }
+
+        /**
+         * Splits the bodies of large page sequences into consecutive page sequences with the
+         * same page master, header and footer, so that the memory FOP needs for layout depends
+         * on the size of the parts instead of the size of the document. Every part starts on a
+         * new page; page numbers continue. Defaults to {@link PageSequenceSplitting#disabled()}.
+         *
+         * @param pageSequenceSplitting when to split, e.g. {@code PageSequenceSplitting.afterElements(500)};
+         *                              must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if pageSequenceSplitting is {@code null}
+         */
+        public Builder withPageSequenceSplitting(PageSequenceSplitting pageSequenceSplitting) {
+            foGenerator.withPageSequenceSplitting(pageSequenceSplitting);
+            return this;
+        }
+
+        /**
+         * Sets the store the image bytes of all generated documents are held in while FOP loads
+         * them. By default, every render job registers its images in a store of its own, which is
+         * released when the job is finished, and every template in a store it keeps. A store set
+         * here keeps all images of all jobs until it is {@link ImageStore#clear() cleared}.
+         *
+         * @param imageStore the store; must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if imageStore is {@code null}
+         */
+        public Builder withImageStore(ImageStore imageStore) {
+            this.images = images.withImageStore(Objects.requireNonNull(imageStore, "imageStore must not be null"));
+            return this;
+        }
+
+        /**
+         * Sets the cache of loaded images, which reuses the bytes and the converted form of
+         * images across renders instead of reading and converting them again. By default no
+         * cache is used and every render loads its images.
+         *
+         * <p>Cached images are not revalidated: an image that changes behind the same path or
+         * URL is rendered from the cache until it is evicted or the cache is
+         * {@link ImageCache#clear() cleared}. Only configure a cache for image resources that do
+         * not change while the facade is in use, or clear it after changing them.
+         * {@link ImageCache#shared()} shares one cache between all facades of the process.</p>
+         *
+         * @param imageCache the cache, e.g. {@code new ImageCache(256L << 20, ImageCache.Retention.SOFT)};
+         *                   must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if imageCache is {@code null}
+         */
+        public Builder withImageCache(ImageCache imageCache) {
+            this.images = images.withImageCache(Objects.requireNonNull(imageCache, "imageCache must not be null"));
+            return this;
+        }
+
+        /**
+         * Sets how SVG images are put into the PDF, unless the style of a block image sets
+         * {@code svg-rendering} itself. Defaults to {@link SvgRendering#RASTER}, which converts
+         * SVG images to PNG. {@link SvgRendering#VECTOR} hands the SVG to FOP, which draws it as
+         * vector graphic: no rasterization at generation time, smaller PDFs and sharp output at
+         * any zoom. The alt text of the images is tagged the same way in both modes.
+         *
+         * @param svgRendering the rendering of SVG images; must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if svgRendering is {@code null}
+         */
+        public Builder withSvgRendering(SvgRendering svgRendering) {
+            this.images = images.withSvgRendering(svgRendering);
+            return this;
+        }
+
+        /**
+         * Enables downsampling and recompression of raster images for the width they are shown
+         * at, e.g. a camera photo shown 4 cm wide, and the conversion of GIF and WebP images to
+         * PNG. Disabled by default, so the original image bytes go into the PDF.
+         *
+         * @param imageOptimizer the optimizer, e.g. {@code ImageOptimizer.builder().withMaxDpi(150).build()};
+         *                       must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if imageOptimizer is {@code null}
+         */
+        public Builder withImageOptimizer(ImageOptimizer imageOptimizer) {
+            this.images = images.withImageOptimizer(
+                    Objects.requireNonNull(imageOptimizer, "imageOptimizer must not be null"));
+            return this;
+        }
+
+        /**
+         * Registers the generator writing the XSL-FO of an application-defined block element
+         * type. Without a generator, elements of the type are skipped with a warning.
+         *
+         * @param type      the class of the elements; must not be {@code null}
+         * @param generator the generator of the elements; must not be {@code null}
+         * @param <E>       the type of the elements
+         * @return this builder for method chaining
+         * @throws NullPointerException if type or generator is {@code null}
+         */
+        public <E extends ExtensionElement> Builder withExtensionGenerator(Class<E> type,
+                                                                          ExtensionFoGenerator<? super E> generator) {
+            Objects.requireNonNull(type, "type must not be null");
+            Objects.requireNonNull(generator, "generator must not be null");
+            extensions.add(foGenerator -> foGenerator.registerExtension(type, generator));
+            return this;
+        }
+
+        /**
+         * Registers the generator writing the XSL-FO of an application-defined inline element
+         * type. Without a generator, elements of the type are skipped with a warning.
+         *
+         * @param type      the class of the elements; must not be {@code null}
+         * @param generator the generator of the elements; must not be {@code null}
+         * @param <E>       the type of the elements
+         * @return this builder for method chaining
+         * @throws NullPointerException if type or generator is {@code null}
+         */
+        public <E extends InlineExtensionElement> Builder withInlineExtensionGenerator(Class<E> type,
+                                                                                      ExtensionFoGenerator<? super E> generator) {
+            Objects.requireNonNull(type, "type must not be null");
+            Objects.requireNonNull(generator, "generator must not be null");
+            extensions.add(foGenerator -> foGenerator.registerInlineExtension(type, generator));
+            return this;
+        }
+
+        /**
+         * Builds the facade.
+         *
+         * @return the configured facade
+         * @throws IllegalArgumentException if the resource provider is {@code null}
+         */
+        public PdfGenerationFacade build() {
+            XslFoGenerator generator = foGenerator.withImages(images).build();
+            extensions.forEach(extension -> extension.accept(generator));
+            return new PdfGenerationFacade(provider, fopFactoryCache, diagnostics, renderListener, generator);
+        }
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.api.utils.EResourceProvider;
+import de.fkkaiser.model.annotation.PublicAPI;
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.style.StyleSheet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs many PDF render jobs concurrently with bounded parallelism and an asynchronous API.
+ *
+ * <p>Every job runs on its own virtual thread. At most {@link Builder#withMaxConcurrency(int)}
+ * jobs render at the same time; further jobs wait in a queue of
+ * {@link Builder#withQueueCapacity(int)} places. When the queue is full, the submitting thread
+ * blocks until a place becomes free (backpressure), or - if an admission timeout is configured -
+ * the submission is rejected with a {@link RejectedExecutionException}.</p>
+ *
+ * <p><b>Shared Infrastructure:</b></p>
+ * All jobs of a service share one {@link PdfGenerationFacade}, so readers, the XSL-FO generator
+ * and the {@link FopFactoryCache} (configured fonts) are reused across jobs. To render with
+ * fragment or image caches, parallel XSL-FO generation or extension generators, create the
+ * service from a configured {@link PdfGenerationFacade.Builder}. A {@link StyleSheet} and
+ * {@link FontFamilyList} may be shared by concurrently running jobs; they are only read. Each
+ * job needs its own {@link Document}, since style resolution stores the resolved styles in the
+ * document's elements.
+ *
+ * <p>Jobs that share their style sheet and fonts are best submitted with a
+ * {@link RenderingContext} from {@link #prepare(StyleSheet, FontFamilyList)}, which validates
+ * the fonts and configures the FOP factory once instead of once per job.</p>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * try (PdfRenderService service = PdfRenderService.builder(provider)
+ *         .withMaxConcurrency(8)
+ *         .withQueueCapacity(64)
+ *         .build()) {
+ *
+ *     RenderingContext context = service.prepare(styleSheet, fonts);
+ *     List<CompletableFuture<ByteArrayOutputStream>> results = new ArrayList<>();
+ *     for (Document invoice : invoices) {
+ *         results.add(service.submit(context, invoice));
+ *     }
+ *     CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+ * }
+ * }</pre>
+ *
+ * <p><b>Thread Safety:</b></p>
+ * This class is thread-safe. Jobs can be submitted from any number of threads.
+ *
+ * @author Katrin Kaiser
+ * @version 1.1.0
+ * @see PdfGenerationFacade
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public final class PdfRenderService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfRenderService.class);
+
+    private final PdfGenerationFacade facade;
+    private final ExecutorService executor;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final Duration admissionTimeout;
+
+    // Limits the number of jobs that render at the same time
+    private final Semaphore renderPermits;
+    // Limits the number of accepted jobs (rendering + waiting)
+    private final Semaphore admissionPermits;
+
+    private volatile boolean closed;
+
+    private PdfRenderService(Builder builder) {
+        this.facade = builder.facade.build();
+        this.maxConcurrency = builder.maxConcurrency;
+        this.queueCapacity = builder.queueCapacity < 0 ? 4 * maxConcurrency : builder.queueCapacity;
+        this.admissionTimeout = builder.admissionTimeout;
+        this.renderPermits = new Semaphore(maxConcurrency);
+        this.admissionPermits = new Semaphore(maxConcurrency + queueCapacity);
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("jaccess-pdf-render-", 0).factory());
+
+        log.debug("PdfRenderService started (maxConcurrency={}, queueCapacity={})", maxConcurrency, queueCapacity);
+    }
+
+    /**
+     * Creates a new builder for a render service.
+     *
+     * @param provider the resource provider for resolving fonts and images; must not be {@code null}
+     * @return a new Builder instance
+     */
+    public static Builder builder(EResourceProvider provider) {
+        return new Builder(PdfGenerationFacade.builder(provider));
+    }
+
+    /**
+     * Creates a new builder for a render service whose jobs share a facade built from the given
+     * builder, e.g. with a fragment cache, an image cache or extension generators.
+     *
+     * @param facade the builder of the shared facade; must not be {@code null}
+     * @return a new Builder instance
+     * @throws NullPointerException if facade is {@code null}
+     */
+    public static Builder builder(PdfGenerationFacade.Builder facade) {
+        return new Builder(Objects.requireNonNull(facade, "facade must not be null"));
+    }
+
+    /**
+     * Prepares a style sheet and fonts once for many jobs of this service, see
+     * {@link PdfGenerationFacade#prepare(StyleSheet, FontFamilyList)}.
+     *
+     * @param styleSheet     the style definitions; must not be {@code null}
+     * @param fontFamilyList the fonts; may be {@code null} (default font will be used)
+     * @return the prepared rendering context, for {@link #submit(RenderingContext, Document)}
+     * @throws PdfGenerationException if text styles reference missing fonts or the
+     *                                FOP factory cannot be configured
+     * @throws NullPointerException   if styleSheet is {@code null}
+     */
+    public RenderingContext prepare(StyleSheet styleSheet, FontFamilyList fontFamilyList)
+            throws PdfGenerationException {
+        return facade.prepare(styleSheet, fontFamilyList);
+    }
+
+    /**
+     * Submits a render job for a document with a prepared style sheet and fonts.
+     *
+     * @param context  the prepared style sheet and fonts; may be shared between jobs
+     * @param document the document to render; must not be shared with other running jobs
+     * @return a future completed with the PDF, or exceptionally with a {@link PdfGenerationException}
+     * @throws InterruptedException       if interrupted while waiting for a queue place
+     * @throws RejectedExecutionException if the service is closed or no queue place
+     *                                    became free within the admission timeout
+     * @throws NullPointerException       if context is {@code null}
+     */
+    public CompletableFuture<ByteArrayOutputStream> submit(RenderingContext context,
+                                                           Document document) throws InterruptedException {
+        Objects.requireNonNull(context, "RenderingContext must not be null");
+        return enqueue(() -> context.generatePDF(document));
+    }
+
+    /**
+     * Submits a render job for a document with a prepared style sheet and fonts that writes the
+     * PDF to the given stream. The stream is flushed but not closed when the job completes.
+     *
+     * @param context  the prepared style sheet and fonts; may be shared between jobs
+     * @param document the document to render; must not be shared with other running jobs
+     * @param out      the target of the PDF; must not be {@code null}
+     * @return a future completed when the PDF has been written,
+     *         or exceptionally with a {@link PdfGenerationException}
+     * @throws InterruptedException       if interrupted while waiting for a queue place
+     * @throws RejectedExecutionException if the service is closed or no queue place
+     *                                    became free within the admission timeout
+     * @throws NullPointerException       if context or out is {@code null}
+     */
+    public CompletableFuture<Void> submit(RenderingContext context, Document document,
+                                          OutputStream out) throws InterruptedException {
+        Objects.requireNonNull(context, "RenderingContext must not be null");
+        Objects.requireNonNull(out, "OutputStream must not be null");
+        return enqueue(() -> {
+            context.generatePDF(document, out);
+            return null;
+        });
+    }
+
+    /**
+     * Submits a render job for pre-built model objects.
+     *
+     * @param document       the document to render; must not be shared with other running jobs
+     * @param styleSheet     the style definitions; may be shared between jobs
+     * @param fontFamilyList the fonts; may be shared between jobs and may be {@code null}
+     * @return a future completed with the PDF, or exceptionally with a {@link PdfGenerationException}
+     * @throws InterruptedException       if interrupted while waiting for a queue place
+     * @throws RejectedExecutionException if the service is closed or no queue place
+     *                                    became free within the admission timeout
+     */
+    public CompletableFuture<ByteArrayOutputStream> submit(Document document,
+                                                           StyleSheet styleSheet,
+                                                           FontFamilyList fontFamilyList) throws InterruptedException {
+        return enqueue(() -> facade.generatePDF(document, styleSheet, fontFamilyList));
+    }
+
+    /**
+     * Submits a render job for pre-built model objects that writes the PDF to the given stream.
+     * The stream is flushed but not closed when the job completes.
+     *
+     * @param document       the document to render; must not be shared with other running jobs
+     * @param styleSheet     the style definitions; may be shared between jobs
+     * @param fontFamilyList the fonts; may be shared between jobs and may be {@code null}
+     * @param out            the target of the PDF; must not be {@code null}
+     * @return a future completed when the PDF has been written,
+     *         or exceptionally with a {@link PdfGenerationException}
+     * @throws InterruptedException       if interrupted while waiting for a queue place
+     * @throws RejectedExecutionException if the service is closed or no queue place
+     *                                    became free within the admission timeout
+     */
+    public CompletableFuture<Void> submit(Document document,
+                                          StyleSheet styleSheet,
+                                          FontFamilyList fontFamilyList,
+                                          OutputStream out) throws InterruptedException {
+        Objects.requireNonNull(out, "OutputStream must not be null");
+        return enqueue(() -> {
+            facade.generatePDF(document, styleSheet, fontFamilyList, out);
+            return null;
+        });
+    }
+
+    /**
+     * Submits a render job for JSON input streams. The streams are read by the job, so they
+     * must stay open until the returned future is completed.
+     *
+     * @param structureJson the document structure as JSON
+     * @param styleJson     the style definitions as JSON
+     * @param fontListJson  the font configuration as JSON
+     * @return a future completed with the PDF, or exceptionally with a {@link PdfGenerationException}
+     * @throws InterruptedException       if interrupted while waiting for a queue place
+     * @throws RejectedExecutionException if the service is closed or no queue place
+     *                                    became free within the admission timeout
+     */
+    public CompletableFuture<ByteArrayOutputStream> submit(InputStream structureJson,
+                                                           InputStream styleJson,
+                                                           InputStream fontListJson) throws InterruptedException {
+        return enqueue(() -> facade.generatePDF(structureJson, styleJson, fontListJson));
+    }
+
+    /**
+     * Admits a job and starts it on a virtual thread, which waits for a render permit.
+     *
+     * @param job the job to run
+     * @return a future completed with the result of the job
+     * @throws InterruptedException if interrupted while waiting for a queue place
+     */
+    <T> CompletableFuture<T> enqueue(Callable<T> job) throws InterruptedException {
+        if (closed) {
+            throw new RejectedExecutionException("PdfRenderService is closed");
+        }
+        acquireAdmission();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> run(job, result));
+        } catch (RejectedExecutionException e) {
+            admissionPermits.release();
+            throw e;
+        }
+        return result;
+    }
+
+    private void acquireAdmission() throws InterruptedException {
+        if (admissionTimeout == null) {
+            admissionPermits.acquire();
+        } else if (!admissionPermits.tryAcquire(admissionTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new RejectedExecutionException(String.format(
+                    "Render queue is full (%d running, %d waiting)", maxConcurrency, queueCapacity));
+        }
+    }
+
+    private <T> void run(Callable<T> job, CompletableFuture<T> result) {
+        try {
+            renderPermits.acquire();
+            try {
+                // Skip jobs that were cancelled while waiting
+                if (!result.isDone()) {
+                    result.complete(job.call());
+                }
+            } finally {
+                renderPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        } finally {
+            admissionPermits.release();
+        }
+    }
+
+    /**
+     * Returns the number of jobs that are rendering right now.
+     *
+     * @return the number of running jobs
+     */
+    public int runningJobs() {
+        return maxConcurrency - renderPermits.availablePermits();
+    }
+
+    /**
+     * Returns the number of accepted jobs that have not completed yet (running and waiting).
+     *
+     * @return the number of pending jobs
+     */
+    public int pendingJobs() {
+        return maxConcurrency + queueCapacity - admissionPermits.availablePermits();
+    }
+
+    /**
+     * Returns the facade shared by all jobs of this service.
+     *
+     * @return the shared facade
+     */
+    public PdfGenerationFacade facade() {
+        return facade;
+    }
+
+    /**
+     * Stops accepting new jobs and waits until all accepted jobs have completed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.close();
+        log.debug("PdfRenderService closed");
+    }
+
+    /**
+     * Builder for {@link PdfRenderService}.
+     */
+    public static final class Builder {
+        private final PdfGenerationFacade.Builder facade;
+        private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = -1;
+        private Duration admissionTimeout;
+
+        private Builder(PdfGenerationFacade.Builder facade) {
+            this.facade = facade;
+        }
+
+        /**
+         * Sets the maximum number of jobs that render at the same time.
+         * Defaults to the number of available processors.
+         *
+         * @param maxConcurrency the concurrency cap; must be positive
+         * @return this builder for method chaining
+         * @throws IllegalArgumentException if maxConcurrency is not positive
+         */
+        public Builder withMaxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets the number of jobs that may wait for a render slot. When the queue is full,
+         * {@code submit} blocks. Defaults to four times the concurrency cap.
+         *
+         * @param queueCapacity the number of waiting jobs; must not be negative
+         * @return this builder for method chaining
+         * @throws IllegalArgumentException if queueCapacity is negative
+         */
+        public Builder withQueueCapacity(int queueCapacity) {
+            if (queueCapacity < 0) {
+                throw new IllegalArgumentException("queueCapacity must not be negative: " + queueCapacity);
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets how long {@code submit} waits for a free queue place before rejecting the job.
+         * By default, {@code submit} waits without limit.
+         *
+         * @param admissionTimeout the maximum waiting time; must not be {@code null} or negative
+         * @return this builder for method chaining
+         * @throws IllegalArgumentException if admissionTimeout is negative
+         */
+        public Builder withAdmissionTimeout(Duration admissionTimeout) {
+            Objects.requireNonNull(admissionTimeout, "admissionTimeout must not be null");
+            if (admissionTimeout.isNegative()) {
+                throw new IllegalArgumentException("admissionTimeout must not be negative: " + admissionTimeout);
+            }
+            this.admissionTimeout = admissionTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the cache for configured FOP factories of the shared facade, see
+         * {@link PdfGenerationFacade.Builder#withFopFactoryCache(FopFactoryCache)}.
+         *
+         * @param fopFactoryCache the cache; must not be {@code null}
+         * @return this builder for method chaining
+         */
+        public Builder withFopFactoryCache(FopFactoryCache fopFactoryCache) {
+            facade.withFopFactoryCache(fopFactoryCache);
+            return this;
+        }
+
+        /**
+         * Sets the XSL-FO diagnostics configuration of the shared facade, see
+         * {@link PdfGenerationFacade.Builder#withDiagnostics(FoDiagnostics)}.
+         *
+         * @param diagnostics the diagnostics configuration; must not be {@code null}
+         * @return this builder for method chaining
+         */
+        public Builder withDiagnostics(FoDiagnostics diagnostics) {
+            facade.withDiagnostics(diagnostics);
+            return this;
+        }
+
+        /**
+         * Builds and starts the render service.
+         *
+         * @return the render service
+         * @throws IllegalArgumentException if the resource provider is {@code null}
+         */
+        public PdfRenderService build() {
+            return new PdfRenderService(this);
+        }
+    }
+}
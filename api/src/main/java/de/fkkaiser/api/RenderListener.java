@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+
+/**
+ * Receives the {@link RenderReport} of every render job of a facade, e.g. to forward the
+ * timings and sizes to a metrics system.
+ *
+ * <p>Listeners are called on the thread that rendered the document, after the PDF has been
+ * written and flushed, and also for failed jobs. They should return quickly; exceptions
+ * thrown by a listener are logged and do not affect the render job.</p>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * PdfGenerationFacade facade = PdfGenerationFacade.builder(provider)
+ *     .withRenderListener(report -> {
+ *         for (RenderReport.Stage stage : report.stages()) {
+ *             registry.timer("pdf.stage", "stage", stage.name()).record(stage.wallTime());
+ *         }
+ *         registry.summary("pdf.size").record(report.pdfBytes());
+ *     })
+ *     .build();
+ * }</pre>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ * @see RenderReport
+ * @see PdfGenerationFacade.Builder#withRenderListener(RenderListener)
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+@FunctionalInterface
+public interface RenderListener {
+
+    /**
+     * Called once per render job when the job has completed or failed.
+     *
+     * @param report the measurements of the job
+     */
+    void onRenderCompleted(RenderReport report);
+}
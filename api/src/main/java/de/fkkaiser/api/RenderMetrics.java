@@ -0,0 +1,254 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.Internal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.ContentHandler;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Package-private collector of the measurements of a single render job. When the job has
+ * completed, the measurements are published as a {@link RenderReport} to the facade's
+ * {@link RenderListener}.
+ *
+ * <p>The {@link #disabled() disabled} collector is used when no listener is configured;
+ * it runs the stages without measuring them and does not wrap the streams.</p>
+ *
+ * <p>Not thread-safe; a collector belongs to the thread rendering the job.</p>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.2
+ */
+@Internal
+final class RenderMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(RenderMetrics.class);
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final RenderMetrics DISABLED = new RenderMetrics(null);
+
+    private final RenderListener listener;
+    private final List<RenderReport.Stage> stages = new ArrayList<>();
+    private final Map<String, long[]> caches = new LinkedHashMap<>();
+    private MeasuringContentHandler foHandler;
+    private CountingOutputStream pdfOut;
+    private boolean completed;
+
+    private RenderMetrics(RenderListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the collector that measures nothing.
+     *
+     * @return the disabled collector
+     */
+    static RenderMetrics disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Starts collecting the measurements of a new render job.
+     *
+     * @param listener the listener receiving the report, or {@code null} to measure nothing
+     * @return the collector of the job
+     */
+    static RenderMetrics start(RenderListener listener) {
+        return listener != null ? new RenderMetrics(listener) : DISABLED;
+    }
+
+    /**
+     * Runs and times a stage of the job.
+     *
+     * @param name the name of the stage, see {@link RenderReport}
+     * @param work the work of the stage
+     * @param <T>  the result type of the stage
+     * @return the result of the work
+     * @throws Exception if the work fails; the stage is recorded anyway
+     */
+    <T> T stage(String name, Callable<T> work) throws Exception {
+        if (listener == null) {
+            return work.call();
+        }
+        long wallStart = System.nanoTime();
+        long cpuStart = cpuTime();
+        try {
+            return work.call();
+        } finally {
+            long cpu = cpuStart < 0 ? -1 : cpuTime() - cpuStart;
+            record(name, System.nanoTime() - wallStart, cpu);
+        }
+    }
+
+    /**
+     * Runs and times the XSL-FO generation and FOP processing. The generator delivers the
+     * document as SAX events once it is generated, and FOP processes every event before the
+     * next one is parsed. The wall time spent inside the handler returned by
+     * {@link #measure(ContentHandler)} is recorded as {@link RenderReport#LAYOUT}; the rest,
+     * i.e. generating the XSL-FO and converting it into SAX events, is recorded as
+     * {@link RenderReport#FO_GENERATION}.
+     *
+     * @param emit streams the XSL-FO into the measured handler
+     * @throws Exception if generating or processing the XSL-FO fails
+     */
+    void foStages(Callable<?> emit) throws Exception {
+        if (listener == null || foHandler == null) {
+            emit.call();
+            return;
+        }
+        long wallStart = System.nanoTime();
+        long cpuStart = cpuTime();
+        try {
+            emit.call();
+        } finally {
+            long wall = System.nanoTime() - wallStart;
+            long layoutWall = Math.min(foHandler.targetNanos(), wall);
+            long cpu = cpuStart < 0 ? -1 : cpuTime() - cpuStart;
+            // CPU time cannot be read per SAX event at a reasonable cost, so it is split by wall time
+            long layoutCpu = cpu < 0 || wall == 0 ? cpu : Math.round(cpu * ((double) layoutWall / wall));
+            record(RenderReport.FO_GENERATION, wall - layoutWall, cpu < 0 ? -1 : cpu - layoutCpu);
+            record(RenderReport.LAYOUT, layoutWall, layoutCpu);
+        }
+    }
+
+    /**
+     * Counts a cache lookup of the job.
+     *
+     * @param cache the name of the cache, see {@link RenderReport#caches()}
+     * @param hit   {@code true} if the entry was found in the cache
+     */
+    void cacheLookup(String cache, boolean hit) {
+        if (listener == null) {
+            return;
+        }
+        caches.computeIfAbsent(cache, name -> new long[2])[hit ? 0 : 1]++;
+    }
+
+    /**
+     * Wraps FOP's handler to measure the XSL-FO of the job.
+     *
+     * @param handler FOP's handler
+     * @return the measuring handler, or the given handler if the collector is disabled
+     */
+    ContentHandler measure(ContentHandler handler) {
+        if (listener == null) {
+            return handler;
+        }
+        foHandler = new MeasuringContentHandler(handler);
+        return foHandler;
+    }
+
+    /**
+     * Wraps the output of the job to count the PDF bytes.
+     *
+     * @param out the target of the PDF
+     * @return the counting stream, or the given stream if the collector is disabled
+     */
+    OutputStream measure(OutputStream out) {
+        if (listener == null) {
+            return out;
+        }
+        pdfOut = new CountingOutputStream(out);
+        return pdfOut;
+    }
+
+    /**
+     * Completes the job and publishes its report. Only the first call publishes a report,
+     * so nested calls for a failed job report the innermost failure.
+     *
+     * @param failure the exception the job failed with, or {@code null} if it succeeded
+     */
+    void complete(Exception failure) {
+        if (listener == null || completed) {
+            return;
+        }
+        completed = true;
+
+        Map<String, RenderReport.CacheUsage> cacheUsage = new LinkedHashMap<>();
+        caches.forEach((name, counts) -> cacheUsage.put(name, new RenderReport.CacheUsage(counts[0], counts[1])));
+        RenderReport report = new RenderReport(
+                stages,
+                foHandler != null ? foHandler.length() : 0,
+                foHandler != null ? foHandler.elementCounts() : Map.of(),
+                foHandler != null ? foHandler.imageBytes() : 0,
+                pdfOut != null ? pdfOut.count : 0,
+                cacheUsage,
+                failure);
+        try {
+            listener.onRenderCompleted(report);
+        } catch (RuntimeException e) {
+            log.warn("RenderListener failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void record(String name, long wallNanos, long cpuNanos) {
+        stages.add(new RenderReport.Stage(name, Duration.ofNanos(wallNanos),
+                cpuNanos < 0 ? null : Duration.ofNanos(cpuNanos)));
+    }
+
+    /**
+     * Returns the CPU time of the current thread.
+     *
+     * @return the time in nanoseconds, or {@code -1} if it cannot be measured for this thread
+     */
+    private static long cpuTime() {
+        if (!THREADS.isCurrentThreadCpuTimeSupported()) {
+            return -1;
+        }
+        try {
+            return THREADS.getCurrentThreadCpuTime();
+        } catch (UnsupportedOperationException e) {
+            // Virtual threads
+            return -1;
+        }
+    }
+
+    /**
+     * Counts the bytes written to the wrapped stream.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Measurements of a single render job, published to a {@link RenderListener}.
+ *
+ * <p><b>Stages:</b></p>
+ * Only the stages a job actually ran are reported, in the order they ran:
+ * <ol>
+ *   <li>{@value #JSON_PARSING}: reading the structure, style and font JSON (stream-based API only)</li>
+ *   <li>{@value #FONT_VALIDATION}: validating the font list and the text styles against it</li>
+ *   <li>{@value #FOP_FACTORY}: looking up the FOP factory, or creating it on a cache miss</li>
+ *   <li>{@value #STYLE_RESOLUTION}: resolving the element styles of the document</li>
+ *   <li>{@value #FO_GENERATION}: generating the XSL-FO (including image loading and SVG conversion)
+ *       and converting it into SAX events</li>
+ *   <li>{@value #LAYOUT}: FOP building the formatting tree, laying out the pages and writing the PDF,
+ *       i.e. all time spent inside FOP's SAX handler</li>
+ * </ol>
+ * The generated XSL-FO is read in place by the XML parser of the JDK, which delivers it to
+ * FOP's handler, and FOP lays out each page sequence when its end tag arrives, so parsing and
+ * layout run interleaved. The wall time spent inside the handler is reported as layout and
+ * the rest, i.e. generating and parsing the XSL-FO, as XSL-FO generation; the CPU time of
+ * both is split in the same ratio.
+ *
+ * <p>Jobs rendered with a {@link RenderingContext} or {@link DocumentTemplate} have no
+ * font validation and FOP factory stages, since that work was done when the context was
+ * prepared.</p>
+ *
+ * @param stages          the timed stages in the order they ran
+ * @param foLength        the length of the XSL-FO in characters, counted as serialized
+ *                        but without escaping
+ * @param foElementCounts the number of XSL-FO elements by local name, e.g. {@code block}
+ * @param imageBytes      the decoded size of the images embedded as data URIs or served from the image store
+ * @param pdfBytes        the number of PDF bytes written to the output
+ * @param caches          the hits and misses of the caches consulted by the job, by cache name
+ * @param failure         the exception the job failed with, or {@code null} if it succeeded
+ * @author Katrin Kaiser
+ * @version 1.0.2
+ * @see RenderListener
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public record RenderReport(List<Stage> stages,
+                           long foLength,
+                           Map<String, Integer> foElementCounts,
+                           long imageBytes,
+                           long pdfBytes,
+                           Map<String, CacheUsage> caches,
+                           Exception failure) {
+
+    /** Reading the JSON input into model objects. */
+    public static final String JSON_PARSING = "json-parsing";
+    /** Validating the font list and the text styles. */
+    public static final String FONT_VALIDATION = "font-validation";
+    /** Looking up or creating the FOP factory. */
+    public static final String FOP_FACTORY = "fop-factory";
+    /** Resolving the element styles of the document. */
+    public static final String STYLE_RESOLUTION = "style-resolution";
+    /** Generating the XSL-FO or filling a template, and converting it into SAX events. */
+    public static final String FO_GENERATION = "fo-generation";
+    /** FOP processing the XSL-FO and writing the PDF, measured inside FOP's SAX handler. */
+    public static final String LAYOUT = "layout";
+
+    /** The name of the {@link FopFactoryCache} in {@link #caches()}. */
+    public static final String FOP_FACTORY_CACHE = "fop-factory";
+
+    /**
+     * Creates a render report.
+     *
+     * @param stages          the timed stages in the order they ran
+     * @param foLength        the length of the XSL-FO in characters
+     * @param foElementCounts the number of XSL-FO elements by local name
+     * @param imageBytes      the decoded size of the images
+     * @param pdfBytes        the number of PDF bytes written
+     * @param caches          the cache usage by cache name
+     * @param failure         the exception the job failed with, or {@code null}
+     */
+    public RenderReport {
+        stages = List.copyOf(stages);
+        foElementCounts = Collections.unmodifiableMap(new TreeMap<>(foElementCounts));
+        caches = Collections.unmodifiableMap(new TreeMap<>(caches));
+    }
+
+    /**
+     * Returns whether the job produced a PDF.
+     *
+     * @return {@code true} if the job did not fail
+     */
+    public boolean succeeded() {
+        return failure == null;
+    }
+
+    /**
+     * Returns a stage of the job.
+     *
+     * @param name the name of the stage, e.g. {@link #LAYOUT}
+     * @return the stage, or empty if the job did not run it
+     */
+    public Optional<Stage> stage(String name) {
+        return stages.stream().filter(stage -> stage.name().equals(name)).findFirst();
+    }
+
+    /**
+     * Returns the sum of the wall times of all stages.
+     *
+     * @return the total wall time
+     */
+    public Duration totalWallTime() {
+        return stages.stream().map(Stage::wallTime).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /**
+     * A timed stage of a render job.
+     *
+     * @param name     the name of the stage
+     * @param wallTime the elapsed time of the stage
+     * @param cpuTime  the CPU time the rendering thread spent in the stage, or {@code null}
+     *                 if the JVM cannot measure it for that thread (e.g. on virtual threads)
+     */
+    public record Stage(String name, Duration wallTime, Duration cpuTime) {
+    }
+
+    /**
+     * The lookups of a cache during a render job.
+     *
+     * @param hits   the number of lookups served from the cache
+     * @param misses the number of lookups that had to create the entry
+     */
+    public record CacheUsage(long hits, long misses) {
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.style.StyleResolverContext;
+import de.fkkaiser.model.style.StyleSheet;
+import org.apache.fop.apps.FopFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * A {@link StyleSheet} and {@link FontFamilyList} prepared once for rendering many documents,
+ * e.g. the invoices of a mail merge.
+ *
+ * <p>Everything that depends only on the style sheet and fonts is done when the context is
+ * created by {@link PdfGenerationFacade#prepare(StyleSheet, FontFamilyList)}: validating the
+ * font list, checking the text styles against the fonts, building the style lookup used by
+ * style resolution and configuring the FOP factory. Rendering a document then only resolves
+ * its styles and lays it out.</p>
+ *
+ * <p><b>Batches:</b></p>
+ * {@code renderBatch} renders an {@link Iterable} or {@link Stream} of documents, each into
+ * the stream supplied by a {@link BatchOutput}. Documents are consumed lazily, so a batch
+ * can be larger than the available memory. A failing document does not abort the batch; it is
+ * reported in the returned {@link BatchResult}. With a parallelism greater than one, up to
+ * that many documents are rendered at the same time on virtual threads.
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * RenderingContext context = facade.prepare(styleSheet, fonts);
+ *
+ * BatchResult result = context.renderBatch(invoices, BatchOutput.directory(outDir, "invoice"), 4);
+ * for (BatchResult.Failure failure : result.failures()) {
+ *     log.warn("Invoice {} failed", failure.index(), failure.exception());
+ * }
+ * }</pre>
+ *
+ * <p><b>Thread Safety:</b></p>
+ * This class is thread-safe. The style sheet and font list must not be changed while the
+ * context is in use; each rendered {@link Document} must be a separate instance.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ * @see PdfGenerationFacade#prepare(StyleSheet, FontFamilyList)
+ * @see BatchOutput
+ * @see BatchResult
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public final class RenderingContext {
+
+    private static final Logger log = LoggerFactory.getLogger(RenderingContext.class);
+
+    private final PdfGenerationFacade facade;
+    private final StyleSheet styleSheet;
+    private final StyleResolverContext styleResolverContext;
+    private final FopFactory fopFactory;
+
+    /**
+     * Creates a new context. Instances are created by {@link PdfGenerationFacade#prepare}.
+     *
+     * @param facade               the facade rendering the documents
+     * @param styleSheet           the validated style sheet
+     * @param styleResolverContext the initial style resolution context, or {@code null}
+     *                             if the style sheet has no element styles
+     * @param fopFactory           the FOP factory configured with the validated fonts
+     */
+    RenderingContext(PdfGenerationFacade facade, StyleSheet styleSheet,
+                     StyleResolverContext styleResolverContext, FopFactory fopFactory) {
+        this.facade = facade;
+        this.styleSheet = styleSheet;
+        this.styleResolverContext = styleResolverContext;
+        this.fopFactory = fopFactory;
+    }
+
+    /**
+     * Renders a document and returns the PDF.
+     *
+     * @param document the document to render; must not be {@code null}
+     * @return a ByteArrayOutputStream containing the generated PDF data
+     * @throws PdfGenerationException if an error occurs during PDF generation
+     */
+    public ByteArrayOutputStream generatePDF(Document document) throws PdfGenerationException {
+        ByteArrayOutputStream pdfOutput = new ByteArrayOutputStream();
+        generatePDF(document, pdfOutput);
+        return pdfOutput;
+    }
+
+    /**
+     * Renders a document and writes the PDF to the given OutputStream.
+     * The OutputStream is flushed but not closed.
+     *
+     * @param document the document to render; must not be {@code null}
+     * @param out      the target of the generated PDF; must not be {@code null}
+     * @throws PdfGenerationException if an error occurs during PDF generation
+     * @throws NullPointerException   if out is {@code null}
+     */
+    public void generatePDF(Document document, OutputStream out) throws PdfGenerationException {
+        Objects.requireNonNull(out, "OutputStream must not be null");
+        if (document == null) {
+            throw new PdfGenerationException("Input validation failed: Document must not be null",
+                    new NullPointerException("Document must not be null"));
+        }
+        try {
+            facade.render(this, document, out);
+        } catch (Exception e) {
+            log.error("Failed to generate PDF with prepared rendering context", e);
+            throw new PdfGenerationException("PDF generation failed", e);
+        }
+    }
+
+    /**
+     * Renders all documents one after another.
+     *
+     * @param documents the documents to render; must not be {@code null}
+     * @param output    supplies the target of each PDF; must not be {@code null}
+     * @return the summary of the batch
+     * @throws PdfGenerationException if the batch is interrupted
+     * @see #renderBatch(Iterable, BatchOutput, int)
+     */
+    public BatchResult renderBatch(Iterable<Document> documents, BatchOutput output) throws PdfGenerationException {
+        return renderBatch(documents, output, 1);
+    }
+
+    /**
+     * Renders all documents, up to {@code parallelism} of them at the same time.
+     * The documents are taken from the Iterable only when a render slot is free.
+     *
+     * @param documents   the documents to render; must not be {@code null}
+     * @param output      supplies the target of each PDF; must not be {@code null}
+     * @param parallelism the maximum number of documents rendered at the same time
+     * @return the summary of the batch
+     * @throws PdfGenerationException   if the batch is interrupted
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    public BatchResult renderBatch(Iterable<Document> documents, BatchOutput output, int parallelism)
+            throws PdfGenerationException {
+        Objects.requireNonNull(documents, "documents must not be null");
+        return render(documents.iterator(), output, parallelism);
+    }
+
+    /**
+     * Renders all documents of the stream one after another. The stream is not closed.
+     *
+     * @param documents the documents to render; must not be {@code null}
+     * @param output    supplies the target of each PDF; must not be {@code null}
+     * @return the summary of the batch
+     * @throws PdfGenerationException if the batch is interrupted
+     * @see #renderBatch(Stream, BatchOutput, int)
+     */
+    public BatchResult renderBatch(Stream<Document> documents, BatchOutput output) throws PdfGenerationException {
+        return renderBatch(documents, output, 1);
+    }
+
+    /**
+     * Renders all documents of the stream, up to {@code parallelism} of them at the same time.
+     * The stream is consumed lazily and not closed.
+     *
+     * @param documents   the documents to render; must not be {@code null}
+     * @param output      supplies the target of each PDF; must not be {@code null}
+     * @param parallelism the maximum number of documents rendered at the same time
+     * @return the summary of the batch
+     * @throws PdfGenerationException   if the batch is interrupted
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    public BatchResult renderBatch(Stream<Document> documents, BatchOutput output, int parallelism)
+            throws PdfGenerationException {
+        Objects.requireNonNull(documents, "documents must not be null");
+        return render(documents.iterator(), output, parallelism);
+    }
+
+    PdfGenerationFacade facade() {
+        return facade;
+    }
+
+    StyleSheet styleSheet() {
+        return styleSheet;
+    }
+
+    StyleResolverContext styleResolverContext() {
+        return styleResolverContext;
+    }
+
+    FopFactory fopFactory() {
+        return fopFactory;
+    }
+
+    private BatchResult render(Iterator<Document> documents, BatchOutput output, int parallelism)
+            throws PdfGenerationException {
+        Objects.requireNonNull(output, "output must not be null");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1: " + parallelism);
+        }
+
+        List<BatchResult.Failure> failures = new ArrayList<>();
+        long index = 0;
+
+        if (parallelism == 1) {
+            while (documents.hasNext()) {
+                renderItem(index++, documents.next(), output, failures);
+            }
+        } else {
+            Semaphore slots = new Semaphore(parallelism);
+            // close() waits for the documents still being rendered
+            try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("jaccess-pdf-batch-", 0).factory())) {
+                while (documents.hasNext()) {
+                    slots.acquire();
+                    long itemIndex = index++;
+                    Document document = documents.next();
+                    executor.execute(() -> {
+                        try {
+                            renderItem(itemIndex, document, output, failures);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PdfGenerationException("Batch rendering was interrupted after " + index + " documents", e);
+            }
+        }
+
+        List<BatchResult.Failure> sorted = new ArrayList<>(failures);
+        sorted.sort(Comparator.comparingLong(BatchResult.Failure::index));
+        log.debug("Batch completed: {} documents, {} failed", index, sorted.size());
+        return new BatchResult(index, index - sorted.size(), sorted);
+    }
+
+    private void renderItem(long index, Document document, BatchOutput output, List<BatchResult.Failure> failures) {
+        PdfGenerationException failure = null;
+        try (OutputStream out = output.open(index, document)) {
+            generatePDF(document, out);
+        } catch (PdfGenerationException e) {
+            failure = e;
+        } catch (IOException | RuntimeException e) {
+            failure = new PdfGenerationException("Failed to write PDF of batch document " + index, e);
+        }
+
+        if (failure != null) {
+            synchronized (failures) {
+                failures.add(new BatchResult.Failure(index, document, failure));
+            }
+            try {
+                output.discard(index, document);
+            } catch (IOException e) {
+                log.warn("Could not discard output of failed batch document {}: {}", index, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.Internal;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+
+import java.util.Objects;
+
+/**
+ * Package-private {@link ContentHandler} that forwards every SAX event to two handlers.
+ * The {@code copy} handler receives each event first, so a captured copy also contains
+ * the event the {@code target} handler failed on.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@Internal
+final class TeeContentHandler implements ContentHandler {
+
+    private final ContentHandler copy;
+    private final ContentHandler target;
+
+    /**
+     * Creates a new tee.
+     *
+     * @param copy   the handler receiving a copy of the events (e.g. a serializer)
+     * @param target the handler the events are meant for
+     */
+    TeeContentHandler(ContentHandler copy, ContentHandler target) {
+        this.copy = Objects.requireNonNull(copy);
+        this.target = Objects.requireNonNull(target);
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+        copy.setDocumentLocator(locator);
+        target.setDocumentLocator(locator);
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+        copy.startDocument();
+        target.startDocument();
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+        copy.endDocument();
+        target.endDocument();
+    }
+
+    @Override
+    public void startPrefixMapping(String prefix, String uri) throws SAXException {
+        copy.startPrefixMapping(prefix, uri);
+        target.startPrefixMapping(prefix, uri);
+    }
+
+    @Override
+    public void endPrefixMapping(String prefix) throws SAXException {
+        copy.endPrefixMapping(prefix);
+        target.endPrefixMapping(prefix);
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+        copy.startElement(uri, localName, qName, atts);
+        target.startElement(uri, localName, qName, atts);
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        copy.endElement(uri, localName, qName);
+        target.endElement(uri, localName, qName);
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        copy.characters(ch, start, length);
+        target.characters(ch, start, length);
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+        copy.ignorableWhitespace(ch, start, length);
+        target.ignorableWhitespace(ch, start, length);
+    }
+
+    @Override
+    public void processingInstruction(String target, String data) throws SAXException {
+        copy.processingInstruction(target, data);
+        this.target.processingInstruction(target, data);
+    }
+
+    @Override
+    public void skippedEntity(String name) throws SAXException {
+        copy.skippedEntity(name);
+        target.skippedEntity(name);
+    }
+}
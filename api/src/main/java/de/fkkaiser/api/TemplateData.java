@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The values filled into a {@link DocumentTemplate} for one recipient.
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * TemplateData data = TemplateData.builder()
+ *     .with("customer", "Jane Doe")
+ *     .with("total", "42.00 EUR")
+ *     .addRow("items", Map.of("description", "Consulting", "price", "40.00 EUR"))
+ *     .addRow("items", Map.of("description", "Travel", "price", "2.00 EUR"))
+ *     .build();
+ * }</pre>
+ *
+ * <p>Instances are immutable.</p>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ * @see DocumentTemplate
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public final class TemplateData {
+
+    private final Map<String, String> values;
+    private final Map<String, List<Map<String, String>>> rows;
+
+    private TemplateData(Map<String, String> values, Map<String, List<Map<String, String>>> rows) {
+        this.values = Map.copyOf(values);
+        Map<String, List<Map<String, String>>> copy = new HashMap<>();
+        rows.forEach((collection, list) -> copy.put(collection, List.copyOf(list)));
+        this.rows = Map.copyOf(copy);
+    }
+
+    /**
+     * Creates a new builder for template data.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the values of the {@code {{name}}} slots.
+     *
+     * @return an unmodifiable map from slot name to value
+     */
+    public Map<String, String> values() {
+        return values;
+    }
+
+    /**
+     * Returns the rows of the repeatable regions.
+     *
+     * @return an unmodifiable map from collection name to its rows
+     */
+    public Map<String, List<Map<String, String>>> rows() {
+        return rows;
+    }
+
+    /**
+     * Builder for {@link TemplateData}.
+     */
+    public static final class Builder {
+        private final Map<String, String> values = new HashMap<>();
+        private final Map<String, List<Map<String, String>>> rows = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the value of a {@code {{name}}} slot.
+         *
+         * @param name  the slot name; must not be {@code null}
+         * @param value the value; must not be {@code null}
+         * @return this builder for method chaining
+         */
+        public Builder with(String name, String value) {
+            values.put(Objects.requireNonNull(name, "name must not be null"),
+                    Objects.requireNonNull(value, "value must not be null"));
+            return this;
+        }
+
+        /**
+         * Sets the values of several slots.
+         *
+         * @param values the values by slot name; must not be {@code null}
+         * @return this builder for method chaining
+         */
+        public Builder withAll(Map<String, String> values) {
+            Objects.requireNonNull(values, "values must not be null").forEach(this::with);
+            return this;
+        }
+
+        /**
+         * Appends a row to a repeatable region, e.g. the fields {@code description} and
+         * {@code price} for the placeholders {@code {{items[].description}}} and
+         * {@code {{items[].price}}}.
+         *
+         * @param collection the collection name; must not be {@code null}
+         * @param fields     the values of the row by field name; must not be {@code null}
+         * @return this builder for method chaining
+         */
+        public Builder addRow(String collection, Map<String, String> fields) {
+            Objects.requireNonNull(collection, "collection must not be null");
+            rows.computeIfAbsent(collection, c -> new ArrayList<>())
+                    .add(Map.copyOf(Objects.requireNonNull(fields, "fields must not be null")));
+            return this;
+        }
+
+        /**
+         * Declares a repeatable region without rows, so that it is emitted zero times.
+         *
+         * @param collection the collection name; must not be {@code null}
+         * @return this builder for method chaining
+         */
+        public Builder withEmpty(String collection) {
+            rows.computeIfAbsent(Objects.requireNonNull(collection, "collection must not be null"),
+                    c -> new ArrayList<>());
+            return this;
+        }
+
+        /**
+         * Builds the template data.
+         *
+         * @return the template data
+         */
+        public TemplateData build() {
+            return new TemplateData(values, rows);
+        }
+    }
+}
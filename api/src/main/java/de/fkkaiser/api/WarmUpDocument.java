@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.Internal;
+import de.fkkaiser.model.structure.*;
+import de.fkkaiser.model.style.ElementStyle;
+import de.fkkaiser.model.style.PageMasterStyle;
+import de.fkkaiser.model.style.ParagraphStyleProperties;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.model.style.TextRunStyleProperties;
+import de.fkkaiser.model.style.TextStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Package-private factory for the synthetic document rendered by
+ * {@link PdfGenerationFacade#warmUp}. The document contains every element type that has an
+ * XSL-FO generator and one text run per text style of the style sheet, so that every
+ * font variant is loaded by FOP.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@Internal
+final class WarmUpDocument {
+
+    /** A small SVG for warming up the SVG handler. */
+    static final String SVG = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"8\" height=\"8\">"
+            + "<rect width=\"8\" height=\"8\" fill=\"#000000\"/></svg>";
+
+    private static final String PNG_DATA_URI = "data:image/png;base64,"
+            + "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==";
+    private static final String DEFAULT_TEXT_STYLE = "default-text-style";
+    private static final String TEXT_RUN_STYLE_PREFIX = "jaccess-warm-up-";
+    private static final String TEXT = "The quick brown fox jumps over the lazy dog 0123456789";
+
+    private WarmUpDocument() {
+        // Utility class
+    }
+
+    /**
+     * Extends the style sheet with one text run style per text style and, if missing,
+     * a default text style using the first text style.
+     *
+     * @param styleSheet the production style sheet
+     * @return a style sheet with the same text styles, page masters and defaults
+     */
+    static StyleSheet styleSheet(StyleSheet styleSheet) {
+        List<ElementStyle> elementStyles = new ArrayList<>();
+        if (styleSheet.elementStyles() != null) {
+            elementStyles.addAll(styleSheet.elementStyles());
+        }
+        List<TextStyle> textStyles = textStyles(styleSheet);
+
+        // Unstyled elements must not fall back to FOP's base 14 fonts, which PDF/UA rejects
+        boolean hasDefaultTextStyle = elementStyles.stream().anyMatch(style -> DEFAULT_TEXT_STYLE.equals(style.name()));
+        if (!hasDefaultTextStyle && !textStyles.isEmpty()) {
+            ParagraphStyleProperties properties = new ParagraphStyleProperties();
+            properties.setTextStyleName(textStyles.getFirst().name());
+            elementStyles.add(new ElementStyle(DEFAULT_TEXT_STYLE, ElementTargetType.PARAGRAPH, properties));
+        }
+
+        for (int i = 0; i < textStyles.size(); i++) {
+            TextRunStyleProperties properties = new TextRunStyleProperties();
+            properties.setTextStyleName(textStyles.get(i).name());
+            elementStyles.add(new ElementStyle(TEXT_RUN_STYLE_PREFIX + i, ElementTargetType.TEXT_RUN, properties));
+        }
+        return new StyleSheet(styleSheet.textStyles(), elementStyles, styleSheet.pageMasterStyles(),
+                styleSheet.defaults());
+    }
+
+    /**
+     * Creates a new synthetic document. Each render needs a new instance, since style
+     * resolution stores the resolved styles in the elements.
+     *
+     * @param styleSheet the production style sheet
+     * @return the synthetic document
+     * @throws IllegalArgumentException if the style sheet has no page master style
+     */
+    static Document create(StyleSheet styleSheet) {
+        if (styleSheet.pageMasterStyles() == null || styleSheet.pageMasterStyles().isEmpty()) {
+            throw new IllegalArgumentException("The StyleSheet has no page master style to warm up with");
+        }
+        PageMasterStyle pageMaster = styleSheet.pageMasterStyles().getFirst();
+
+        List<InlineElement> styledRuns = new ArrayList<>();
+        List<TextStyle> textStyles = textStyles(styleSheet);
+        for (int i = 0; i < textStyles.size(); i++) {
+            styledRuns.add(new TextRun(TEXT + " ", TEXT_RUN_STYLE_PREFIX + i));
+        }
+        styledRuns.add(new Hyperlink("link", null, "https://example.com", "Example link"));
+        styledRuns.add(new Footnote("1", null, List.of(new TextRun("Footnote"))));
+
+        List<Element> body = List.of(
+                new Headline(null, "Warm-up", 1),
+                new Part(null, List.of(
+                        new Section(null, SectionVariant.SECTION, List.of(
+                                new Headline(null, "Text", 2),
+                                new Paragraph(null, styledRuns))))),
+                new SimpleList(null, ListOrdering.UNORDERED, List.of(
+                        new ListItem(null, null, List.of(new Paragraph(null, TEXT))))),
+                new Table(null, List.of("50%", "50%"),
+                        new TableSection(List.of(row("Head", "Head"))),
+                        new TableSection(List.of(row(TEXT, TEXT))),
+                        null),
+                new LayoutTable(null, new Paragraph(null, TEXT), new Paragraph(null, TEXT)),
+                new BlockImage(null, null, "SVG image", null, SVG),
+                new BlockImage(null, null, "PNG image", PNG_DATA_URI, null));
+
+        ContentArea header = pageMaster.getHeaderExtent() != null
+                ? new ContentArea(List.of(new Paragraph(null, new PageNumber())))
+                : null;
+        ContentArea footer = pageMaster.getFooterExtent() != null
+                ? new ContentArea(List.of(new Paragraph(null, TEXT)))
+                : null;
+
+        return new Document(null, new Metadata("Warm-up", "en"), List.of(
+                new PageSequence(pageMaster.getName(), new ContentArea(body), header, footer)));
+    }
+
+    private static TableRow row(String left, String right) {
+        return new TableRow(List.of(
+                new TableCell(null, List.of(new Paragraph(null, left)), 1, 1),
+                new TableCell(null, List.of(new Paragraph(null, right)), 1, 1)));
+    }
+
+    private static List<TextStyle> textStyles(StyleSheet styleSheet) {
+        return styleSheet.textStyles() != null ? styleSheet.textStyles() : List.of();
+    }
+}
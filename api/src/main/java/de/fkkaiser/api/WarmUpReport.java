@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Timings of {@link PdfGenerationFacade#warmUp(de.fkkaiser.model.font.FontFamilyList,
+ * de.fkkaiser.model.style.StyleSheet) PdfGenerationFacade.warmUp}, one entry per part in the
+ * order the parts were run.
+ *
+ * @param parts the timed parts of the warm-up
+ * @param total the wall time of the whole warm-up
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public record WarmUpReport(List<Part> parts, Duration total) {
+
+    /** Loading the JAXP SAX parser and transformer implementations. */
+    public static final String JAXP = "jaxp";
+    /** Validating the fonts and creating the FOP factory with the font configuration. */
+    public static final String FOP_FACTORY = "fop-factory";
+    /** Loading the SVG handler (Apache Batik) and converting a small SVG. */
+    public static final String SVG = "svg";
+    /** First render of the synthetic document: FOP layout classes, font parsing, all element generators. */
+    public static final String FIRST_RENDER = "first-render";
+    /** Second render of the synthetic document, for comparison with the first one. */
+    public static final String SECOND_RENDER = "second-render";
+
+    /**
+     * Creates a warm-up report.
+     *
+     * @param parts the timed parts of the warm-up
+     * @param total the wall time of the whole warm-up
+     */
+    public WarmUpReport {
+        parts = List.copyOf(parts);
+    }
+
+    /**
+     * Returns the duration of a part.
+     *
+     * @param name the name of the part, e.g. {@link #FIRST_RENDER}
+     * @return the duration, or empty if the part was not run
+     */
+    public Optional<Duration> duration(String name) {
+        return parts.stream()
+                .filter(part -> part.name().equals(name))
+                .map(Part::duration)
+                .findFirst();
+    }
+
+    @Override
+    public String toString() {
+        return parts.stream()
+                .map(part -> part.name() + "=" + part.duration().toMillis() + "ms")
+                .collect(Collectors.joining(", ", "WarmUpReport (total=" + total.toMillis() + "ms, ", ")"));
+    }
+
+    /**
+     * A timed part of the warm-up.
+     *
+     * @param name     the name of the part
+     * @param duration the wall time of the part
+     */
+    public record Part(String name, Duration duration) {
+    }
+}
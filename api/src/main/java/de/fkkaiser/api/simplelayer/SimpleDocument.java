@@ -26,7 +26,6 @@ import de.fkkaiser.model.style.StyleSheet;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -102,12 +101,31 @@ public class SimpleDocument {
      * @throws IOException            if it was not possible to save the file
      */
     public void saveAs(String filePath) throws IOException, PdfGenerationException {
-        ByteArrayOutputStream stream = generatePDF();
+        saveAs(Paths.get(filePath));
+    }
 
-        Path outputPath = Paths.get(filePath);
-        try (OutputStream fileOutputStream = Files.newOutputStream(outputPath)) {
-            stream.writeTo(fileOutputStream);
-        }
+    /**
+     * Saves the pdf file to the given path. The PDF is written to the file while it is
+     * generated, without buffering the whole document in memory.
+     *
+     * @param outputPath path where to save this file
+     * @throws PdfGenerationException if it was impossible to generate or save the PDF
+     */
+    public void saveAs(Path outputPath) throws PdfGenerationException {
+        Objects.requireNonNull(outputPath, "outputPath must not be null");
+        new PdfGenerationFacade(resourceProvider).generatePDF(document, styleSheet, fontFamilyList, outputPath);
+    }
+
+    /**
+     * Generates the PDF and writes it to the given OutputStream while it is generated.
+     * The stream is flushed but not closed.
+     *
+     * @param out the stream to write the PDF to
+     * @throws PdfGenerationException if it was not possible to generate the PDF
+     */
+    public void writeTo(OutputStream out) throws PdfGenerationException {
+        Objects.requireNonNull(out, "out must not be null");
+        new PdfGenerationFacade(resourceProvider).generatePDF(document, styleSheet, fontFamilyList, out);
     }
 
     /**
@@ -82,4 +82,22 @@ public class EClasspathResourceProvider implements EResourceProvider {
         String path = name.startsWith("/") ? name : "/" + name;
         return EClasspathResourceProvider.class.getResource(path);
     }
+
+    /**
+     * All classpath providers resolve resources the same way, so two instances are equal
+     * if they are of the same class. This lets caches that are keyed by the resource
+     * provider (e.g. the FopFactory cache) share entries between provider instances.
+     *
+     * @param o the object to compare with
+     * @return {@code true} if {@code o} is a provider of the same class
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o != null && o.getClass() == getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
\ No newline at end of file
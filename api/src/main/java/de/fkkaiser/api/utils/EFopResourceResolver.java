@@ -15,12 +15,14 @@
  */
 package de.fkkaiser.api.utils;
 
+import de.fkkaiser.generator.ImageStore;
 import de.fkkaiser.model.annotation.Internal;
 import org.apache.xmlgraphics.io.Resource;
 import org.apache.xmlgraphics.io.ResourceResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -43,15 +45,20 @@ import java.util.Objects;
  * <p>
  * Since FOP cannot natively load files from inside a JAR or a custom classpath structure,
  * this resolver intercepts these requests and delegates them to the {@link EResourceProvider}.
+ * Images the generator registered in an {@link ImageStore} are referenced by internal
+ * {@code jaccess-img:} URIs and served from the bytes of the store bound to the rendering thread.
  * </p>
  * <p>
  * <b>Lifecycle Management:</b><br>
  * This class implements {@link AutoCloseable} to track and close all InputStreams opened
  * during the PDF generation process. This prevents file locks and memory leaks.
+ * A resolver that belongs to a long-lived (cached) {@code FopFactory} is created with
+ * stream tracking disabled, since it is never closed and FOP closes the streams itself
+ * once an image or font has been loaded.
  * </p>
  *
  * @author Katrin Kaiser
- * @version 1.0.0
+ * @version 1.1.1
  */
 @Internal
 public class EFopResourceResolver implements ResourceResolver, AutoCloseable {
@@ -61,21 +68,36 @@ public class EFopResourceResolver implements ResourceResolver, AutoCloseable {
 
     // Tracks all streams opened for FOP to ensure they are closed later
     private final List<InputStream> openStreams = Collections.synchronizedList(new ArrayList<>());
+    private final boolean trackOpenStreams;
 
     /**
      * Creates a new resolver that uses the given provider to locate assets.
+     * All streams opened by this resolver are closed by {@link #close()}.
      *
      * @param resourceProvider the provider used to load images and fonts from the classpath/filesystem
      */
     public EFopResourceResolver(EResourceProvider resourceProvider) {
+        this(resourceProvider, true);
+    }
+
+    /**
+     * Creates a new resolver that uses the given provider to locate assets.
+     *
+     * @param resourceProvider the provider used to load images and fonts from the classpath/filesystem
+     * @param trackOpenStreams {@code true} to remember opened streams and close them in {@link #close()};
+     *                         {@code false} for resolvers that live as long as a cached FopFactory
+     */
+    public EFopResourceResolver(EResourceProvider resourceProvider, boolean trackOpenStreams) {
         this.resourceProvider = Objects.requireNonNull(resourceProvider, "ResourceProvider cannot be null.");
+        this.trackOpenStreams = trackOpenStreams;
     }
 
     /**
      * Called by Apache FOP when it needs to load an asset (Image or Font).
      * <p>
      * This method translates the URI request from FOP (e.g., "images/logo.png") into an
-     * actual InputStream provided by the application's resource handling.
+     * actual InputStream provided by the application's resource handling. Internal image
+     * URIs are answered with the bytes of the bound {@link ImageStore} without opening a stream.
      * </p>
      *
      * @param uri the URI of the asset (image path or font file) required by FOP
@@ -84,6 +106,14 @@ public class EFopResourceResolver implements ResourceResolver, AutoCloseable {
      */
     @Override
     public Resource getResource(URI uri) throws IOException {
+        if (ImageStore.SCHEME.equals(uri.getScheme())) {
+            ImageStore.StoredImage image = ImageStore.find(uri.toString());
+            if (image == null) {
+                throw new IOException("Image not found in ImageStore: " + uri);
+            }
+            return new Resource(image.mimeType(), new ByteArrayInputStream(image.bytes()));
+        }
+
         log.debug("FOP requesting asset: {}", uri.getPath());
 
         // Normalize URI: FOP might send 'file:images/logo.png' or just 'images/logo.png'
@@ -104,7 +134,9 @@ public class EFopResourceResolver implements ResourceResolver, AutoCloseable {
         String mimeType = connection.getContentType();
 
         // Track the stream to close it safely after PDF generation
-        openStreams.add(inputStream);
+        if (trackOpenStreams) {
+            openStreams.add(inputStream);
+        }
 
         return new Resource(mimeType, inputStream);
     }
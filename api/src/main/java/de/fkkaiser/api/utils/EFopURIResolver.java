@@ -15,6 +15,7 @@
  */
 package de.fkkaiser.api.utils;
 
+import de.fkkaiser.generator.ImageStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +23,7 @@ import javax.xml.transform.Source;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.URIResolver;
 import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Objects;
@@ -45,7 +47,7 @@ import java.util.Objects;
  *
  * @param resourceProvider The resource provider used to locate resources.
  * @author Katrin Kaiser
- * @version 1.0.0
+ * @version 1.1.1
  * @see EFopResourceResolver (for Images/Fonts)
  */
 public record EFopURIResolver(EResourceProvider resourceProvider) implements URIResolver {
@@ -81,6 +83,16 @@ public record EFopURIResolver(EResourceProvider resourceProvider) implements URI
         // Log on trace/debug level as this is mostly internal noise
         log.debug("XML Transformer requesting path resolution for: '{}'", href);
 
+        // Images registered by the generator are served from the ImageStore bound to this thread
+        if (ImageStore.isStoreUri(href)) {
+            ImageStore.StoredImage image = ImageStore.find(href);
+            if (image == null) {
+                log.warn("URIResolver: Could not find '{}' in ImageStore.", href);
+                return null;
+            }
+            return new StreamSource(new ByteArrayInputStream(image.bytes()), href);
+        }
+
         try {
             // Delegate to our main resource mechanism
             URL resourceUrl = resourceProvider.getResource(href);
@@ -16,7 +16,9 @@
 module api {
     requires com.fasterxml.jackson.core;
     requires com.fasterxml.jackson.databind;
+    requires java.management;
     requires java.xml;
+    requires jdk.jfr;
     requires org.apache.xmlgraphics.commons;
     requires org.apache.xmlgraphics.fop.core;
     requires org.slf4j;
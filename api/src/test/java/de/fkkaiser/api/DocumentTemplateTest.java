@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.api.utils.EClasspathResourceProvider;
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.processor.reader.DocumentReader;
+import de.fkkaiser.processor.reader.FontFamilyListReader;
+import de.fkkaiser.processor.reader.StyleSheetReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentTemplateTest {
+
+    private final List<FoDump> dumps = new CopyOnWriteArrayList<>();
+    private DocumentTemplate template;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Document document;
+        StyleSheet styleSheet;
+        FontFamilyList fonts;
+        try (InputStream structure = resource("jsons/structure-template.json");
+             InputStream style = resource("jsons/style-default.json");
+             InputStream fontJson = resource("jsons/font-families.json")) {
+            document = new DocumentReader().readJson(structure);
+            styleSheet = new StyleSheetReader().readJson(style);
+            fonts = new FontFamilyListReader().readJson(fontJson);
+        }
+        // Sample every job to inspect the filled XSL-FO
+        PdfGenerationFacade facade = PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withDiagnostics(FoDiagnostics.builder().withSampleRate(1.0).withSink(dumps::add).build())
+                .build();
+        template = facade.compileTemplate(document, styleSheet, fonts);
+    }
+
+    @Test
+    @DisplayName("Compiled template reports its slots and repeatable regions")
+    void shouldReportSlots() {
+        assertEquals(Set.of("customer", "currency", "total"), template.slotNames());
+        assertEquals(Map.of("items", Set.of("description", "price")), template.regionFields());
+    }
+
+    @Test
+    @DisplayName("Filled template renders values and one table row per item")
+    void shouldRenderFilledTemplate() throws Exception {
+        TemplateData data = TemplateData.builder()
+                .with("customer", "Jane <Doe>")
+                .with("currency", "EUR")
+                .with("total", "42.00")
+                .addRow("items", Map.of("description", "Consulting", "price", "40.00"))
+                .addRow("items", Map.of("description", "Travel", "price", "2.00"))
+                .build();
+
+        assertTrue(template.generatePDF(data).size() > 0);
+
+        assertEquals(1, dumps.size());
+        String fo = dumps.getFirst().xslFo();
+        assertTrue(fo.contains("Dear Jane &lt;Doe&gt;,"));
+        assertTrue(fo.contains("Consulting"));
+        assertTrue(fo.contains("2.00 EUR"));
+        assertTrue(fo.contains("Total: 42.00 EUR"));
+        assertEquals(3, fo.split("<fo:table-row", -1).length - 1);
+        assertFalse(fo.contains("{{"));
+    }
+
+    @Test
+    @DisplayName("The same template renders different recipients")
+    void shouldRenderSeveralRecipients() throws Exception {
+        for (String customer : List.of("Jane", "John")) {
+            template.generatePDF(TemplateData.builder()
+                    .with("customer", customer).with("currency", "EUR").with("total", "0")
+                    .withEmpty("items").build());
+        }
+
+        assertEquals(2, dumps.size());
+        assertTrue(dumps.get(0).xslFo().contains("Dear Jane,"));
+        assertTrue(dumps.get(1).xslFo().contains("Dear John,"));
+    }
+
+    @Test
+    @DisplayName("Missing values fail the render job")
+    void shouldFailForMissingValue() {
+        TemplateData data = TemplateData.builder().with("customer", "Jane").withEmpty("items").build();
+
+        assertThrows(PdfGenerationException.class, () -> template.generatePDF(data));
+    }
+
+    private InputStream resource(String name) {
+        return getClass().getClassLoader().getResourceAsStream(name);
+    }
+}
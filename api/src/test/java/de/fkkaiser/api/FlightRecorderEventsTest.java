@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.api.utils.EClasspathResourceProvider;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    @Test
+    @DisplayName("A render job records an event for every pipeline stage")
+    void shouldRecordPipelineEvents(@TempDir Path dir) throws Exception {
+        PdfGenerationFacade facade = PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withFopFactoryCache(new FopFactoryCache(0))
+                .build();
+
+        Path file = dir.resolve("render.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("JsonRead", "StyleResolve", "FoGenerate", "FopFactoryCreate", "FopLayout")) {
+                recording.enable("de.fkkaiser." + name);
+            }
+            recording.start();
+            try (InputStream structure = resource("jsons/structure-default.json");
+                 InputStream style = resource("jsons/style-default.json");
+                 InputStream fonts = resource("jsons/font-families.json")) {
+                facade.generatePDF(structure, style, fonts);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, List<RecordedEvent>> events = RecordingFile.readAllEvents(file).stream()
+                .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+
+        assertEquals(3, events.get("de.fkkaiser.JsonRead").size());
+        RecordedEvent structureRead = events.get("de.fkkaiser.JsonRead").stream()
+                .filter(event -> "structure".equals(event.getString("input")))
+                .findFirst().orElseThrow();
+        assertTrue(structureRead.getLong("bytes") > 0);
+
+        // All events of the job carry the id of the same Document
+        String documentId = structureRead.getString("documentId");
+        assertNotNull(documentId);
+        assertEquals(documentId, events.get("de.fkkaiser.StyleResolve").getFirst().getString("documentId"));
+        RecordedEvent generation = events.get("de.fkkaiser.FoGenerate").getFirst();
+        assertEquals(documentId, generation.getString("documentId"));
+        assertEquals("sax", generation.getString("mode"));
+        assertTrue(generation.getLong("foLength") > 0);
+
+        assertTrue(events.get("de.fkkaiser.FopFactoryCreate").getFirst().getInt("fontFiles") > 0);
+        RecordedEvent layout = events.get("de.fkkaiser.FopLayout").getFirst();
+        assertEquals(documentId, layout.getString("documentId"));
+        assertTrue(layout.getInt("pages") > 0);
+    }
+
+    private InputStream resource(String name) {
+        return getClass().getClassLoader().getResourceAsStream(name);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.api.utils.EClasspathResourceProvider;
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.structure.ContentArea;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.structure.Metadata;
+import de.fkkaiser.model.structure.PageSequence;
+import de.fkkaiser.model.structure.Paragraph;
+import de.fkkaiser.model.structure.Table;
+import de.fkkaiser.model.structure.TableCell;
+import de.fkkaiser.model.structure.TableRow;
+import de.fkkaiser.model.structure.TableRowSource;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.processor.reader.DocumentReader;
+import de.fkkaiser.processor.reader.FontFamilyListReader;
+import de.fkkaiser.processor.reader.StyleSheetReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoDiagnosticsTest {
+
+    @Test
+    @DisplayName("Disabled diagnostics capture nothing")
+    void disabledShouldNotBeEnabled() {
+        assertFalse(FoDiagnostics.disabled().isEnabled());
+        assertFalse(FoDiagnostics.builder().build().isEnabled());
+    }
+
+    @Test
+    @DisplayName("A sink is required when capturing is enabled")
+    void shouldRequireSink() {
+        assertThrows(IllegalStateException.class, () -> FoDiagnostics.builder().captureOnFailure(true).build());
+        assertThrows(IllegalArgumentException.class, () -> FoDiagnostics.builder().withSampleRate(1.5));
+    }
+
+    @Test
+    @DisplayName("Sampled jobs hand the XSL-FO to the sink")
+    void shouldCaptureSampledJob() throws Exception {
+        List<FoDump> dumps = new CopyOnWriteArrayList<>();
+        PdfGenerationFacade facade = PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withDiagnostics(FoDiagnostics.builder().withSampleRate(1.0).withSink(dumps::add).build())
+                .build();
+
+        try (InputStream structure = resource("jsons/structure-default.json");
+             InputStream style = resource("jsons/style-default.json");
+             InputStream fonts = resource("jsons/font-families.json")) {
+            assertTrue(facade.generatePDF(structure, style, fonts).size() > 0);
+        }
+
+        assertEquals(1, dumps.size());
+        FoDump dump = dumps.getFirst();
+        assertEquals(FoDump.Reason.SAMPLED, dump.reason());
+        assertNull(dump.failure());
+        assertTrue(dump.xslFo().contains("fo:root"));
+        assertTrue(dump.xslFo().contains("</fo:root>"));
+    }
+
+    @Test
+    @DisplayName("Failed jobs are written to the dump directory")
+    void shouldCaptureFailedJob(@TempDir Path dumpDir) throws Exception {
+        PdfGenerationFacade facade = PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withDiagnostics(FoDiagnostics.builder()
+                        .captureOnFailure(true)
+                        .withSink(FoDumpSink.directory(dumpDir))
+                        .build())
+                .build();
+
+        Document document;
+        StyleSheet styleSheet;
+        try (InputStream structure = resource("jsons/structure-default.json");
+             InputStream style = resource("jsons/style-default.json")) {
+            document = new DocumentReader().readJson(structure);
+            styleSheet = new StyleSheetReader().readJson(style);
+        }
+        PageSequence sequence = document.pageSequences().getFirst();
+        Document broken = new Document(document.internalAddresses(), document.metadata(), List.of(
+                new PageSequence("no-such-page-master", sequence.body(), sequence.header(), sequence.footer())));
+
+        try (InputStream fonts = resource("jsons/font-families.json")) {
+            var fontList = new FontFamilyListReader().readJson(fonts);
+            assertThrows(PdfGenerationException.class, () -> facade.generatePDF(broken, styleSheet, fontList));
+        }
+
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            List<Path> dumps = files.toList();
+            assertEquals(1, dumps.size());
+            assertTrue(dumps.getFirst().getFileName().toString().endsWith("-failure.fo"));
+            assertTrue(Files.readString(dumps.getFirst()).contains("no-such-page-master"));
+        }
+    }
+
+    @Test
+    @DisplayName("Failed jobs whose rows come from a row source are only captured when sampled")
+    void shouldNotRegenerateRowSource() throws Exception {
+        StyleSheet styleSheet;
+        FontFamilyList fontList;
+        try (InputStream style = resource("jsons/style-default.json");
+             InputStream fonts = resource("jsons/font-families.json")) {
+            styleSheet = new StyleSheetReader().readJson(style);
+            fontList = new FontFamilyListReader().readJson(fonts);
+        }
+
+        List<FoDump> dumps = new CopyOnWriteArrayList<>();
+        PdfGenerationFacade onFailure = PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withDiagnostics(FoDiagnostics.builder().captureOnFailure(true).withSink(dumps::add).build())
+                .build();
+        // The rows are read while the failing job is generated and cannot be generated again
+        PdfGenerationException failure = assertThrows(PdfGenerationException.class,
+                () -> onFailure.generatePDF(rowSourceDocument(), styleSheet, fontList));
+        assertFalse(failure.getCause() instanceof IllegalStateException, failure::toString);
+        assertTrue(dumps.isEmpty());
+
+        PdfGenerationFacade sampled = PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withDiagnostics(FoDiagnostics.builder().captureOnFailure(true).withSampleRate(1.0)
+                        .withSink(dumps::add).build())
+                .build();
+        assertThrows(PdfGenerationException.class, () -> sampled.generatePDF(rowSourceDocument(), styleSheet, fontList));
+        assertEquals(1, dumps.size());
+        assertEquals(FoDump.Reason.FAILURE, dumps.getFirst().reason());
+        assertTrue(dumps.getFirst().xslFo().contains("fo:layout-master-set"));
+    }
+
+    private static Document rowSourceDocument() {
+        Iterator<TableRow> rows = IntStream.range(0, 3)
+                .mapToObj(i -> new TableRow(List.of(new TableCell("cell", List.of(new Paragraph("body", "Row " + i)), null, null))))
+                .iterator();
+        Table table = Table.builder("table").addColumns("100%").withBodyRows(TableRowSource.of(rows)).build();
+        return new Document(null, Metadata.builder("A Title").build(), List.of(
+                new PageSequence("no-such-page-master", new ContentArea(List.of(table)), null, null)));
+    }
+
+    private InputStream resource(String name) {
+        return getClass().getClassLoader().getResourceAsStream(name);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.api.utils.EClasspathResourceProvider;
+import de.fkkaiser.api.utils.EResourceProvider;
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.font.FontStyleValue;
+import org.apache.fop.apps.FopFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FopFactoryCacheTest {
+
+    private final EResourceProvider provider = new EClasspathResourceProvider();
+
+    private static FontFamilyList fonts(String path) {
+        return FontFamilyList.builder()
+                .addFontFamily("Open Sans")
+                .addFont(path, FontStyleValue.NORMAL, "400")
+                .endFontFamily()
+                .build();
+    }
+
+    private static FopFactory newFactory() {
+        return FopFactory.newInstance(new File(".").toURI());
+    }
+
+    @Test
+    @DisplayName("Equal font configurations share one factory")
+    void shouldReuseFactoryForEqualFontConfiguration() throws Exception {
+        FopFactoryCache cache = new FopFactoryCache(4);
+        AtomicInteger created = new AtomicInteger();
+
+        FopFactory first = cache.getOrCreate(fonts("fonts/OpenSans-Regular.ttf"), provider,
+                () -> { created.incrementAndGet(); return newFactory(); });
+        FopFactory second = cache.getOrCreate(fonts("fonts/OpenSans-Regular.ttf"), new EClasspathResourceProvider(),
+                () -> { created.incrementAndGet(); return newFactory(); });
+
+        assertSame(first, second);
+        assertEquals(1, created.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    @DisplayName("Least recently used factory is evicted")
+    void shouldEvictLeastRecentlyUsed() throws Exception {
+        FopFactoryCache cache = new FopFactoryCache(2);
+
+        FopFactory a = cache.getOrCreate(fonts("a.ttf"), provider, FopFactoryCacheTest::newFactory);
+        cache.getOrCreate(fonts("b.ttf"), provider, FopFactoryCacheTest::newFactory);
+        cache.getOrCreate(fonts("a.ttf"), provider, FopFactoryCacheTest::newFactory); // a is now most recent
+        cache.getOrCreate(fonts("c.ttf"), provider, FopFactoryCacheTest::newFactory); // evicts b
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertSame(a, cache.getOrCreate(fonts("a.ttf"), provider, FopFactoryCacheTest::newFactory));
+        long missesBefore = cache.missCount();
+        cache.getOrCreate(fonts("b.ttf"), provider, FopFactoryCacheTest::newFactory);
+        assertEquals(missesBefore + 1, cache.missCount());
+    }
+
+    @Test
+    @DisplayName("Failed creation is not cached")
+    void shouldNotCacheFailedCreation() {
+        FopFactoryCache cache = new FopFactoryCache(2);
+
+        assertThrows(IllegalStateException.class, () -> cache.getOrCreate(fonts("x.ttf"), provider,
+                () -> { throw new IllegalStateException("boom"); }));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Cache with size 0 never stores factories")
+    void shouldNotStoreWhenDisabled() throws Exception {
+        FopFactoryCache cache = new FopFactoryCache(0);
+
+        FopFactory first = cache.getOrCreate(fonts("a.ttf"), provider, FopFactoryCacheTest::newFactory);
+        FopFactory second = cache.getOrCreate(fonts("a.ttf"), provider, FopFactoryCacheTest::newFactory);
+
+        assertNotSame(first, second);
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.missCount());
+    }
+
+    @Test
+    @DisplayName("Facade reuses the factory across generatePDF calls")
+    void shouldReuseFactoryInFacade() throws Exception {
+        FopFactoryCache cache = new FopFactoryCache(4);
+        PdfGenerationFacade facade = new PdfGenerationFacade(provider, cache);
+
+        for (int i = 0; i < 2; i++) {
+            try (InputStream structure = resource("jsons/structure-default.json");
+                 InputStream style = resource("jsons/style-default.json");
+                 InputStream fonts = resource("jsons/font-families.json")) {
+                ByteArrayOutputStream out = facade.generatePDF(structure, style, fonts);
+                assertTrue(out.size() > 0);
+            }
+        }
+
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+    }
+
+    private InputStream resource(String name) {
+        return getClass().getClassLoader().getResourceAsStream(name);
+    }
+}
@@ -18,14 +18,25 @@ package de.fkkaiser.api;
 
 import de.fkkaiser.api.utils.EClasspathResourceProvider;
 import de.fkkaiser.api.utils.EResourceProvider;
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.processor.reader.DocumentReader;
+import de.fkkaiser.processor.reader.FontFamilyListReader;
+import de.fkkaiser.processor.reader.StyleSheetReader;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class PdfGenerationFacadeTest {
 
@@ -47,6 +58,72 @@ public class PdfGenerationFacadeTest {
 
     }
 
+    @Test
+    public void shouldStreamPdfToOutputStreamChannelAndPath(@TempDir Path tempDir) throws Exception {
+        PdfGenerationFacade facade = new PdfGenerationFacade(new EClasspathResourceProvider());
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        facade.generatePDF(readDocument(), readStyleSheet(), readFonts(), streamed);
+        assertTrue(streamed.size() > 0);
+        assertEquals("%PDF", new String(streamed.toByteArray(), 0, 4, java.nio.charset.StandardCharsets.US_ASCII));
+
+        ByteArrayOutputStream channelTarget = new ByteArrayOutputStream();
+        facade.generatePDF(readDocument(), readStyleSheet(), readFonts(), Channels.newChannel(channelTarget));
+        assertTrue(channelTarget.size() > 0);
+
+        Path file = tempDir.resolve("streamed.pdf");
+        facade.generatePDF(readDocument(), readStyleSheet(), readFonts(), file);
+        assertTrue(Files.size(file) > 0);
+    }
+
+    @Test
+    public void shouldDeletePartialFileOnFailure(@TempDir Path tempDir) {
+        PdfGenerationFacade facade = new PdfGenerationFacade(new EClasspathResourceProvider());
+        Path file = tempDir.resolve("failed.pdf");
+
+        assertThrows(PdfGenerationException.class,
+                () -> facade.generatePDF(null, readStyleSheet(), readFonts(), file));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void shouldWarmUpWithProductionFontsAndStyles() throws Exception {
+        FopFactoryCache cache = new FopFactoryCache(4);
+        PdfGenerationFacade facade = new PdfGenerationFacade(new EClasspathResourceProvider(), cache);
+        StyleSheet styleSheet = readStyleSheet();
+        FontFamilyList fonts = readFonts();
+
+        WarmUpReport report = facade.warmUp(fonts, styleSheet);
+
+        assertEquals(List.of(WarmUpReport.JAXP, WarmUpReport.FOP_FACTORY, WarmUpReport.SVG,
+                        WarmUpReport.FIRST_RENDER, WarmUpReport.SECOND_RENDER),
+                report.parts().stream().map(WarmUpReport.Part::name).toList());
+        assertTrue(report.duration(WarmUpReport.FIRST_RENDER).isPresent());
+        assertEquals(1, cache.size());
+
+        // The production render reuses the FOP factory created by the warm-up
+        facade.generatePDF(readDocument(), styleSheet, fonts);
+        assertEquals(1, cache.missCount());
+    }
+
+    private Document readDocument() throws Exception {
+        try (InputStream in = getResourceAsStream("jsons/structure-default.json")) {
+            return new DocumentReader().readJson(in);
+        }
+    }
+
+    private StyleSheet readStyleSheet() throws Exception {
+        try (InputStream in = getResourceAsStream("jsons/style-default.json")) {
+            return new StyleSheetReader().readJson(in);
+        }
+    }
+
+    private FontFamilyList readFonts() throws Exception {
+        try (InputStream in = getResourceAsStream("jsons/font-families.json")) {
+            return new FontFamilyListReader().readJson(in);
+        }
+    }
+
     private void writeOutputStreamToFile(ByteArrayOutputStream stream) {
         System.out.println("Attempting to write test PDF to file...");
         try {
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.api.utils.EClasspathResourceProvider;
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.processor.reader.DocumentReader;
+import de.fkkaiser.processor.reader.FontFamilyListReader;
+import de.fkkaiser.processor.reader.StyleSheetReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfRenderServiceTest {
+
+    @Test
+    @DisplayName("Concurrent jobs sharing StyleSheet and fonts all produce a PDF")
+    void shouldRenderConcurrentJobs() throws Exception {
+        StyleSheet styleSheet;
+        FontFamilyList fonts;
+        try (InputStream style = resource("jsons/style-default.json");
+             InputStream fontJson = resource("jsons/font-families.json")) {
+            styleSheet = new StyleSheetReader().readJson(style);
+            fonts = new FontFamilyListReader().readJson(fontJson);
+        }
+
+        try (PdfRenderService service = PdfRenderService.builder(new EClasspathResourceProvider())
+                .withMaxConcurrency(3)
+                .withQueueCapacity(2)
+                .build()) {
+
+            List<CompletableFuture<ByteArrayOutputStream>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                try (InputStream structure = resource("jsons/structure-default.json")) {
+                    results.add(service.submit(new DocumentReader().readJson(structure), styleSheet, fonts));
+                }
+            }
+
+            for (CompletableFuture<ByteArrayOutputStream> result : results) {
+                assertTrue(result.get(60, TimeUnit.SECONDS).size() > 0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Jobs render with the configured facade and a shared rendering context")
+    void shouldRenderWithConfiguredFacadeAndContext() throws Exception {
+        StyleSheet styleSheet;
+        FontFamilyList fonts;
+        try (InputStream style = resource("jsons/style-default.json");
+             InputStream fontJson = resource("jsons/font-families.json")) {
+            styleSheet = new StyleSheetReader().readJson(style);
+            fonts = new FontFamilyListReader().readJson(fontJson);
+        }
+        AtomicInteger reports = new AtomicInteger();
+
+        try (PdfRenderService service = PdfRenderService.builder(
+                        PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                                .withRenderListener(report -> reports.incrementAndGet()))
+                .withMaxConcurrency(2)
+                .build()) {
+
+            RenderingContext context = service.prepare(styleSheet, fonts);
+            List<CompletableFuture<ByteArrayOutputStream>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                try (InputStream structure = resource("jsons/structure-default.json")) {
+                    results.add(service.submit(context, new DocumentReader().readJson(structure)));
+                }
+            }
+
+            for (CompletableFuture<ByteArrayOutputStream> result : results) {
+                assertTrue(result.get(60, TimeUnit.SECONDS).size() > 0);
+            }
+            assertEquals(4, reports.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Failed jobs complete their future exceptionally")
+    void shouldCompleteExceptionallyOnFailure() throws Exception {
+        try (PdfRenderService service = PdfRenderService.builder(new EClasspathResourceProvider()).build()) {
+            CompletableFuture<ByteArrayOutputStream> result = service.submit((Document) null, null, null);
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(PdfGenerationException.class, e.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrency cap and queue capacity are enforced")
+    void shouldApplyBackpressure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+
+        try (PdfRenderService service = PdfRenderService.builder(new EClasspathResourceProvider())
+                .withMaxConcurrency(2)
+                .withQueueCapacity(1)
+                .withAdmissionTimeout(Duration.ofMillis(50))
+                .build()) {
+
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                results.add(service.enqueue(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    release.await();
+                    running.decrementAndGet();
+                    return 1;
+                }));
+            }
+
+            assertEquals(3, service.pendingJobs());
+            assertThrows(RejectedExecutionException.class, () -> service.enqueue(() -> 1));
+
+            release.countDown();
+            for (CompletableFuture<Integer> result : results) {
+                assertEquals(1, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(2, maxRunning.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Closed service rejects new jobs")
+    void shouldRejectAfterClose() {
+        PdfRenderService service = PdfRenderService.builder(new EClasspathResourceProvider()).build();
+        service.close();
+
+        assertThrows(RejectedExecutionException.class, () -> service.enqueue(() -> 1));
+    }
+
+    private InputStream resource(String name) {
+        return getClass().getClassLoader().getResourceAsStream(name);
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.api.utils.EClasspathResourceProvider;
+import de.fkkaiser.generator.ImageCache;
+import de.fkkaiser.generator.ImageOptimizer;
+import de.fkkaiser.generator.ImageStore;
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.structure.BlockImage;
+import de.fkkaiser.model.structure.ContentArea;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.structure.Element;
+import de.fkkaiser.model.structure.PageSequence;
+import de.fkkaiser.model.style.ElementStyle;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.model.style.builder.BlockImageStyleBuilder;
+import de.fkkaiser.processor.reader.DocumentReader;
+import de.fkkaiser.processor.reader.FontFamilyListReader;
+import de.fkkaiser.processor.reader.StyleSheetReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderListenerTest {
+
+    private final List<RenderReport> reports = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("JSON render job reports all stages, sizes and the cache lookup")
+    void shouldReportJsonRenderJob() throws Exception {
+        PdfGenerationFacade facade = facade(new FopFactoryCache(4));
+        ByteArrayOutputStream pdf;
+        try (InputStream structure = resource("jsons/structure-default.json");
+             InputStream style = resource("jsons/style-default.json");
+             InputStream fonts = resource("jsons/font-families.json")) {
+            pdf = facade.generatePDF(structure, style, fonts);
+        }
+
+        assertEquals(1, reports.size());
+        RenderReport report = reports.getFirst();
+        assertTrue(report.succeeded());
+        assertEquals(List.of(RenderReport.JSON_PARSING, RenderReport.FONT_VALIDATION, RenderReport.FOP_FACTORY,
+                        RenderReport.STYLE_RESOLUTION, RenderReport.FO_GENERATION, RenderReport.LAYOUT),
+                report.stages().stream().map(RenderReport.Stage::name).toList());
+        assertEquals(pdf.size(), report.pdfBytes());
+        assertTrue(report.foLength() > 0);
+        assertEquals(1, report.foElementCounts().get("root"));
+        assertTrue(report.foElementCounts().get("block") > 0);
+        assertEquals(new RenderReport.CacheUsage(0, 1), report.caches().get(RenderReport.FOP_FACTORY_CACHE));
+        assertTrue(report.totalWallTime().toNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("Prepared context jobs report no font validation and no cache lookup")
+    void shouldReportContextRenderJobs() throws Exception {
+        PdfGenerationFacade facade = facade(new FopFactoryCache(4));
+        StyleSheet styleSheet;
+        FontFamilyList fonts;
+        try (InputStream style = resource("jsons/style-default.json");
+             InputStream fontJson = resource("jsons/font-families.json")) {
+            styleSheet = new StyleSheetReader().readJson(style);
+            fonts = new FontFamilyListReader().readJson(fontJson);
+        }
+        RenderingContext context = facade.prepare(styleSheet, fonts);
+        try (InputStream structure = resource("jsons/structure-default.json")) {
+            context.generatePDF(new DocumentReader().readJson(structure));
+        }
+
+        assertEquals(1, reports.size());
+        RenderReport report = reports.getFirst();
+        assertTrue(report.stage(RenderReport.FONT_VALIDATION).isEmpty());
+        assertTrue(report.stage(RenderReport.LAYOUT).isPresent());
+        assertTrue(report.caches().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Failed jobs are reported with their failure")
+    void shouldReportFailedJob() {
+        PdfGenerationFacade facade = facade(new FopFactoryCache(4));
+
+        assertThrows(PdfGenerationException.class, () -> facade.generatePDF(
+                resource("jsons/structure-default.json"),
+                InputStream.nullInputStream(),
+                resource("jsons/font-families.json")));
+
+        assertEquals(1, reports.size());
+        assertFalse(reports.getFirst().succeeded());
+        assertEquals(0, reports.getFirst().pdfBytes());
+    }
+
+    @Test
+    @DisplayName("A failing listener does not fail the render job")
+    void shouldIgnoreFailingListener() throws Exception {
+        PdfGenerationFacade facade = PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withRenderListener(report -> {
+                    throw new IllegalStateException("metrics system down");
+                })
+                .build();
+
+        try (InputStream structure = resource("jsons/structure-default.json");
+             InputStream style = resource("jsons/style-default.json");
+             InputStream fonts = resource("jsons/font-families.json")) {
+            assertTrue(facade.generatePDF(structure, style, fonts).size() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Image size is computed from base64 data URIs")
+    void shouldComputeDecodedImageSize() {
+        assertEquals(5, MeasuringContentHandler.decodedSize("data:image/png;base64,SGVsbG8="));
+        assertEquals(6, MeasuringContentHandler.decodedSize("data:image/png;base64,SGVsbG8h"));
+        assertEquals(4, MeasuringContentHandler.decodedSize("data:image/png;base64,SGVsbA=="));
+        assertEquals(0, MeasuringContentHandler.decodedSize("images/logo.png"));
+
+        ImageStore store = new ImageStore();
+        String uri = store.register("image/png", new byte[]{1, 2, 3});
+        try (ImageStore.Binding ignored = store.bind()) {
+            assertEquals(3, MeasuringContentHandler.decodedSize(uri));
+        }
+    }
+
+    @Test
+    @DisplayName("Path and base64 images are served from the image store instead of data URIs")
+    void shouldServeImagesFromImageStore() throws Exception {
+        byte[] logo;
+        try (InputStream in = resource("images/logo.png")) {
+            logo = in.readAllBytes();
+        }
+        Document document;
+        StyleSheet styleSheet;
+        FontFamilyList fonts;
+        try (InputStream structure = resource("jsons/structure-default.json");
+             InputStream style = resource("jsons/style-default.json");
+             InputStream fontJson = resource("jsons/font-families.json")) {
+            document = new DocumentReader().readJson(structure);
+            styleSheet = new StyleSheetReader().readJson(style);
+            fonts = new FontFamilyListReader().readJson(fontJson);
+        }
+        PageSequence sequence = document.pageSequences().getFirst();
+        List<Element> body = new ArrayList<>(sequence.body().elements());
+        body.add(new BlockImage(null, "images/logo.png", "Logo", null, null));
+        body.add(new BlockImage(null, null, "Logo",
+                "data:image/png;base64," + Base64.getEncoder().encodeToString(logo), null));
+        Document withImages = new Document(document.internalAddresses(), document.metadata(), List.of(
+                new PageSequence(sequence.styleClass(), new ContentArea(body), sequence.header(), sequence.footer())));
+
+        ImageStore store = new ImageStore();
+        List<FoDump> dumps = new CopyOnWriteArrayList<>();
+        PdfGenerationFacade facade = PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withFopFactoryCache(new FopFactoryCache(4))
+                .withRenderListener(reports::add)
+                .withDiagnostics(FoDiagnostics.builder().withSampleRate(1.0).withSink(dumps::add).build())
+                .withImageStore(store)
+                .build();
+
+        String pdf = facade.generatePDF(withImages, styleSheet, fonts).toString(StandardCharsets.ISO_8859_1);
+        // FOP loaded the image through the resource resolver
+        assertTrue(pdf.contains("/Subtype /Image"));
+
+        String xslFo = dumps.getFirst().xslFo();
+        assertTrue(xslFo.contains("src=\"" + ImageStore.SCHEME + ":"));
+        assertFalse(xslFo.contains("data:image"));
+        // Both images have the same bytes and share one entry
+        assertEquals(1, store.size());
+        assertEquals(2L * logo.length, reports.getFirst().imageBytes());
+    }
+
+    @Test
+    @DisplayName("Without a configured image store, every job and template serves its images from a store of its own")
+    void shouldServeImagesFromStoreOfJob() throws Exception {
+        Document document;
+        StyleSheet styleSheet;
+        FontFamilyList fonts;
+        try (InputStream structure = resource("jsons/structure-default.json");
+             InputStream style = resource("jsons/style-default.json");
+             InputStream fontJson = resource("jsons/font-families.json")) {
+            document = new DocumentReader().readJson(structure);
+            styleSheet = new StyleSheetReader().readJson(style);
+            fonts = new FontFamilyListReader().readJson(fontJson);
+        }
+        PageSequence sequence = document.pageSequences().getFirst();
+        List<Element> body = new ArrayList<>(sequence.body().elements());
+        body.add(new BlockImage(null, "images/logo.png", "Logo", null, null));
+        Document withImage = new Document(document.internalAddresses(), document.metadata(), List.of(
+                new PageSequence(sequence.styleClass(), new ContentArea(body), sequence.header(), sequence.footer())));
+
+        long sharedLookups = ImageCache.shared().hitCount() + ImageCache.shared().missCount();
+        List<FoDump> dumps = new CopyOnWriteArrayList<>();
+        PdfGenerationFacade facade = PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withRenderListener(reports::add)
+                .withDiagnostics(FoDiagnostics.builder().withSampleRate(1.0).withSink(dumps::add).build())
+                .build();
+        DocumentTemplate template = facade.compileTemplate(withImage, styleSheet, fonts);
+
+        List<CompletableFuture<String>> pdfs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            pdfs.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return facade.generatePDF(withImage, styleSheet, fonts).toString(StandardCharsets.ISO_8859_1);
+                } catch (PdfGenerationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        for (CompletableFuture<String> pdf : pdfs) {
+            assertTrue(pdf.get().contains("/Subtype /Image"));
+        }
+        assertTrue(template.generatePDF(TemplateData.builder().build()).toString(StandardCharsets.ISO_8859_1)
+                .contains("/Subtype /Image"));
+
+        // The store of a job is unbound once FOP has finished
+        Matcher src = Pattern.compile(ImageStore.SCHEME + ":[0-9a-f]+").matcher(dumps.getFirst().xslFo());
+        assertTrue(src.find());
+        assertNull(ImageStore.find(src.group()));
+        assertTrue(reports.stream().allMatch(report -> report.imageBytes() > 0));
+        // Images are only cached with a configured image cache
+        assertEquals(sharedLookups, ImageCache.shared().hitCount() + ImageCache.shared().missCount());
+    }
+
+    @Test
+    @DisplayName("With an image optimizer, images are embedded at the resolution of their content width")
+    void shouldEmbedOptimizedImages() throws Exception {
+        Document document;
+        StyleSheet styleSheet;
+        FontFamilyList fonts;
+        try (InputStream structure = resource("jsons/structure-default.json");
+             InputStream style = resource("jsons/style-default.json");
+             InputStream fontJson = resource("jsons/font-families.json")) {
+            document = new DocumentReader().readJson(structure);
+            styleSheet = new StyleSheetReader().readJson(style);
+            fonts = new FontFamilyListReader().readJson(fontJson);
+        }
+        List<ElementStyle> elementStyles = new ArrayList<>(styleSheet.elementStyles());
+        elementStyles.add(new BlockImageStyleBuilder("small-image").withContentWidth("1cm").build());
+        StyleSheet withSmallImages = new StyleSheet(styleSheet.textStyles(), elementStyles,
+                styleSheet.pageMasterStyles(), styleSheet.defaults());
+        PageSequence sequence = document.pageSequences().getFirst();
+        List<Element> body = new ArrayList<>(sequence.body().elements());
+        body.add(new BlockImage("small-image", "images/logo.png", "Logo", null, null));
+        Document withImage = new Document(document.internalAddresses(), document.metadata(), List.of(
+                new PageSequence(sequence.styleClass(), new ContentArea(body), sequence.header(), sequence.footer())));
+
+        ImageOptimizer optimizer = ImageOptimizer.defaults();
+        PdfGenerationFacade optimizing = PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withRenderListener(reports::add)
+                .withImageOptimizer(optimizer)
+                .build();
+        facade(FopFactoryCache.shared()).generatePDF(withImage, withSmallImages, fonts);
+        optimizing.generatePDF(withImage, withSmallImages, fonts);
+
+        // 286 pixels shown 1 cm wide are reduced to 60 pixels at 150 DPI
+        assertTrue(reports.get(1).imageBytes() < reports.get(0).imageBytes());
+        assertEquals(1, optimizer.missCount());
+        assertTrue(optimizer.savedBytes() > 0);
+    }
+
+    private PdfGenerationFacade facade(FopFactoryCache cache) {
+        return PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withFopFactoryCache(cache)
+                .withRenderListener(reports::add)
+                .build();
+    }
+
+    private InputStream resource(String name) {
+        return getClass().getClassLoader().getResourceAsStream(name);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.api.utils.EClasspathResourceProvider;
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.structure.PageSequence;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.processor.reader.DocumentReader;
+import de.fkkaiser.processor.reader.FontFamilyListReader;
+import de.fkkaiser.processor.reader.StyleSheetReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderingContextTest {
+
+    private PdfGenerationFacade facade;
+    private StyleSheet styleSheet;
+    private FontFamilyList fonts;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        facade = new PdfGenerationFacade(new EClasspathResourceProvider());
+        try (InputStream style = resource("jsons/style-default.json");
+             InputStream fontJson = resource("jsons/font-families.json")) {
+            styleSheet = new StyleSheetReader().readJson(style);
+            fonts = new FontFamilyListReader().readJson(fontJson);
+        }
+    }
+
+    @Test
+    @DisplayName("A prepared context renders several documents")
+    void shouldRenderWithPreparedContext() throws Exception {
+        RenderingContext context = facade.prepare(styleSheet, fonts);
+
+        assertTrue(context.generatePDF(readDocument()).size() > 0);
+        assertTrue(context.generatePDF(readDocument()).size() > 0);
+    }
+
+    @Test
+    @DisplayName("Batch writes one file per document and isolates failures")
+    void shouldIsolateFailuresInBatch(@TempDir Path outDir) throws Exception {
+        RenderingContext context = facade.prepare(styleSheet, fonts);
+
+        List<Document> documents = new ArrayList<>();
+        documents.add(readDocument());
+        documents.add(brokenDocument());
+        documents.add(readDocument());
+
+        BatchResult result = context.renderBatch(documents, BatchOutput.directory(outDir, "doc"));
+
+        assertEquals(3, result.total());
+        assertEquals(2, result.succeeded());
+        assertTrue(result.hasFailures());
+        assertEquals(1, result.failures().getFirst().index());
+        assertTrue(Files.size(outDir.resolve("doc-0.pdf")) > 0);
+        assertTrue(Files.size(outDir.resolve("doc-2.pdf")) > 0);
+        assertFalse(Files.exists(outDir.resolve("doc-1.pdf")));
+    }
+
+    @Test
+    @DisplayName("Parallel batch renders a stream of documents")
+    void shouldRenderStreamInParallel(@TempDir Path outDir) throws Exception {
+        RenderingContext context = facade.prepare(styleSheet, fonts);
+
+        BatchResult result = context.renderBatch(
+                IntStream.range(0, 6).mapToObj(i -> readDocument()),
+                BatchOutput.directory(outDir, "doc"),
+                3);
+
+        assertEquals(6, result.total());
+        assertEquals(6, result.succeeded());
+        for (int i = 0; i < 6; i++) {
+            assertTrue(Files.size(outDir.resolve("doc-" + i + ".pdf")) > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Preparing fails for text styles without matching font")
+    void shouldRejectMissingFonts() {
+        FontFamilyList empty = new FontFamilyList();
+        empty.setFontFamilyList(List.of());
+
+        assertThrows(PdfGenerationException.class, () -> facade.prepare(styleSheet, empty));
+        assertThrows(IllegalArgumentException.class,
+                () -> facade.prepare(styleSheet, fonts).renderBatch(List.of(), (i, d) -> null, 0));
+    }
+
+    private Document readDocument() {
+        try (InputStream structure = resource("jsons/structure-default.json")) {
+            return new DocumentReader().readJson(structure);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Document brokenDocument() {
+        Document document = readDocument();
+        PageSequence sequence = document.pageSequences().getFirst();
+        return new Document(document.internalAddresses(), document.metadata(), List.of(
+                new PageSequence("no-such-page-master", sequence.body(), sequence.header(), sequence.footer())));
+    }
+
+    private InputStream resource(String name) {
+        return getClass().getClassLoader().getResourceAsStream(name);
+    }
+}
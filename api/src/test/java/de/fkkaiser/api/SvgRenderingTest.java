@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.api;
+
+import de.fkkaiser.api.utils.EClasspathResourceProvider;
+import de.fkkaiser.generator.ImageStore;
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.structure.BlockImage;
+import de.fkkaiser.model.structure.ContentArea;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.structure.Element;
+import de.fkkaiser.model.structure.PageSequence;
+import de.fkkaiser.model.style.ElementStyle;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.model.style.SvgRendering;
+import de.fkkaiser.model.style.builder.BlockImageStyleBuilder;
+import de.fkkaiser.processor.reader.DocumentReader;
+import de.fkkaiser.processor.reader.FontFamilyListReader;
+import de.fkkaiser.processor.reader.StyleSheetReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SvgRenderingTest {
+
+    private static final String SVG = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"20\" height=\"20\">"
+            + "<rect width=\"20\" height=\"20\" fill=\"black\"/></svg>";
+    private static final Pattern SRC = Pattern.compile("src=\"(" + ImageStore.SCHEME + ":[0-9a-f]+)\"");
+
+    private final List<FoDump> dumps = new CopyOnWriteArrayList<>();
+    private Document document;
+    private StyleSheet styleSheet;
+    private FontFamilyList fonts;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (InputStream structure = resource("jsons/structure-default.json");
+             InputStream style = resource("jsons/style-default.json");
+             InputStream fontJson = resource("jsons/font-families.json")) {
+            document = new DocumentReader().readJson(structure);
+            styleSheet = new StyleSheetReader().readJson(style);
+            fonts = new FontFamilyListReader().readJson(fontJson);
+        }
+    }
+
+    @Test
+    @DisplayName("In vector mode, SVG images are drawn by FOP instead of being embedded as PNG")
+    void shouldEmbedSvgAsVectorGraphic() throws Exception {
+        ImageStore store = new ImageStore();
+        String pdf = render(facade(store, SvgRendering.VECTOR), styleSheet,
+                new BlockImage(null, "images/circle.svg", "Circle", null, null),
+                new BlockImage(null, null, "Square", null, SVG));
+
+        List<String> mimeTypes = mimeTypes(store);
+        assertEquals(List.of("image/svg+xml", "image/svg+xml"), mimeTypes);
+        // No raster image in the PDF, the alt text is kept
+        assertFalse(pdf.contains("/Subtype /Image"));
+        String xslFo = dumps.getFirst().xslFo();
+        assertTrue(xslFo.contains("fox:alt-text=\"Circle\""));
+        assertTrue(xslFo.contains("fox:alt-text=\"Square\""));
+    }
+
+    @Test
+    @DisplayName("The svg-rendering of an image style overrides the rendering of the document")
+    void shouldOverrideRenderingByStyle() throws Exception {
+        List<ElementStyle> elementStyles = new ArrayList<>(styleSheet.elementStyles());
+        elementStyles.add(new BlockImageStyleBuilder("vector-image").withSvgRendering(SvgRendering.VECTOR).build());
+        StyleSheet withVectorStyle = new StyleSheet(styleSheet.textStyles(), elementStyles,
+                styleSheet.pageMasterStyles(), styleSheet.defaults());
+
+        ImageStore store = new ImageStore();
+        String pdf = render(facade(store, SvgRendering.RASTER), withVectorStyle,
+                new BlockImage("vector-image", "images/circle.svg", "Vector", null, null),
+                new BlockImage(null, null, "Raster", null, SVG));
+
+        assertEquals(List.of("image/svg+xml", "image/png"), mimeTypes(store));
+        assertTrue(pdf.contains("/Subtype /Image"));
+    }
+
+    private PdfGenerationFacade facade(ImageStore store, SvgRendering svgRendering) {
+        return PdfGenerationFacade.builder(new EClasspathResourceProvider())
+                .withFopFactoryCache(new FopFactoryCache(4))
+                .withDiagnostics(FoDiagnostics.builder().withSampleRate(1.0).withSink(dumps::add).build())
+                .withImageStore(store)
+                .withSvgRendering(svgRendering)
+                .build();
+    }
+
+    private String render(PdfGenerationFacade facade, StyleSheet styles, BlockImage... images) throws Exception {
+        PageSequence sequence = document.pageSequences().getFirst();
+        List<Element> body = new ArrayList<>(sequence.body().elements());
+        body.addAll(List.of(images));
+        Document withImages = new Document(document.internalAddresses(), document.metadata(), List.of(
+                new PageSequence(sequence.styleClass(), new ContentArea(body), sequence.header(), sequence.footer())));
+        return facade.generatePDF(withImages, styles, fonts).toString(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Returns the MIME types of the stored images in the order of their references in the XSL-FO.
+     */
+    private List<String> mimeTypes(ImageStore store) {
+        List<String> mimeTypes = new ArrayList<>();
+        Matcher matcher = SRC.matcher(dumps.getFirst().xslFo());
+        while (matcher.find()) {
+            mimeTypes.add(store.get(matcher.group(1)).mimeType());
+        }
+        return mimeTypes;
+    }
+
+    private InputStream resource(String name) {
+        return getClass().getClassLoader().getResourceAsStream(name);
+    }
+}
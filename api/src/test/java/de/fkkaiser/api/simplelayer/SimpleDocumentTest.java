@@ -364,4 +364,21 @@ class SimpleDocumentTest {
         assertNotNull(stream2);
         assertEquals(stream1.size(), stream2.size(), "Both streams should be identical");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should stream PDF to an OutputStream and a Path")
+    void shouldStreamPdfToOutputStreamAndPath(@TempDir Path tempDir) throws Exception {
+        SimpleDocument doc = SimpleDocumentBuilder.create("Test")
+                .addParagraph("Hello")
+                .build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        doc.writeTo(out);
+        Path outputPath = tempDir.resolve("streamed.pdf");
+        doc.saveAs(outputPath);
+
+        assertTrue(out.size() > 0);
+        assertEquals(out.size(), Files.size(outputPath));
+        assertEquals("%PDF", new String(out.toByteArray(), 0, 4, java.nio.charset.StandardCharsets.US_ASCII));
+    }
+}
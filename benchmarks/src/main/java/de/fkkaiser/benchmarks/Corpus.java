@@ -0,0 +1,475 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import de.fkkaiser.model.JsonPropertyName;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * Generated document shapes the benchmarks run on. Each shape is written as structure JSON,
+ * so the same corpus drives the JSON reader benchmarks and, once parsed, the later stages.
+ * All shapes share {@link #styleJson()} and {@link #fontJson()}.
+ *
+ * <p>The text is pseudo-random with a fixed seed, so every run measures the same bytes.
+ * It contains characters that must be escaped in XML.</p>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+public enum Corpus {
+
+    /**
+     * One-page letter: a few paragraphs, a link and a page number footer.
+     */
+    LETTER {
+        @Override
+        void writeBody(JsonGenerator json, Random random) throws IOException {
+            headline(json, 1, "Your order 2025-0815 & delivery");
+            for (int i = 0; i < 6; i++) {
+                paragraph(json, text(random, 60), i == 2 ? "https://example.com/orders/2025-0815" : null);
+            }
+            paragraph(json, "Kind regards, Katrin Kaiser", null);
+        }
+
+        @Override
+        boolean pageNumberFooter() {
+            return true;
+        }
+    },
+
+    /**
+     * Report of roughly 500 pages: chapters and sub-chapters with headlines and paragraphs,
+     * every second paragraph carries a footnote.
+     */
+    REPORT {
+        @Override
+        void writeBody(JsonGenerator json, Random random) throws IOException {
+            int footnote = 0;
+            for (int chapter = 1; chapter <= 20; chapter++) {
+                headline(json, 1, "Chapter " + chapter + ": " + text(random, 4));
+                for (int section = 1; section <= 25; section++) {
+                    headline(json, 2, chapter + "." + section + " " + text(random, 6));
+                    for (int p = 0; p < 4; p++) {
+                        json.writeStartObject();
+                        json.writeStringField(TYPE, JsonPropertyName.PARAGRAPH);
+                        json.writeStringField(JsonPropertyName.STYLE_CLASS, "body-paragraph");
+                        json.writeArrayFieldStart(JsonPropertyName.INLINE_ELEMENTS);
+                        textRun(json, text(random, 110), null);
+                        if (p % 2 == 1) {
+                            json.writeStartObject();
+                            json.writeStringField(TYPE, JsonPropertyName.FOOTNOTE);
+                            json.writeStringField("index", Integer.toString(++footnote));
+                            json.writeStringField(JsonPropertyName.STYLE_CLASS, "footnote-style");
+                            json.writeArrayFieldStart(JsonPropertyName.INLINE_ELEMENTS);
+                            textRun(json, text(random, 15), null);
+                            json.writeEndArray();
+                            json.writeEndObject();
+                        }
+                        json.writeEndArray();
+                        json.writeEndObject();
+                    }
+                }
+            }
+        }
+
+        @Override
+        boolean pageNumberFooter() {
+            return true;
+        }
+    },
+
+    /**
+     * A single table of 50,000 rows with four columns and a header row.
+     */
+    TABLE {
+        @Override
+        void writeBody(JsonGenerator json, Random random) throws IOException {
+            json.writeStartObject();
+            json.writeStringField(TYPE, JsonPropertyName.TABLE);
+            json.writeStringField(JsonPropertyName.STYLE_CLASS, "standard-table");
+            json.writeArrayFieldStart(JsonPropertyName.COLUMNS);
+            for (String width : new String[]{"15%", "45%", "20%", "20%"}) {
+                json.writeString(width);
+            }
+            json.writeEndArray();
+
+            json.writeObjectFieldStart(JsonPropertyName.HEADER);
+            json.writeArrayFieldStart(JsonPropertyName.ROWS);
+            row(json, "header-cell", "No.", "Article", "Quantity", "Amount");
+            json.writeEndArray();
+            json.writeEndObject();
+
+            json.writeObjectFieldStart(JsonPropertyName.BODY);
+            json.writeArrayFieldStart(JsonPropertyName.ROWS);
+            for (int i = 1; i <= 50_000; i++) {
+                row(json, "body-cell", Integer.toString(i), text(random, 4),
+                        Integer.toString(random.nextInt(100)), random.nextInt(100_000) / 100.0 + " €");
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+    },
+
+    /**
+     * Image-heavy catalogue: 200 entries, each with a headline, an image and a description.
+     * Every tenth image is inline SVG content, which is transcoded to PNG.
+     */
+    CATALOGUE {
+        @Override
+        void writeBody(JsonGenerator json, Random random) throws IOException {
+            headline(json, 1, "Catalogue 2025");
+            for (int i = 0; i < 200; i++) {
+                headline(json, 2, "Article " + (i + 1) + " " + text(random, 3));
+                json.writeStartObject();
+                json.writeStringField(TYPE, JsonPropertyName.BLOCK_IMAGE);
+                json.writeStringField(JsonPropertyName.STYLE_CLASS, "catalogue-image");
+                json.writeStringField(JsonPropertyName.ALT_TEXT, "Photo of article " + (i + 1));
+                if (i % 10 == 9) {
+                    json.writeStringField(JsonPropertyName.SVG_CONTENT, SVG);
+                } else {
+                    json.writeStringField(JsonPropertyName.PATH, i % 2 == 0 ? "images/logo.png" : "images/test.png");
+                }
+                json.writeEndObject();
+                paragraph(json, text(random, 40), null);
+            }
+        }
+    },
+
+    /**
+     * Deeply nested section tree: a binary tree of sections ten levels deep, each section
+     * with a headline and a paragraph.
+     */
+    NESTED {
+        @Override
+        void writeBody(JsonGenerator json, Random random) throws IOException {
+            section(json, random, 1, "1");
+        }
+
+        private void section(JsonGenerator json, Random random, int depth, String number) throws IOException {
+            json.writeStartObject();
+            json.writeStringField(TYPE, JsonPropertyName.SECTION);
+            json.writeStringField(JsonPropertyName.STYLE_CLASS, "nested-section");
+            json.writeArrayFieldStart(JsonPropertyName.ELEMENTS);
+            headline(json, Math.min(depth, 6), number + " " + text(random, 4));
+            paragraph(json, text(random, 30), null);
+            if (depth < 10) {
+                section(json, random, depth + 1, number + ".1");
+                section(json, random, depth + 1, number + ".2");
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    };
+
+    private static final String TYPE = "type";
+
+    private static final String SVG = """
+            <svg xmlns="http://www.w3.org/2000/svg" width="120" height="80" viewBox="0 0 120 80">\
+            <rect x="5" y="5" width="110" height="70" rx="8" fill="#2a6ebb"/>\
+            <circle cx="40" cy="40" r="20" fill="#ffffff"/>\
+            <text x="70" y="46" font-size="16" fill="#ffffff">SVG</text></svg>""";
+
+    private static final String[] WORDS = {
+            "accessible", "document", "tagged", "structure", "reader", "layout", "page", "invoice",
+            "customer", "quarterly", "revenue", "summary", "table", "<value>", "R&D", "\"quoted\"",
+            "delivery", "über", "Straße", "contract", "section", "figure", "footnote", "report"
+    };
+
+    private byte[] structureJson;
+
+    /**
+     * Writes the elements of the body of the single page sequence.
+     *
+     * @param json   the generator, positioned inside the elements array
+     * @param random the source of the text
+     * @throws IOException if writing fails
+     */
+    abstract void writeBody(JsonGenerator json, Random random) throws IOException;
+
+    /**
+     * Returns whether the page sequence has a footer with the page number.
+     *
+     * @return {@code true} for a page number footer
+     */
+    boolean pageNumberFooter() {
+        return false;
+    }
+
+    /**
+     * Returns the structure JSON of this shape. The JSON is generated once and then shared.
+     *
+     * @return the UTF-8 encoded structure JSON; must not be modified
+     */
+    public synchronized byte[] structureJson() {
+        if (structureJson == null) {
+            structureJson = write(json -> {
+                json.writeStartObject();
+                json.writeObjectFieldStart("metadata");
+                json.writeStringField(JsonPropertyName.TITLE, "Benchmark " + name().toLowerCase());
+                json.writeStringField(JsonPropertyName.AUTHOR, "Katrin Kaiser");
+                json.writeStringField(JsonPropertyName.LANGUAGE, "en-US");
+                json.writeEndObject();
+
+                json.writeArrayFieldStart("page-sequences");
+                json.writeStartObject();
+                json.writeStringField(JsonPropertyName.STYLE_CLASS, "main-content");
+                json.writeObjectFieldStart(JsonPropertyName.BODY);
+                json.writeArrayFieldStart(JsonPropertyName.ELEMENTS);
+                writeBody(json, new Random(42));
+                json.writeEndArray();
+                json.writeEndObject();
+                if (pageNumberFooter()) {
+                    json.writeObjectFieldStart(JsonPropertyName.FOOTER);
+                    json.writeArrayFieldStart(JsonPropertyName.ELEMENTS);
+                    json.writeStartObject();
+                    json.writeStringField(TYPE, JsonPropertyName.PARAGRAPH);
+                    json.writeStringField(JsonPropertyName.STYLE_CLASS, "footer-paragraph");
+                    json.writeArrayFieldStart(JsonPropertyName.INLINE_ELEMENTS);
+                    textRun(json, "Page ", null);
+                    json.writeStartObject();
+                    json.writeStringField(TYPE, JsonPropertyName.PAGE_NUMBER);
+                    json.writeEndObject();
+                    json.writeEndArray();
+                    json.writeEndObject();
+                    json.writeEndArray();
+                    json.writeEndObject();
+                }
+                json.writeEndObject();
+                json.writeEndArray();
+                json.writeEndObject();
+            });
+        }
+        return structureJson;
+    }
+
+    /**
+     * Returns the style sheet JSON shared by all shapes.
+     *
+     * @return the UTF-8 encoded style sheet JSON
+     */
+    public static byte[] styleJson() {
+        return write(json -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart(JsonPropertyName.PAGE_MASTER_STYLES);
+            json.writeStartObject();
+            json.writeStringField(JsonPropertyName.NAME, "main-content");
+            json.writeStringField(JsonPropertyName.PAGE_HEIGHT, "29.7cm");
+            json.writeStringField(JsonPropertyName.PAGE_WIDTH, "21cm");
+            json.writeStringField(JsonPropertyName.MARGIN, "2cm");
+            json.writeStringField(JsonPropertyName.FOOTER_EXTENT, "1cm");
+            json.writeEndObject();
+            json.writeEndArray();
+
+            json.writeArrayFieldStart(JsonPropertyName.TEXT_STYLES);
+            textStyle(json, "h1", "20pt", "700", "normal");
+            textStyle(json, "h2", "16pt", "700", "normal");
+            textStyle(json, "h3", "13pt", "700", "normal");
+            textStyle(json, "normal-text", "11pt", "400", "normal");
+            textStyle(json, "small-text", "9pt", "400", "normal");
+            textStyle(json, "emphasis", "11pt", "400", "italic");
+            textStyle(json, "bold", "11pt", "700", "normal");
+            json.writeEndArray();
+
+            json.writeArrayFieldStart(JsonPropertyName.ELEMENT_STYLES);
+            elementStyle(json, "h1", JsonPropertyName.HEADLINE, "h1", "space-before", "18pt", "space-after", "8pt");
+            elementStyle(json, "h2", JsonPropertyName.HEADLINE, "h2", "space-before", "12pt", "space-after", "6pt");
+            elementStyle(json, "h3", JsonPropertyName.HEADLINE, "h3", "space-before", "8pt", "space-after", "4pt");
+            elementStyle(json, "body-paragraph", JsonPropertyName.PARAGRAPH, "normal-text",
+                    "text-align", "justify", "line-height", "1.5", "space-after", "6pt");
+            elementStyle(json, "footer-paragraph", JsonPropertyName.PARAGRAPH, "small-text", "text-align", "center");
+            elementStyle(json, "footnote-style", JsonPropertyName.FOOTNOTE, "small-text", "start-indent", "2mm");
+            elementStyle(json, "link", JsonPropertyName.TEXT_RUN, "normal-text", "text-color", "blue",
+                    "text-decoration", "underline");
+            elementStyle(json, "standard-table", JsonPropertyName.TABLE, "normal-text",
+                    "border-collapse", "collapse", "width", "100%");
+            elementStyle(json, "header-cell", JsonPropertyName.TABLE_CELL, "bold", "background-color", "#EFEFEF",
+                    "padding", "4pt", "border", "1pt solid black");
+            elementStyle(json, "body-cell", JsonPropertyName.TABLE_CELL, "normal-text", "padding", "3pt",
+                    "border", "1pt solid #DDDDDD");
+            elementStyle(json, "catalogue-image", JsonPropertyName.BLOCK_IMAGE, null, "content-width", "4cm",
+                    "space-after", "4pt");
+            elementStyle(json, "nested-section", JsonPropertyName.SECTION, "normal-text", "start-indent", "2mm");
+            json.writeEndArray();
+            json.writeEndObject();
+        });
+    }
+
+    /**
+     * Returns the font family list JSON shared by all shapes. The fonts are loaded from the classpath.
+     *
+     * @return the UTF-8 encoded font family list JSON
+     */
+    public static byte[] fontJson() {
+        return write(json -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart("font-families");
+            json.writeStartObject();
+            json.writeStringField("font-family", "Open Sans");
+            json.writeArrayFieldStart("types");
+            fontType(json, "fonts/OpenSans-Regular.ttf", "400", "normal");
+            fontType(json, "fonts/OpenSans-Bold.ttf", "700", "normal");
+            fontType(json, "fonts/OpenSans-Italic.ttf", "400", "italic");
+            fontType(json, "fonts/OpenSans-BoldItalic.ttf", "700", "italic");
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        });
+    }
+
+    /**
+     * Returns the inline SVG used by the catalogue.
+     *
+     * @return the SVG document
+     */
+    static String svg() {
+        return SVG;
+    }
+
+    /**
+     * Returns pseudo-random text.
+     *
+     * @param random the source of the words
+     * @param words  the number of words
+     * @return the text
+     */
+    static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder(words * 9);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(i % 12 == 0 ? ". " : " ");
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.append('.').toString();
+    }
+
+    private static void headline(JsonGenerator json, int level, String text) throws IOException {
+        json.writeStartObject();
+        json.writeStringField(TYPE, JsonPropertyName.HEADLINE);
+        json.writeStringField(JsonPropertyName.STYLE_CLASS, "h" + Math.min(level, 3));
+        json.writeNumberField(JsonPropertyName.LEVEL, level);
+        json.writeArrayFieldStart(JsonPropertyName.INLINE_ELEMENTS);
+        textRun(json, text, null);
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private static void paragraph(JsonGenerator json, String text, String href) throws IOException {
+        json.writeStartObject();
+        json.writeStringField(TYPE, JsonPropertyName.PARAGRAPH);
+        json.writeStringField(JsonPropertyName.STYLE_CLASS, "body-paragraph");
+        json.writeArrayFieldStart(JsonPropertyName.INLINE_ELEMENTS);
+        textRun(json, text, null);
+        if (href != null) {
+            json.writeStartObject();
+            json.writeStringField(TYPE, JsonPropertyName.HYPERLINK);
+            json.writeStringField(JsonPropertyName.HREF, href);
+            json.writeStringField(JsonPropertyName.TEXT, " Track your delivery.");
+            json.writeStringField(JsonPropertyName.STYLE_CLASS, "link");
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private static void textRun(JsonGenerator json, String text, String styleClass) throws IOException {
+        json.writeStartObject();
+        json.writeStringField(TYPE, JsonPropertyName.TEXT_RUN);
+        json.writeStringField(JsonPropertyName.TEXT, text);
+        if (styleClass != null) {
+            json.writeStringField(JsonPropertyName.STYLE_CLASS, styleClass);
+        }
+        json.writeEndObject();
+    }
+
+    private static void row(JsonGenerator json, String cellStyle, String... cells) throws IOException {
+        json.writeStartObject();
+        json.writeArrayFieldStart(JsonPropertyName.CELLS);
+        for (String cell : cells) {
+            json.writeStartObject();
+            json.writeStringField(JsonPropertyName.STYLE_CLASS, cellStyle);
+            json.writeArrayFieldStart(JsonPropertyName.ELEMENTS);
+            json.writeStartObject();
+            json.writeStringField(TYPE, JsonPropertyName.PARAGRAPH);
+            json.writeArrayFieldStart(JsonPropertyName.INLINE_ELEMENTS);
+            textRun(json, cell, null);
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private static void textStyle(JsonGenerator json, String name, String size, String weight, String style)
+            throws IOException {
+        json.writeStartObject();
+        json.writeStringField(JsonPropertyName.NAME, name);
+        json.writeStringField("font-size", size);
+        json.writeStringField("font-family-name", "Open Sans");
+        json.writeStringField("font-weight", weight);
+        json.writeStringField("font-style", style);
+        json.writeEndObject();
+    }
+
+    private static void elementStyle(JsonGenerator json, String name, String target, String textStyle,
+                                     String... properties) throws IOException {
+        json.writeStartObject();
+        json.writeStringField(JsonPropertyName.NAME, name);
+        json.writeStringField(JsonPropertyName.TARGET_ELEMENT, target);
+        json.writeObjectFieldStart(JsonPropertyName.PROPERTIES);
+        if (textStyle != null) {
+            json.writeStringField(JsonPropertyName.TEXT_STYLE_NAME, textStyle);
+        }
+        for (int i = 0; i < properties.length; i += 2) {
+            json.writeStringField(properties[i], properties[i + 1]);
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private static void fontType(JsonGenerator json, String path, String weight, String style) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("path", path);
+        json.writeStringField("font-weight", weight);
+        json.writeStringField("font-style", style);
+        json.writeEndObject();
+    }
+
+    private static byte[] write(JsonWriter writer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator json = new JsonFactory().createGenerator(out)) {
+            writer.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not generate benchmark corpus", e);
+        }
+        return out.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface JsonWriter {
+        void write(JsonGenerator json) throws IOException;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.benchmarks;
+
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.processor.StyleResolverService;
+import de.fkkaiser.processor.reader.DocumentReader;
+import de.fkkaiser.processor.reader.FontFamilyListReader;
+import de.fkkaiser.processor.reader.JsonReadException;
+import de.fkkaiser.processor.reader.StyleSheetReader;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * Benchmark state holding one {@link Corpus} shape as JSON and as parsed, style-resolved model.
+ * Benchmarks using this state are run once per shape.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+
+    @Param({"LETTER", "REPORT", "TABLE", "CATALOGUE", "NESTED"})
+    public Corpus corpus;
+
+    public byte[] structureJson;
+    public byte[] styleJson;
+    public byte[] fontJson;
+
+    public Document document;
+    public StyleSheet styleSheet;
+    public FontFamilyList fontFamilyList;
+
+    /**
+     * Generates the JSON of the shape and reads it into the model.
+     *
+     * @throws JsonReadException if the generated JSON cannot be read
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws JsonReadException {
+        structureJson = corpus.structureJson();
+        styleJson = Corpus.styleJson();
+        fontJson = Corpus.fontJson();
+
+        document = new DocumentReader().readJson(new ByteArrayInputStream(structureJson));
+        styleSheet = new StyleSheetReader().readJson(new ByteArrayInputStream(styleJson));
+        fontFamilyList = new FontFamilyListReader().readJson(new ByteArrayInputStream(fontJson));
+        StyleResolverService.resolve(document, styleSheet);
+    }
+}
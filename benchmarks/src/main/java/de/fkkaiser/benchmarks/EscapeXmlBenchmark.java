@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.benchmarks;
+
+import de.fkkaiser.generator.GenerateUtils;
+import de.fkkaiser.generator.TagBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The String building blocks of the XSL-FO generation: {@link GenerateUtils#escapeXml(String)}
+ * on text with and without markup characters, and a nested {@link TagBuilder} tree shaped
+ * like a paragraph with styled text runs.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EscapeXmlBenchmark {
+
+    /**
+     * Length of the escaped text in words.
+     */
+    @Param({"5", "110"})
+    public int words;
+
+    private String plainText;
+    private String markupText;
+
+    @Setup
+    public void setUp() {
+        plainText = Corpus.text(new Random(42), words).replaceAll("[<>&\"']", "");
+        markupText = Corpus.text(new Random(42), words) + " <b> & \"x\" 'y'";
+    }
+
+    @Benchmark
+    public String escapePlain() {
+        return GenerateUtils.escapeXml(plainText);
+    }
+
+    @Benchmark
+    public String escapeMarkup() {
+        return GenerateUtils.escapeXml(markupText);
+    }
+
+    @Benchmark
+    public String buildParagraph() {
+        TagBuilder block = GenerateUtils.tagBuilder("block")
+                .addAttribute("role", "P")
+                .addAttribute("font-family", "Open Sans")
+                .addAttribute("font-size", "11pt")
+                .addAttribute("text-align", "justify");
+        for (int i = 0; i < 4; i++) {
+            block.addChild(GenerateUtils.tagBuilder("inline")
+                    .addAttribute("font-weight", i % 2 == 0 ? "400" : "700")
+                    .addAttribute("color", "black")
+                    .addContent(i % 2 == 0 ? plainText : markupText));
+        }
+        return block.build();
+    }
+}
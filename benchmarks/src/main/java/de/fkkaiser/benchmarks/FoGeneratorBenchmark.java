@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.benchmarks;
+
+import de.fkkaiser.generator.FoFragmentCache;
+import de.fkkaiser.generator.ImageCache;
+import de.fkkaiser.generator.ImageOptimizer;
+import de.fkkaiser.generator.ImageResolver;
+import de.fkkaiser.generator.ImageSettings;
+import de.fkkaiser.generator.ImageStore;
+import de.fkkaiser.generator.XslFoGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating the XSL-FO of a style-resolved document, as a String (sequentially, in the
+ * common fork-join pool, with a warm fragment cache, with images in an image store and with
+ * a warm image cache) and as SAX events into a handler that discards them.
+ *
+ * @author Katrin Kaiser
+ * @version 1.3.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FoGeneratorBenchmark {
+
+    static final ImageResolver CLASSPATH_IMAGES = path -> FoGeneratorBenchmark.class.getResource("/" + path);
+
+    private final XslFoGenerator generator = new XslFoGenerator();
+    private final XslFoGenerator parallelGenerator = XslFoGenerator.builder()
+            .withPool(ForkJoinPool.commonPool())
+            .build();
+    private final XslFoGenerator cachingGenerator = XslFoGenerator.builder()
+            .withFragmentCache(new FoFragmentCache(FoFragmentCache.DEFAULT_MAX_SIZE))
+            .build();
+    private final XslFoGenerator storingGenerator = XslFoGenerator.builder()
+            .withImages(ImageSettings.defaults().withImageStore(new ImageStore()))
+            .build();
+    private final XslFoGenerator imageCachingGenerator = XslFoGenerator.builder()
+            .withImages(ImageSettings.defaults()
+                    .withImageStore(new ImageStore())
+                    .withImageCache(new ImageCache(ImageCache.DEFAULT_MAX_BYTES)))
+            .build();
+    private final XslFoGenerator optimizingGenerator = XslFoGenerator.builder()
+            .withImages(ImageSettings.defaults()
+                    .withImageStore(new ImageStore())
+                    .withImageCache(new ImageCache(ImageCache.DEFAULT_MAX_BYTES))
+                    .withImageOptimizer(ImageOptimizer.defaults()))
+            .build();
+    private final DefaultHandler discard = new DefaultHandler();
+
+    @Benchmark
+    public String generateString(CorpusState state) {
+        return generator.generate(state.document, state.styleSheet, CLASSPATH_IMAGES);
+    }
+
+    @Benchmark
+    public String generateStringParallel(CorpusState state) {
+        return parallelGenerator.generate(state.document, state.styleSheet, CLASSPATH_IMAGES);
+    }
+
+    @Benchmark
+    public String generateStringCached(CorpusState state) {
+        return cachingGenerator.generate(state.document, state.styleSheet, CLASSPATH_IMAGES);
+    }
+
+    @Benchmark
+    public String generateStringImageStore(CorpusState state) {
+        return storingGenerator.generate(state.document, state.styleSheet, CLASSPATH_IMAGES);
+    }
+
+    @Benchmark
+    public String generateStringImageCache(CorpusState state) {
+        return imageCachingGenerator.generate(state.document, state.styleSheet, CLASSPATH_IMAGES);
+    }
+
+    @Benchmark
+    public String generateStringImageOptimizer(CorpusState state) {
+        return optimizingGenerator.generate(state.document, state.styleSheet, CLASSPATH_IMAGES);
+    }
+
+    @Benchmark
+    public void generateSax(CorpusState state) throws SAXException {
+        generator.generate(state.document, state.styleSheet, CLASSPATH_IMAGES, discard);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.benchmarks;
+
+import de.fkkaiser.generator.ImageUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving images to data URIs: reading raster images from the classpath and transcoding
+ * SVG files and inline SVG content to PNG.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageResolveBenchmark {
+
+    /**
+     * The image files; a separate state so that only {@link #resolveToDataUri(ImageFile)} runs per file.
+     */
+    @State(Scope.Benchmark)
+    public static class ImageFile {
+        @Param({"images/logo.png", "images/test.png", "images/chart.svg"})
+        public String path;
+    }
+
+    @Benchmark
+    public String resolveToDataUri(ImageFile image) {
+        return ImageUtils.resolveToDataUri(image.path, FoGeneratorBenchmark.CLASSPATH_IMAGES);
+    }
+
+    @Benchmark
+    public String svgContentToDataUri() {
+        return ImageUtils.svgContentToDataUri(Corpus.svg());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.benchmarks;
+
+import de.fkkaiser.model.font.FontFamilyList;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.processor.reader.DocumentReader;
+import de.fkkaiser.processor.reader.FontFamilyListReader;
+import de.fkkaiser.processor.reader.JsonReadException;
+import de.fkkaiser.processor.reader.StyleSheetReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the structure, style sheet and font family list JSON into model objects.
+ * Only the structure benchmark depends on the corpus shape.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonReaderBenchmark {
+
+    private final DocumentReader documentReader = new DocumentReader();
+    private final StyleSheetReader styleSheetReader = new StyleSheetReader();
+    private final FontFamilyListReader fontFamilyListReader = new FontFamilyListReader();
+    private final byte[] styleJson = Corpus.styleJson();
+    private final byte[] fontJson = Corpus.fontJson();
+
+    @Benchmark
+    public Document readStructure(CorpusState state) throws JsonReadException {
+        return documentReader.readJson(new ByteArrayInputStream(state.structureJson));
+    }
+
+    @Benchmark
+    public StyleSheet readStyleSheet() throws JsonReadException {
+        return styleSheetReader.readJson(new ByteArrayInputStream(styleJson));
+    }
+
+    @Benchmark
+    public FontFamilyList readFontFamilyList() throws JsonReadException {
+        return fontFamilyListReader.readJson(new ByteArrayInputStream(fontJson));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.benchmarks;
+
+import de.fkkaiser.api.PdfGenerationException;
+import de.fkkaiser.api.PdfGenerationFacade;
+import de.fkkaiser.api.utils.EClasspathResourceProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end PDF generation with {@link PdfGenerationFacade}, from the parsed model and from
+ * the JSON inputs. The PDF is written to a discarding stream. The FopFactory is cached, as in
+ * a long-running service, so font loading is only measured during warm-up.
+ *
+ * <p>The large shapes take seconds per document, so fewer and longer iterations are used.</p>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class PdfGenerationBenchmark {
+
+    private final PdfGenerationFacade facade = new PdfGenerationFacade(new EClasspathResourceProvider());
+
+    @Benchmark
+    public void generateFromModel(CorpusState state) throws PdfGenerationException {
+        facade.generatePDF(state.document, state.styleSheet, state.fontFamilyList, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void generateFromJson(CorpusState state) throws PdfGenerationException {
+        facade.generatePDF(new ByteArrayInputStream(state.structureJson),
+                new ByteArrayInputStream(state.styleJson),
+                new ByteArrayInputStream(state.fontJson),
+                OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.benchmarks;
+
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.style.StyleResolverContext;
+import de.fkkaiser.processor.StyleResolverService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the element styles of a parsed document. Resolution overwrites the resolved
+ * styles of every element, so the same document is resolved again in each invocation.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StyleResolverBenchmark {
+
+    private StyleResolverContext context;
+
+    @Setup
+    public void setUp(CorpusState state) {
+        context = StyleResolverService.createContext(state.styleSheet);
+    }
+
+    /**
+     * Resolves with a new context, as {@code PdfGenerationFacade.generatePDF} does per document.
+     */
+    @Benchmark
+    public Document resolve(CorpusState state) {
+        StyleResolverService.resolve(state.document, state.styleSheet);
+        return state.document;
+    }
+
+    /**
+     * Resolves with a prepared context, as a {@code RenderingContext} does.
+     */
+    @Benchmark
+    public Document resolvePrepared(CorpusState state) {
+        StyleResolverService.resolve(state.document, context);
+        return state.document;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+import de.fkkaiser.model.structure.Element;
+
+/**
+ * Writes the XSL-FO of an element type that is not defined by this library, i.e. an
+ * {@link de.fkkaiser.model.structure.ExtensionElement} or
+ * {@link de.fkkaiser.model.structure.InlineExtensionElement}.
+ * <p>
+ * A generator is registered for the class of its elements with
+ * {@link XslFoGenerator#registerExtension(Class, ExtensionFoGenerator)} or
+ * {@link XslFoGenerator#registerInlineExtension(Class, ExtensionFoGenerator)}. In parallel
+ * mode it is called from several threads at once and has to be thread-safe.
+ *
+ * <p><b>Example:</b></p>
+ * <pre>{@code
+ * generator.registerExtension(Box.class, (box, context, main) -> {
+ *     context.builder().append("<fo:block border=\"1pt solid black\">");
+ *     main.generateBlockElements(box.getElements(), context);
+ *     context.builder().append("</fo:block>");
+ * });
+ * }</pre>
+ *
+ * @param <E> the type of the elements
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+@FunctionalInterface
+public interface ExtensionFoGenerator<E extends Element> {
+
+    /**
+     * Appends the XSL-FO of the element to the buffer of the context.
+     *
+     * @param element   the element to generate
+     * @param context   the context of the enclosing top-level element
+     * @param generator the generator of the document, for nested block and inline elements
+     */
+    void generate(E element, FoContext context, XslFoGenerator generator);
+}
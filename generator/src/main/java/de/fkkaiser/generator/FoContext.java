@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+import de.fkkaiser.model.structure.Headline;
+import de.fkkaiser.model.style.StyleSheet;
+
+import java.util.List;
+
+/**
+ * The state shared by the generators of one top-level element of a header, footer or body.
+ * <p>
+ * The {@link XslFoGenerator} creates a context for every top-level element and hands it down
+ * the element tree, so generators pass one object to their children instead of the style
+ * sheet, output buffer, headlines, ids and image handling one by one. A context is used by a
+ * single thread; in parallel mode every chunk of elements writes into its own buffer and
+ * headline list.
+ *
+ * @param styleSheet       the style sheet of the document
+ * @param textStyles       the font attributes of the text styles of the style sheet
+ * @param resolver         the resolver for images referenced by path
+ * @param images           how images are loaded and put into the XSL-FO
+ * @param builder          the buffer the XSL-FO is appended to
+ * @param headlines        the headlines for the bookmark tree, in document order
+ * @param ids              the allocator for document-unique ids of the top-level element
+ * @param externalArtefact whether the elements belong to a header or footer and are tagged as artifacts
+ * @author Katrin Kaiser
+ * @version 1.7.0
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public record FoContext(StyleSheet styleSheet,
+                        TextStyleFragments textStyles,
+                        ImageResolver resolver,
+                        ImageSettings images,
+                        StringBuilder builder,
+                        List<Headline> headlines,
+                        IdAllocator ids,
+                        boolean externalArtefact) {
+
+    /**
+     * Creates a context that loads every image, converts SVG images to PNG and embeds every
+     * image as data URI. The font attributes of the text styles are created from the style sheet.
+     *
+     * @param styleSheet       the style sheet of the document
+     * @param resolver         the resolver for images referenced by path
+     * @param builder          the buffer the XSL-FO is appended to
+     * @param headlines        the headlines for the bookmark tree, in document order
+     * @param ids              the allocator for document-unique ids of the top-level element
+     * @param externalArtefact whether the elements belong to a header or footer and are tagged as artifacts
+     */
+    public FoContext(StyleSheet styleSheet, ImageResolver resolver, StringBuilder builder,
+                     List<Headline> headlines, IdAllocator ids, boolean externalArtefact) {
+        this(styleSheet, TextStyleFragments.of(styleSheet), resolver, ImageSettings.defaults(), builder, headlines, ids,
+                externalArtefact);
+    }
+
+    /**
+     * Returns a context for child elements that are, or are not, tagged as artifacts,
+     * e.g. the content of table cells, which is never tagged.
+     *
+     * @param externalArtefact whether the child elements are tagged as artifacts
+     * @return this context if the flag is unchanged, otherwise a copy with the new flag
+     */
+    public FoContext withExternalArtefact(boolean externalArtefact) {
+        if (externalArtefact == this.externalArtefact) {
+            return this;
+        }
+        return new FoContext(styleSheet, textStyles, resolver, images, builder, headlines, ids, externalArtefact);
+    }
+}
@@ -0,0 +1,550 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+import de.fkkaiser.model.structure.*;
+import de.fkkaiser.model.style.StyleSheet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, thread-safe cache of generated XSL-FO fragments for repeated content.
+ *
+ * <p>Headers and footers often repeat the same content (logo, address block, page number)
+ * in every page sequence, and bodies repeat boilerplate sections. With a fragment cache,
+ * {@link XslFoGenerator} generates the XSL-FO of such a top-level element once and appends
+ * the cached fragment for every further occurrence.</p>
+ *
+ * <p><b>Cached Elements:</b></p>
+ * Every top-level element of a header or footer and every top-level {@link Section} or
+ * {@link Part} of a body is looked up, as long as its subtree produces no ids or bookmarks:
+ * subtrees containing a {@link Headline}, a {@link Footnote} or a NOTE section are always
+ * generated, as are tables with a {@link TableRowSource}.
+ *
+ * <p><b>Cache Key:</b></p>
+ * Entries are keyed by the structure of the element subtree (element types, style classes,
+ * texts, paths, image data and so on), the {@link StyleSheet}, the {@link ImageResolver},
+ * whether an {@link ImageStore} is used and whether the element is an artifact. Two independently built or
+ * read subtrees with the same content share one fragment. Since top-level elements resolve
+ * their styles without a parent style, the resolved styles follow from the style classes and
+ * the style sheet, provided they were resolved by the style resolver with the same style
+ * sheet. Images are cached with their data, so call {@link #clear()} after changing image
+ * resources that were already rendered.
+ *
+ * <p>Style sheet and image resolver are compared by identity, since style properties have no
+ * value equality. Fragments are therefore reused across documents only if they are rendered
+ * with the same {@link StyleSheet} instance, e.g. from the model API or a prepared rendering
+ * context. Documents rendered from JSON read a new style sheet per job, so only repetitions
+ * within the document hit. The key holds style sheet and resolver weakly, and fragments of
+ * collected style sheets are removed on the next insertion.</p>
+ *
+ * <p><b>Images:</b></p>
+ * Every render job may register its images in its own {@link ImageStore}. A fragment therefore
+ * keeps the stored images it refers to and registers them in the store of every job that
+ * reuses it.
+ *
+ * <p><b>Eviction:</b></p>
+ * The cache holds at most {@link #maxSize()} fragments and {@link #maxChars()} characters,
+ * counting the fragments, the texts of their keys and the images they keep, two bytes to a
+ * character. When a bound is exceeded, the least
+ * recently used fragments are evicted. Fragments longer than {@link #MAX_FRAGMENT_LENGTH}
+ * characters or than the character bound are not cached.
+ *
+ * <p><b>Thread Safety:</b></p>
+ * All methods are thread-safe. If the same fragment is generated concurrently, both
+ * callers generate it and the last one is kept.
+ *
+ * @author Katrin Kaiser
+ * @version 1.4.2
+ * @see XslFoGenerator
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public final class FoFragmentCache {
+
+    private static final Logger log = LoggerFactory.getLogger(FoFragmentCache.class);
+
+    /**
+     * The default maximum number of cached fragments.
+     */
+    public static final int DEFAULT_MAX_SIZE = 512;
+
+    /**
+     * The maximum length of a cached fragment in characters.
+     */
+    public static final int MAX_FRAGMENT_LENGTH = 1 << 20;
+
+    /**
+     * The default maximum number of characters held by the cache.
+     */
+    public static final long DEFAULT_MAX_CHARS = 8L << 20;
+
+    private final int maxSize;
+    private final long maxChars;
+    private final WeightedLruMap<Key, Fragment> entries;
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a new, empty cache holding at most {@link #DEFAULT_MAX_CHARS} characters.
+     *
+     * @param maxSize the maximum number of fragments to keep; {@code 0} disables caching
+     * @throws IllegalArgumentException if maxSize is negative
+     */
+    public FoFragmentCache(int maxSize) {
+        this(maxSize, DEFAULT_MAX_CHARS);
+    }
+
+    /**
+     * Creates a new, empty cache.
+     *
+     * @param maxSize  the maximum number of fragments to keep; {@code 0} disables caching
+     * @param maxChars the maximum number of characters to keep; {@code 0} disables caching
+     * @throws IllegalArgumentException if maxSize or maxChars is negative
+     */
+    public FoFragmentCache(int maxSize, long maxChars) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative: " + maxSize);
+        }
+        if (maxChars < 0) {
+            throw new IllegalArgumentException("maxChars must not be negative: " + maxChars);
+        }
+        this.maxSize = maxSize;
+        this.maxChars = maxChars;
+        this.entries = new WeightedLruMap<>(maxSize, maxChars, Fragment::weight,
+                (key, fragment) -> evictions.incrementAndGet());
+    }
+
+    /**
+     * Creates the key of a top-level element, or returns {@code null} if the element is
+     * not cached: caching is disabled, the element is not looked up in its region, or its
+     * subtree produces ids or bookmarks.
+     *
+     * @param element            the top-level element
+     * @param styleSheet         the style sheet the element is generated with
+     * @param resolver           the image resolver the element is generated with
+     * @param images             the image settings the element is generated with
+     * @param isExternalArtefact whether the element belongs to a header or footer
+     * @return the key, or {@code null}
+     */
+    Key key(Element element, StyleSheet styleSheet, ImageResolver resolver, ImageSettings images,
+            boolean isExternalArtefact) {
+        if (maxSize == 0 || maxChars == 0 || element == null
+                || (!isExternalArtefact && !(element instanceof Section) && !(element instanceof Part))) {
+            return null;
+        }
+        List<Object> structure = new ArrayList<>();
+        structure.add(images.svgRendering());
+        // Optimizers are compared by identity
+        structure.add(images.imageOptimizer());
+        if (!appendElement(structure, element)) {
+            return null;
+        }
+        return new Key(styleSheet, resolver, images.imageStore() != null, isExternalArtefact, structure, collected);
+    }
+
+    /**
+     * Returns the cached fragment for the key and registers the images it refers to.
+     *
+     * @param key        the key created by {@link #key}
+     * @param imageStore the image store of the current job; {@code null} if the key was created without one
+     * @return the fragment, or {@code null} on a cache miss
+     */
+    String get(Key key, ImageStore imageStore) {
+        Fragment fragment;
+        synchronized (entries) {
+            fragment = entries.get(key);
+        }
+        if (fragment == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        if (imageStore != null && !fragment.images().isEmpty()) {
+            imageStore.registerAll(fragment.images());
+        }
+        return fragment.fo();
+    }
+
+    /**
+     * Caches a generated fragment with the images it refers to, unless it is longer than
+     * {@link #MAX_FRAGMENT_LENGTH} or the entry is larger than {@link #maxChars()}.
+     *
+     * @param key        the key created by {@link #key}
+     * @param fo         the generated XSL-FO of the element
+     * @param imageStore the image store the fragment was generated with; may be {@code null}
+     */
+    void put(Key key, String fo, ImageStore imageStore) {
+        if (fo.length() > MAX_FRAGMENT_LENGTH) {
+            log.debug("Not caching XSL-FO fragment of {} characters", fo.length());
+            return;
+        }
+        Map<String, ImageStore.StoredImage> images = imageStore != null ? imageStore.referencedBy(fo) : Map.of();
+        long imageChars = 0;
+        for (ImageStore.StoredImage image : images.values()) {
+            imageChars += (image.bytes().length + 1) / 2;
+        }
+        Fragment fragment = new Fragment(fo, images, key.weight + fo.length() + imageChars);
+        if (fragment.weight() > maxChars) {
+            log.debug("Not caching XSL-FO fragment of {} characters with {} image(s)", fo.length(), images.size());
+            return;
+        }
+        synchronized (entries) {
+            expungeCollectedKeys();
+            entries.put(key, fragment);
+        }
+    }
+
+    /**
+     * Removes all cached fragments. The hit, miss and eviction counters are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the number of currently cached fragments.
+     *
+     * @return the current size of the cache
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the maximum number of fragments this cache holds.
+     *
+     * @return the maximum size
+     */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of characters held by the cached fragments, their keys and their images.
+     *
+     * @return the current size of the cache in characters
+     */
+    public long charSize() {
+        synchronized (entries) {
+            return entries.weight();
+        }
+    }
+
+    /**
+     * Returns the maximum number of characters this cache holds.
+     *
+     * @return the maximum size in characters
+     */
+    public long maxChars() {
+        return maxChars;
+    }
+
+    /**
+     * Returns how often a cached fragment was reused.
+     *
+     * @return the number of cache hits
+     */
+    public long hitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns how often a cacheable element had to be generated.
+     *
+     * @return the number of cache misses
+     */
+    public long missCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns how often a fragment was evicted because a bound of the cache was exceeded.
+     *
+     * @return the number of evictions
+     */
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FoFragmentCache (size=%d/%d, chars=%d/%d, hits=%d, misses=%d, evictions=%d)",
+                size(), maxSize, charSize(), maxChars, hitCount(), missCount(), evictionCount());
+    }
+
+    /**
+     * Removes the fragments whose style sheet or image resolver was collected, since no key
+     * can match them anymore.
+     */
+    private void expungeCollectedKeys() {
+        if (collected.poll() == null) {
+            return;
+        }
+        while (collected.poll() != null) {
+            // Drained, the entries are checked below
+        }
+        entries.removeIf((key, fragment) -> key.isCollected());
+    }
+
+    // --- Structure of the element subtree ---
+    // Every node appends a type marker followed by a fixed sequence of values, and every list
+    // its size, so two subtrees have equal structures only if they are generated alike.
+
+    private static boolean appendElement(List<Object> structure, Element element) {
+        if (element == null) {
+            structure.add(Marker.NULL);
+            return true;
+        }
+        return switch (element) {
+            case Paragraph paragraph -> {
+                structure.add(Marker.PARAGRAPH);
+                structure.add(String.valueOf(paragraph.getStyleClass()));
+                yield appendInlines(structure, paragraph.getInlineElements());
+            }
+            case Section section when section.getVariant() != SectionVariant.NOTE -> {
+                structure.add(Marker.SECTION);
+                add(structure, section.getStyleClass(), section.getVariant(), section.getAltText());
+                yield appendElements(structure, section.getElements());
+            }
+            case Part part -> {
+                structure.add(Marker.PART);
+                add(structure, part.getStyleClass(), part.getVariant());
+                yield appendElements(structure, part.getElements());
+            }
+            case BlockImage image -> {
+                structure.add(Marker.IMAGE);
+                add(structure, image.getStyleClass(), image.getPath(), image.getAltText(),
+                        image.getBase64Data(), image.getSvgContent());
+                yield true;
+            }
+            case SimpleList list -> {
+                structure.add(Marker.LIST);
+                add(structure, list.getStyleClass(), list.getOrdering());
+                if (list.getItems() == null) {
+                    structure.add(Marker.NULL);
+                    yield true;
+                }
+                structure.add(list.getItems().size());
+                for (ListItem item : list.getItems()) {
+                    if (!appendElement(structure, item)) {
+                        yield false;
+                    }
+                }
+                yield true;
+            }
+            case ListItem item -> {
+                structure.add(Marker.LIST_ITEM);
+                structure.add(String.valueOf(item.getStyleClass()));
+                yield appendInlines(structure, item.getLabel()) && appendElements(structure, item.getElements());
+            }
+            case LayoutTable table -> {
+                structure.add(Marker.LAYOUT_TABLE);
+                structure.add(String.valueOf(table.getStyleClass()));
+                yield appendElement(structure, table.getElementLeft()) && appendElement(structure, table.getElementRight());
+            }
+            // Rows of a row source can be generated only once
+            case Table table when table.getBodyRows() == null -> {
+                structure.add(Marker.TABLE);
+                structure.add(String.valueOf(table.getStyleClass()));
+                structure.add(table.getColumns() == null ? Marker.NULL : List.copyOf(table.getColumns()));
+                yield appendTableSection(structure, table.getHeader())
+                        && appendTableSection(structure, table.getBody())
+                        && appendTableSection(structure, table.getFooter());
+            }
+            // Headlines, NOTE sections and extension elements
+            default -> false;
+        };
+    }
+
+    private static boolean appendElements(List<Object> structure, List<Element> elements) {
+        if (elements == null) {
+            structure.add(Marker.NULL);
+            return true;
+        }
+        structure.add(elements.size());
+        for (Element element : elements) {
+            if (!appendElement(structure, element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean appendTableSection(List<Object> structure, TableSection section) {
+        if (section == null || section.rows() == null) {
+            structure.add(Marker.NULL);
+            return true;
+        }
+        structure.add(section.rows().size());
+        for (TableRow row : section.rows()) {
+            if (row == null || row.cells() == null) {
+                structure.add(Marker.NULL);
+                continue;
+            }
+            structure.add(row.cells().size());
+            for (TableCell cell : row.cells()) {
+                if (cell == null) {
+                    structure.add(Marker.NULL);
+                    continue;
+                }
+                structure.add(Marker.TABLE_CELL);
+                add(structure, cell.getStyleClass(), cell.getColspan(), cell.getRowspan());
+                if (!appendElements(structure, cell.getElements())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean appendInlines(List<Object> structure, List<InlineElement> inlines) {
+        if (inlines == null) {
+            structure.add(Marker.NULL);
+            return true;
+        }
+        structure.add(inlines.size());
+        for (InlineElement inline : inlines) {
+            switch (inline) {
+                case null -> structure.add(Marker.NULL);
+                case Hyperlink link -> {
+                    structure.add(Marker.HYPERLINK);
+                    add(structure, link.getStyleClass(), link.getText(), link.getHref(), link.getAltText());
+                }
+                case TextRun run -> {
+                    structure.add(Marker.TEXT_RUN);
+                    add(structure, run.getStyleClass(), run.getText());
+                }
+                case PageNumber pageNumber -> {
+                    structure.add(Marker.PAGE_NUMBER);
+                    structure.add(String.valueOf(pageNumber.getStyleClass()));
+                }
+                // Footnotes and inline extension elements
+                default -> {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void add(List<Object> structure, Object... values) {
+        for (Object value : values) {
+            structure.add(value == null ? Marker.NULL : value);
+        }
+    }
+
+    private enum Marker {
+        NULL, PARAGRAPH, SECTION, PART, IMAGE, LIST, LIST_ITEM, LAYOUT_TABLE, TABLE, TABLE_CELL,
+        TEXT_RUN, HYPERLINK, PAGE_NUMBER
+    }
+
+    /**
+     * A cached fragment with the stored images it refers to.
+     *
+     * @param fo     the XSL-FO of the element
+     * @param images the referenced images by hash
+     * @param weight the characters held by the entry, including its key
+     */
+    private record Fragment(String fo, Map<String, ImageStore.StoredImage> images, long weight) {
+    }
+
+    /**
+     * Cache key: structure of the subtree, SVG rendering, image optimizer and whether an image store
+     * is used, plus style sheet and image resolver by identity. Style sheet and resolver are
+     * referenced weakly, so cached fragments do not keep them alive.
+     */
+    static final class Key {
+        private final WeakReference<StyleSheet> styleSheet;
+        private final WeakReference<ImageResolver> resolver;
+        private final boolean imageStore;
+        private final boolean externalArtefact;
+        private final List<Object> structure;
+        private final int hash;
+        private final long weight;
+
+        private Key(StyleSheet styleSheet, ImageResolver resolver, boolean imageStore, boolean externalArtefact,
+                    List<Object> structure, ReferenceQueue<Object> queue) {
+            this.styleSheet = reference(styleSheet, queue);
+            this.resolver = reference(resolver, queue);
+            this.imageStore = imageStore;
+            this.externalArtefact = externalArtefact;
+            this.structure = structure;
+            this.hash = 31 * (31 * (31 * (31 * System.identityHashCode(styleSheet) + System.identityHashCode(resolver))
+                    + Boolean.hashCode(imageStore)) + Boolean.hashCode(externalArtefact)) + structure.hashCode();
+            long texts = 0;
+            for (Object value : structure) {
+                if (value instanceof String text) {
+                    texts += text.length();
+                }
+            }
+            this.weight = texts;
+        }
+
+        private boolean isCollected() {
+            return isCollected(styleSheet) || isCollected(resolver);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other
+                    && hash == other.hash
+                    && same(styleSheet, other.styleSheet)
+                    && same(resolver, other.resolver)
+                    && imageStore == other.imageStore
+                    && externalArtefact == other.externalArtefact
+                    && structure.equals(other.structure);
+        }
+
+        private static <T> WeakReference<T> reference(T referent, ReferenceQueue<Object> queue) {
+            return referent == null ? null : new WeakReference<>(referent, queue);
+        }
+
+        private static boolean isCollected(WeakReference<?> reference) {
+            return reference != null && reference.get() == null;
+        }
+
+        /**
+         * Compares the referents by identity; a collected referent equals nothing.
+         */
+        private static boolean same(WeakReference<?> a, WeakReference<?> b) {
+            if (a == null || b == null) {
+                return a == b;
+            }
+            Object referent = a.get();
+            return referent != null && referent == b.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
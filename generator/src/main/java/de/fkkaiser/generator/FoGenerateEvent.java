@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for generating the XSL-FO of a document in {@link XslFoGenerator}.
+ * Image resolutions during the generation are recorded as nested {@link ImageResolveEvent}s.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@Internal
+@Name("de.fkkaiser.FoGenerate")
+@Label("XSL-FO Generation")
+@Category({"JAccessPDF", "Generation"})
+@Description("Generating the XSL-FO document from the document model")
+@StackTrace(false)
+final class FoGenerateEvent extends jdk.jfr.Event {
+
+    @Label("Document Id")
+    @Description("Identity hash of the Document, shared by the events of the render job")
+    String documentId;
+
+    @Label("Mode")
+    @Description("string, sax or template")
+    String mode;
+
+    @Label("XSL-FO Length")
+    @Description("Length of the generated XSL-FO in characters")
+    long foLength;
+
+    @Label("Page Sequences")
+    int pageSequences;
+
+    @Label("Bookmarks")
+    @Description("Headlines collected for the bookmark tree")
+    int bookmarks;
+
+    @Label("Chunks")
+    @Description("Chunks of top-level elements generated concurrently, 0 for sequential generation")
+    int chunks;
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.Internal;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A generated XSL-FO document with data slots, filled per recipient by plain text substitution.
+ *
+ * <p><b>Placeholders:</b></p>
+ * <ul>
+ *   <li>{@code {{name}}} is replaced by the value {@code name}.</li>
+ *   <li>{@code {{items[].price}}} is replaced by the field {@code price} of a row of the
+ *       collection {@code items}. The table row containing such placeholders is a repeatable
+ *       region: it is emitted once per row of the collection. All placeholders of a collection
+ *       must be in the same table row, and that row must not contain elements with an id
+ *       (headlines, sections, footnotes), which would be duplicated.</li>
+ * </ul>
+ * Values are XML-escaped when they are inserted, so placeholders work in text as well as in
+ * attribute values (e.g. hyperlink targets).
+ *
+ * <p>Instances are immutable and can be filled concurrently.</p>
+ *
+ * @author Katrin Kaiser
+ * @version 1.3.0
+ */
+@Internal
+public final class FoTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{([\\w.-]+)(\\[]\\.([\\w.-]+))?}}");
+    private static final String ROW_START = "<fo:table-row";
+    private static final String ROW_END = "</fo:table-row>";
+    private static final String ID_ATTRIBUTE = " id=\"";
+
+    private final List<Segment> segments;
+    private final Set<String> slotNames;
+    private final Map<String, Set<String>> regionFields;
+    private final int staticLength;
+
+    private FoTemplate(List<Segment> segments, Set<String> slotNames, Map<String, Set<String>> regionFields,
+                       int staticLength) {
+        this.segments = segments;
+        this.slotNames = slotNames;
+        this.regionFields = regionFields;
+        this.staticLength = staticLength;
+    }
+
+    /**
+     * Splits a generated XSL-FO document into static text, slots and repeatable regions.
+     *
+     * @param fo the generated XSL-FO document containing placeholders
+     * @return the compiled template
+     * @throws IllegalArgumentException if the placeholders of a collection are not in exactly
+     *                                  one table row or that row contains elements with an id
+     */
+    public static FoTemplate compile(CharSequence fo) {
+        String source = fo.toString();
+
+        // First pass: locate the table row of every collection
+        Map<String, int[]> regions = locateRegions(source);
+        validateRegions(source, regions);
+
+        // Second pass: build the segments
+        List<Segment> segments = new ArrayList<>();
+        Set<String> slotNames = new LinkedHashSet<>();
+        Map<String, Set<String>> regionFields = new LinkedHashMap<>();
+        int[] staticLength = {0};
+
+        int position = 0;
+        for (Map.Entry<String, int[]> region : sortedByStart(regions)) {
+            int[] row = region.getValue();
+            addSegments(source, position, row[0], segments, slotNames, new LinkedHashSet<>(), staticLength);
+
+            List<Segment> rowSegments = new ArrayList<>();
+            Set<String> fields = new LinkedHashSet<>();
+            addSegments(source, row[0], row[1], rowSegments, slotNames, fields, staticLength);
+            segments.add(new Region(region.getKey(), List.copyOf(rowSegments)));
+            regionFields.put(region.getKey(), Collections.unmodifiableSet(fields));
+            position = row[1];
+        }
+        addSegments(source, position, source.length(), segments, slotNames, new LinkedHashSet<>(), staticLength);
+
+        return new FoTemplate(List.copyOf(segments), Collections.unmodifiableSet(slotNames),
+                Collections.unmodifiableMap(regionFields), staticLength[0]);
+    }
+
+    /**
+     * Returns the names of all {@code {{name}}} slots.
+     *
+     * @return the slot names in document order
+     */
+    public Set<String> slotNames() {
+        return slotNames;
+    }
+
+    /**
+     * Returns the repeatable regions with the names of their fields.
+     *
+     * @return a map from collection name to field names
+     */
+    public Map<String, Set<String>> regionFields() {
+        return regionFields;
+    }
+
+    /**
+     * Fills the template and returns the complete XSL-FO document.
+     *
+     * @param values the values of the slots
+     * @param rows   the rows of each repeatable region
+     * @return the XSL-FO document
+     * @throws IllegalArgumentException if a value or collection is missing
+     */
+    public String fill(Map<String, String> values, Map<String, List<Map<String, String>>> rows) {
+        return fillInto(values, rows).toString();
+    }
+
+    /**
+     * Fills the template and delivers the XSL-FO document as SAX events to the given handler.
+     *
+     * @param values  the values of the slots
+     * @param rows    the rows of each repeatable region
+     * @param handler the {@link ContentHandler} receiving the XSL-FO document
+     * @throws SAXException             if the handler rejects the document
+     * @throws IllegalArgumentException if a value or collection is missing
+     */
+    public void fill(Map<String, String> values, Map<String, List<Map<String, String>>> rows,
+                     ContentHandler handler) throws SAXException {
+        XslFoGenerator.emitSaxEvents(fillInto(values, rows), handler);
+    }
+
+    private StringBuilder fillInto(Map<String, String> values, Map<String, List<Map<String, String>>> rows) {
+        StringBuilder builder = new StringBuilder(staticLength + staticLength / 4);
+        for (Segment segment : segments) {
+            switch (segment) {
+                case Text text -> builder.append(text.text());
+                case Slot slot -> appendValue(builder, values, slot.name(), null);
+                case Field field -> throw new IllegalStateException("Field outside of a template region");
+                case Region region -> {
+                    List<Map<String, String>> regionRows = rows.get(region.collection());
+                    if (regionRows == null) {
+                        throw new IllegalArgumentException("No rows for template collection '" + region.collection() + "'");
+                    }
+                    for (Map<String, String> row : regionRows) {
+                        for (Segment part : region.parts()) {
+                            switch (part) {
+                                case Text text -> builder.append(text.text());
+                                case Slot slot -> appendValue(builder, values, slot.name(), null);
+                                case Field field -> appendValue(builder, row, field.name(), region.collection());
+                                case Region nested -> throw new IllegalStateException("Nested template regions");
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return builder;
+    }
+
+    private static void appendValue(StringBuilder builder, Map<String, String> values, String name, String collection) {
+        String value = values.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException(collection == null
+                    ? "No value for template slot '" + name + "'"
+                    : "No value for field '" + name + "' in a row of template collection '" + collection + "'");
+        }
+        // Same line break handling as text runs
+        GenerateUtils.appendEscapedXml(builder, value.replace('\n', '\u2028'));
+    }
+
+    private static void addSegments(String source, int from, int to, List<Segment> segments,
+                                    Set<String> slotNames, Set<String> fieldNames, int[] staticLength) {
+        Matcher matcher = PLACEHOLDER.matcher(source).region(from, to);
+        int position = from;
+        while (matcher.find()) {
+            addText(source, position, matcher.start(), segments, staticLength);
+            if (matcher.group(3) != null) {
+                segments.add(new Field(matcher.group(3)));
+                fieldNames.add(matcher.group(3));
+            } else {
+                segments.add(new Slot(matcher.group(1)));
+                slotNames.add(matcher.group(1));
+            }
+            position = matcher.end();
+        }
+        addText(source, position, to, segments, staticLength);
+    }
+
+    private static void addText(String source, int from, int to, List<Segment> segments, int[] staticLength) {
+        if (to > from) {
+            segments.add(new Text(source.substring(from, to)));
+            staticLength[0] += to - from;
+        }
+    }
+
+    /**
+     * Finds the innermost table row around the placeholders of every collection. Row start and
+     * end tags are matched like elements, so a row closed before a placeholder or a table nested
+     * in the cell of a row does not count as the row around the placeholder.
+     *
+     * @return a map from collection name to the start and end of its row
+     */
+    private static Map<String, int[]> locateRegions(String source) {
+        Map<String, Integer> rowStarts = new LinkedHashMap<>();
+        Map<Integer, Integer> rowEnds = new HashMap<>();
+        Deque<Integer> openRows = new ArrayDeque<>();
+        Matcher matcher = PLACEHOLDER.matcher(source);
+        int nextStart = source.indexOf(ROW_START);
+        int nextEnd = source.indexOf(ROW_END);
+        int placeholder = matcher.find() ? matcher.start() : -1;
+        while (placeholder >= 0 || nextEnd >= 0) {
+            if (nextStart >= 0 && isBefore(nextStart, nextEnd) && isBefore(nextStart, placeholder)) {
+                openRows.push(nextStart);
+                nextStart = source.indexOf(ROW_START, nextStart + ROW_START.length());
+            } else if (nextEnd >= 0 && isBefore(nextEnd, placeholder)) {
+                Integer start = openRows.poll();
+                if (start == null) {
+                    throw new IllegalArgumentException("Unbalanced table rows in the XSL-FO document");
+                }
+                rowEnds.put(start, nextEnd + ROW_END.length());
+                nextEnd = source.indexOf(ROW_END, nextEnd + ROW_END.length());
+            } else {
+                String collection = matcher.group(3) != null ? matcher.group(1) : null;
+                if (collection != null) {
+                    Integer row = openRows.peek();
+                    if (row == null) {
+                        throw new IllegalArgumentException(
+                                "Placeholder '" + matcher.group() + "' is not inside a table row");
+                    }
+                    Integer known = rowStarts.putIfAbsent(collection, row);
+                    if (known != null && !known.equals(row)) {
+                        throw new IllegalArgumentException(
+                                "All placeholders of collection '" + collection + "' must be in the same table row");
+                    }
+                }
+                placeholder = matcher.find() ? matcher.start() : -1;
+            }
+        }
+
+        Map<String, int[]> regions = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> row : rowStarts.entrySet()) {
+            Integer end = rowEnds.get(row.getValue());
+            if (end == null) {
+                throw new IllegalArgumentException("The table row of collection '" + row.getKey() + "' is not closed");
+            }
+            regions.put(row.getKey(), new int[]{row.getValue(), end});
+        }
+        return regions;
+    }
+
+    /**
+     * Compares two positions found with {@code indexOf}, where {@code -1} means not found.
+     */
+    private static boolean isBefore(int position, int other) {
+        return other < 0 || position < other;
+    }
+
+    private static void validateRegions(String source, Map<String, int[]> regions) {
+        List<Map.Entry<String, int[]>> sorted = sortedByStart(regions);
+        for (int i = 0; i < sorted.size(); i++) {
+            int[] row = sorted.get(i).getValue();
+            if (source.substring(row[0], row[1]).contains(ID_ATTRIBUTE)) {
+                throw new IllegalArgumentException("The table row of collection '" + sorted.get(i).getKey()
+                        + "' contains an element with an id (headline, section or footnote) and cannot be repeated");
+            }
+            if (i > 0 && row[0] < sorted.get(i - 1).getValue()[1]) {
+                throw new IllegalArgumentException("Collections '" + sorted.get(i - 1).getKey() + "' and '"
+                        + sorted.get(i).getKey() + "' must use different table rows");
+            }
+        }
+    }
+
+    private static List<Map.Entry<String, int[]>> sortedByStart(Map<String, int[]> regions) {
+        List<Map.Entry<String, int[]>> sorted = new ArrayList<>(regions.entrySet());
+        sorted.sort((a, b) -> Integer.compare(a.getValue()[0], b.getValue()[0]));
+        return sorted;
+    }
+
+    private sealed interface Segment permits Text, Slot, Field, Region {
+    }
+
+    private record Text(String text) implements Segment {
+    }
+
+    private record Slot(String name) implements Segment {
+    }
+
+    private record Field(String name) implements Segment {
+    }
+
+    private record Region(String collection, List<Segment> parts) implements Segment {
+    }
+}
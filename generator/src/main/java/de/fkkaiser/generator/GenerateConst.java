@@ -19,7 +19,7 @@ package de.fkkaiser.generator;
  * This class contains constant values used in the generation process.
  *
  * @author Katrin Kaiser
- * @version 1.1.0
+ * @version 1.2.0
  */
 public class GenerateConst {
 
@@ -402,6 +402,10 @@ public class GenerateConst {
      */
     public static final String ROLE_HEADLINE = "H";
 
+    /**
+     * Prefix of the ids of headlines, which are the destinations of their bookmarks
+     */
+    public static final String PREFIX_HEADLINE_ID = "headline-";
 
     /**
      * Role Tag for Div
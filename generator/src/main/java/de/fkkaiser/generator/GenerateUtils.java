@@ -37,6 +37,11 @@ public class GenerateUtils {
      * - `>` with `&gt;`
      * - `"` with `&quot;`
      * - `'` with `&apos;`
+     * <p>
+     * Characters that are not allowed in XML 1.0 (control characters other than tab, line feed
+     * and carriage return, unpaired surrogates, U+FFFE and U+FFFF) are removed, as FOP would
+     * reject the document otherwise. The text is scanned once; if nothing has to be escaped,
+     * the given string itself is returned.
      *
      * @param text the input string to escape; if null, an empty string is returned
      * @return the escaped string, or an empty string if the input is null
@@ -44,11 +49,98 @@ public class GenerateUtils {
     @Internal
     public static String escapeXml(String text) {
         if (text == null) return "";
-        return text.replace("&", "&amp;")
-                .replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\"", "&quot;")
-                .replace("'", "&apos;");
+        int first = firstEscapeIndex(text);
+        if (first < 0) {
+            return text;
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        escapeInto(escaped, text, first);
+        return escaped.toString();
+    }
+
+    /**
+     * Escapes the given text like {@link #escapeXml(String)}, but appends it directly to the
+     * target instead of creating an intermediate string.
+     *
+     * @param target the buffer to append to
+     * @param text   the input string to escape; nothing is appended if null
+     */
+    @Internal
+    public static void appendEscapedXml(StringBuilder target, String text) {
+        if (text == null) return;
+        int first = firstEscapeIndex(text);
+        if (first < 0) {
+            target.append(text);
+            return;
+        }
+        escapeInto(target, text, first);
+    }
+
+    /**
+     * Returns the index of the first character that has to be escaped or removed.
+     *
+     * @param text the text to scan
+     * @return the index, or -1 if the text can be written as it is
+     */
+    private static int firstEscapeIndex(String text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '?' && c < Character.MIN_SURROGATE) {
+                // Fast path for letters and most non-ASCII text
+                continue;
+            }
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                i++;
+            } else if (replacement(c) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends the text to the target, escaping and removing characters from the given index on.
+     * Runs of characters that need no escaping are appended in one call.
+     */
+    private static void escapeInto(StringBuilder target, String text, int from) {
+        target.append(text, 0, from);
+        int pending = from;
+        for (int i = from, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '?' && c < Character.MIN_SURROGATE) {
+                continue;
+            }
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                i++;
+                continue;
+            }
+            String replacement = replacement(c);
+            if (replacement != null) {
+                target.append(text, pending, i).append(replacement);
+                pending = i + 1;
+            }
+        }
+        target.append(text, pending, text.length());
+    }
+
+    /**
+     * Returns the replacement of a character outside a valid surrogate pair.
+     *
+     * @param c the character
+     * @return the entity, an empty string if the character is not allowed in XML 1.0,
+     * or {@code null} if the character is written as it is
+     */
+    private static String replacement(char c) {
+        return switch (c) {
+            case '&' -> "&amp;";
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            case '"' -> "&quot;";
+            case '\'' -> "&apos;";
+            case '\t', '\n', '\r' -> null;
+            case '\uFFFE', '\uFFFF' -> "";
+            default -> c < 0x20 || Character.isSurrogate(c) ? "" : null;
+        };
     }
 
     /**
@@ -56,25 +148,15 @@ public class GenerateUtils {
      * <p>
      * This method generates and appends XML attributes for font-family, font-size, font-weight,
      * and font-style to the given `StringBuilder`. Each attribute is escaped using `escapeXml`
-     * to ensure XML safety.
+     * to ensure XML safety. Generators look up the precompiled attributes of a style sheet
+     * with {@link TextStyleFragments} instead.
      *
      * @param builder the `StringBuilder` to append the tags to
      * @param ts      the `TextStyle` object containing font information; attributes are appended only if not null
      */
     @Internal
     public static void appendTextStyleTags(TagBuilder builder, TextStyle ts) {
-        if (ts.fontFamilyName() != null) {
-            builder.addAttribute(GenerateConst.FONT_FAMILY, ts.fontFamilyName());
-        }
-        if (ts.fontSize() != null) {
-            builder.addAttribute(GenerateConst.FONT_SIZE, ts.fontSize());
-             }
-        if (ts.fontWeight() != null) {
-            builder.addAttribute(GenerateConst.FONT_WEIGHT, ts.fontWeight());
-             }
-        if (ts.fontStyle() != null) {
-            builder.addAttribute(GenerateConst.FONT_STYLE, ts.fontStyle());
-             }
+        builder.addAttributes(TextStyleFragments.fragment(ts));
     }
 
     public static TagBuilder tagBuilder(String tagName) {
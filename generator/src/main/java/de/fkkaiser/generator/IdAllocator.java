@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.Internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Allocates the ids of headlines, note sections and footnotes in the generated XSL-FO.
+ * <p>
+ * An allocator is scoped to one top-level element of a header, footer or body, numbered in
+ * document order. Its ids consist of the prefix, the number of the top-level element and a
+ * counter, e.g. {@code headline-12-1}. Since the scopes are known before any element is
+ * generated, the ids are the same for every run over the same document, whether it is
+ * generated sequentially or in chunks on several threads.
+ * <p>
+ * Every prefix has its own counter, so the id of a headline depends only on the headlines
+ * before it in its top-level element, not on the notes and footnotes among them.
+ * <p>
+ * Instances are not thread-safe; each one is used by the thread generating its element.
+ *
+ * @author Katrin Kaiser
+ * @version 1.1.1
+ */
+@Internal
+public final class IdAllocator {
+
+    private final int scope;
+    private Map<String, int[]> counters;
+
+    /**
+     * Creates an allocator for the given top-level element.
+     *
+     * @param scope the number of the top-level element in document order
+     */
+    public IdAllocator(int scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Returns the next id of this scope.
+     *
+     * @param prefix the prefix of the id, e.g. {@code "headline-"}
+     * @return an id that is unique within the document
+     */
+    public String next(String prefix) {
+        if (counters == null) {
+            counters = new HashMap<>(4);
+        }
+        int[] counter = counters.computeIfAbsent(prefix, p -> new int[1]);
+        return prefix + scope + '-' + ++counter[0];
+    }
+}
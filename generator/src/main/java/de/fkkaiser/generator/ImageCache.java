@@ -0,0 +1,438 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size-bounded, thread-safe cache of loaded images, shared across renders.
+ *
+ * <p>Logos, signatures and product photos appear in many documents. Without a cache, every
+ * render opens the image URL again, reads all bytes, converts SVG images to PNG and encodes
+ * the result. With a cache, {@link ImageUtils} does this once per image and reuses the loaded
+ * bytes, the converted form and the base64 data URI for every further occurrence.</p>
+ *
+ * <p><b>Keys:</b></p>
+ * Images are looked up by their resolved URL. An image loaded from a URL that is not cached
+ * yet is also looked up by the SHA-256 hash of its bytes, so the same content behind several
+ * URLs is converted and held once. Entries are never revalidated: image resources are
+ * expected not to change, and an image changed behind a cached URL is served from the cache
+ * until it is evicted. Call {@link #clear()} after changing images that were already rendered.
+ *
+ * <p><b>Eviction:</b></p>
+ * The cache holds at most {@link #maxBytes()} bytes, counting the original bytes, the
+ * converted bytes and the data URI of every image. When the bound is exceeded, the least
+ * recently used images are evicted. Images larger than the bound are not cached. With
+ * {@link Retention#SOFT} or {@link Retention#WEAK}, evicted images stay reachable through
+ * soft or weak references until the garbage collector clears them, and are moved back on
+ * their next use.
+ *
+ * <p><b>FOP:</b></p>
+ * Together with an {@link ImageStore}, a cached image always gets the same internal URI.
+ * FOP's image cache of a shared {@code FopFactory} then also reuses the decoded image
+ * across renders.
+ *
+ * <p><b>Example:</b></p>
+ * <pre>{@code
+ * ImageCache cache = new ImageCache(256L << 20, ImageCache.Retention.SOFT);
+ * }</pre>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.2
+ * @see ImageStore
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public final class ImageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageCache.class);
+
+    /**
+     * The maximum number of bytes held by the {@link #shared() shared} cache.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    private static final ImageCache SHARED = new ImageCache(DEFAULT_MAX_BYTES);
+
+    /**
+     * How evicted images are retained.
+     */
+    public enum Retention {
+        /** Evicted images are dropped. */
+        NONE,
+        /** Evicted images are held by soft references, which are cleared under memory pressure. */
+        SOFT,
+        /** Evicted images are held by weak references, which are cleared by the next garbage collection. */
+        WEAK
+    }
+
+    private final long maxBytes;
+    private final Retention retention;
+    private final WeightedLruMap<String, CachedImage> entries;
+    private final Map<String, String> hashesByUrl = new HashMap<>();
+    private final Map<String, Reference<CachedImage>> evicted = new HashMap<>();
+    private final ReferenceQueue<CachedImage> clearedImages = new ReferenceQueue<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a new, empty cache that drops evicted images.
+     *
+     * @param maxBytes the maximum number of bytes to keep; {@code 0} disables caching
+     * @throws IllegalArgumentException if maxBytes is negative
+     */
+    public ImageCache(long maxBytes) {
+        this(maxBytes, Retention.NONE);
+    }
+
+    /**
+     * Creates a new, empty cache.
+     *
+     * @param maxBytes  the maximum number of bytes to keep strongly; {@code 0} disables caching
+     * @param retention how evicted images are retained; must not be {@code null}
+     * @throws IllegalArgumentException if maxBytes is negative
+     * @throws NullPointerException     if retention is {@code null}
+     */
+    public ImageCache(long maxBytes, Retention retention) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.retention = Objects.requireNonNull(retention, "retention must not be null");
+        this.entries = new WeightedLruMap<>(Integer.MAX_VALUE, maxBytes, CachedImage::weight, this::onEvicted);
+    }
+
+    /**
+     * Returns a process-wide cache, for facades that share their images. It is only used
+     * where it is passed explicitly.
+     *
+     * @return the shared cache instance
+     */
+    public static ImageCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the cached image loaded from a URL.
+     *
+     * @param url the resolved image URL
+     * @return the image, or {@code null} on a cache miss
+     */
+    CachedImage get(URL url) {
+        if (maxBytes == 0) {
+            return null;
+        }
+        String location = url.toExternalForm();
+        CachedImage image;
+        synchronized (entries) {
+            String hash = hashesByUrl.get(location);
+            image = hash != null ? lookup(hash) : null;
+            if (hash != null && image == null) {
+                hashesByUrl.remove(location);
+            }
+        }
+        (image != null ? hits : misses).incrementAndGet();
+        return image;
+    }
+
+    /**
+     * Returns the cached image with the given content, loaded from another URL, and
+     * remembers it for the URL.
+     *
+     * @param url        the resolved image URL
+     * @param sourceHash the SHA-256 hash of the loaded bytes
+     * @return the image, or {@code null} if no image with this content is cached
+     */
+    CachedImage getByContent(URL url, String sourceHash) {
+        if (maxBytes == 0) {
+            return null;
+        }
+        synchronized (entries) {
+            CachedImage image = lookup(sourceHash);
+            if (image != null) {
+                hashesByUrl.put(url.toExternalForm(), sourceHash);
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Caches an image loaded from a URL, unless it is larger than {@link #maxBytes()}.
+     *
+     * @param url   the resolved image URL
+     * @param image the loaded image
+     */
+    void put(URL url, CachedImage image) {
+        if (image.weight() > maxBytes) {
+            log.debug("Not caching image of {} bytes from {}", image.weight(), url);
+            return;
+        }
+        synchronized (entries) {
+            expungeClearedImages();
+            hashesByUrl.put(url.toExternalForm(), image.sourceHash());
+            evicted.remove(image.sourceHash());
+            entries.put(image.sourceHash(), image);
+        }
+    }
+
+    /**
+     * Returns the base64 data URI of a cached image, encoding it on first use.
+     *
+     * @param image the image
+     * @return the data URI
+     */
+    String dataUri(CachedImage image) {
+        String dataUri = image.dataUri;
+        if (dataUri != null) {
+            return dataUri;
+        }
+        dataUri = "data:" + image.mimeType() + ";base64," + Base64.getEncoder().encodeToString(image.bytes());
+        synchronized (entries) {
+            if (image.dataUri == null) {
+                image.dataUri = dataUri;
+                if (entries.get(image.sourceHash()) == image) {
+                    entries.reweigh(image.sourceHash());
+                }
+            }
+            return image.dataUri;
+        }
+    }
+
+    /**
+     * Removes all cached images. The hit, miss and eviction counters are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            hashesByUrl.clear();
+            evicted.clear();
+        }
+    }
+
+    /**
+     * Returns the number of strongly cached images.
+     *
+     * @return the current size of the cache
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the number of bytes held by the strongly cached images.
+     *
+     * @return the current size of the cache in bytes
+     */
+    public long byteSize() {
+        synchronized (entries) {
+            return entries.weight();
+        }
+    }
+
+    /**
+     * Returns the maximum number of bytes this cache holds strongly.
+     *
+     * @return the maximum size in bytes
+     */
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Returns how evicted images are retained.
+     *
+     * @return the retention of evicted images
+     */
+    public Retention retention() {
+        return retention;
+    }
+
+    /**
+     * Returns how often a cached image was reused for a URL.
+     *
+     * @return the number of cache hits
+     */
+    public long hitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns how often an image had to be loaded.
+     *
+     * @return the number of cache misses
+     */
+    public long missCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns how often an image was evicted because the cache was full.
+     *
+     * @return the number of evictions
+     */
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImageCache (bytes=%d/%d, images=%d, hits=%d, misses=%d, evictions=%d)",
+                byteSize(), maxBytes, size(), hitCount(), missCount(), evictionCount());
+    }
+
+    // --- Called with the lock held ---
+
+    private CachedImage lookup(String sourceHash) {
+        CachedImage image = entries.get(sourceHash);
+        if (image != null) {
+            return image;
+        }
+        Reference<CachedImage> reference = evicted.remove(sourceHash);
+        image = reference != null ? reference.get() : null;
+        if (image != null) {
+            entries.put(sourceHash, image);
+        }
+        return image;
+    }
+
+    private void onEvicted(String sourceHash, CachedImage image) {
+        evictions.incrementAndGet();
+        if (retention == Retention.NONE) {
+            hashesByUrl.values().removeIf(sourceHash::equals);
+        } else {
+            evicted.put(sourceHash, retention == Retention.SOFT
+                    ? new SoftImage(image, clearedImages)
+                    : new WeakImage(image, clearedImages));
+        }
+    }
+
+    private void expungeClearedImages() {
+        List<String> cleared = new ArrayList<>();
+        for (Reference<? extends CachedImage> reference; (reference = clearedImages.poll()) != null; ) {
+            String sourceHash = reference instanceof SoftImage soft ? soft.sourceHash : ((WeakImage) reference).sourceHash;
+            if (evicted.remove(sourceHash, reference)) {
+                cleared.add(sourceHash);
+            }
+        }
+        if (!cleared.isEmpty()) {
+            hashesByUrl.values().removeIf(hash -> cleared.contains(hash) && !entries.containsKey(hash));
+        }
+    }
+
+    /**
+     * A loaded image: the original bytes, the bytes handed to FOP (converted to PNG for SVG
+     * images, otherwise the original bytes) and, once encoded, the data URI.
+     */
+    static final class CachedImage {
+        private final String sourceMimeType;
+        private final String sourceHash;
+        private final byte[] sourceBytes;
+        private final String mimeType;
+        private final byte[] bytes;
+        private final String hash;
+        private volatile String dataUri;
+
+        /**
+         * @param sourceMimeType the MIME type of the original bytes
+         * @param sourceHash     the SHA-256 hash of the original bytes, or {@code null} if not cached
+         * @param sourceBytes    the original bytes
+         * @param mimeType       the MIME type of the converted bytes
+         * @param bytes          the converted bytes, or the original bytes if not converted
+         * @param hash           the SHA-256 hash of the converted bytes, or {@code null} if not cached
+         */
+        CachedImage(String sourceMimeType, String sourceHash, byte[] sourceBytes, String mimeType, byte[] bytes,
+                    String hash) {
+            this.sourceMimeType = sourceMimeType;
+            this.sourceHash = sourceHash;
+            this.sourceBytes = sourceBytes;
+            this.mimeType = mimeType;
+            this.bytes = bytes;
+            this.hash = hash;
+        }
+
+        String sourceMimeType() {
+            return sourceMimeType;
+        }
+
+        String sourceHash() {
+            return sourceHash;
+        }
+
+        byte[] sourceBytes() {
+            return sourceBytes;
+        }
+
+        String mimeType() {
+            return mimeType;
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        String hash() {
+            return hash;
+        }
+
+        long weight() {
+            String encoded = dataUri;
+            return (sourceBytes == bytes ? 0 : sourceBytes.length) + bytes.length
+                    + (encoded != null ? encoded.length() : 0);
+        }
+    }
+
+    /**
+     * Soft reference to an evicted image, remembering its key for cleanup.
+     */
+    private static final class SoftImage extends SoftReference<CachedImage> {
+        private final String sourceHash;
+
+        SoftImage(CachedImage image, ReferenceQueue<CachedImage> queue) {
+            super(image, queue);
+            this.sourceHash = image.sourceHash();
+        }
+    }
+
+    /**
+     * Weak reference to an evicted image, remembering its key for cleanup.
+     */
+    private static final class WeakImage extends WeakReference<CachedImage> {
+        private final String sourceHash;
+
+        WeakImage(CachedImage image, ReferenceQueue<CachedImage> queue) {
+            super(image, queue);
+            this.sourceHash = image.sourceHash();
+        }
+    }
+}
@@ -0,0 +1,515 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Downsamples and recompresses raster images to the resolution they are shown at.
+ *
+ * <p>Without an optimizer, the original bytes of every image go into the PDF, e.g. a
+ * 4000 x 3000 pixel photo shown 4 cm wide. With an optimizer, the image generators pass the
+ * {@code content-width} of the image style along, and images shown at an absolute width
+ * ({@code cm}, {@code mm}, {@code in}, {@code pt}, {@code pc} or {@code px}) are handled as follows:</p>
+ * <ul>
+ *   <li>images with more than {@link Builder#withMaxDpi(int) maxDpi} at that width are
+ *       downsampled to it; images more than twice as wide are subsampled while decoding, so
+ *       only about twice the target width is decoded and then scaled bilinearly,</li>
+ *   <li>JPEG images are written again with {@link Builder#withJpegQuality(float) jpegQuality},
+ *       PNG images losslessly,</li>
+ *   <li>GIF, BMP, TIFF and, if an ImageIO plugin can read them, WebP images are converted to PNG.</li>
+ * </ul>
+ * A downsampled or recompressed image is only used if it is smaller than the original.
+ * Images without an absolute width keep their resolution, since their displayed size depends on
+ * the resolution stored in the file; of these, only GIF and WebP images are converted. SVG images
+ * are never changed.
+ *
+ * <p><b>Caching:</b></p>
+ * The results are cached by the SHA-256 hash of the image bytes and the target width in pixels,
+ * up to {@link Builder#withMaxCacheBytes(long) maxCacheBytes}, so an image shown several times at
+ * the same size is processed once.
+ *
+ * <p><b>Thread Safety:</b></p>
+ * All methods are thread-safe. Two threads optimizing the same image at the same time may both
+ * process it.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.2
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public final class ImageOptimizer {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageOptimizer.class);
+
+    /**
+     * The default maximum resolution of images (150 DPI).
+     */
+    public static final int DEFAULT_MAX_DPI = 150;
+
+    /**
+     * The default quality of recompressed JPEG images.
+     */
+    public static final float DEFAULT_JPEG_QUALITY = 0.8f;
+
+    /**
+     * The default maximum size of the cached results (32 MB).
+     */
+    public static final long DEFAULT_MAX_CACHE_BYTES = 32L * 1024 * 1024;
+
+    /**
+     * Length pattern of absolute XSL-FO lengths, e.g. {@code 4cm} or {@code 2.5in}.
+     */
+    private static final Pattern ABSOLUTE_LENGTH = Pattern.compile("(\\d+(?:\\.\\d*)?|\\.\\d+)(cm|mm|in|pt|pc|px)");
+
+    /**
+     * FOP converts {@code px} with its default source resolution of 72 DPI.
+     */
+    private static final double PX_PER_INCH = 72.0;
+
+    /**
+     * Estimated size of a cache entry besides the image bytes.
+     */
+    private static final long ENTRY_OVERHEAD = 128;
+
+    private static final String PNG_MIME_TYPE = "image/png";
+    private static final String JPEG_MIME_TYPE = "image/jpeg";
+    private static final Optimized UNCHANGED = new Optimized(null, new byte[0], null);
+
+    private final int maxDpi;
+    private final float jpegQuality;
+    private final boolean formatConversion;
+    private final long maxCacheBytes;
+    private final WeightedLruMap<Key, Optimized> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong savedBytes = new AtomicLong();
+
+    /**
+     * The bytes of an optimized image.
+     *
+     * @param mimeType the MIME type of the optimized image
+     * @param bytes    the optimized image bytes
+     * @param hash     the hex-encoded SHA-256 hash of the bytes
+     */
+    record Optimized(String mimeType, byte[] bytes, String hash) {
+    }
+
+    private record Key(String hash, int targetPixels) {
+    }
+
+    private ImageOptimizer(Builder builder) {
+        this.maxDpi = builder.maxDpi;
+        this.jpegQuality = builder.jpegQuality;
+        this.formatConversion = builder.formatConversion;
+        this.maxCacheBytes = builder.maxCacheBytes;
+        this.entries = new WeightedLruMap<>(maxCacheBytes, optimized -> optimized.bytes().length + ENTRY_OVERHEAD);
+    }
+
+    /**
+     * Creates an optimizer with the default settings.
+     *
+     * @return a new optimizer
+     */
+    public static ImageOptimizer defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Creates a new builder for an optimizer.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Optimizes an image for the given content width.
+     *
+     * @param bytes        the image bytes
+     * @param hash         the hex-encoded SHA-256 hash of the bytes, or {@code null} to compute it
+     * @param contentWidth the {@code content-width} of the image style; may be {@code null}
+     * @return the optimized image, or {@code null} if the original bytes are used
+     */
+    Optimized optimize(byte[] bytes, String hash, String contentWidth) {
+        double inches = toInches(contentWidth);
+        int targetPixels = Double.isNaN(inches) ? 0 : (int) Math.max(1, Math.ceil(inches * maxDpi));
+        Key key = new Key(hash != null ? hash : ImageStore.sha256(bytes), targetPixels);
+        synchronized (entries) {
+            Optimized cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached == UNCHANGED ? null : cached;
+            }
+        }
+        misses.incrementAndGet();
+
+        Optimized optimized;
+        try {
+            optimized = process(bytes, targetPixels);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Unable to optimize image, using the original bytes: {}", e.getMessage());
+            optimized = null;
+        }
+        if (optimized != null) {
+            savedBytes.addAndGet(bytes.length - optimized.bytes().length);
+        }
+        put(key, optimized != null ? optimized : UNCHANGED);
+        return optimized;
+    }
+
+    private Optimized process(byte[] bytes, int targetPixels) throws IOException {
+        BufferedImage image;
+        String format;
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                boolean jpeg = "jpeg".equals(format);
+                boolean png = "png".equals(format);
+                if (jpeg || png) {
+                    if (targetPixels == 0) {
+                        return null;
+                    }
+                } else if (!formatConversion
+                        || (targetPixels == 0 && !"gif".equals(format) && !"webp".equals(format))) {
+                    return null;
+                }
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                if (png && width <= targetPixels) {
+                    // Lossless PNG at a suitable resolution, writing it again gains nothing
+                    return null;
+                }
+                // Decode only every n-th pixel of large images instead of the full raster
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = subsampling(width, targetPixels);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                image = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        boolean converted = !"jpeg".equals(format) && !"png".equals(format);
+        if (targetPixels > 0 && image.getWidth() > targetPixels) {
+            int height = (int) Math.max(1, Math.round((double) image.getHeight() * targetPixels / image.getWidth()));
+            image = scale(image, targetPixels, height);
+        }
+
+        String mimeType = "jpeg".equals(format) ? JPEG_MIME_TYPE : PNG_MIME_TYPE;
+        byte[] optimized = JPEG_MIME_TYPE.equals(mimeType) ? writeJpeg(image) : writePng(image);
+        if (!converted && optimized.length >= bytes.length) {
+            return null;
+        }
+        log.debug("Optimized {} image of {} bytes to {} bytes", format, bytes.length, optimized.length);
+        return new Optimized(mimeType, optimized, ImageStore.sha256(optimized));
+    }
+
+    /**
+     * Returns the largest subsampling factor that still decodes at least twice the target width,
+     * so the bilinear steps of {@link #scale} smooth the skipped pixels.
+     *
+     * @param width        the width of the image in pixels
+     * @param targetPixels the target width in pixels, or {@code 0} if the image is not scaled
+     * @return the factor, {@code 1} to decode every pixel
+     */
+    static int subsampling(int width, int targetPixels) {
+        return targetPixels > 0 ? Math.max(1, width / (2 * targetPixels)) : 1;
+    }
+
+    /**
+     * Scales an image down in steps of at most half the size, which keeps the quality of
+     * bilinear interpolation for large factors.
+     */
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        int type;
+        if (image.getColorModel().hasAlpha()) {
+            type = BufferedImage.TYPE_INT_ARGB;
+        } else if (image.getColorModel().getColorSpace().getType() == ColorSpace.TYPE_GRAY) {
+            type = BufferedImage.TYPE_BYTE_GRAY;
+        } else {
+            type = BufferedImage.TYPE_INT_RGB;
+        }
+
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private byte[] writeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "png", out)) {
+            throw new IOException("No PNG writer available");
+        }
+        return out.toByteArray();
+    }
+
+    private void put(Key key, Optimized optimized) {
+        long weight = optimized.bytes().length + ENTRY_OVERHEAD;
+        if (weight > maxCacheBytes) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, optimized);
+        }
+    }
+
+    /**
+     * Converts an absolute XSL-FO length to inches.
+     *
+     * @param length the length, e.g. {@code 4cm}; may be {@code null}
+     * @return the length in inches, or {@code NaN} if it is not an absolute length
+     */
+    static double toInches(String length) {
+        if (length == null) {
+            return Double.NaN;
+        }
+        Matcher matcher = ABSOLUTE_LENGTH.matcher(length.strip().toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            return Double.NaN;
+        }
+        double value = Double.parseDouble(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "cm" -> value / 2.54;
+            case "mm" -> value / 25.4;
+            case "in" -> value;
+            case "pt" -> value / 72.0;
+            case "pc" -> value / 6.0;
+            default -> value / PX_PER_INCH;
+        };
+    }
+
+    /**
+     * Returns the maximum resolution of images.
+     *
+     * @return the maximum resolution in DPI
+     */
+    public int maxDpi() {
+        return maxDpi;
+    }
+
+    /**
+     * Returns the quality of recompressed JPEG images.
+     *
+     * @return the quality between {@code 0} and {@code 1}
+     */
+    public float jpegQuality() {
+        return jpegQuality;
+    }
+
+    /**
+     * Returns whether GIF, BMP, TIFF and WebP images are converted to PNG.
+     *
+     * @return {@code true} if images are converted
+     */
+    public boolean formatConversion() {
+        return formatConversion;
+    }
+
+    /**
+     * Returns the number of cached results.
+     *
+     * @return the number of results
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns how often the result for an image was taken from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long hitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns how often an image was processed.
+     *
+     * @return the number of cache misses
+     */
+    public long missCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns how many bytes the processed images are smaller than the originals in total.
+     * Cache hits are not counted.
+     *
+     * @return the number of saved bytes
+     */
+    public long savedBytes() {
+        return savedBytes.get();
+    }
+
+    /**
+     * Removes all cached results. The counters are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImageOptimizer[maxDpi=%d, jpegQuality=%.2f, formatConversion=%b, size=%d, "
+                + "hits=%d, misses=%d, savedBytes=%d]", maxDpi, jpegQuality, formatConversion, size(),
+                hitCount(), missCount(), savedBytes());
+    }
+
+    /**
+     * Builder for {@link ImageOptimizer}.
+     */
+    public static final class Builder {
+        private int maxDpi = DEFAULT_MAX_DPI;
+        private float jpegQuality = DEFAULT_JPEG_QUALITY;
+        private boolean formatConversion = true;
+        private long maxCacheBytes = DEFAULT_MAX_CACHE_BYTES;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum resolution of images shown at an absolute width. Defaults to
+         * {@value #DEFAULT_MAX_DPI}.
+         *
+         * @param maxDpi the maximum resolution in DPI
+         * @return this builder for method chaining
+         * @throws IllegalArgumentException if maxDpi is less than 1
+         */
+        public Builder withMaxDpi(int maxDpi) {
+            if (maxDpi < 1) {
+                throw new IllegalArgumentException("maxDpi must be at least 1: " + maxDpi);
+            }
+            this.maxDpi = maxDpi;
+            return this;
+        }
+
+        /**
+         * Sets the quality of recompressed JPEG images. Defaults to {@value #DEFAULT_JPEG_QUALITY}.
+         *
+         * @param jpegQuality a value between {@code 0.0} (smallest) and {@code 1.0} (best)
+         * @return this builder for method chaining
+         * @throws IllegalArgumentException if jpegQuality is outside {@code [0, 1]}
+         */
+        public Builder withJpegQuality(float jpegQuality) {
+            if (!(jpegQuality >= 0.0f && jpegQuality <= 1.0f)) {
+                throw new IllegalArgumentException("jpegQuality must be between 0.0 and 1.0: " + jpegQuality);
+            }
+            this.jpegQuality = jpegQuality;
+            return this;
+        }
+
+        /**
+         * Enables or disables converting GIF, BMP, TIFF and WebP images to PNG. Defaults to {@code true}.
+         *
+         * @param formatConversion {@code true} to convert images
+         * @return this builder for method chaining
+         */
+        public Builder withFormatConversion(boolean formatConversion) {
+            this.formatConversion = formatConversion;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of the cached results. Defaults to {@value #DEFAULT_MAX_CACHE_BYTES}.
+         *
+         * @param maxCacheBytes the maximum number of bytes; {@code 0} disables caching
+         * @return this builder for method chaining
+         * @throws IllegalArgumentException if maxCacheBytes is negative
+         */
+        public Builder withMaxCacheBytes(long maxCacheBytes) {
+            if (maxCacheBytes < 0) {
+                throw new IllegalArgumentException("maxCacheBytes must not be negative: " + maxCacheBytes);
+            }
+            this.maxCacheBytes = maxCacheBytes;
+            return this;
+        }
+
+        /**
+         * Builds the optimizer.
+         *
+         * @return the configured optimizer
+         */
+        public ImageOptimizer build() {
+            return new ImageOptimizer(this);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for resolving an image path into a data URI or an internal
+ * {@link ImageStore} URI in {@link ImageUtils#resolveToUri(String, ImageResolver, ImageSettings, String)}.
+ *
+ * @author Katrin Kaiser
+ * @version 1.1.1
+ */
+@Internal
+@Name("de.fkkaiser.ImageResolve")
+@Label("Image Resolution")
+@Category({"JAccessPDF", "Generation"})
+@Description("Loading an image and encoding it as data URI or registering it in the image store; SVG images are converted to PNG")
+@StackTrace(false)
+final class ImageResolveEvent extends jdk.jfr.Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("MIME Type")
+    String mimeType;
+
+    @Label("Cache Hit")
+    @Description("Whether the image was taken from the ImageCache instead of being loaded")
+    boolean cacheHit;
+
+    @Label("Image Bytes")
+    @Description("Size of the loaded image")
+    @DataAmount
+    long imageBytes;
+
+    @Label("URI Length")
+    @Description("Length of the data URI or internal URI in characters, 0 if the image could not be resolved")
+    long dataUriLength;
+}
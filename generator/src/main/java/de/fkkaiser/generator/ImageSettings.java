@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+import de.fkkaiser.model.style.SvgRendering;
+
+import java.util.Objects;
+
+/**
+ * How the images of a document are loaded and put into the XSL-FO.
+ * <p>
+ * The settings are passed as one value from the {@link XslFoGenerator} through the
+ * {@link FoContext} to {@link ImageUtils}, instead of the store, cache, SVG rendering and
+ * optimizer one by one. {@link #defaults()} loads every image, converts SVG images to PNG and
+ * embeds every image unchanged as data URI.
+ *
+ * @param imageStore     the store the image bytes are registered in, or {@code null} to embed them as data URIs
+ * @param imageCache     the cache of loaded images, or {@code null} to load every image
+ * @param svgRendering   how SVG images are put into the PDF unless their style says otherwise
+ * @param imageOptimizer the optimizer for raster images, or {@code null} to embed the loaded bytes
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public record ImageSettings(ImageStore imageStore,
+                            ImageCache imageCache,
+                            SvgRendering svgRendering,
+                            ImageOptimizer imageOptimizer) {
+
+    private static final ImageSettings DEFAULTS = new ImageSettings(null, null, SvgRendering.RASTER, null);
+
+    /**
+     * Creates the settings.
+     *
+     * @throws NullPointerException if svgRendering is {@code null}
+     */
+    public ImageSettings {
+        Objects.requireNonNull(svgRendering, "svgRendering must not be null");
+    }
+
+    /**
+     * Returns the settings without store, cache and optimizer that convert SVG images to PNG.
+     *
+     * @return the default settings
+     */
+    public static ImageSettings defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Returns a copy of these settings with another image store.
+     *
+     * @param imageStore the store for the image bytes, or {@code null} to embed data URIs
+     * @return the new settings
+     */
+    public ImageSettings withImageStore(ImageStore imageStore) {
+        return new ImageSettings(imageStore, imageCache, svgRendering, imageOptimizer);
+    }
+
+    /**
+     * Returns a copy of these settings with another image cache.
+     *
+     * @param imageCache the cache of loaded images, or {@code null} to load every image
+     * @return the new settings
+     */
+    public ImageSettings withImageCache(ImageCache imageCache) {
+        return new ImageSettings(imageStore, imageCache, svgRendering, imageOptimizer);
+    }
+
+    /**
+     * Returns a copy of these settings with another rendering of SVG images.
+     *
+     * @param svgRendering the rendering of SVG images; must not be {@code null}
+     * @return these settings if the rendering is unchanged, otherwise the new settings
+     * @throws NullPointerException if svgRendering is {@code null}
+     */
+    public ImageSettings withSvgRendering(SvgRendering svgRendering) {
+        if (svgRendering == this.svgRendering) {
+            return this;
+        }
+        return new ImageSettings(imageStore, imageCache, svgRendering, imageOptimizer);
+    }
+
+    /**
+     * Returns a copy of these settings with another image optimizer.
+     *
+     * @param imageOptimizer the optimizer for raster images, or {@code null} to embed the loaded bytes
+     * @return the new settings
+     */
+    public ImageSettings withImageOptimizer(ImageOptimizer imageOptimizer) {
+        return new ImageSettings(imageStore, imageCache, svgRendering, imageOptimizer);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.Internal;
+import de.fkkaiser.model.annotation.PublicAPI;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the bytes of the images of generated documents behind internal {@code jaccess-img:} URIs.
+ *
+ * <p>Without a store, {@link XslFoGenerator} embeds every image as base64 {@code data:} URI into
+ * the {@code src} attribute of its {@code fo:external-graphic}, so the XSL-FO grows with the
+ * image bytes and FOP decodes them again. With a store, the generator registers the image bytes
+ * and writes a short URI like {@code jaccess-img:9f86d0...} instead. The resource resolver of
+ * the FOP factory then serves the bytes for that URI through {@link #find(String)}.</p>
+ *
+ * <p><b>Keys:</b></p>
+ * Images are addressed by the SHA-256 hash of their bytes, so an image used several times is
+ * held once and gets the same URI in every store and every render. FOP's image cache of a
+ * {@code FopFactory} shared by several facades therefore reuses a decoded image for all of them.
+ *
+ * <p><b>Binding:</b></p>
+ * FOP loads the images on the thread that feeds it the XSL-FO. While a render job runs, its
+ * store is bound to that thread with {@link #bind()}, and {@link #find(String)} looks the URI
+ * up in the bound store only. Concurrent jobs with their own stores therefore neither see nor
+ * keep alive each other's images.
+ *
+ * <p><b>Lifetime:</b></p>
+ * A store holds every registered image until {@link #clear()} is called or the store becomes
+ * unreachable. Since cached XSL-FO fragments and templates refer to the images by their URI,
+ * do not fill templates compiled before clearing. Cached fragments keep the images they refer
+ * to and register them again in the store of the job that reuses them.
+ *
+ * <p><b>Thread Safety:</b></p>
+ * All methods are thread-safe.
+ *
+ * @author Katrin Kaiser
+ * @version 1.2.1
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public final class ImageStore {
+
+    /**
+     * The scheme of the URIs of stored images.
+     */
+    public static final String SCHEME = "jaccess-img";
+
+    private static final String PREFIX = SCHEME + ":";
+    private static final int HASH_LENGTH = 64;
+    private static final ThreadLocal<ImageStore> BOUND = new ThreadLocal<>();
+
+    private final Map<String, StoredImage> images = new ConcurrentHashMap<>();
+
+    /**
+     * The bytes of a stored image.
+     *
+     * @param mimeType the MIME type of the image, e.g. {@code image/png}
+     * @param bytes    the image bytes; not copied, so they must not be modified
+     */
+    public record StoredImage(String mimeType, byte[] bytes) {
+    }
+
+    /**
+     * Restores the store that was bound to the thread before {@link #bind()} was called.
+     */
+    @FunctionalInterface
+    public interface Binding extends AutoCloseable {
+
+        /**
+         * Restores the previously bound store.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * Creates a new, empty store.
+     */
+    public ImageStore() {
+    }
+
+    /**
+     * Registers the bytes of an image and returns the URI to reference it with.
+     *
+     * @param mimeType the MIME type of the image
+     * @param bytes    the image bytes; not copied, so they must not be modified afterwards
+     * @return the internal URI of the image
+     * @throws NullPointerException if mimeType or bytes is {@code null}
+     */
+    public String register(String mimeType, byte[] bytes) {
+        Objects.requireNonNull(mimeType, "mimeType must not be null");
+        Objects.requireNonNull(bytes, "bytes must not be null");
+        return register(mimeType, bytes, sha256(bytes));
+    }
+
+    /**
+     * Registers the bytes of an image whose hash is already known, e.g. from the {@link ImageCache}.
+     *
+     * @param mimeType the MIME type of the image
+     * @param bytes    the image bytes
+     * @param hash     the hex-encoded SHA-256 hash of the bytes
+     * @return the internal URI of the image
+     */
+    String register(String mimeType, byte[] bytes, String hash) {
+        images.putIfAbsent(hash, new StoredImage(mimeType, bytes));
+        return PREFIX + hash;
+    }
+
+    /**
+     * Registers images taken from another store under their hashes, e.g. the images of a
+     * cached XSL-FO fragment.
+     *
+     * @param images the images by the hex-encoded SHA-256 hash of their bytes
+     */
+    void registerAll(Map<String, StoredImage> images) {
+        images.forEach(this.images::putIfAbsent);
+    }
+
+    /**
+     * Returns the images of this store referenced by internal URIs in the given XSL-FO.
+     *
+     * @param fo the XSL-FO, e.g. a generated fragment
+     * @return the referenced images by the hex-encoded SHA-256 hash of their bytes; empty if there are none
+     */
+    Map<String, StoredImage> referencedBy(String fo) {
+        Map<String, StoredImage> referenced = Map.of();
+        for (int start = fo.indexOf(PREFIX); start >= 0; start = fo.indexOf(PREFIX, start + PREFIX.length())) {
+            int from = start + PREFIX.length();
+            if (from + HASH_LENGTH > fo.length()) {
+                break;
+            }
+            String hash = fo.substring(from, from + HASH_LENGTH);
+            StoredImage image = images.get(hash);
+            if (image != null) {
+                if (referenced.isEmpty()) {
+                    referenced = new HashMap<>();
+                }
+                referenced.put(hash, image);
+            }
+        }
+        return referenced;
+    }
+
+    /**
+     * Binds this store to the current thread, so {@link #find(String)} serves its images,
+     * e.g. to FOP while it renders the XSL-FO generated with this store.
+     *
+     * @return the binding; closing it on the same thread restores the previously bound store
+     */
+    public Binding bind() {
+        ImageStore previous = BOUND.get();
+        BOUND.set(this);
+        return () -> {
+            if (previous != null) {
+                BOUND.set(previous);
+            } else {
+                BOUND.remove();
+            }
+        };
+    }
+
+    /**
+     * Returns the image of a URI returned by {@link #register}.
+     *
+     * @param uri the internal URI
+     * @return the image, or {@code null} if this store does not hold the image
+     */
+    public StoredImage get(String uri) {
+        if (!isStoreUri(uri)) {
+            return null;
+        }
+        return images.get(uri.substring(PREFIX.length()));
+    }
+
+    /**
+     * Returns the number of stored images.
+     *
+     * @return the number of images
+     */
+    public int size() {
+        return images.size();
+    }
+
+    /**
+     * Returns the total size of the stored images.
+     *
+     * @return the number of stored bytes
+     */
+    public long byteSize() {
+        return images.values().stream().mapToLong(image -> image.bytes().length).sum();
+    }
+
+    /**
+     * Removes all stored images.
+     */
+    public void clear() {
+        images.clear();
+    }
+
+    /**
+     * Checks whether a value is an internal image URI.
+     *
+     * @param uri the URI, e.g. the {@code src} attribute of an {@code fo:external-graphic}; may be {@code null}
+     * @return {@code true} if the URI has the scheme {@value #SCHEME}
+     */
+    public static boolean isStoreUri(String uri) {
+        return uri != null && uri.startsWith(PREFIX);
+    }
+
+    /**
+     * Finds the image of an internal URI in the store bound to the current thread.
+     *
+     * @param uri the internal URI
+     * @return the image, or {@code null} if no store is bound or the bound store does not hold the image
+     * @see #bind()
+     */
+    public static StoredImage find(String uri) {
+        ImageStore store = BOUND.get();
+        return store != null ? store.get(uri) : null;
+    }
+
+    /**
+     * Returns the hex-encoded SHA-256 hash of bytes, the form in which images are identified
+     * by the store and the image caches.
+     *
+     * @param bytes the bytes
+     * @return the hash
+     */
+    @Internal
+    public static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -16,9 +16,11 @@
 package de.fkkaiser.generator;
 
 import de.fkkaiser.generator.svg.BatikSvgHandler;
+import de.fkkaiser.generator.svg.CachingSvgHandler;
 import de.fkkaiser.generator.svg.NoOpSvgHandler;
 import de.fkkaiser.generator.svg.SvgConversionException;
 import de.fkkaiser.generator.svg.SvgHandler;
+import de.fkkaiser.model.style.SvgRendering;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.io.IOException;
@@ -35,11 +37,16 @@ import java.util.List;
  * Utility class for image handling in PDF generation.
  *
  * @author Katrin Kaiser
- * @version 1.2.0
+ * @version 1.8.0
  */
 public class ImageUtils {
     private static final Logger log = LoggerFactory.getLogger(ImageUtils.class);
 
+    private static final String DATA_URI_PREFIX = "data:";
+    private static final String BASE64_MARKER = ";base64,";
+    private static final String PNG_MIME_TYPE = "image/png";
+    private static final String SVG_MIME_TYPE = "image/svg+xml";
+
     private static final SvgHandler svgHandler;
 
     static {
@@ -49,10 +56,11 @@ public class ImageUtils {
                 new NoOpSvgHandler()
         );
 
-        svgHandler = handlers.stream()
+        // Each distinct SVG is transcoded once per process
+        svgHandler = new CachingSvgHandler(handlers.stream()
                 .filter(SvgHandler::isAvailable)
                 .max(Comparator.comparingInt(SvgHandler::getPriority))
-                .orElseGet(NoOpSvgHandler::new);
+                .orElseGet(NoOpSvgHandler::new));
 
         log.info("Using SVG handler: {}", svgHandler.getName());
     }
@@ -70,20 +78,94 @@ public class ImageUtils {
      * @return base64 data URI
      */
     public static String svgContentToDataUri(String svgContent){
-        byte[] bytes = svgHandler.convertToPng(
-                svgContent.getBytes(StandardCharsets.UTF_8), 96f, 96f);
-        return "data:image/png;base64," + Base64.getEncoder().encodeToString(bytes);
+        return svgContentToUri(svgContent, ImageSettings.defaults());
+    }
+
+    /**
+     * Converts SVG content to PNG, or keeps it as SVG for vector rendering, and registers the
+     * bytes in the store of the settings, or encodes them as base64 data URI if they have no store.
+     * @param svgContent svg content
+     * @param images     the image store and SVG rendering to use
+     * @return the internal URI or the data URI of the PNG or SVG
+     */
+    public static String svgContentToUri(String svgContent, ImageSettings images) {
+        byte[] svgBytes = svgContent.getBytes(StandardCharsets.UTF_8);
+        if (images.svgRendering() == SvgRendering.VECTOR) {
+            return toUri(SVG_MIME_TYPE, svgBytes, images.imageStore());
+        }
+        byte[] bytes = svgHandler.convertToPng(svgBytes, 96f, 96f);
+        return toUri(PNG_MIME_TYPE, bytes, images.imageStore());
+    }
+
+    /**
+     * Registers the bytes of a base64 data URI in the store of the settings, optimizing them
+     * for the content width first if the settings have an optimizer. Values that are not a
+     * base64 data URI, or that cannot be decoded, are returned unchanged, as is every value if
+     * the settings have neither store nor optimizer.
+     * @param base64Data   the base64 data URI, e.g. {@code data:image/png;base64,iVBOR...}
+     * @param images       the image store and optimizer to use
+     * @param contentWidth the {@code content-width} the image is shown at; may be {@code null}
+     * @return the internal URI or the data URI of the (optimized) bytes, or base64Data
+     */
+    public static String base64DataToUri(String base64Data, ImageSettings images, String contentWidth) {
+        ImageStore imageStore = images.imageStore();
+        ImageOptimizer imageOptimizer = images.imageOptimizer();
+        if ((imageStore == null && imageOptimizer == null) || !base64Data.startsWith(DATA_URI_PREFIX)) {
+            return base64Data;
+        }
+        int marker = base64Data.indexOf(BASE64_MARKER);
+        if (marker < 0) {
+            return base64Data;
+        }
+        try {
+            String mimeType = base64Data.substring(DATA_URI_PREFIX.length(), marker);
+            byte[] bytes = Base64.getMimeDecoder().decode(base64Data.substring(marker + BASE64_MARKER.length()));
+            if (imageOptimizer != null && !SVG_MIME_TYPE.equals(mimeType)) {
+                ImageOptimizer.Optimized optimized = imageOptimizer.optimize(bytes, null, contentWidth);
+                if (optimized != null) {
+                    return toUri(optimized.mimeType(), optimized.bytes(), optimized.hash(), imageStore);
+                }
+            }
+            return imageStore != null ? imageStore.register(mimeType, bytes) : base64Data;
+        } catch (IllegalArgumentException e) {
+            log.warn("Unable to decode base64 image data, embedding it unchanged: {}", e.getMessage());
+            return base64Data;
+        }
     }
+
     /**
      * Resolves an image path and converts it to a base64 data URI.
      * SVG images are automatically converted to PNG.
      */
     public static String resolveToDataUri(String path, ImageResolver imageResolver) {
+        return resolveToUri(path, imageResolver, ImageSettings.defaults(), null);
+    }
+
+    /**
+     * Resolves an image path and registers the image bytes in the store of the settings, or
+     * converts them to a base64 data URI if they have no store.
+     * <p>
+     * SVG images are converted to PNG for {@link SvgRendering#RASTER}; for
+     * {@link SvgRendering#VECTOR}, the SVG bytes are referenced unchanged and FOP draws them
+     * as vector graphic. With a cache, an image already loaded from the same URL, or with the
+     * same content, is reused instead of being read, converted and encoded again. With an
+     * optimizer, raster images are optimized for the width they are shown at.
+     * @param path          the image path
+     * @param imageResolver the resolver for the path
+     * @param images        the image store, cache, SVG rendering and optimizer to use
+     * @param contentWidth  the {@code content-width} the image is shown at; may be {@code null}
+     * @return the internal URI or the data URI, or {@code null} if the image could not be loaded
+     */
+    public static String resolveToUri(String path, ImageResolver imageResolver, ImageSettings images,
+                                      String contentWidth) {
         if (path == null || path.isEmpty()) {
             log.warn("Image path is null or empty");
             return null;
         }
 
+        ImageResolveEvent event = new ImageResolveEvent();
+        event.begin();
+        String uri = null;
         try {
             URL absoluteUrl = imageResolver.resolve(path);
             if (absoluteUrl == null) {
@@ -91,38 +173,120 @@ public class ImageUtils {
                 return null;
             }
 
-            String mimeType = detectMimeType(absoluteUrl.toString());
-            boolean isSvg = "image/svg+xml".equals(mimeType);
-
-            try (InputStream inputStream = absoluteUrl.openStream()) {
-                byte[] imageBytes = inputStream.readAllBytes();
-
-                if (isSvg) {
-                    try {
-                        byte[] pngBytes = svgHandler.convertToPng(imageBytes, 96f, 96f);
-                        String base64String = Base64.getEncoder().encodeToString(pngBytes);
-                        return "data:image/png;base64," + base64String;
-                    } catch (SvgConversionException e) {
-                        log.error("SVG conversion failed for {}: {}", path, e.getMessage());
-                        return null;
-                    }
-                } else {
-                    String base64String = Base64.getEncoder().encodeToString(imageBytes);
-                    return "data:" + mimeType + ";base64," + base64String;
+            ImageStore imageStore = images.imageStore();
+            ImageCache imageCache = images.imageCache();
+            SvgRendering svgRendering = images.svgRendering();
+            ImageOptimizer imageOptimizer = images.imageOptimizer();
+            ImageCache.CachedImage image = imageCache != null ? imageCache.get(absoluteUrl) : null;
+            event.cacheHit = image != null;
+            if (image == null) {
+                image = load(absoluteUrl, imageCache, svgRendering);
+                if (image == null) {
+                    return null;
                 }
             }
+            event.mimeType = image.sourceMimeType();
+            event.imageBytes = image.sourceBytes().length;
+
+            ImageOptimizer.Optimized optimized = imageOptimizer != null && !SVG_MIME_TYPE.equals(image.sourceMimeType())
+                    ? imageOptimizer.optimize(image.bytes(), image.hash(), contentWidth)
+                    : null;
+            uri = optimized != null
+                    ? toUri(optimized.mimeType(), optimized.bytes(), optimized.hash(), imageStore)
+                    : toUri(image, imageStore, imageCache, svgRendering);
+            return uri;
+        } catch (SvgConversionException e) {
+            log.error("SVG conversion failed for {}: {}", path, e.getMessage());
+            return null;
         } catch (IOException e) {
             log.error("Unable to read image at path: {}", path, e);
             return null;
         } catch (URISyntaxException e) {
             log.error("Invalid URI syntax for path: {}", path, e);
             return null;
+        } finally {
+            if (event.shouldCommit()) {
+                event.path = path;
+                event.dataUriLength = uri != null ? uri.length() : 0;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Reads an image and converts SVG images to PNG for raster rendering. With a cache, the
+     * content is looked up by its hash first, and the loaded image is cached.
+     */
+    private static ImageCache.CachedImage load(URL url, ImageCache imageCache, SvgRendering svgRendering)
+            throws IOException {
+        String mimeType = detectMimeType(url.toString());
+        byte[] imageBytes;
+        try (InputStream inputStream = url.openStream()) {
+            imageBytes = inputStream.readAllBytes();
+        }
+
+        String sourceHash = null;
+        if (imageCache != null) {
+            sourceHash = ImageStore.sha256(imageBytes);
+            ImageCache.CachedImage cached = imageCache.getByContent(url, sourceHash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        ImageCache.CachedImage image;
+        if (SVG_MIME_TYPE.equals(mimeType) && svgRendering != SvgRendering.VECTOR) {
+            byte[] pngBytes = svgHandler.convertToPng(imageBytes, 96f, 96f);
+            image = new ImageCache.CachedImage(mimeType, sourceHash, imageBytes, PNG_MIME_TYPE, pngBytes,
+                    imageCache != null ? ImageStore.sha256(pngBytes) : null);
+        } else {
+            image = new ImageCache.CachedImage(mimeType, sourceHash, imageBytes, mimeType, imageBytes, sourceHash);
+        }
+        if (imageCache != null) {
+            imageCache.put(url, image);
+        }
+        return image;
+    }
+
+    private static String toUri(ImageCache.CachedImage image, ImageStore imageStore, ImageCache imageCache,
+                                SvgRendering svgRendering) {
+        if (SVG_MIME_TYPE.equals(image.sourceMimeType())) {
+            if (svgRendering == SvgRendering.VECTOR && !SVG_MIME_TYPE.equals(image.mimeType())) {
+                // Cached as PNG by a raster rendering
+                return image.sourceHash() != null && imageStore != null
+                        ? imageStore.register(SVG_MIME_TYPE, image.sourceBytes(), image.sourceHash())
+                        : toUri(SVG_MIME_TYPE, image.sourceBytes(), imageStore);
+            }
+            if (svgRendering != SvgRendering.VECTOR && SVG_MIME_TYPE.equals(image.mimeType())) {
+                // Cached as SVG by a vector rendering
+                return toUri(PNG_MIME_TYPE, svgHandler.convertToPng(image.sourceBytes(), 96f, 96f), imageStore);
+            }
+        }
+        if (imageStore != null) {
+            return image.hash() != null
+                    ? imageStore.register(image.mimeType(), image.bytes(), image.hash())
+                    : imageStore.register(image.mimeType(), image.bytes());
+        }
+        if (imageCache != null) {
+            return imageCache.dataUri(image);
+        }
+        return toUri(image.mimeType(), image.bytes(), null);
+    }
+
+    private static String toUri(String mimeType, byte[] bytes, String hash, ImageStore imageStore) {
+        return imageStore != null ? imageStore.register(mimeType, bytes, hash) : toUri(mimeType, bytes, null);
+    }
+
+    private static String toUri(String mimeType, byte[] bytes, ImageStore imageStore) {
+        if (imageStore != null) {
+            return imageStore.register(mimeType, bytes);
         }
+        return DATA_URI_PREFIX + mimeType + BASE64_MARKER + Base64.getEncoder().encodeToString(bytes);
     }
 
     private static String detectMimeType(String urlString) {
         String lower = urlString.toLowerCase();
-        if (lower.endsWith(".svg")) return "image/svg+xml";
+        if (lower.endsWith(".svg")) return SVG_MIME_TYPE;
         if (lower.endsWith(".png")) return "image/png";
         if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) return "image/jpeg";
         if (lower.endsWith(".gif")) return "image/gif";
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+import de.fkkaiser.model.structure.ContentArea;
+import de.fkkaiser.model.structure.Document;
+import de.fkkaiser.model.structure.Element;
+import de.fkkaiser.model.structure.Headline;
+import de.fkkaiser.model.structure.PageSequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the bodies of large page sequences into consecutive page sequences, so that FOP
+ * lays out shorter flows.
+ *
+ * <p>FOP keeps the layout state of a whole {@code fo:page-sequence} in memory until the
+ * sequence ends. With splitting enabled, {@link XslFoGenerator} ends the page sequence after
+ * at most {@link #maxElements()} top-level body elements and continues the body in a new page
+ * sequence with the same page master, header and footer. Peak memory of the layout then
+ * depends on the size of these parts instead of the size of the document.</p>
+ *
+ * <p><b>Boundaries:</b></p>
+ * A body is only split between top-level elements; a single element, e.g. a long table, is
+ * never split. With {@link #beforeHeadlinesOnly()}, a part that has reached the maximum size
+ * continues until the next top-level {@link Headline}, so every split part after the first
+ * starts with a headline.
+ *
+ * <p><b>Layout:</b></p>
+ * Every page sequence starts on a new page. Page numbers continue across the split sequences,
+ * headers and footers are repeated, and the structure tree keeps the order of the elements,
+ * so the output stays PDF/UA-conformant. Ids of header and footer content differ between the
+ * split parts, so they stay unique.
+ *
+ * <p><b>Example:</b></p>
+ * <pre>{@code
+ * // split before the next headline once a part has 500 elements
+ * PageSequenceSplitting splitting = PageSequenceSplitting.afterElements(500).beforeHeadlinesOnly(true);
+ * }</pre>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public final class PageSequenceSplitting {
+
+    private static final Logger log = LoggerFactory.getLogger(PageSequenceSplitting.class);
+
+    private static final PageSequenceSplitting DISABLED = new PageSequenceSplitting(Integer.MAX_VALUE, false);
+
+    private final int maxElements;
+    private final boolean beforeHeadlinesOnly;
+
+    private PageSequenceSplitting(int maxElements, boolean beforeHeadlinesOnly) {
+        this.maxElements = maxElements;
+        this.beforeHeadlinesOnly = beforeHeadlinesOnly;
+    }
+
+    /**
+     * Returns the configuration that never splits page sequences.
+     *
+     * @return the disabled configuration
+     */
+    public static PageSequenceSplitting disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Splits bodies into page sequences of at most the given number of top-level elements.
+     *
+     * @param maxElements the maximum number of top-level elements per page sequence
+     * @return the configuration
+     * @throws IllegalArgumentException if maxElements is less than 1
+     */
+    public static PageSequenceSplitting afterElements(int maxElements) {
+        if (maxElements < 1) {
+            throw new IllegalArgumentException("maxElements must be at least 1, but was " + maxElements);
+        }
+        return new PageSequenceSplitting(maxElements, false);
+    }
+
+    /**
+     * Returns a copy of this configuration that splits only before top-level headlines.
+     *
+     * @param beforeHeadlinesOnly whether a body is split only before a headline
+     * @return the configuration
+     */
+    public PageSequenceSplitting beforeHeadlinesOnly(boolean beforeHeadlinesOnly) {
+        if (this == DISABLED) {
+            return this;
+        }
+        return new PageSequenceSplitting(maxElements, beforeHeadlinesOnly);
+    }
+
+    /**
+     * Returns the maximum number of top-level elements per page sequence.
+     *
+     * @return the maximum number of elements; {@link Integer#MAX_VALUE} if disabled
+     */
+    public int maxElements() {
+        return maxElements;
+    }
+
+    /**
+     * Returns whether bodies are split only before top-level headlines.
+     *
+     * @return {@code true} if bodies are split only before headlines
+     */
+    public boolean beforeHeadlinesOnly() {
+        return beforeHeadlinesOnly;
+    }
+
+    /**
+     * Returns the document with large bodies split into consecutive page sequences, or the
+     * document itself if no body has to be split.
+     *
+     * @param document the document
+     * @return the document to generate
+     */
+    Document split(Document document) {
+        if (this == DISABLED || document.pageSequences() == null) {
+            return document;
+        }
+        List<PageSequence> sequences = new ArrayList<>();
+        boolean split = false;
+        for (PageSequence sequence : document.pageSequences()) {
+            List<Element> body = sequence.body() != null ? sequence.body().elements() : null;
+            if (body == null || body.size() <= maxElements) {
+                sequences.add(sequence);
+                continue;
+            }
+            int from = 0;
+            for (int to = maxElements; to < body.size(); to++) {
+                if (to - from >= maxElements && (!beforeHeadlinesOnly || body.get(to) instanceof Headline)) {
+                    sequences.add(part(sequence, body.subList(from, to)));
+                    from = to;
+                }
+            }
+            sequences.add(from == 0 ? sequence : part(sequence, body.subList(from, body.size())));
+            split |= from > 0;
+        }
+        if (!split) {
+            return document;
+        }
+        log.debug("Split {} page sequence(s) into {}", document.pageSequences().size(), sequences.size());
+        return new Document(document.internalAddresses(), document.metadata(), sequences);
+    }
+
+    private static PageSequence part(PageSequence sequence, List<Element> elements) {
+        return new PageSequence(sequence.styleClass(), new ContentArea(elements), sequence.header(), sequence.footer());
+    }
+
+    @Override
+    public String toString() {
+        return this == DISABLED ? "PageSequenceSplitting (disabled)"
+                : String.format("PageSequenceSplitting (maxElements=%d, beforeHeadlinesOnly=%b)",
+                maxElements, beforeHeadlinesOnly);
+    }
+}
@@ -20,43 +20,67 @@ import de.fkkaiser.model.annotation.Internal;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Writes a single XSL-FO element into a shared output buffer.
+ *
+ * <p>Small, fixed structures can be assembled as a tree with {@link #addChild(TagBuilder)} and
+ * written with {@link #buildInto(StringBuilder)}: every node appends itself and its children
+ * directly to the target, so no node creates a String copy of its subtree.</p>
+ *
+ * <p>Elements with generated content are streamed instead: {@link #open(StringBuilder)} writes
+ * the start tag (and any content added so far), the generators then append the children to the
+ * same buffer, and {@link #close(StringBuilder)} writes the end tag. This keeps the generation
+ * linear in the size of the output, however deeply the elements are nested.</p>
+ *
+ * @author Katrin Kaiser
+ * @version 1.1.0
+ */
 @Internal
 public class TagBuilder {
-    private final StringBuilder builder;
-    private String attributes = "";
     private final String tagName;
-    private final List<Object> contentParts = new ArrayList<>();
+    private final StringBuilder attributes = new StringBuilder();
+    private List<Object> contentParts;
     private String tagPrefix = "fo:";
 
     public TagBuilder(String tagName) {
-        this.builder = new StringBuilder();
         this.tagName = tagName;
     }
 
     public TagBuilder addAttribute(String name, String value) {
         if (value != null) {
-            attributes += GenerateConst.SPACE
-                    + name + GenerateConst.EQUALS
-                    + GenerateConst.GQQ
-                    + GenerateUtils.escapeXml(value)
-                    + GenerateConst.GQQ;
+            attributes.append(GenerateConst.SPACE)
+                    .append(name).append(GenerateConst.EQUALS)
+                    .append(GenerateConst.GQQ);
+            GenerateUtils.appendEscapedXml(attributes, value);
+            attributes.append(GenerateConst.GQQ);
         }
         return this;
     }
 
-    public TagBuilder addContent(String content) {
-        contentParts.add(GenerateUtils.escapeXml(content));
+    /**
+     * Appends attributes that are already serialized and escaped, each preceded by a space,
+     * such as the fragments of {@link TextStyleFragments}.
+     *
+     * @param attributeFragment the attributes; ignored if {@code null}
+     * @return this builder
+     */
+    public TagBuilder addAttributes(String attributeFragment) {
+        if (attributeFragment != null) {
+            attributes.append(attributeFragment);
+        }
         return this;
     }
 
+    public TagBuilder addContent(String content) {
+        return addPart(GenerateUtils.escapeXml(content));
+    }
+
     public TagBuilder addNestedContent(String content) {
-        contentParts.add(content);
-        return this;
+        return addPart(content);
     }
 
     public TagBuilder addChild(TagBuilder childBuilder) {
-        contentParts.add(childBuilder);
-        return this;
+        return addPart(childBuilder);
     }
 
     public TagBuilder withPrefix(String tagPrefix) {
@@ -64,34 +88,63 @@ public class TagBuilder {
         return this;
     }
 
-
     public String build() {
-        builder.append(GenerateConst.OPENER_OPEN_TAG)
-                .append(tagPrefix)
-                .append(tagName);
-        if (!attributes.isBlank()) {
-            builder.append(attributes);
-        }
-        builder.append(GenerateConst.CLOSER);
+        StringBuilder target = new StringBuilder();
+        buildInto(target);
+        return target.toString();
+    }
 
+    /**
+     * Writes the element with its attributes and content to the target.
+     *
+     * @param target the output buffer
+     */
+    public void buildInto(StringBuilder target) {
+        open(target);
+        close(target);
+    }
 
-        for (Object part : contentParts) {
-            if (part instanceof TagBuilder) {
-                builder.append(((TagBuilder) part).build());
-            } else {
-                builder.append(part.toString());
+    /**
+     * Writes the start tag and the content added so far to the target. Further content of
+     * the element is appended to the target by the caller, followed by {@link #close(StringBuilder)}.
+     *
+     * @param target the output buffer
+     */
+    public void open(StringBuilder target) {
+        target.append(GenerateConst.OPENER_OPEN_TAG)
+                .append(tagPrefix)
+                .append(tagName)
+                .append(attributes)
+                .append(GenerateConst.CLOSER);
+
+        if (contentParts != null) {
+            for (Object part : contentParts) {
+                if (part instanceof TagBuilder child) {
+                    child.buildInto(target);
+                } else {
+                    target.append((String) part);
+                }
             }
         }
+    }
 
-        builder.append(GenerateConst.OPENER_CLOSE_TAG)
+    /**
+     * Writes the end tag to the target.
+     *
+     * @param target the output buffer
+     */
+    public void close(StringBuilder target) {
+        target.append(GenerateConst.OPENER_CLOSE_TAG)
                 .append(tagPrefix)
                 .append(tagName)
                 .append(GenerateConst.CLOSER);
-
-        return builder.toString();
     }
 
-    public void buildInto(StringBuilder target) {
-        target.append(build());
+    private TagBuilder addPart(Object part) {
+        if (contentParts == null) {
+            contentParts = new ArrayList<>(2);
+        }
+        contentParts.add(part);
+        return this;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.Internal;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.model.style.TextStyle;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The font attributes of all {@link TextStyle}s of a {@link StyleSheet}, serialized and
+ * escaped once and looked up by the name of the text style.
+ *
+ * <p>Text runs, hyperlinks and blocks reference their text style by name. Instead of searching
+ * the text styles and escaping font-family, size, weight and style at every element, the
+ * generators append the precompiled fragment with {@link TagBuilder#addAttributes(String)}.</p>
+ *
+ * <p>The {@link XslFoGenerator} creates the fragments once per generated document and hands
+ * them to the generators with the {@link FoContext}, so they live as long as the generation.</p>
+ *
+ * @author Katrin Kaiser
+ * @version 1.1.0
+ */
+@Internal
+public final class TextStyleFragments {
+
+    private final Map<String, String> fragments;
+
+    private TextStyleFragments(StyleSheet styleSheet) {
+        this.fragments = new HashMap<>();
+        if (styleSheet != null && styleSheet.textStyles() != null) {
+            for (TextStyle textStyle : styleSheet.textStyles()) {
+                if (textStyle != null && textStyle.name() != null) {
+                    // The first text style with a name wins, as in StyleSheet#findFontStyleByName
+                    fragments.putIfAbsent(textStyle.name(), fragment(textStyle));
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the fragments of the given style sheet.
+     *
+     * @param styleSheet the style sheet; may be {@code null}
+     * @return the fragments of its text styles
+     */
+    public static TextStyleFragments of(StyleSheet styleSheet) {
+        return new TextStyleFragments(styleSheet);
+    }
+
+    /**
+     * Returns the escaped font attributes of the named text style, each preceded by a space.
+     *
+     * @param textStyleName the name of the text style; may be {@code null}
+     * @return the attributes, or {@code null} if the style sheet has no text style with this name
+     */
+    public String get(String textStyleName) {
+        return textStyleName == null ? null : fragments.get(textStyleName);
+    }
+
+    /**
+     * Serializes the font-family, font-size, font-weight and font-style of a text style as
+     * escaped attributes, each preceded by a space. Properties that are {@code null} are omitted.
+     *
+     * @param textStyle the text style
+     * @return the attributes; empty if the text style defines none of them
+     */
+    public static String fragment(TextStyle textStyle) {
+        StringBuilder attributes = new StringBuilder(96);
+        appendAttribute(attributes, GenerateConst.FONT_FAMILY, textStyle.fontFamilyName());
+        appendAttribute(attributes, GenerateConst.FONT_SIZE, textStyle.fontSize());
+        appendAttribute(attributes, GenerateConst.FONT_WEIGHT, textStyle.fontWeight());
+        appendAttribute(attributes, GenerateConst.FONT_STYLE, textStyle.fontStyle());
+        return attributes.toString();
+    }
+
+    private static void appendAttribute(StringBuilder attributes, String name, String value) {
+        if (value != null) {
+            attributes.append(GenerateConst.SPACE)
+                    .append(name).append(GenerateConst.EQUALS)
+                    .append(GenerateConst.GQQ);
+            GenerateUtils.appendEscapedXml(attributes, value);
+            attributes.append(GenerateConst.GQQ);
+        }
+    }
+}
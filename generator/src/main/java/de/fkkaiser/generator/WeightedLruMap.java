@@ -0,0 +1,199 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.annotation.Internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Map in least recently used order that is bounded by the number of its entries and by the
+ * total weight of its values, e.g. their size in bytes. The caches of the generator
+ * ({@link ImageCache}, {@link ImageOptimizer}, {@link FoFragmentCache} and the cache of
+ * transcoded SVG images) keep their entries in it.
+ * <p>
+ * When a bound is exceeded, the least recently used entries are evicted and passed to the
+ * eviction listener. A value heavier than the maximum weight evicts all entries, itself
+ * included, so callers check the weight of a value before putting it.
+ * <p>
+ * The map is not thread-safe; callers synchronize on it.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@Internal
+public final class WeightedLruMap<K, V> {
+
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxSize;
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final BiConsumer<? super K, ? super V> evictionListener;
+    private long weight;
+
+    /**
+     * Creates a map bounded by the total weight of its values only.
+     *
+     * @param maxWeight the maximum total weight
+     * @param weigher   computes the weight of a value
+     */
+    public WeightedLruMap(long maxWeight, ToLongFunction<? super V> weigher) {
+        this(Integer.MAX_VALUE, maxWeight, weigher, (key, value) -> { });
+    }
+
+    /**
+     * Creates a map.
+     *
+     * @param maxSize          the maximum number of entries
+     * @param maxWeight        the maximum total weight
+     * @param weigher          computes the weight of a value
+     * @param evictionListener called for every entry evicted because a bound was exceeded
+     */
+    public WeightedLruMap(int maxSize, long maxWeight, ToLongFunction<? super V> weigher,
+                          BiConsumer<? super K, ? super V> evictionListener) {
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Returns the value of a key and marks the entry as most recently used.
+     *
+     * @param key the key
+     * @return the value, or {@code null} if the map contains no entry for the key
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Checks whether the map contains an entry for a key, without changing the order.
+     *
+     * @param key the key
+     * @return {@code true} if the map contains an entry for the key
+     */
+    public boolean containsKey(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Puts a value as most recently used entry and evicts entries until both bounds are met.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value of the key, or {@code null}
+     */
+    public V put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, weigher.applyAsLong(value));
+        Entry<V> previous = entries.put(key, entry);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entry.weight;
+        evict();
+        return previous != null ? previous.value : null;
+    }
+
+    /**
+     * Computes the weight of the value of a key again, e.g. after a derived form of it was
+     * added, and evicts entries until both bounds are met.
+     *
+     * @param key the key
+     */
+    public void reweigh(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            long updated = weigher.applyAsLong(entry.value);
+            weight += updated - entry.weight;
+            entry.weight = updated;
+            evict();
+        }
+    }
+
+    /**
+     * Removes the entries that match a filter. The eviction listener is not called.
+     *
+     * @param filter the filter of the entries to remove
+     */
+    public void removeIf(BiPredicate<? super K, ? super V> filter) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            if (filter.test(entry.getKey(), entry.getValue().value)) {
+                iterator.remove();
+                weight -= entry.getValue().weight;
+            }
+        }
+    }
+
+    /**
+     * Removes all entries. The eviction listener is not called.
+     */
+    public void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the total weight of the values.
+     *
+     * @return the total weight
+     */
+    public long weight() {
+        return weight;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxSize || weight > maxWeight) && eldest.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = eldest.next();
+            eldest.remove();
+            weight -= entry.getValue().weight;
+            evictionListener.accept(entry.getKey(), entry.getValue().value);
+        }
+    }
+
+    /**
+     * A value with the weight it was counted with.
+     */
+    private static final class Entry<V> {
+        private final V value;
+        private long weight;
+
+        private Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
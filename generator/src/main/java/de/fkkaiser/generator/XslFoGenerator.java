@@ -17,21 +17,51 @@ package de.fkkaiser.generator;
 
 import de.fkkaiser.generator.element.*;
 import de.fkkaiser.model.annotation.Internal;
+import de.fkkaiser.model.annotation.PublicAPI;
 import de.fkkaiser.model.structure.*;
 import de.fkkaiser.model.style.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Generates an XSL-FO XML structure from a Document object.
  * Refactored to avoid placeholders by buffering page content.
+ * <p>
+ * If created with a {@link ForkJoinPool}, the headers, footers and bodies of all page sequences
+ * are split into chunks of top-level elements, which are generated concurrently into separate
+ * buffers and then joined in document order. The output and the order of the headlines for the
+ * bookmark tree are the same as with sequential generation.
+ * <p>
+ * Elements are dispatched to their generators with an exhaustive switch over the sealed
+ * {@link Element} and {@link InlineElement} hierarchies, so every call site of a generator
+ * sees a single receiver type. Element types of applications implement
+ * {@link ExtensionElement} or {@link InlineExtensionElement}; their generators are registered
+ * with {@link #registerExtension} and {@link #registerInlineExtension}.
+ * <p>
+ * The bookmark tree precedes the page sequences, but is built from the headlines generated in
+ * them, so it is inserted once the page sequences are generated.
  *
  * @author Katrin Kaiser
- * @version 1.1.0
+ * @version 1.11.0
  */
 @Internal
 public class XslFoGenerator {
@@ -64,24 +94,99 @@ public class XslFoGenerator {
     private static final String REGION_NAME = "region-name";
     private static final String EXTENT = "extent";
 
+    /**
+     * Default number of top-level elements generated by one task in parallel mode.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 32;
+
     private static final Logger log = LoggerFactory.getLogger(XslFoGenerator.class);
-    private final Map<Class<? extends Element>, ElementFoGenerator> blockGeneratorRegistry = new HashMap<>();
-    private final Map<Class<? extends InlineElement>, InlineElementFoGenerator> inlineGeneratorRegistry = new HashMap<>();
+    private final ParagraphFoGenerator paragraphGenerator = new ParagraphFoGenerator(this);
+    private final HeadlineFoGenerator headlineGenerator = new HeadlineFoGenerator(this);
+    private final ListFoGenerator listGenerator = new ListFoGenerator(this);
+    private final TableFoGenerator tableGenerator = new TableFoGenerator(this);
+    private final SectionFoGenerator sectionGenerator = new SectionFoGenerator(this);
+    private final PartFoGenerator partGenerator = new PartFoGenerator(this);
+    private final ListItemFoGenerator listItemGenerator = new ListItemFoGenerator(this);
+    private final ImageFoGenerator imageGenerator = new ImageFoGenerator();
+    private final LayoutTableFoGenerator layoutTableGenerator = new LayoutTableFoGenerator(this);
+    private final TextRunFoGenerator textRunGenerator = new TextRunFoGenerator();
+    private final HyperlinkFoGenerator hyperlinkGenerator = new HyperlinkFoGenerator();
+    private final PageNumberFoGenerator pageNumberGenerator = new PageNumberFoGenerator();
+    private final FootnoteFoGenerator footnoteGenerator = new FootnoteFoGenerator(this);
+    private final Map<Class<?>, ExtensionFoGenerator<?>> extensionGenerators = new ConcurrentHashMap<>();
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final FoFragmentCache fragmentCache;
+    private final PageSequenceSplitting pageSequenceSplitting;
+    private final ImageSettings images;
 
+    /**
+     * Creates a generator that generates the XSL-FO on the calling thread, generates every
+     * element and embeds images as data URIs. Use {@link #builder()} to configure it.
+     */
     public XslFoGenerator() {
-        this.blockGeneratorRegistry.put(Paragraph.class, new ParagraphFoGenerator(this));
-        this.blockGeneratorRegistry.put(Headline.class, new HeadlineFoGenerator(this));
-        this.blockGeneratorRegistry.put(SimpleList.class, new ListFoGenerator(this));
-        this.blockGeneratorRegistry.put(Table.class, new TableFoGenerator(this));
-        this.blockGeneratorRegistry.put(Section.class, new SectionFoGenerator(this));
-        this.blockGeneratorRegistry.put(Part.class, new PartFoGenerator(this));
-        this.blockGeneratorRegistry.put(ListItem.class, new ListItemFoGenerator(this));
-        this.blockGeneratorRegistry.put(BlockImage.class,new ImageFoGenerator());
-        this.blockGeneratorRegistry.put(LayoutTable.class,new LayoutTableFoGenerator(this));
-         this.inlineGeneratorRegistry.put(TextRun.class, new TextRunFoGenerator());
-        this.inlineGeneratorRegistry.put(PageNumber.class, new PageNumberFoGenerator());
-        this.inlineGeneratorRegistry.put(Hyperlink.class, new HyperlinkFoGenerator());
-        this.inlineGeneratorRegistry.put(Footnote.class, new FootnoteFoGenerator(this));
+        this(builder());
+    }
+
+    private XslFoGenerator(Builder builder) {
+        this.pool = builder.pool;
+        this.chunkSize = builder.chunkSize;
+        this.fragmentCache = builder.fragmentCache;
+        this.pageSequenceSplitting = builder.pageSequenceSplitting;
+        this.images = builder.images;
+    }
+
+    /**
+     * Creates a builder for a generator.
+     *
+     * @return a new builder with the defaults of {@link #XslFoGenerator()}
+     */
+    @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns how the generator loads images and puts them into the XSL-FO.
+     *
+     * @return the image settings
+     */
+    @Internal
+    public ImageSettings images() {
+        return images;
+    }
+
+    /**
+     * Registers the generator for the block elements of an application-defined type.
+     * A generator registered before for the same type is replaced. Registration is thread-safe,
+     * but should be done before the first document is generated.
+     *
+     * @param type      the class of the elements; subclasses need their own registration
+     * @param generator the generator writing the XSL-FO of the elements
+     * @param <E>       the type of the elements
+     * @throws NullPointerException if type or generator is {@code null}
+     */
+    @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+    public <E extends ExtensionElement> void registerExtension(Class<E> type, ExtensionFoGenerator<? super E> generator) {
+        extensionGenerators.put(Objects.requireNonNull(type, "type must not be null"),
+                Objects.requireNonNull(generator, "generator must not be null"));
+    }
+
+    /**
+     * Registers the generator for the inline elements of an application-defined type.
+     * A generator registered before for the same type is replaced. Registration is thread-safe,
+     * but should be done before the first document is generated.
+     *
+     * @param type      the class of the elements; subclasses need their own registration
+     * @param generator the generator writing the XSL-FO of the elements
+     * @param <E>       the type of the elements
+     * @throws NullPointerException if type or generator is {@code null}
+     */
+    @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+    public <E extends InlineExtensionElement> void registerInlineExtension(Class<E> type,
+                                                                          ExtensionFoGenerator<? super E> generator) {
+        extensionGenerators.put(Objects.requireNonNull(type, "type must not be null"),
+                Objects.requireNonNull(generator, "generator must not be null"));
     }
 
     /**
@@ -96,134 +201,432 @@ public class XslFoGenerator {
         if (document == null || styleSheet == null) {
             return "";
         }
-        StringBuilder contentBuilder = new StringBuilder();
-        List<Headline> headlines = new ArrayList<>();
+        return generateInto(document, styleSheet, resolver, images.imageStore(), "string").toString();
+    }
+
+    /**
+     * Generates the complete XSL-FO document and delivers it as SAX events to the given
+     * {@link ContentHandler}, e.g. the default handler of a FOP instance. In contrast to
+     * {@link #generate(Document, StyleSheet, ImageResolver)} no String copy of the document
+     * is created and no byte encoding or XSLT identity transformation is involved; the buffer
+     * is read in place by the XML parser of the JDK.
+     * Nothing is emitted if document or style sheet is {@code null}.
+     *
+     * @param document   {@link Document} representing the content structure
+     * @param styleSheet {@link StyleSheet} defining styles
+     * @param resolver   {@link ImageResolver} for image handling
+     * @param handler    the {@link ContentHandler} receiving the XSL-FO document
+     * @throws SAXException if the handler rejects the document or an extension generator
+     *                      wrote XSL-FO that is not well-formed
+     */
+    @Internal
+    public void generate(Document document, StyleSheet styleSheet, ImageResolver resolver,
+                         ContentHandler handler) throws SAXException {
+        generate(document, styleSheet, resolver, images.imageStore(), handler);
+    }
+
+    /**
+     * Generates the complete XSL-FO document like {@link #generate(Document, StyleSheet, ImageResolver, ContentHandler)},
+     * but registers the image bytes in the given store instead of the store of the generator,
+     * e.g. in a store of its own for every render job.
+     *
+     * @param document   {@link Document} representing the content structure
+     * @param styleSheet {@link StyleSheet} defining styles
+     * @param resolver   {@link ImageResolver} for image handling
+     * @param imageStore the store for the image bytes, or {@code null} to embed data URIs
+     * @param handler    the {@link ContentHandler} receiving the XSL-FO document
+     * @throws SAXException if the handler rejects the document or an extension generator
+     *                      wrote XSL-FO that is not well-formed
+     */
+    @Internal
+    public void generate(Document document, StyleSheet styleSheet, ImageResolver resolver, ImageStore imageStore,
+                         ContentHandler handler) throws SAXException {
+        if (document == null || styleSheet == null) {
+            return;
+        }
+        emitSaxEvents(generateInto(document, styleSheet, resolver, imageStore, "sax"), handler);
+    }
+
+    /**
+     * Generates the XSL-FO document once and compiles it into a {@link FoTemplate}, whose
+     * placeholders ({@code {{name}}}, {@code {{items[].field}}}) in text runs and other text
+     * are later filled without walking the document model again.
+     * The styles of the document must already be resolved.
+     *
+     * @param document   {@link Document} containing placeholders
+     * @param styleSheet {@link StyleSheet} defining styles
+     * @param resolver   {@link ImageResolver} for image handling
+     * @return the compiled template
+     * @throws IllegalArgumentException if the placeholders cannot be compiled, see {@link FoTemplate}
+     */
+    @Internal
+    public FoTemplate compileTemplate(Document document, StyleSheet styleSheet, ImageResolver resolver) {
+        return compileTemplate(document, styleSheet, resolver, images.imageStore());
+    }
+
+    /**
+     * Compiles a document into a {@link FoTemplate} like {@link #compileTemplate(Document, StyleSheet, ImageResolver)},
+     * but registers the image bytes in the given store instead of the store of the generator.
+     * The store has to be bound whenever the filled template is rendered.
+     *
+     * @param document   {@link Document} containing placeholders
+     * @param styleSheet {@link StyleSheet} defining styles
+     * @param resolver   {@link ImageResolver} for image handling
+     * @param imageStore the store for the image bytes, or {@code null} to embed data URIs
+     * @return the compiled template
+     * @throws IllegalArgumentException if the placeholders cannot be compiled, see {@link FoTemplate}
+     */
+    @Internal
+    public FoTemplate compileTemplate(Document document, StyleSheet styleSheet, ImageResolver resolver,
+                                      ImageStore imageStore) {
+        if (document == null || styleSheet == null) {
+            throw new IllegalArgumentException("Document and StyleSheet must not be null");
+        }
+        return FoTemplate.compile(generateInto(document, styleSheet, resolver, imageStore, "template"));
+    }
+
+    /**
+     * Checks whether the XSL-FO of a document can be generated more than once. The rows of a
+     * {@link TableRowSource} are consumed while its table is generated, so a document with such
+     * a table can be generated only once. The content of extension elements is not inspected.
+     *
+     * @param document the document
+     * @return {@code true} if the document contains no table with a row source
+     */
+    @Internal
+    public static boolean isRepeatable(Document document) {
+        for (PageSequence sequence : document.pageSequences()) {
+            if ((sequence.header() != null && hasRowSource(sequence.header().elements()))
+                    || (sequence.footer() != null && hasRowSource(sequence.footer().elements()))
+                    || hasRowSource(sequence.body().elements())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasRowSource(List<? extends Element> elements) {
+        if (elements != null) {
+            for (Element element : elements) {
+                if (hasRowSource(element)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
-        generatePageSequences(contentBuilder, document, styleSheet, headlines, resolver);
+    private static boolean hasRowSource(Element element) {
+        return switch (element) {
+            case Section section -> hasRowSource(section.getElements());
+            case Part part -> hasRowSource(part.getElements());
+            case SimpleList list -> hasRowSource(list.getItems());
+            case ListItem item -> hasRowSource(item.getElements());
+            case LayoutTable table -> hasRowSource(table.getElementLeft()) || hasRowSource(table.getElementRight());
+            case Table table -> table.getBodyRows() != null || hasRowSource(table.getHeader())
+                    || hasRowSource(table.getBody()) || hasRowSource(table.getFooter());
+            case null, default -> false;
+        };
+    }
+
+    private static boolean hasRowSource(TableSection section) {
+        if (section != null && section.rows() != null) {
+            for (TableRow row : section.rows()) {
+                if (row != null && row.cells() != null) {
+                    for (TableCell cell : row.cells()) {
+                        if (cell != null && hasRowSource(cell.getElements())) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Generates the complete XSL-FO document into a buffer.
+     * @param document {@link Document} representing the content structure
+     * @param styleSheet {@link StyleSheet} defining styles
+     * @param resolver {@link ImageResolver} for image handling
+     * @param imageStore the store for the image bytes, or {@code null} to embed data URIs
+     * @param mode the output the document is generated for, recorded in the {@link FoGenerateEvent}
+     * @return buffer containing the XSL-FO document
+     */
+    private StringBuilder generateInto(Document document, StyleSheet styleSheet, ImageResolver resolver,
+                                       ImageStore imageStore, String mode) {
+        FoGenerateEvent event = new FoGenerateEvent();
+        event.begin();
+        Document laidOut = pageSequenceSplitting.split(document);
 
         StringBuilder foBuilder = new StringBuilder();
+        List<Headline> headlines = new ArrayList<>();
         String defaultFontFamily = findDefaultFontFamily(styleSheet);
 
         generateRootStart(foBuilder, document, defaultFontFamily);
         generateLayoutMasterSet(foBuilder, styleSheet);
         generateDeclarations(foBuilder, document);
 
-        generateBookmarks(foBuilder, headlines);
-
-        foBuilder.append(contentBuilder);
-
+        int bookmarkOffset = foBuilder.length();
+        // The font attributes of the text styles are serialized once for all elements of the document
+        Generation generation = new Generation(styleSheet, TextStyleFragments.of(styleSheet), resolver,
+                images.withImageStore(imageStore));
+        int chunks = 0;
+        if (pool == null) {
+            generatePageSequences(foBuilder, laidOut, headlines, (builder, elements, firstScope, regionHeadlines, isExternalArtefact) ->
+                    generateTopLevelElements(elements, firstScope, generation, builder, regionHeadlines, isExternalArtefact));
+        } else {
+            Deque<List<ForkJoinTask<Chunk>>> regions = forkRegions(laidOut, generation);
+            List<List<ForkJoinTask<Chunk>>> forked = List.copyOf(regions);
+            chunks = forked.stream().mapToInt(List::size).sum();
+            try {
+                // Reserve the space of all chunks at once instead of growing the buffer while joining
+                long chunkLength = 0;
+                for (List<ForkJoinTask<Chunk>> region : forked) {
+                    for (ForkJoinTask<Chunk> task : region) {
+                        chunkLength += task.join().fo().length();
+                    }
+                }
+                foBuilder.ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, foBuilder.length() + chunkLength * 11 / 10));
+                generatePageSequences(foBuilder, laidOut, headlines, (builder, elements, firstScope, regionHeadlines, isExternalArtefact) ->
+                        joinRegion(regions.removeFirst(), builder, regionHeadlines));
+            } catch (RuntimeException | Error e) {
+                // Do not keep the pool busy with a document that has already failed
+                forked.forEach(region -> region.forEach(task -> task.cancel(false)));
+                throw e;
+            }
+        }
+        generateBookmarks(foBuilder, bookmarkOffset, headlines);
         generateRootEnd(foBuilder);
 
-        return foBuilder.toString();
+        if (event.shouldCommit()) {
+            event.documentId = Integer.toHexString(System.identityHashCode(document));
+            event.mode = mode;
+            event.foLength = foBuilder.length();
+            event.pageSequences = laidOut.pageSequences().size();
+            event.bookmarks = headlines.size();
+            event.chunks = chunks;
+            event.commit();
+        }
+        return foBuilder;
     }
 
     /**
      * Generates a block-level element. An {@code null} element is ignored.
-     * If no generator is registered for the element type, a warning is logged.
+     * If no generator is registered for an extension element or an inline element is passed,
+     * a warning is logged.
      * @param element {@link Element} to generate
-     * @param styleSheet {@link StyleSheet} for styling
-     * @param builder StringBuilder to append generated FO
-     * @param headlines List of headlines for bookmarks
-     * @param resolver {@link ImageResolver} for image handling
-     * @param isExternalArtefact indicates if the element is part of an external artefact (e.g., header/footer)
+     * @param context {@link FoContext} of the enclosing top-level element
      */
     @Internal
-    public void generateBlockElement(Element element, StyleSheet styleSheet, StringBuilder builder, List<Headline> headlines, ImageResolver resolver, boolean isExternalArtefact) {
-        if (element == null) return;
-        ElementFoGenerator generator = blockGeneratorRegistry.get(element.getClass());
-        if (generator != null) {
-            generator.generate(element, styleSheet, builder, headlines, resolver, isExternalArtefact);
-        } else {
-            log.warn("No block generator registered for element type {}.", element.getClass().getSimpleName());
+    public void generateBlockElement(Element element, FoContext context) {
+        switch (element) {
+            case null -> { }
+            case Paragraph paragraph -> paragraphGenerator.generate(paragraph, context);
+            case Headline headline -> headlineGenerator.generate(headline, context);
+            case SimpleList list -> listGenerator.generate(list, context);
+            case Table table -> tableGenerator.generate(table, context);
+            case Section section -> sectionGenerator.generate(section, context);
+            case Part part -> partGenerator.generate(part, context);
+            case ListItem item -> listItemGenerator.generate(item, context);
+            case BlockImage image -> imageGenerator.generate(image, context);
+            case LayoutTable table -> layoutTableGenerator.generate(table, context);
+            case ExtensionElement extension -> generateExtension(extension, context);
+            case InlineElement inline ->
+                    log.warn("No block generator registered for element type {}.", inline.getClass().getSimpleName());
         }
     }
 
     /**
      * Generates multiple block-level elements.
      *
-     * @param elements           List of {@link Element} to generate
-     * @param styleSheet         {@link StyleSheet} for styling
-     * @param builder            StringBuilder to append generated FO
-     * @param headlines          List of headlines for bookmarks
-     * @param resolver           {@link ImageResolver} for image handling
-     * @param isExternalArtefact indicates if the elements are part of an external artefact (e.g., header/footer)
+     * @param elements List of {@link Element} to generate
+     * @param context  {@link FoContext} of the enclosing top-level element
      */
     @Internal
-    public void generateBlockElements(List<Element> elements, StyleSheet styleSheet, StringBuilder builder, List<Headline> headlines, ImageResolver resolver, boolean isExternalArtefact) {
+    public void generateBlockElements(List<Element> elements, FoContext context) {
         if (elements == null) return;
         for (Element element : elements) {
-            generateBlockElement(element, styleSheet, builder, headlines, resolver, isExternalArtefact);
+            generateBlockElement(element, context);
         }
     }
 
     /**
      * Generates an inline element. An {@code null} element is ignored. If no generator is registered
-     * for the element type, a warning is logged.
+     * for an extension element, a warning is logged.
      * @param element {@link InlineElement} to generate
-     * @param styleSheet {@link StyleSheet} for styling
-     * @param builder StringBuilder to append generated FO
+     * @param context {@link FoContext} of the enclosing top-level element
      */
     @Internal
-    public void generateInlineElement(InlineElement element, StyleSheet styleSheet, StringBuilder builder) {
-        if (element == null) return;
-        InlineElementFoGenerator generator = inlineGeneratorRegistry.get(element.getClass());
+    public void generateInlineElement(InlineElement element, FoContext context) {
+        switch (element) {
+            case null -> { }
+            case Hyperlink link -> hyperlinkGenerator.generate(link, context);
+            case TextRun run -> textRunGenerator.generate(run, context);
+            case PageNumber pageNumber -> pageNumberGenerator.generate(pageNumber, context);
+            case Footnote footnote -> footnoteGenerator.generate(footnote, context);
+            case InlineExtensionElement extension -> generateExtension(extension, context);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void generateExtension(Element element, FoContext context) {
+        ExtensionFoGenerator<Element> generator = (ExtensionFoGenerator<Element>) extensionGenerators.get(element.getClass());
         if (generator != null) {
-            generator.generate(element, styleSheet, builder);
+            generator.generate(element, context, this);
         } else {
-            log.warn("No inline generator registered for element type {}.", element.getClass().getSimpleName());
+            log.warn("No generator registered for extension element type {}.", element.getClass().getSimpleName());
         }
     }
 
     // --- Private Generation Steps ---
 
+    /**
+     * Generates the top-level elements of a header, footer or body, each with its own
+     * {@link IdAllocator}. With a {@link FoFragmentCache}, cached fragments are appended
+     * instead of generating the element again.
+     * @param elements List of {@link Element} to generate
+     * @param firstScope number of the first element among all top-level elements of the document
+     * @param generation the style sheet, text styles and image handling of the document
+     * @param builder StringBuilder to append generated FO
+     * @param headlines List of headlines for bookmarks
+     * @param isExternalArtefact indicates if the elements are part of an external artefact (e.g., header/footer)
+     */
+    private void generateTopLevelElements(List<Element> elements, int firstScope, Generation generation, StringBuilder builder,
+                                          List<Headline> headlines, boolean isExternalArtefact) {
+        if (elements == null) return;
+        for (int i = 0; i < elements.size(); i++) {
+            Element element = elements.get(i);
+            FoFragmentCache.Key key = fragmentCache == null ? null
+                    : fragmentCache.key(element, generation.styleSheet(), generation.resolver(), generation.images(),
+                    isExternalArtefact);
+            if (key == null) {
+                generateBlockElement(element, context(generation, builder, headlines, firstScope + i, isExternalArtefact));
+            } else {
+                String fragment = fragmentCache.get(key, generation.images().imageStore());
+                if (fragment != null) {
+                    builder.append(fragment);
+                } else {
+                    int start = builder.length();
+                    generateBlockElement(element, context(generation, builder, headlines, firstScope + i, isExternalArtefact));
+                    fragmentCache.put(key, builder.substring(start), generation.images().imageStore());
+                }
+            }
+        }
+    }
+
+    private FoContext context(Generation generation, StringBuilder builder, List<Headline> headlines, int scope,
+                              boolean isExternalArtefact) {
+        return new FoContext(generation.styleSheet(), generation.textStyles(), generation.resolver(),
+                generation.images(), builder, headlines,
+                new IdAllocator(scope), isExternalArtefact);
+    }
+
     /**
      * Generates the page sequences for the document.
      * @param builder StringBuilder to append generated FO
      * @param document {@link Document} representing the content structure
-     * @param styleSheet {@link StyleSheet} defining styles
      * @param headlines List of headlines for bookmarks
-     * @param resolver {@link ImageResolver} for image handling
+     * @param content writes the elements of the headers, footers and bodies
      */
     @Internal
-    private void generatePageSequences(StringBuilder builder, Document document, StyleSheet styleSheet, List<Headline> headlines, ImageResolver resolver) {
+    private void generatePageSequences(StringBuilder builder, Document document, List<Headline> headlines, RegionContent content) {
+        int scope = 0;
         for (PageSequence sequence : document.pageSequences()) {
             log.debug("Generating page-sequence with master-reference '{}'.", sequence.styleClass());
 
             TagBuilder pageSeq = GenerateUtils.tagBuilder(PAGE_SEQUENCE)
                     .addAttribute(MASTER_REFERENCE, sequence.styleClass());
+            pageSeq.open(builder);
 
             // Header
             if (sequence.header() != null) {
-                pageSeq.addChild(
-                        createStaticContent(XSL_REGION_BEFORE, sequence.header().elements(),
-                                styleSheet, headlines, resolver)
-                );
+                generateStaticContent(builder, XSL_REGION_BEFORE, sequence.header().elements(), scope, headlines, content);
+                scope += size(sequence.header().elements());
             }
 
             // Footer
             if (sequence.footer() != null) {
-                pageSeq.addChild(
-                        createStaticContent(XSL_REGION_AFTER, sequence.footer().elements(),
-                                styleSheet, headlines, resolver)
-                );
+                generateStaticContent(builder, XSL_REGION_AFTER, sequence.footer().elements(), scope, headlines, content);
+                scope += size(sequence.footer().elements());
             }
             // Body
-            pageSeq.addChild(
-                    createFlow(sequence.body().elements(),
-                            styleSheet, headlines, resolver)
-            );
-            pageSeq.buildInto(builder);
+            generateFlow(builder, sequence.body().elements(), scope, headlines, content);
+            scope += size(sequence.body().elements());
+
+            pageSeq.close(builder);
+        }
+    }
+
+    /**
+     * Submits the elements of all headers, footers and bodies to the pool, split into chunks
+     * of at most {@link #chunkSize} elements. The regions are returned in the order in which
+     * {@link #generatePageSequences} writes them.
+     * @param document {@link Document} representing the content structure
+     * @param generation the style sheet, text styles and image handling of the document
+     * @return the chunk tasks of every region, in document order
+     */
+    private Deque<List<ForkJoinTask<Chunk>>> forkRegions(Document document, Generation generation) {
+        Deque<List<ForkJoinTask<Chunk>>> regions = new ArrayDeque<>();
+        int scope = 0;
+        for (PageSequence sequence : document.pageSequences()) {
+            if (sequence.header() != null) {
+                regions.add(forkChunks(sequence.header().elements(), scope, generation, true));
+                scope += size(sequence.header().elements());
+            }
+            if (sequence.footer() != null) {
+                regions.add(forkChunks(sequence.footer().elements(), scope, generation, true));
+                scope += size(sequence.footer().elements());
+            }
+            regions.add(forkChunks(sequence.body().elements(), scope, generation, false));
+            scope += size(sequence.body().elements());
         }
+        return regions;
+    }
+
+    private List<ForkJoinTask<Chunk>> forkChunks(List<Element> elements, int firstScope, Generation generation,
+                                                 boolean isExternalArtefact) {
+        if (elements == null || elements.isEmpty()) {
+            return List.of();
+        }
+        List<ForkJoinTask<Chunk>> chunks = new ArrayList<>();
+        for (int from = 0; from < elements.size(); from += chunkSize) {
+            List<Element> chunkElements = elements.subList(from, Math.min(from + chunkSize, elements.size()));
+            int chunkScope = firstScope + from;
+            chunks.add(pool.submit(() -> {
+                Chunk chunk = new Chunk(new StringBuilder(), new ArrayList<>());
+                generateTopLevelElements(chunkElements, chunkScope, generation, chunk.fo(), chunk.headlines(),
+                        isExternalArtefact);
+                return chunk;
+            }));
+        }
+        return chunks;
+    }
+
+    /**
+     * Waits for the chunks of a region and appends them in order. If a chunk failed, its
+     * exception is rethrown.
+     */
+    private static void joinRegion(List<ForkJoinTask<Chunk>> chunks, StringBuilder builder, List<Headline> headlines) {
+        for (ForkJoinTask<Chunk> task : chunks) {
+            Chunk chunk = task.join();
+            builder.append(chunk.fo());
+            headlines.addAll(chunk.headlines());
+        }
+    }
+
+    private static int size(List<Element> elements) {
+        return elements == null ? 0 : elements.size();
     }
 
     @Internal
-    private void generateBookmarks(StringBuilder foBuilder, List<Headline> headlines) {
+    private void generateBookmarks(StringBuilder foBuilder, int offset, List<Headline> headlines) {
         if (headlines == null || headlines.isEmpty()) {
             return;
         }
         BookmarkGenerator generator = new BookmarkGenerator();
         String bookmarkTreeXml = generator.generateBookmarkTree(headlines);
-        foBuilder.append(bookmarkTreeXml);
+        foBuilder.insert(offset, bookmarkTreeXml);
     }
 
     private void generateRootStart(StringBuilder foBuilder, Document document, String defaultFontFamily) {
@@ -235,10 +638,14 @@ public class XslFoGenerator {
         foBuilder.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
                 .append("<fo:root xmlns:fo=\"http://www.w3.org/1999/XSL/Format\"")
                 .append(" xmlns:fox=\"http://xmlgraphics.apache.org/fop/extensions\"")
-                .append(" xml:lang=\"").append(GenerateUtils.escapeXml(lang)).append("\" ");
+                .append(" xml:lang=\"");
+        GenerateUtils.appendEscapedXml(foBuilder, lang);
+        foBuilder.append("\" ");
 
         if (defaultFontFamily != null && !defaultFontFamily.isEmpty()) {
-            foBuilder.append(" font-family=\"").append(GenerateUtils.escapeXml(defaultFontFamily)).append("\"");
+            foBuilder.append(" font-family=\"");
+            GenerateUtils.appendEscapedXml(foBuilder, defaultFontFamily);
+            foBuilder.append("\" ");
         }
 
         foBuilder.append("xmlns:x=\"adobe:ns:meta/\" xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\">");
@@ -359,6 +766,26 @@ public class XslFoGenerator {
         foBuilder.append("</fo:root>");
     }
 
+    /**
+     * Streams the buffered XSL-FO document as namespace-aware SAX events into the handler.
+     * The buffer is read in place, without copying it into a String or encoding it to bytes.
+     * @param fo the generated XSL-FO document
+     * @param handler the {@link ContentHandler} receiving the events
+     * @throws SAXException if the document cannot be delivered to the handler
+     */
+    static void emitSaxEvents(CharSequence fo, ContentHandler handler) throws SAXException {
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            XMLReader reader = factory.newSAXParser().getXMLReader();
+            reader.setContentHandler(handler);
+            reader.parse(new InputSource(new CharSequenceReader(fo)));
+        } catch (ParserConfigurationException | IOException e) {
+            throw new SAXException("Failed to emit XSL-FO as SAX events", e);
+        }
+    }
+
     /**
      * Find the default-text-style if set. This text-style would be set als
      * default for the hole document
@@ -382,42 +809,201 @@ public class XslFoGenerator {
 
 
     /**
-     * TagBuilder to create a static-content for header or footer of the document
+     * Generates a static-content for header or footer of the document
+     * @param builder StringBuilder to append generated FO
      * @param flowName name of the flow
      * @param elements List of elements to place in the document
-     * @param styleSheet {@link StyleSheet} of the document
+     * @param firstScope number of the first element among all top-level elements of the document
      * @param headlines List of {@link Headline} elements (for bookmark generation)
-     * @param resolver {@link ImageResolver} to find image resources
-     * @return TagBuilder to build the tag
+     * @param content writes the elements
      */
-    private TagBuilder createStaticContent(String flowName, List<Element> elements,
-                                                         StyleSheet styleSheet, List<Headline> headlines,
-                                                         ImageResolver resolver) {
-        StringBuilder content = new StringBuilder();
-        generateBlockElements(elements, styleSheet, content, headlines, resolver, true);
-
-        return GenerateUtils.tagBuilder(STATIC_CONTENT_TAG)
-                .addAttribute(GenerateConst.FLOW_NAME, flowName)
-                .addNestedContent(content.toString());
+    private void generateStaticContent(StringBuilder builder, String flowName, List<Element> elements,
+                                       int firstScope, List<Headline> headlines, RegionContent content) {
+        TagBuilder staticContent = GenerateUtils.tagBuilder(STATIC_CONTENT_TAG)
+                .addAttribute(GenerateConst.FLOW_NAME, flowName);
+        staticContent.open(builder);
+        content.write(builder, elements, firstScope, headlines, true);
+        staticContent.close(builder);
     }
 
     /**
      * Generates an flow tag (used for the body)
+     * @param builder StringBuilder to append generated FO
      * @param elements list of elements that should be added to the flox
-     * @param styleSheet {@link StyleSheet} used in the document
+     * @param firstScope number of the first element among all top-level elements of the document
      * @param headlines List of {@link Headline} in this document for bookmark tree
-     * @param resolver {@link ImageResolver} to find image resources
-     * @return {@link TagBuilder} to create the flow tag
+     * @param content writes the elements
      */
-    private TagBuilder createFlow(List<Element> elements,
-                                                StyleSheet styleSheet, List<Headline> headlines,
-                                                ImageResolver resolver) {
-        StringBuilder content = new StringBuilder();
-        generateBlockElements(elements, styleSheet, content, headlines, resolver, false);
+    private void generateFlow(StringBuilder builder, List<Element> elements,
+                              int firstScope, List<Headline> headlines, RegionContent content) {
+        TagBuilder flow = GenerateUtils.tagBuilder(FLOW_TAG)
+                .addAttribute(GenerateConst.FLOW_NAME, XSL_REGION_BODY);
+        flow.open(builder);
+        content.write(builder, elements, firstScope, headlines, false);
+        flow.close(builder);
+    }
 
-        return GenerateUtils.tagBuilder(FLOW_TAG)
-                .addAttribute(GenerateConst.FLOW_NAME, XSL_REGION_BODY)
-                .addNestedContent(content.toString());
+    /**
+     * Writes the elements of a header, footer or body, either by generating them directly
+     * or by joining chunks that were generated in the pool.
+     */
+    @FunctionalInterface
+    private interface RegionContent {
+        void write(StringBuilder builder, List<Element> elements, int firstScope, List<Headline> headlines, boolean isExternalArtefact);
     }
 
-}
\ No newline at end of file
+    /**
+     * The XSL-FO and the headlines of a chunk of top-level elements.
+     */
+    private record Chunk(StringBuilder fo, List<Headline> headlines) {
+    }
+
+    /**
+     * The inputs of one generated document that are shared by all of its elements.
+     */
+    private record Generation(StyleSheet styleSheet, TextStyleFragments textStyles, ImageResolver resolver,
+                              ImageSettings images) {
+    }
+
+    /**
+     * Minimal {@link Reader} over a {@link CharSequence}, so the generated buffer can be
+     * handed to the SAX parser without materializing a String.
+     */
+    private static final class CharSequenceReader extends Reader {
+        private final CharSequence chars;
+        private int position;
+
+        private CharSequenceReader(CharSequence chars) {
+            this.chars = chars;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position >= chars.length()) {
+                return -1;
+            }
+            int count = Math.min(length, chars.length() - position);
+            if (chars instanceof StringBuilder sb) {
+                sb.getChars(position, position + count, buffer, offset);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    buffer[offset + i] = chars.charAt(position + i);
+                }
+            }
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+
+    /**
+     * Builder for an {@link XslFoGenerator}. By default the XSL-FO is generated on the calling
+     * thread, every element is generated, page sequences are not split and images are embedded
+     * as data URIs.
+     *
+     * <pre>{@code
+     * XslFoGenerator generator = XslFoGenerator.builder()
+     *     .withPool(ForkJoinPool.commonPool())
+     *     .withFragmentCache(new FoFragmentCache(FoFragmentCache.DEFAULT_MAX_SIZE))
+     *     .withImages(ImageSettings.defaults().withImageStore(new ImageStore()))
+     *     .build();
+     * }</pre>
+     */
+    @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+    public static final class Builder {
+        private ForkJoinPool pool;
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+        private FoFragmentCache fragmentCache;
+        private PageSequenceSplitting pageSequenceSplitting = PageSequenceSplitting.disabled();
+        private ImageSettings images = ImageSettings.defaults();
+
+        private Builder() {
+        }
+
+        /**
+         * Generates the XSL-FO of the page sequences in the given pool. The {@link ImageResolver}
+         * passed to the generate methods is then called from the threads of the pool and has to
+         * be thread-safe.
+         *
+         * @param pool the pool generating the chunks; must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if pool is {@code null}
+         */
+        public Builder withPool(ForkJoinPool pool) {
+            this.pool = Objects.requireNonNull(pool, "pool must not be null");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of top-level elements generated by one task in parallel mode.
+         * Defaults to {@link #DEFAULT_CHUNK_SIZE}.
+         *
+         * @param chunkSize the maximum number of top-level elements generated by one task
+         * @return this builder for method chaining
+         * @throws IllegalArgumentException if chunkSize is less than 1
+         */
+        public Builder withChunkSize(int chunkSize) {
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("chunkSize must be at least 1, but was " + chunkSize);
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Reuses the XSL-FO of repeated header, footer and section content from the given cache.
+         *
+         * @param fragmentCache the cache of generated fragments; must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if fragmentCache is {@code null}
+         */
+        public Builder withFragmentCache(FoFragmentCache fragmentCache) {
+            this.fragmentCache = Objects.requireNonNull(fragmentCache, "fragmentCache must not be null");
+            return this;
+        }
+
+        /**
+         * Splits the bodies of large page sequences into consecutive page sequences.
+         * Defaults to {@link PageSequenceSplitting#disabled()}.
+         *
+         * @param pageSequenceSplitting when to split bodies into further page sequences; must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if pageSequenceSplitting is {@code null}
+         */
+        public Builder withPageSequenceSplitting(PageSequenceSplitting pageSequenceSplitting) {
+            this.pageSequenceSplitting = Objects.requireNonNull(pageSequenceSplitting,
+                    "pageSequenceSplitting must not be null");
+            return this;
+        }
+
+        /**
+         * Sets how images are loaded and put into the XSL-FO. Defaults to
+         * {@link ImageSettings#defaults()}.
+         * <p>
+         * With an {@link ImageStore}, the XSL-FO references the image bytes by internal URIs and
+         * can only be rendered by a FOP factory whose resource resolver serves these URIs from
+         * {@link ImageStore#find(String)}, while the store is bound to the rendering thread.
+         *
+         * @param images the image settings; must not be {@code null}
+         * @return this builder for method chaining
+         * @throws NullPointerException if images is {@code null}
+         */
+        public Builder withImages(ImageSettings images) {
+            this.images = Objects.requireNonNull(images, "images must not be null");
+            return this;
+        }
+
+        /**
+         * Builds the generator.
+         *
+         * @return the configured generator
+         */
+        public XslFoGenerator build() {
+            return new XslFoGenerator(this);
+        }
+    }
+}
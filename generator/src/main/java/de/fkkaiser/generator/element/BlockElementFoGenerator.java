@@ -16,10 +16,11 @@
 package de.fkkaiser.generator.element;
 
 import de.fkkaiser.generator.GenerateConst;
+import de.fkkaiser.generator.TextStyleFragments;
 import de.fkkaiser.generator.XslFoGenerator;
+import de.fkkaiser.model.structure.Element;
 import de.fkkaiser.model.style.ElementBlockStyleProperties;
 import de.fkkaiser.model.style.PageBreakVariant;
-import de.fkkaiser.model.style.StyleSheet;
 import de.fkkaiser.generator.TagBuilder;
 
 /**
@@ -29,10 +30,11 @@ import de.fkkaiser.generator.TagBuilder;
  * <p>This class provides shared logic for Section, Part, and potentially other
  * block containers.</p>
  *
+ * @param <E> the type of element this generator handles
  * @author Katrin Kaiser
- * @version 1.2.1
+ * @version 1.3.1
  */
-public abstract class BlockElementFoGenerator extends ElementFoGenerator {
+public abstract class BlockElementFoGenerator<E extends Element> extends ElementFoGenerator<E> {
 
     protected final XslFoGenerator mainGenerator;
 
@@ -47,16 +49,16 @@ public abstract class BlockElementFoGenerator extends ElementFoGenerator {
      *
      * @param builder    The StringBuilder to append to
      * @param style      The block style properties
-     * @param styleSheet The stylesheet for font resolution
+     * @param textStyles The font attributes of the text styles
      */
     protected void appendBlockAttributes(TagBuilder builder,
                                          ElementBlockStyleProperties style,
-                                         StyleSheet styleSheet) {
+                                         TextStyleFragments textStyles) {
 
         if (style == null) return;
 
         // Font style
-        setFontStyle(styleSheet, style, builder);
+        setFontStyle(textStyles, style, builder);
 
         // Page break controls
         appendPageBreakAttributes(builder, style);
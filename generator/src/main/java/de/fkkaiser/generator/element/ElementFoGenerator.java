@@ -15,54 +15,43 @@
  */
 package de.fkkaiser.generator.element;
 
-import de.fkkaiser.generator.GenerateUtils;
-import de.fkkaiser.generator.ImageResolver;
+import de.fkkaiser.generator.FoContext;
 import de.fkkaiser.generator.TagBuilder;
+import de.fkkaiser.generator.TextStyleFragments;
 import de.fkkaiser.model.structure.Element;
-import de.fkkaiser.model.structure.Headline;
 import de.fkkaiser.model.style.ElementStyleProperties;
-import de.fkkaiser.model.style.StyleSheet;
 import de.fkkaiser.model.style.TextBlockStyleProperties;
-import de.fkkaiser.model.style.TextStyle;
-
-import java.util.List;
-import java.util.Optional;
 
 /**
  * The abstract class for generating XSL-FO strings for specific elements.
  *
+ * @param <E> the type of element this generator handles
  * @author Katrin Kaiser
- * @version 1.1.0
+ * @version 1.2.1
  */
-public abstract class ElementFoGenerator {
+public abstract class ElementFoGenerator<E extends Element> {
 
 
     /**
      * Generates the XSL-FO string for a specific element.
      * @param element The element to be processed.
-     * @param styleSheet The entire StyleSheet for accessing, for example, Font information.
-     * @param builder The StringBuilder to which the generated string is appended.
+     * @param context The context of the enclosing top-level element; the generated string is
+     *                appended to its builder.
      */
-    public abstract void generate(Element element,
-                                  StyleSheet styleSheet,
-                                  StringBuilder builder,
-                                  List<Headline> headlines,
-                                  ImageResolver resolver,
-                                  boolean isExternalArtefact);
+    public abstract void generate(E element, FoContext context);
 
 
     /**
-     * Sets the font style attributes to the provided StringBuilder based on the given StyleSheet and ElementStyleProperties.
+     * Sets the font style attributes to the provided StringBuilder based on the given text styles and ElementStyleProperties.
      *
-     * @param styleSheet The StyleSheet containing font definitions to look up.
+     * @param textStyles The font attributes of the text styles of the document.
      * @param style The ElementStyleProperties to determine the font style from.
      * @param builder The StringBuilder to append the font style attributes to.
      */
-    protected void setFontStyle(StyleSheet styleSheet, ElementStyleProperties style, TagBuilder builder) {
+    protected void setFontStyle(TextStyleFragments textStyles, ElementStyleProperties style, TagBuilder builder) {
 
         if (style instanceof TextBlockStyleProperties textStyle) {
-            Optional<TextStyle> textStyleOptional = styleSheet.textStyles().stream().filter(ts -> ts.name().equals(textStyle.getTextStyleName())).findAny();
-            textStyleOptional.ifPresent(value -> GenerateUtils.appendTextStyleTags(builder, value));
+            builder.addAttributes(textStyles.get(textStyle.getTextStyleName()));
         }
     }
 
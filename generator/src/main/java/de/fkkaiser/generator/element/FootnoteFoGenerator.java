@@ -15,6 +15,7 @@
  */
 package de.fkkaiser.generator.element;
 
+import de.fkkaiser.generator.FoContext;
 import de.fkkaiser.generator.GenerateConst;
 import de.fkkaiser.generator.GenerateUtils;
 import de.fkkaiser.generator.TagBuilder;
@@ -24,7 +25,7 @@ import de.fkkaiser.model.structure.InlineElement;
 import de.fkkaiser.model.structure.TextBlock;
 import de.fkkaiser.model.style.ElementBlockStyleProperties;
 import de.fkkaiser.model.style.FootnoteStyleProperties;
-import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.generator.TextStyleFragments;
 import de.fkkaiser.generator.XslFoGenerator;
 import de.fkkaiser.model.style.TextBlockStyleProperties;
 
@@ -32,12 +33,13 @@ import de.fkkaiser.model.style.TextBlockStyleProperties;
  * Generates XSL-FO for Footnote elements.
  *
  * @author Katrin Kaiser
- * @version 1.1.1
+ * @version 1.2.1
  */
-public class FootnoteFoGenerator extends InlineElementFoGenerator {
+public class FootnoteFoGenerator extends InlineElementFoGenerator<Footnote> {
 
     private static final String  FOOTNOTE_TAG = "footnote";
     private static final String FOOTNOTE_BODY_TAG = "footnote-body";
+    private static final String PREFIX_ID = "footnote-";
 
     private final XslFoGenerator mainGenerator;
     private final StyleApplier styleHelper;
@@ -53,13 +55,13 @@ public class FootnoteFoGenerator extends InlineElementFoGenerator {
         this.styleHelper = new StyleApplier(mainGenerator);
     }
 
-    private static class StyleApplier extends TextBlockFoGenerator {
+    private static class StyleApplier extends TextBlockFoGenerator<TextBlock> {
         public StyleApplier(XslFoGenerator mainGenerator) {
             super(mainGenerator);
         }
 
-        public void applyStyles(TagBuilder builder, ElementBlockStyleProperties style, StyleSheet styleSheet) {
-            super.appendBlockAttributes(builder, style, styleSheet);
+        public void applyStyles(TagBuilder builder, ElementBlockStyleProperties style, TextStyleFragments textStyles) {
+            super.appendBlockAttributes(builder, style, textStyles);
         }
 
         @Override protected String getRole(TextBlock textBlock) { return null; }
@@ -68,13 +70,14 @@ public class FootnoteFoGenerator extends InlineElementFoGenerator {
 
     /**
      * Generates the XSL-FO string for a footnote element.
-     * @param element    The inline element to be processed.
-     * @param styleSheet The entire StyleSheet for accessing font information.
-     * @param builder    The StringBuilder to which the generated string is appended.
+     * @param footnote The footnote to be processed.
+     * @param context  The context providing the style sheet, the allocator for the id of the
+     *                 footnote and the builder to which the generated string is appended.
      */
     @Override
-    public void generate(InlineElement element, StyleSheet styleSheet, StringBuilder builder) {
-        Footnote footnote = (Footnote) element;
+    public void generate(Footnote footnote, FoContext context) {
+        StringBuilder builder = context.builder();
+        footnote.setId(context.ids().next(PREFIX_ID));
         FootnoteStyleProperties styleProperties = footnote.getResolvedStyle();
 
         // <Note> tagging. We will create the accessible structure manually.
@@ -96,20 +99,22 @@ public class FootnoteFoGenerator extends InlineElementFoGenerator {
                 .addAttribute(GenerateConst.ID, footnote.getId());
 
         if (styleProperties != null) {
-            styleHelper.applyStyles(footnoteBlock, styleProperties, styleSheet);
+            styleHelper.applyStyles(footnoteBlock, styleProperties, context.textStyles());
         }
 
+        footnoteBuilder.open(builder);
+        footnoteBodyBuilder.open(builder);
+        footnoteBlock.open(builder);
+
         // Generate inline content for the footnote text
         if (footnote.getInlineElements() != null) {
-            StringBuilder inlineContent = new StringBuilder();
             for (InlineElement inline : footnote.getInlineElements()) {
-                mainGenerator.generateInlineElement(inline, styleSheet, inlineContent);
+                mainGenerator.generateInlineElement(inline, context);
             }
-            footnoteBlock.addNestedContent(inlineContent.toString());
         }
 
-        footnoteBodyBuilder.addChild(footnoteBlock);
-        footnoteBuilder.addChild(footnoteBodyBuilder);
-        footnoteBuilder.buildInto(builder);
+        footnoteBlock.close(builder);
+        footnoteBodyBuilder.close(builder);
+        footnoteBuilder.close(builder);
     }
 }
\ No newline at end of file
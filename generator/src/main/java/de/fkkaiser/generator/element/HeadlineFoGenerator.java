@@ -19,7 +19,6 @@ import de.fkkaiser.generator.GenerateConst;
 import de.fkkaiser.generator.TagBuilder;
 import de.fkkaiser.generator.XslFoGenerator;
 import de.fkkaiser.model.structure.Headline;
-import de.fkkaiser.model.structure.TextBlock;
 import de.fkkaiser.model.style.HeadlineStyleProperties;
 import de.fkkaiser.model.style.TextBlockStyleProperties;
 
@@ -29,7 +28,7 @@ import de.fkkaiser.model.style.TextBlockStyleProperties;
  * @author Katrin Kaiser
  * @version 1.1.2
  */
-public class HeadlineFoGenerator extends TextBlockFoGenerator {
+public class HeadlineFoGenerator extends TextBlockFoGenerator<Headline> {
 
 
     /**
@@ -42,15 +41,12 @@ public class HeadlineFoGenerator extends TextBlockFoGenerator {
 
     /**
      * Returns the accessibility role for the headline (e.g., "H1", "H2").
-     * @param textBlock The headline element.
+     * @param headline The headline element.
      * @return The corresponding role string.
      */
     @Override
-    protected String getRole(TextBlock textBlock) {
-        if (textBlock instanceof Headline) {
-            return GenerateConst.ROLE_HEADLINE + ((Headline) textBlock).getLevel();
-        }
-        return GenerateConst.ROLE_PARAGRAPH;
+    protected String getRole(Headline headline) {
+        return GenerateConst.ROLE_HEADLINE + headline.getLevel();
     }
 
     /**
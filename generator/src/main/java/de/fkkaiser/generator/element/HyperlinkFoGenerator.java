@@ -15,31 +15,27 @@
  */
 package de.fkkaiser.generator.element;
 
+import de.fkkaiser.generator.FoContext;
 import de.fkkaiser.generator.GenerateConst;
 import de.fkkaiser.generator.GenerateUtils;
 import de.fkkaiser.generator.TagBuilder;
+import de.fkkaiser.generator.TextStyleFragments;
 import de.fkkaiser.model.annotation.Internal;
 import de.fkkaiser.model.structure.Hyperlink;
-import de.fkkaiser.model.structure.InlineElement;
-import de.fkkaiser.model.style.StyleSheet;
 import de.fkkaiser.model.style.TextRunStyleProperties;
-import de.fkkaiser.model.style.TextStyle;
-
-import java.util.Optional;
 
 /**
  * Generator for Hyperlinks
  *
  * @author Katrin Kaiser
- * @version 1.1.1
+ * @version 1.2.1
  */
 @Internal
-public class HyperlinkFoGenerator extends InlineElementFoGenerator {
+public class HyperlinkFoGenerator extends InlineElementFoGenerator<Hyperlink> {
 
     private static final String BASIC_LINK_TAG = "basic-link";
     @Override
-    public void generate(InlineElement element, StyleSheet styleSheet, StringBuilder builder) {
-        Hyperlink link = (Hyperlink) element;
+    public void generate(Hyperlink link, FoContext context) {
 
         TagBuilder linkBuilder = GenerateUtils.tagBuilder(BASIC_LINK_TAG)
                 .addAttribute(GenerateConst.EXTERNAL_DESTINATION, link.getHref())
@@ -48,12 +44,7 @@ public class HyperlinkFoGenerator extends InlineElementFoGenerator {
         TextRunStyleProperties style = link.getResolvedStyle();
         if (style != null) {
             // Font style from TextStyle
-            Optional<TextStyle> fontStyleOpt = styleSheet.findFontStyleByName(style.getTextStyleName());
-            fontStyleOpt.ifPresent(fontStyle -> linkBuilder
-                    .addAttribute(GenerateConst.FONT_FAMILY, fontStyle.fontFamilyName())
-                    .addAttribute(GenerateConst.FONT_SIZE, fontStyle.fontSize())
-                    .addAttribute(GenerateConst.FONT_WEIGHT, fontStyle.fontWeight())
-                    .addAttribute(GenerateConst.FONT_STYLE, fontStyle.fontStyle()));
+            linkBuilder.addAttributes(context.textStyles().get(style.getTextStyleName()));
 
             // Text-specific styling
             linkBuilder
@@ -64,6 +55,6 @@ public class HyperlinkFoGenerator extends InlineElementFoGenerator {
         }
 
         linkBuilder.addContent(link.getText());
-        linkBuilder.buildInto(builder);
+        linkBuilder.buildInto(context.builder());
     }
 }
\ No newline at end of file
@@ -18,67 +18,62 @@ package de.fkkaiser.generator.element;
 import de.fkkaiser.generator.*;
 import de.fkkaiser.model.annotation.Internal;
 import de.fkkaiser.model.structure.BlockImage;
-import de.fkkaiser.model.structure.Element;
-import de.fkkaiser.model.structure.Headline;
 import de.fkkaiser.model.style.BlockImageStyleProperties;
-import de.fkkaiser.model.style.StyleSheet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.util.List;
 
 /**
  * Generator for Images
  *
  * @author Katrin Kaiser
- * @version 1.2.0
+ * @version 1.5.2
  */
 @Internal
-public class ImageFoGenerator extends ElementFoGenerator {
+public class ImageFoGenerator extends ElementFoGenerator<BlockImage> {
     private static final Logger log = LoggerFactory.getLogger(ImageFoGenerator.class);
 
     /**
      * Generates the FO representation of a BlockImage element.
-     * @param element The element to be processed.
-     * @param styleSheet The entire StyleSheet for accessing, for example, Font information.
-     * @param builder The StringBuilder to which the generated string is appended.
-     * @param headlines The list of headlines in the document (for generating IDs).
-     * @param imageResolver The image resolver to resolve image paths.
-     * @param isExternalArtefact Indicates if the element is part of an external artifact.
+     * @param blockImage The image to be processed.
+     * @param context    The context of the enclosing top-level element.
      */
      @Override
-    public void generate(Element element,
-                         StyleSheet styleSheet,
-                         StringBuilder builder,
-                         List<Headline> headlines,
-                         ImageResolver imageResolver,
-                         boolean isExternalArtefact) {
-        BlockImage blockImage = (BlockImage) element;
+    public void generate(BlockImage blockImage, FoContext context) {
         BlockImageStyleProperties style = blockImage.getResolvedStyle();
 
         TagBuilder blockBuilder = GenerateUtils.tagBuilder(GenerateConst.BLOCK);
 
-        if (isExternalArtefact) {
+        if (context.externalArtefact()) {
             blockBuilder.addAttribute(GenerateConst.CONTENT_TYPE, GenerateConst.EXTERNAL_ARTIFACT);
         }
 
-        appendBlockAttributes(blockBuilder, style, styleSheet);
+        appendBlockAttributes(blockBuilder, style, context.textStyles());
 
         // Create the external-graphic element
         TagBuilder graphicBuilder = GenerateUtils.tagBuilder(GenerateConst.EXTERNAL_GRAPHIC);
         appendImageAttributes(graphicBuilder, style);
 
-        // Resolve the image path and set the src attribute
-        String srcDataUri;
+        // The style of the image overrides the SVG rendering of the document
+        ImageSettings images = style != null && style.getSvgRendering() != null
+                ? context.images().withSvgRendering(style.getSvgRendering())
+                : context.images();
+
+        // Raster images are optimized for the width they are shown at
+        String contentWidth = style != null ? style.getContentWidth() : null;
+
+        // Resolve the image and set the src attribute, a data URI or a URI of the image store.
+        // SVG images rendered as vector graphics keep their alt text like raster images
+        String src;
         if (blockImage.getSvgContent() != null){
-            srcDataUri = ImageUtils.svgContentToDataUri(blockImage.getSvgContent());
+            src = ImageUtils.svgContentToUri(blockImage.getSvgContent(), images);
         } else if (blockImage.getBase64Data() != null) {
-            srcDataUri = blockImage.getBase64Data();
+            src = ImageUtils.base64DataToUri(blockImage.getBase64Data(), images, contentWidth);
         } else {
-            srcDataUri = ImageUtils.resolveToDataUri(blockImage.getPath(), imageResolver);
+            src = ImageUtils.resolveToUri(blockImage.getPath(), context.resolver(), images, contentWidth);
         }
 
-        if (srcDataUri != null) {
-            graphicBuilder.addAttribute(GenerateConst.SRC, srcDataUri);
+        if (src != null) {
+            graphicBuilder.addAttribute(GenerateConst.SRC, src);
 
             String altText = (blockImage.getAltText() != null && !blockImage.getAltText().isEmpty())
                     ? blockImage.getAltText()
@@ -89,17 +84,17 @@ public class ImageFoGenerator extends ElementFoGenerator {
         }
 
         blockBuilder.addChild(graphicBuilder);
-        blockBuilder.buildInto(builder);
+        blockBuilder.buildInto(context.builder());
     }
 
-    private void appendBlockAttributes(TagBuilder builder, BlockImageStyleProperties style, StyleSheet styleSheet) {
+    private void appendBlockAttributes(TagBuilder builder, BlockImageStyleProperties style, TextStyleFragments textStyles) {
         if (style == null) return;
 
         builder
                 .addAttribute(GenerateConst.TEXT_ALIGN, style.getAlignment())
                 .addAttribute(GenerateConst.WIDTH, style.getBlockWidth());
 
-        setFontStyle(styleSheet, style, builder);
+        setFontStyle(textStyles, style, builder);
     }
 
     private void appendImageAttributes(TagBuilder builder, BlockImageStyleProperties style) {
@@ -15,27 +15,27 @@
  */
 package de.fkkaiser.generator.element;
 
+import de.fkkaiser.generator.FoContext;
 import de.fkkaiser.generator.GenerateUtils;
 import de.fkkaiser.model.structure.InlineElement;
-import de.fkkaiser.model.style.StyleSheet;
 
 /**
  * Abstract base class for generating XSL-FO strings for specific inline elements.
  *
+ * @param <E> the type of inline element this generator handles
  * @author Katrin Kaiser
- * @version 1.0.0
+ * @version 1.1.0
  */
-public abstract class InlineElementFoGenerator {
+public abstract class InlineElementFoGenerator<E extends InlineElement> {
 
     /**
      * Generates the XSL-FO string for a specific inline element.
-     * @param element    The inline element to be processed.
-     * @param styleSheet The entire StyleSheet for accessing font information.
-     * @param builder    The StringBuilder to which the generated string is appended.
+     * @param element The inline element to be processed.
+     * @param context The context of the enclosing top-level element, providing the style sheet,
+     *                the ids and the builder to which the generated string is appended.
      */
-    public abstract void generate(InlineElement element, StyleSheet styleSheet, StringBuilder builder);
+    public abstract void generate(E element, FoContext context);
 
-   
     /**
      * Helper to normalize texts in text elements.
      * Replaces '\n' with '\u2028'.
@@ -45,8 +45,19 @@ public abstract class InlineElementFoGenerator {
     protected String normalizeText(String text) {
         if (text == null) return "";
 
-        String normalized = text.replace("\n", "\u2028");
+        String normalized = text.replace('\n', '\u2028');
 
         return GenerateUtils.escapeXml(normalized);
     }
+
+    /**
+     * Normalizes the text like {@link #normalizeText(String)} and appends it directly to the builder.
+     * @param builder the StringBuilder to append to
+     * @param text text that should be normalized
+     */
+    protected void appendNormalizedText(StringBuilder builder, String text) {
+        if (text == null) return;
+
+        GenerateUtils.appendEscapedXml(builder, text.replace('\n', '\u2028'));
+    }
 }
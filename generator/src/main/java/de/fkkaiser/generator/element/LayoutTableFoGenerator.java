@@ -16,20 +16,15 @@
 package de.fkkaiser.generator.element;
 
 import de.fkkaiser.generator.*;
-import de.fkkaiser.model.structure.Element;
-import de.fkkaiser.model.structure.Headline;
 import de.fkkaiser.model.structure.LayoutTable;
-import de.fkkaiser.model.style.StyleSheet;
-
-import java.util.List;
 
 /**
  * Generator for Layout Table
  *
  * @author Katrin Kaiser
- * @version 1.0.1
+ * @version 1.1.0
  */
-public class LayoutTableFoGenerator extends ElementFoGenerator {
+public class LayoutTableFoGenerator extends ElementFoGenerator<LayoutTable> {
 
     protected final XslFoGenerator mainGenerator;
 
@@ -39,21 +34,9 @@ public class LayoutTableFoGenerator extends ElementFoGenerator {
     }
 
     @Override
-    public void generate(Element element,
-                         StyleSheet styleSheet,
-                         StringBuilder builder,
-                         List<Headline> headlines,
-                         ImageResolver resolver,
-                         boolean isExternalArtefact) {
-
-        LayoutTable table = (LayoutTable) element;
-
-        // Generate content for left and right cells
-        StringBuilder leftContent = new StringBuilder();
-        mainGenerator.generateBlockElement(table.getElementLeft(), styleSheet, leftContent, headlines, resolver, false);
-
-        StringBuilder rightContent = new StringBuilder();
-        mainGenerator.generateBlockElement(table.getElementRight(), styleSheet, rightContent, headlines, resolver, false);
+    public void generate(LayoutTable table, FoContext context) {
+        StringBuilder builder = context.builder();
+        FoContext cellContext = context.withExternalArtefact(false);
 
         // Build the table structure
         TagBuilder tableBuilder = GenerateUtils.tagBuilder(GenerateConst.TABLE)
@@ -66,26 +49,31 @@ public class LayoutTableFoGenerator extends ElementFoGenerator {
                 .addChild(
                         GenerateUtils.tagBuilder(GenerateConst.TABLE_COLUMN)
                                 .addAttribute(GenerateConst.COLUMN_WIDTH, "15%")
-                )
-                .addChild(
-                        GenerateUtils.tagBuilder(GenerateConst.TABLE_BODY)
-                                .addChild(
-                                        GenerateUtils.tagBuilder(GenerateConst.TABLE_ROW)
-                                                .addChild(
-                                                        GenerateUtils.tagBuilder(GenerateConst.TABLE_CELL)
-                                                                .addAttribute(GenerateConst.PADDING, "0pt")
-                                                                .addNestedContent(leftContent.toString())
-                                                )
-                                                .addChild(
-                                                        GenerateUtils.tagBuilder(GenerateConst.TABLE_CELL)
-                                                                .addAttribute(GenerateConst.END_INDENT, "0pt")
-                                                                .addAttribute(GenerateConst.TEXT_ALIGN, "end")
-                                                                .addAttribute(GenerateConst.PADDING, "0pt")
-                                                                .addNestedContent(rightContent.toString())
-                                                )
-                                )
                 );
+        TagBuilder bodyBuilder = GenerateUtils.tagBuilder(GenerateConst.TABLE_BODY);
+        TagBuilder rowBuilder = GenerateUtils.tagBuilder(GenerateConst.TABLE_ROW);
+        TagBuilder leftCell = GenerateUtils.tagBuilder(GenerateConst.TABLE_CELL)
+                .addAttribute(GenerateConst.PADDING, "0pt");
+        TagBuilder rightCell = GenerateUtils.tagBuilder(GenerateConst.TABLE_CELL)
+                .addAttribute(GenerateConst.END_INDENT, "0pt")
+                .addAttribute(GenerateConst.TEXT_ALIGN, "end")
+                .addAttribute(GenerateConst.PADDING, "0pt");
+
+        tableBuilder.open(builder);
+        bodyBuilder.open(builder);
+        rowBuilder.open(builder);
+
+        // Generate content for left and right cells directly into the output
+        leftCell.open(builder);
+        mainGenerator.generateBlockElement(table.getElementLeft(), cellContext);
+        leftCell.close(builder);
+
+        rightCell.open(builder);
+        mainGenerator.generateBlockElement(table.getElementRight(), cellContext);
+        rightCell.close(builder);
 
-        tableBuilder.buildInto(builder);
+        rowBuilder.close(builder);
+        bodyBuilder.close(builder);
+        tableBuilder.close(builder);
     }
 }
\ No newline at end of file
@@ -20,12 +20,9 @@ import de.fkkaiser.model.structure.*;
 import de.fkkaiser.model.style.ListItemStyleProperties;
 import de.fkkaiser.model.style.ListStyleProperties;
 import de.fkkaiser.model.style.ListStyleType;
-import de.fkkaiser.model.style.StyleSheet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-
 /**
  * Generates XSL-FO markup for list elements.
  * <p>
@@ -40,9 +37,9 @@ import java.util.List;
  * </p>
  *
  * @author Katrin Kaiser
- * @version 1.4.2
+ * @version 1.7.2
  */
-public class ListFoGenerator extends ElementFoGenerator {
+public class ListFoGenerator extends ElementFoGenerator<SimpleList> {
 
     private static final Logger log = LoggerFactory.getLogger(ListFoGenerator.class);
     private static final String ROLE_LIST = "L";
@@ -70,41 +67,30 @@ public class ListFoGenerator extends ElementFoGenerator {
      * custom labels and supports both "inside" and "outside" list style positioning.
      * </p>
      *
-     * @param element the list element to generate
-     * @param styleSheet the stylesheet containing style definitions
-     * @param builder the StringBuilder to append XSL-FO markup to
-     * @param headlines the list of headlines for cross-referencing
-     * @param resolver the image resolver for resolving image paths
-     * @param isExternalArtefact whether this is an external artifact
+     * @param list    the list element to generate
+     * @param context the context of the enclosing top-level element
      */
     @Override
-    public void generate(Element element,
-                         StyleSheet styleSheet,
-                         StringBuilder builder,
-                         List<Headline> headlines,
-                         ImageResolver resolver,
-                         boolean isExternalArtefact) {
-        SimpleList list = (SimpleList) element;
+    public void generate(SimpleList list, FoContext context) {
         ListStyleProperties style = list.getResolvedStyle();
 
         TagBuilder listBlockBuilder = GenerateUtils.tagBuilder(GenerateConst.LIST_BLOCK)
                 .addAttribute(GenerateConst.ROLE, ROLE_LIST);
 
-        appendListBlockAttributes(listBlockBuilder, style, styleSheet);
+        appendListBlockAttributes(listBlockBuilder, style, context.textStyles());
 
-        if (isExternalArtefact) {
+        if (context.externalArtefact()) {
             listBlockBuilder.addAttribute(GenerateConst.CONTENT_TYPE, GenerateConst.EXTERNAL_ARTIFACT);
         }
 
-        // Generate list items
+        // Generate list items directly into the output
+        listBlockBuilder.open(context.builder());
         int counter = 1;
         for (ListItem item : list.getItems()) {
-            TagBuilder listItemBuilder = generateListItem(item, list, style, counter, styleSheet, headlines, resolver);
-            listBlockBuilder.addChild(listItemBuilder);
+            generateListItem(item, list, style, counter, context);
             counter++;
         }
-
-        listBlockBuilder.buildInto(builder);
+        listBlockBuilder.close(context.builder());
     }
 
     /**
@@ -113,64 +99,54 @@ public class ListFoGenerator extends ElementFoGenerator {
      * @param list the parent list
      * @param listStyle  the list style properties
      * @param counter the item counter (for ordered lists)
-     * @param styleSheet the stylesheet
-     * @param headlines the list of headlines
-     * @param resolver the image resolver
-     * @return the TagBuilder for the list item
+     * @param context the context of the enclosing top-level element
      */
-    private TagBuilder generateListItem(ListItem item,
-                                        SimpleList list,
-                                        ListStyleProperties listStyle,
-                                        int counter,
-                                        StyleSheet styleSheet,
-                                        List<Headline> headlines,
-                                        ImageResolver resolver) {
+    private void generateListItem(ListItem item,
+                                  SimpleList list,
+                                  ListStyleProperties listStyle,
+                                  int counter,
+                                  FoContext context) {
+        StringBuilder builder = context.builder();
 
         TagBuilder listItemBuilder = GenerateUtils.tagBuilder(GenerateConst.LIST_ITEM)
                 .addAttribute(GenerateConst.SPACE_BEFORE, "0.2cm")
                 .addAttribute(GenerateConst.ROLE, ROLE_LIST_ITEM);
 
-        // Generate label - now with resolver
-        TagBuilder labelBuilder = generateListItemLabel(item, list, listStyle, counter, styleSheet, resolver);
-        listItemBuilder.addChild(labelBuilder);
-
-        // Generate body
-        TagBuilder bodyBuilder = generateListItemBody(item, styleSheet, headlines, resolver);
-        listItemBuilder.addChild(bodyBuilder);
-
-        return listItemBuilder;
+        listItemBuilder.open(builder);
+        generateListItemLabel(item, list, listStyle, counter, context);
+        generateListItemBody(item, context);
+        listItemBuilder.close(builder);
     }
 
-    private TagBuilder generateListItemLabel(ListItem item,
-                                             SimpleList list,
-                                             ListStyleProperties listStyle,
-                                             int counter,
-                                             StyleSheet styleSheet,
-                                             ImageResolver resolver) {
+    private void generateListItemLabel(ListItem item,
+                                       SimpleList list,
+                                       ListStyleProperties listStyle,
+                                       int counter,
+                                       FoContext context) {
+        StringBuilder builder = context.builder();
 
+        TagBuilder labelBuilder = GenerateUtils.tagBuilder(GenerateConst.LIST_ITEM_LABEL)
+                .addAttribute(GenerateConst.ROLE, ROLE_LIST_ITEM_LABEL)
+                .addAttribute(GenerateConst.END_INDENT, "label-end()");
         TagBuilder labelBlockBuilder = GenerateUtils.tagBuilder(GenerateConst.BLOCK);
 
+        labelBuilder.open(builder);
+        labelBlockBuilder.open(builder);
         if (item.getLabel() != null && !item.getLabel().isEmpty()) {
-            StringBuilder labelContent = new StringBuilder();
             for (InlineElement inline : item.getLabel()) {
-                mainGenerator.generateInlineElement(inline, styleSheet, labelContent);
+                mainGenerator.generateInlineElement(inline, context);
             }
-            labelBlockBuilder.addNestedContent(labelContent.toString());
         } else {
             ListItemStyleProperties itemStyle = null;
             if (item.getResolvedStyle() instanceof ListItemStyleProperties) {
                 itemStyle = (ListItemStyleProperties) item.getResolvedStyle();
             }
             if (itemStyle == null || itemStyle.getListStyleType() == null || itemStyle.getListStyleType().equals(ListStyleType.NONE)) {
-                String labelText = generateDefaultListItemLabel(list.getOrdering(), listStyle, counter, resolver);
-                labelBlockBuilder.addNestedContent(labelText);
+                builder.append(generateDefaultListItemLabel(list.getOrdering(), listStyle, counter, context));
             }
         }
-
-        return GenerateUtils.tagBuilder(GenerateConst.LIST_ITEM_LABEL)
-                .addAttribute(GenerateConst.ROLE, ROLE_LIST_ITEM_LABEL)
-                .addAttribute(GenerateConst.END_INDENT, "label-end()")
-                .addChild(labelBlockBuilder);
+        labelBlockBuilder.close(builder);
+        labelBuilder.close(builder);
     }
 
     /**
@@ -182,24 +158,19 @@ public class ListFoGenerator extends ElementFoGenerator {
      * to the ListItemFoGenerator.
      * </p>
      *
-     * @param item the list item
-     * @param styleSheet the stylesheet
-     * @param headlines the list of headlines
-     * @param resolver the image resolver
-     * @return the TagBuilder for the list item body
+     * @param item    the list item
+     * @param context the context of the enclosing top-level element
      */
-    private TagBuilder generateListItemBody(ListItem item,
-                                            StyleSheet styleSheet,
-                                            List<Headline> headlines,
-                                            ImageResolver resolver) {
+    private void generateListItemBody(ListItem item, FoContext context) {
+        StringBuilder builder = context.builder();
 
-        StringBuilder bodyContent = new StringBuilder();
-        mainGenerator.generateBlockElement(item, styleSheet, bodyContent, headlines, resolver, false);
-
-        return GenerateUtils.tagBuilder(GenerateConst.LIST_ITEM_BODY)
+        TagBuilder bodyBuilder = GenerateUtils.tagBuilder(GenerateConst.LIST_ITEM_BODY)
                 .addAttribute(GenerateConst.ROLE, ROLE_LIST_ITEM_BODY)
-                .addAttribute(GenerateConst.START_INDENT, "body-start()")
-                .addNestedContent(bodyContent.toString());
+                .addAttribute(GenerateConst.START_INDENT, "body-start()");
+
+        bodyBuilder.open(builder);
+        mainGenerator.generateBlockElement(item, context.withExternalArtefact(false));
+        bodyBuilder.close(builder);
     }
 
     /**
@@ -211,12 +182,12 @@ public class ListFoGenerator extends ElementFoGenerator {
      *
      * @param builder the TagBuilder to add attributes to
      * @param style the list style properties
-     * @param styleSheet the stylesheet for resolving font styles
+     * @param textStyles the font attributes of the text styles
      */
-    private void appendListBlockAttributes(TagBuilder builder, ListStyleProperties style, StyleSheet styleSheet) {
+    private void appendListBlockAttributes(TagBuilder builder, ListStyleProperties style, TextStyleFragments textStyles) {
         if (style == null) return;
 
-        setFontStyle(styleSheet, style, builder);
+        setFontStyle(textStyles, style, builder);
 
         builder
                 .addAttribute(GenerateConst.PROVISIONAL_DISTANCE_BETWEEN_STARTS, style.getProvDistBetweenStarts())
@@ -226,13 +197,13 @@ public class ListFoGenerator extends ElementFoGenerator {
     private String generateDefaultListItemLabel(ListOrdering ordering,
                                                 ListStyleProperties style,
                                                 int counter,
-                                                ImageResolver resolver) {
+                                                FoContext context) {
         // Priority: 1. Image, 2. Type, 3. Default
         if (style != null && style.getListStyleImage() != null) {
-            String dataUri = ImageUtils.resolveToDataUri(style.getListStyleImage(), resolver);
-            if (dataUri != null) {
+            String src = ImageUtils.resolveToUri(style.getListStyleImage(), context.resolver(), context.images(), null);
+            if (src != null) {
                 return GenerateUtils.tagBuilder(GenerateConst.EXTERNAL_GRAPHIC)
-                        .addAttribute(GenerateConst.SRC, dataUri)
+                        .addAttribute(GenerateConst.SRC, src)
                         .addAttribute(GenerateConst.CONTENT_HEIGHT, "0.4cm")
                         .addAttribute(GenerateConst.CONTENT_WIDTH, "scale-to-fit")
                         .build();
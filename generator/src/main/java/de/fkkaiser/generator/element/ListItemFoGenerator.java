@@ -15,19 +15,14 @@
  */
 package de.fkkaiser.generator.element;
 
+import de.fkkaiser.generator.FoContext;
 import de.fkkaiser.generator.GenerateUtils;
-import de.fkkaiser.generator.ImageResolver;
 import de.fkkaiser.generator.TagBuilder;
 import de.fkkaiser.generator.XslFoGenerator;
-import de.fkkaiser.model.structure.Element;
-import de.fkkaiser.model.structure.Headline;
 import de.fkkaiser.model.structure.ListItem;
-import de.fkkaiser.model.structure.TextBlock;
 import de.fkkaiser.model.style.ElementBlockStyleProperties;
 import de.fkkaiser.model.style.ListItemStyleProperties;
-import de.fkkaiser.model.style.StyleSheet;
 import de.fkkaiser.model.style.TextBlockStyleProperties;
-import java.util.List;
 
 /**
  * Generates the XSL-FO structure for a ListItem's content.
@@ -43,9 +38,9 @@ import java.util.List;
  * </p>
  *
  * @author Katrin Kaiser
- * @version 1.1.2
+ * @version 1.2.1
  */
-public class ListItemFoGenerator extends TextBlockFoGenerator {
+public class ListItemFoGenerator extends BlockElementFoGenerator<ListItem> {
 
     /**
      * Constructor
@@ -67,47 +62,31 @@ public class ListItemFoGenerator extends TextBlockFoGenerator {
      * back to the main generator, maintaining the recursive generation pattern.
      * </p>
      *
-     * @param element the list item element to generate
-     * @param styleSheet the stylesheet containing style definitions
-     * @param builder the StringBuilder to append XSL-FO markup to
-     * @param headlines the list of headlines for cross-referencing
-     * @param resolver the image resolver for resolving image paths
-     * @param isExternalArtefact whether this is an external artifact
+     * @param listItem the list item element to generate
+     * @param context  the context of the enclosing top-level element
      */
     @Override
-    public void generate(Element element,
-                         StyleSheet styleSheet,
-                         StringBuilder builder,
-                         List<Headline> headlines,
-                         ImageResolver resolver,
-                         boolean isExternalArtefact) {
-        ListItem listItem = (ListItem) element;
+    public void generate(ListItem listItem, FoContext context) {
         ElementBlockStyleProperties style = listItem.getResolvedStyle();
 
         // Note: We do NOT generate fo:list-item or fo:list-item-body here,
         if (listItem.getElements() != null && !listItem.getElements().isEmpty()) {
-            mainGenerator.generateBlockElements(listItem.getElements(), styleSheet, builder, headlines, resolver, isExternalArtefact);
+            mainGenerator.generateBlockElements(listItem.getElements(), context);
         } else {
             TagBuilder emptyBlock = GenerateUtils.tagBuilder("block");
-            appendBlockAttributes(emptyBlock, style, styleSheet);
+            appendBlockAttributes(emptyBlock, style, context.textStyles());
 
             if (style instanceof TextBlockStyleProperties textStyle) {
                 appendSpecificAttributes(emptyBlock, textStyle);
             }
 
-            emptyBlock.buildInto(builder);
+            emptyBlock.buildInto(context.builder());
         }
     }
 
-    @Override
-    protected String getRole(TextBlock textBlock) {
-        // List items don't need a specific role - the role="LI" is already
-        // set on the fo:list-item by ListFoGenerator
-        return null;
-    }
-
-    @Override
-    protected void appendSpecificAttributes(TagBuilder builder, TextBlockStyleProperties style) {
+    // List items don't need a specific role - the role="LI" is already
+    // set on the fo:list-item by ListFoGenerator
+    private void appendSpecificAttributes(TagBuilder builder, TextBlockStyleProperties style) {
         if (style instanceof ListItemStyleProperties liStyle) {
             builder
                     .addAttribute("space-before", liStyle.getSpaceBefore())
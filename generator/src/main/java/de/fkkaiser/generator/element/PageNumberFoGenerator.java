@@ -15,27 +15,26 @@
  */
 package de.fkkaiser.generator.element;
 
+import de.fkkaiser.generator.FoContext;
 import de.fkkaiser.model.annotation.Internal;
-import de.fkkaiser.model.structure.InlineElement;
-import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.model.structure.PageNumber;
 
 /**
  * Generator for PageNumbers
  *
  * @author Katrin Kaiser
- * @version 1.0.0
+ * @version 1.1.0
  */
 @Internal
-public class PageNumberFoGenerator extends InlineElementFoGenerator{
+public class PageNumberFoGenerator extends InlineElementFoGenerator<PageNumber> {
     /**
      * Generates the XSL-FO string for a specific inline element.
      *
-     * @param element    The inline element to be processed.
-     * @param styleSheet The entire StyleSheet for accessing font information.
-     * @param builder    The StringBuilder to which the generated string is appended.
+     * @param element The inline element to be processed.
+     * @param context The context providing the builder to which the generated string is appended.
      */
     @Override
-    public void generate(InlineElement element, StyleSheet styleSheet, StringBuilder builder) {
-        builder.append("<fo:page-number/>");
+    public void generate(PageNumber element, FoContext context) {
+        context.builder().append("<fo:page-number/>");
     }
 }
@@ -19,7 +19,7 @@ import de.fkkaiser.generator.GenerateConst;
 import de.fkkaiser.generator.TagBuilder;
 import de.fkkaiser.generator.XslFoGenerator;
 import de.fkkaiser.model.annotation.Internal;
-import de.fkkaiser.model.structure.TextBlock;
+import de.fkkaiser.model.structure.Paragraph;
 import de.fkkaiser.model.style.ParagraphStyleProperties;
 import de.fkkaiser.model.style.TextBlockStyleProperties;
 
@@ -29,7 +29,7 @@ import de.fkkaiser.model.style.TextBlockStyleProperties;
  * @version 1.1.1
  */
 @Internal
-public class ParagraphFoGenerator extends TextBlockFoGenerator {
+public class ParagraphFoGenerator extends TextBlockFoGenerator<Paragraph> {
 
     /**
      * Constructor for ParagraphFoGenerator.
@@ -42,12 +42,12 @@ public class ParagraphFoGenerator extends TextBlockFoGenerator {
 
     /**
      * Returns the accessibility role for a paragraph ("P").
-     * @param textBlock The paragraph element.
+     * @param paragraph The paragraph element.
      * @return The role string "P".
      */
     @Internal
     @Override
-    protected String getRole(TextBlock textBlock) {
+    protected String getRole(Paragraph paragraph) {
         return GenerateConst.ROLE_PARAGRAPH;
     }
 
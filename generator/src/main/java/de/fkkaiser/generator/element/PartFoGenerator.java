@@ -17,23 +17,18 @@ package de.fkkaiser.generator.element;
 
 import de.fkkaiser.generator.*;
 import de.fkkaiser.model.annotation.Internal;
-import de.fkkaiser.model.structure.Element;
-import de.fkkaiser.model.structure.Headline;
 import de.fkkaiser.model.structure.Part;
 import de.fkkaiser.model.style.PageBreakVariant;
 import de.fkkaiser.model.style.PartStyleProperties;
-import de.fkkaiser.model.style.StyleSheet;
-
-import java.util.List;
 
 /**
  * Generates the XSL-FO structure for a Part element.
  *
  * @author Katrin Kaiser
- * @version 1.1.1
+ * @version 1.2.1
  */
 @Internal
-public class PartFoGenerator extends BlockElementFoGenerator {
+public class PartFoGenerator extends BlockElementFoGenerator<Part> {
 
     /**
      * Constructor for PartFoGenerator.
@@ -46,39 +41,27 @@ public class PartFoGenerator extends BlockElementFoGenerator {
 
     /**
      * Generates the XSL-FO string for a part element.
-     * @param element The element to be processed.
-     * @param styleSheet The entire StyleSheet for accessing, for example, Font information.
-     * @param builder The StringBuilder to which the generated string is appended.
-     * @param headlines List of headlines for TOC generation.
-     * @param resolver Image resolver for handling images.
-     * @param isExternalParagraph Indicates if the paragraph is external.
+     * @param part    The part to be processed.
+     * @param context The context of the enclosing top-level element.
      */
     @Internal
     @Override
-    public void generate(Element element,
-                         StyleSheet styleSheet,
-                         StringBuilder builder,
-                         List<Headline> headlines,
-                         ImageResolver resolver,
-                         boolean isExternalParagraph) {
-        Part part = (Part) element;
+    public void generate(Part part, FoContext context) {
         PartStyleProperties style = part.getResolvedStyle();
 
         TagBuilder blockBuilder = GenerateUtils.tagBuilder(GenerateConst.BLOCK)
                 .addAttribute(GenerateConst.ROLE, part.getVariant().getPdfRole());
 
         // Common block attributes from parent class
-        appendBlockAttributes(blockBuilder, style, styleSheet);
+        appendBlockAttributes(blockBuilder, style, context.textStyles());
 
         // Part-specific attributes
         appendPartSpecificAttributes(blockBuilder, style);
 
-        // Generate nested elements
-        StringBuilder content = new StringBuilder();
-        mainGenerator.generateBlockElements(part.getElements(), styleSheet, content, headlines, resolver, false);
-        blockBuilder.addNestedContent(content.toString());
-
-        blockBuilder.buildInto(builder);
+        // Generate nested elements directly into the output
+        blockBuilder.open(context.builder());
+        mainGenerator.generateBlockElements(part.getElements(), context.withExternalArtefact(false));
+        blockBuilder.close(context.builder());
     }
 
     /**
@@ -17,20 +17,12 @@ package de.fkkaiser.generator.element;
 
 import de.fkkaiser.generator.*;
 import de.fkkaiser.model.annotation.Internal;
-import de.fkkaiser.model.structure.Element;
-import de.fkkaiser.model.structure.Headline;
 import de.fkkaiser.model.structure.Section;
 import de.fkkaiser.model.structure.SectionVariant;
 import de.fkkaiser.model.style.SectionStyleProperties;
-import de.fkkaiser.model.style.StyleSheet;
-import de.fkkaiser.model.style.TextStyle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
-
 /**
  * Generates the XSL-FO structure for a Section element.
  * <p>
@@ -40,10 +32,10 @@ import java.util.UUID;
  * properties and behaviors.
  *
  * @author Katrin Kaiser
- * @version 1.2.2
+ * @version 1.3.1
  */
 @Internal
-public class SectionFoGenerator extends BlockElementFoGenerator {
+public class SectionFoGenerator extends BlockElementFoGenerator<Section> {
 
     private static final String PREFIX_ID = "note-";
     private static final Logger log = LoggerFactory.getLogger(SectionFoGenerator.class);
@@ -61,32 +53,24 @@ public class SectionFoGenerator extends BlockElementFoGenerator {
     /**
      * Generates the XSL-FO structure for the given `Section` element.
      * <p>
-     * This method appends the XSL-FO representation of the section to the provided
-     * `StringBuilder`. It includes section attributes, markers, and child elements.
+     * This method appends the XSL-FO representation of the section to the builder of the
+     * context. It includes section attributes, markers, and child elements.
      *
-     * @param element            the `Element` to generate (expected to be a `Section`)
-     * @param styleSheet         the `StyleSheet` containing style definitions
-     * @param builder            the `StringBuilder` to append the generated XSL-FO to
-     * @param headlines          a list of `Headline` elements for the document
-     * @param resolver           the `ImageResolver` for resolving image paths
-     * @param isExternalArtefact a flag indicating if the section is part of an external artefact
+     * @param section the `Section` to generate
+     * @param context the context of the enclosing top-level element
      */
     @Internal
     @Override
-    public void generate(Element element,
-                         StyleSheet styleSheet,
-                         StringBuilder builder,
-                         List<Headline> headlines,
-                         ImageResolver resolver,
-                         boolean isExternalArtefact) {
-        Section section = (Section) element;
+    public void generate(Section section, FoContext context) {
         SectionStyleProperties style = section.getResolvedStyle();
+        TextStyleFragments textStyles = context.textStyles();
+        StringBuilder builder = context.builder();
 
         TagBuilder blockBuilder = GenerateUtils.tagBuilder(GenerateConst.BLOCK);
-        appendSectionAttributes(blockBuilder, section, style, styleSheet);
+        appendSectionAttributes(blockBuilder, section, style, textStyles, context.ids());
 
-        // Build the section content
-        StringBuilder content = new StringBuilder();
+        // Build the section content directly into the output
+        blockBuilder.open(builder);
 
         // Section marker (only if style is not null)
         if (style != null &&
@@ -94,19 +78,16 @@ public class SectionFoGenerator extends BlockElementFoGenerator {
                 style.getTextStyleName() != null &&
                 !style.getSectionMarker().isEmpty()) {
 
-            Optional<TextStyle> textStyleOpt = styleSheet.findFontStyleByName(style.getTextStyleName());
-
-            TagBuilder inlineBuilder = GenerateUtils.tagBuilder(GenerateConst.INLINE);
-            textStyleOpt.ifPresent(ts -> GenerateUtils.appendTextStyleTags(inlineBuilder, ts));
+            TagBuilder inlineBuilder = GenerateUtils.tagBuilder(GenerateConst.INLINE)
+                    .addAttributes(textStyles.get(style.getTextStyleName()));
             inlineBuilder.addContent(style.getSectionMarker() + " ");
-            inlineBuilder.buildInto(content);
+            inlineBuilder.buildInto(builder);
         }
 
         // Generate child elements
-        mainGenerator.generateBlockElements(section.getElements(), styleSheet, content, headlines, resolver, isExternalArtefact);
+        mainGenerator.generateBlockElements(section.getElements(), context);
 
-        blockBuilder.addNestedContent(content.toString());
-        blockBuilder.buildInto(builder);
+        blockBuilder.close(builder);
     }
 
     /**
@@ -115,10 +96,12 @@ public class SectionFoGenerator extends BlockElementFoGenerator {
      * @param builder    the TagBuilder to add attributes to
      * @param section    the section element
      * @param style      the section style properties
-     * @param styleSheet the stylesheet
+     * @param textStyles the font attributes of the text styles
+     * @param ids        the allocator for the id of note sections
      */
     private void appendSectionAttributes(TagBuilder builder, Section section,
-                                         SectionStyleProperties style, StyleSheet styleSheet) {
+                                         SectionStyleProperties style, TextStyleFragments textStyles,
+                                         IdAllocator ids) {
         // PDF/UA role
         String role = section.getVariant() != null
                 ? section.getVariant().getPdfRole()
@@ -128,7 +111,7 @@ public class SectionFoGenerator extends BlockElementFoGenerator {
             // Needs unique ID for accessibility
             builder
                     .addAttribute(GenerateConst.ROLE, GenerateConst.ROLE_DIV)
-                    .addAttribute(GenerateConst.ID, PREFIX_ID + UUID.randomUUID());
+                    .addAttribute(GenerateConst.ID, ids.next(PREFIX_ID));
 
             log.warn("Section with variant NOTE detected. Note is not correctly written in Structure Tree with FOP. Using DIV instead");
         } else {
@@ -144,7 +127,7 @@ public class SectionFoGenerator extends BlockElementFoGenerator {
         appendSectionSpecificAttributes(builder, style);
 
         // Common block attributes (from parent class)
-        appendBlockAttributes(builder, style, styleSheet);
+        appendBlockAttributes(builder, style, textStyles);
     }
 
     /**
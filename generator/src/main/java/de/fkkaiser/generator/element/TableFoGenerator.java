@@ -17,20 +17,17 @@ package de.fkkaiser.generator.element;
 
 import de.fkkaiser.generator.*;
 import de.fkkaiser.model.structure.*;
-import de.fkkaiser.model.style.StyleSheet;
 import de.fkkaiser.model.style.TableCellStyleProperties;
 import de.fkkaiser.model.style.TableStyleProperties;
 
-import java.util.List;
-
 /**
  * TableFoGenerator extends ElementFoGenerator and is responsible for
  * generating XSL-FO block representation of a table element.
  *
  * @author Katrin Kaiser
- * @version 1.0.1
+ * @version 1.2.2
  */
-public class TableFoGenerator extends ElementFoGenerator {
+public class TableFoGenerator extends ElementFoGenerator<Table> {
 
     private final XslFoGenerator mainGenerator;
 
@@ -47,22 +44,15 @@ public class TableFoGenerator extends ElementFoGenerator {
      * Generates the FO block representation of a table element based on the provided style information.
      * Appends the generated content to the StringBuilder.
      *
-     * @param element    The table element to generate.
-     * @param styleSheet The style sheet containing the necessary style information.
-     * @param builder    The StringBuilder to which the generated content will be appended.
-     * @param headlines  The list of headlines for bookmark generation.
-     * @param resolver   The image resolver for handling images.
-     * @param isExternalArtefact Whether this is an external artifact.
+     * @param table   The table element to generate.
+     * @param context The context of the enclosing top-level element.
      */
     @Override
-    public void generate(Element element,
-                         StyleSheet styleSheet,
-                         StringBuilder builder,
-                         List<Headline> headlines,
-                         ImageResolver resolver,
-                         boolean isExternalArtefact) {
-        Table table = (Table) element;
+    public void generate(Table table, FoContext context) {
         TableStyleProperties style = table.getResolvedStyle();
+        StringBuilder builder = context.builder();
+        // Cell content is never tagged as an artifact
+        FoContext cellContext = context.withExternalArtefact(false);
 
         // The entire table is wrapped in a block to control spacing before/after.
         TagBuilder containerBlock = GenerateUtils.tagBuilder(GenerateConst.BLOCK)
@@ -70,7 +60,7 @@ public class TableFoGenerator extends ElementFoGenerator {
 
         if (style != null) {
             // Apply text properties from the table style to the container block
-            setFontStyle(styleSheet, style, containerBlock);
+            setFontStyle(context.textStyles(), style, containerBlock);
         }
 
         // Build the table
@@ -91,69 +81,87 @@ public class TableFoGenerator extends ElementFoGenerator {
             );
         }
 
+        containerBlock.open(builder);
+        tableBuilder.open(builder);
+
         // Add table header
         if (table.getHeader() != null) {
-            TagBuilder headerBuilder = GenerateUtils.tagBuilder(GenerateConst.TABLE_HEADER);
-            generateRows(table.getHeader(), styleSheet, headerBuilder, headlines, resolver);
-            tableBuilder.addChild(headerBuilder);
+            generateSection(GenerateConst.TABLE_HEADER, table.getHeader(), cellContext);
         }
 
         // Add table footer
         if (table.getFooter() != null) {
-            TagBuilder footerBuilder = GenerateUtils.tagBuilder(GenerateConst.TABLE_FOOTER);
-            generateRows(table.getFooter(), styleSheet, footerBuilder, headlines, resolver);
-            tableBuilder.addChild(footerBuilder);
+            generateSection(GenerateConst.TABLE_FOOTER, table.getFooter(), cellContext);
         }
 
-        // Add table body
-        if (table.getBody() != null) {
+        // Add table body, followed by the rows of the row source one at a time
+        if (table.getBody() != null || table.getBodyRows() != null) {
             TagBuilder bodyBuilder = GenerateUtils.tagBuilder(GenerateConst.TABLE_BODY);
-            generateRows(table.getBody(), styleSheet, bodyBuilder, headlines, resolver);
-            tableBuilder.addChild(bodyBuilder);
+            bodyBuilder.open(builder);
+            if (table.getBody() != null) {
+                generateRows(table.getBody(), cellContext);
+            }
+            table.forEachBodyRow(row -> generateRow(row, cellContext));
+            bodyBuilder.close(builder);
         }
 
-        containerBlock.addChild(tableBuilder);
-        containerBlock.buildInto(builder);
+        tableBuilder.close(builder);
+        containerBlock.close(builder);
+    }
+
+    /**
+     * Helper method: generates a table section (body, header, footer) with its rows.
+     *
+     * @param tagName    The FO element of the section.
+     * @param section    The table section to generate rows for.
+     * @param context    The context of the cells.
+     */
+    private void generateSection(String tagName, TableSection section, FoContext context) {
+        TagBuilder sectionBuilder = GenerateUtils.tagBuilder(tagName);
+        sectionBuilder.open(context.builder());
+        generateRows(section, context);
+        sectionBuilder.close(context.builder());
     }
 
     /**
-     * Helper method: generates rows for a specific table section (body, header, footer).
+     * Helper method: generates the rows of a table section.
      *
      * @param section    The table section to generate rows for.
-     * @param styleSheet The stylesheet.
-     * @param builder    The TagBuilder to add rows to.
-     * @param headlines  The list of headlines.
-     * @param resolver   The image resolver.
+     * @param context    The context of the cells.
      */
-    private void generateRows(TableSection section, StyleSheet styleSheet, TagBuilder builder,
-                              List<Headline> headlines, ImageResolver resolver) {
-        if (section == null || section.rows() == null) return;
-
-        for (TableRow row : section.rows()) {
-            TagBuilder rowBuilder = GenerateUtils.tagBuilder(GenerateConst.TABLE_ROW);
-
-            if (row.cells() != null) {
-                for (TableCell cell : row.cells()) {
-                    TagBuilder cellBuilder = generateCell(cell, styleSheet, headlines, resolver);
-                    rowBuilder.addChild(cellBuilder);
-                }
+    private void generateRows(TableSection section, FoContext context) {
+        if (section.rows() != null) {
+            for (TableRow row : section.rows()) {
+                generateRow(row, context);
             }
+        }
+    }
 
-            builder.addChild(rowBuilder);
+    /**
+     * Helper method: generates a single row with its cells.
+     *
+     * @param row        The table row to generate.
+     * @param context    The context of the cells.
+     */
+    private void generateRow(TableRow row, FoContext context) {
+        TagBuilder rowBuilder = GenerateUtils.tagBuilder(GenerateConst.TABLE_ROW);
+        rowBuilder.open(context.builder());
+        if (row.cells() != null) {
+            for (TableCell cell : row.cells()) {
+                generateCell(cell, context);
+            }
         }
+        rowBuilder.close(context.builder());
     }
 
     /**
-     * Helper method: creates a single cell with content.
+     * Helper method: generates a single cell with content.
      *
      * @param cell       The table cell to generate.
-     * @param styleSheet The stylesheet.
-     * @param headlines  The list of headlines.
-     * @param resolver   The image resolver.
-     * @return The TagBuilder for the cell.
+     * @param context    The context of the cell.
      */
-    private TagBuilder generateCell(TableCell cell, StyleSheet styleSheet,
-                                    List<Headline> headlines, ImageResolver resolver) {
+    private void generateCell(TableCell cell, FoContext context) {
+        StringBuilder builder = context.builder();
         TableCellStyleProperties style = cell.getResolvedStyle();
 
         TagBuilder cellBuilder = GenerateUtils.tagBuilder(GenerateConst.TABLE_CELL);
@@ -175,18 +183,15 @@ public class TableFoGenerator extends ElementFoGenerator {
                     .addAttribute(GenerateConst.DISPLAY_ALIGN, style.getVerticalAlign());
 
             // Apply inheritable font styles
-            this.setFontStyle(styleSheet, style, cellBuilder);
+            this.setFontStyle(context.textStyles(), style, cellBuilder);
         }
 
-        // Generate cell content block
-        StringBuilder cellContent = new StringBuilder();
-        mainGenerator.generateBlockElements(cell.getElements(), styleSheet, cellContent, headlines, resolver, false);
-
-        TagBuilder contentBlock = GenerateUtils.tagBuilder(GenerateConst.BLOCK)
-                .addNestedContent(cellContent.toString());
-
-        cellBuilder.addChild(contentBlock);
-
-        return cellBuilder;
+        // Generate cell content block directly into the output
+        TagBuilder contentBlock = GenerateUtils.tagBuilder(GenerateConst.BLOCK);
+        cellBuilder.open(builder);
+        contentBlock.open(builder);
+        mainGenerator.generateBlockElements(cell.getElements(), context);
+        contentBlock.close(builder);
+        cellBuilder.close(builder);
     }
 }
\ No newline at end of file
@@ -16,54 +16,43 @@
 package de.fkkaiser.generator.element;
 
 import de.fkkaiser.generator.*;
-import de.fkkaiser.model.structure.Element;
 import de.fkkaiser.model.structure.Headline;
 import de.fkkaiser.model.structure.InlineElement;
 import de.fkkaiser.model.structure.TextBlock;
-import de.fkkaiser.model.style.StyleSheet;
 import de.fkkaiser.model.style.TextBlockStyleProperties;
 
-import java.util.List;
-import java.util.UUID;
-
 /**
  * Abstract base class for all block-level text elements (e.g., paragraphs, headlines).
  * Extends BlockElementFoGenerator to inherit common block properties,
  * and adds text-specific properties (color, line-height, text-align, etc.).
  *
+ * @param <T> the type of text block this generator handles
  * @author Katrin Kaiser
- * @version 1.1.2
+ * @version 1.2.2
  */
-public abstract class TextBlockFoGenerator extends BlockElementFoGenerator {
+public abstract class TextBlockFoGenerator<T extends TextBlock> extends BlockElementFoGenerator<T> {
 
-    private static final String PREFIX_HEADLINE_ID = "headline-";
     protected TextBlockFoGenerator(XslFoGenerator mainGenerator) {
         super(mainGenerator);
     }
 
     @Override
-    public void generate(Element element,
-                         StyleSheet styleSheet,
-                         StringBuilder builder,
-                         List<Headline> headlines,
-                         ImageResolver resolver,
-                         boolean isExternalArtefact) {
-        TextBlock textBlock = (TextBlock) element;
+    public void generate(T textBlock, FoContext context) {
         TextBlockStyleProperties style = textBlock.getResolvedStyle();
 
         TagBuilder blockBuilder = GenerateUtils.tagBuilder(GenerateConst.BLOCK)
                 .addAttribute(GenerateConst.ROLE, getRole(textBlock));
 
         // Generate unique ID for headlines
-        if (element instanceof Headline headline) {
-            String theId = PREFIX_HEADLINE_ID + UUID.randomUUID();
+        if (textBlock instanceof Headline headline) {
+            String theId = context.ids().next(GenerateConst.PREFIX_HEADLINE_ID);
             blockBuilder.addAttribute(GenerateConst.ID, theId);
             headline.setId(theId);
-            headlines.add(headline);
+            context.headlines().add(headline);
         }
 
         // Append common block attributes (from BlockElementFoGenerator)
-        appendBlockAttributes(blockBuilder, style, styleSheet);
+        appendBlockAttributes(blockBuilder, style, context.textStyles());
 
         // Append text-specific attributes
         appendTextBlockAttributes(blockBuilder, style);
@@ -71,20 +60,18 @@ public abstract class TextBlockFoGenerator extends BlockElementFoGenerator {
         // Append element-specific attributes (e.g., headline level-specific styles)
         appendSpecificAttributes(blockBuilder, style);
 
-        if (isExternalArtefact) {
+        if (context.externalArtefact()) {
             blockBuilder.addAttribute(GenerateConst.CONTENT_TYPE, GenerateConst.EXTERNAL_ARTIFACT);
         }
 
-        // Generate inline content
+        // Generate inline content directly into the output
+        blockBuilder.open(context.builder());
         if (textBlock.getInlineElements() != null) {
-            StringBuilder inlineContent = new StringBuilder();
             for (InlineElement inlineElement : textBlock.getInlineElements()) {
-                mainGenerator.generateInlineElement(inlineElement, styleSheet, inlineContent);
+                mainGenerator.generateInlineElement(inlineElement, context);
             }
-            blockBuilder.addNestedContent(inlineContent.toString());
         }
-
-        blockBuilder.buildInto(builder);
+        blockBuilder.close(context.builder());
     }
 
     /**
@@ -132,7 +119,7 @@ public abstract class TextBlockFoGenerator extends BlockElementFoGenerator {
      * @param textBlock The text block element
      * @return The PDF/UA role string
      */
-    protected abstract String getRole(TextBlock textBlock);
+    protected abstract String getRole(T textBlock);
 
     /**
      * Appends attributes that are specific to the concrete subclass
@@ -15,15 +15,13 @@
  */
 package de.fkkaiser.generator.element;
 
+import de.fkkaiser.generator.FoContext;
 import de.fkkaiser.generator.GenerateConst;
 import de.fkkaiser.generator.GenerateUtils;
 import de.fkkaiser.generator.TagBuilder;
-import de.fkkaiser.model.structure.InlineElement;
+import de.fkkaiser.generator.TextStyleFragments;
 import de.fkkaiser.model.structure.TextRun;
-import de.fkkaiser.model.style.StyleSheet;
 import de.fkkaiser.model.style.TextRunStyleProperties;
-import de.fkkaiser.model.style.TextStyle;
-import java.util.Optional;
 
 /**
  * Generates XSL-FO markup for TextRun inline elements.
@@ -35,9 +33,9 @@ import java.util.Optional;
  * </p>
  *
  * @author Katrin Kaiser
- * @version 1.0.2
+ * @version 1.1.1
  */
-public class TextRunFoGenerator extends InlineElementFoGenerator {
+public class TextRunFoGenerator extends InlineElementFoGenerator<TextRun> {
 
     /**
      * Generates XSL-FO markup for a TextRun element.
@@ -55,43 +53,39 @@ public class TextRunFoGenerator extends InlineElementFoGenerator {
      * The text content is normalized before output to ensure proper whitespace handling.
      * </p>
      *
-     * @param element the TextRun element to generate
-     * @param styleSheet the stylesheet for resolving text style references
-     * @param builder the StringBuilder to append XSL-FO markup to
+     * @param textRun the TextRun element to generate
+     * @param context the context providing the stylesheet and the builder to append XSL-FO markup to
      */
     @Override
-    public void generate(InlineElement element, StyleSheet styleSheet, StringBuilder builder) {
-        TextRun textRun = (TextRun) element;
+    public void generate(TextRun textRun, FoContext context) {
+        StringBuilder builder = context.builder();
         TextRunStyleProperties style = textRun.getResolvedStyle();
 
         // Output plain text if no styling is defined
         if (style == null) {
-            builder.append(GenerateUtils.escapeXml(textRun.getText()));
+            GenerateUtils.appendEscapedXml(builder, textRun.getText());
             return;
         }
 
-        // Resolve the referenced text style if a style name is specified
-        Optional<TextStyle> textStyleOpt = Optional.empty();
-        if (style.getTextStyleName() != null) {
-            textStyleOpt = styleSheet.findFontStyleByName(style.getTextStyleName());
-        }
+        // Look up the font attributes of the referenced text style
+        String textStyleAttributes = context.textStyles().get(style.getTextStyleName());
 
         // Check if any styling attributes are present
-        boolean hasStyling = textStyleOpt.isPresent()
+        boolean hasStyling = textStyleAttributes != null
                 || style.getTextColor() != null
                 || style.getTextDecoration() != null
                 || style.getBaselineShift() != null
                 || style.getLineFeedTreatment() != null;
 
         if (!hasStyling) {
-            builder.append(normalizeText(textRun.getText()));
+            appendNormalizedText(builder, textRun.getText());
             return;
         }
 
         TagBuilder inlineBuilder = GenerateUtils.tagBuilder(GenerateConst.INLINE);
 
         // Apply font properties from the resolved text style
-        textStyleOpt.ifPresent(ts -> GenerateUtils.appendTextStyleTags(inlineBuilder, ts));
+        inlineBuilder.addAttributes(textStyleAttributes);
 
         // Apply direct style properties
         inlineBuilder
@@ -100,7 +94,8 @@ public class TextRunFoGenerator extends InlineElementFoGenerator {
                 .addAttribute(GenerateConst.BASELINE_SHIFT, style.getBaselineShift())
                 .addAttribute(GenerateConst.LINEFEED_TREATMENT, style.getLineFeedTreatment() != null ? style.getLineFeedTreatment().getValue() : null);
 
-        inlineBuilder.addNestedContent(normalizeText(textRun.getText()));
-        inlineBuilder.buildInto(builder);
+        inlineBuilder.open(builder);
+        appendNormalizedText(builder, textRun.getText());
+        inlineBuilder.close(builder);
     }
 }
\ No newline at end of file
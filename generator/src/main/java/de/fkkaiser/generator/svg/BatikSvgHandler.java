@@ -23,13 +23,17 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 
 /**
  * SVG handler using Apache Batik (if available on classpath).
- * Uses reflection to avoid compile-time dependency.
+ * Uses reflection to avoid compile-time dependency; the Batik constructors and methods are
+ * resolved once into method handles when the class is loaded.
  *
  * @author Katrin Kaiser
- * @version 1.0.0
+ * @version 1.1.0
  */
 @Internal
 public class BatikSvgHandler implements SvgHandler {
@@ -58,7 +62,21 @@ public class BatikSvgHandler implements SvgHandler {
         }
 
         assert BATIK != null;
-        return BATIK.convert(svgBytes, width, height);
+        SvgTranscodeEvent event = new SvgTranscodeEvent();
+        event.begin();
+        byte[] pngBytes = null;
+        try {
+            pngBytes = BATIK.convert(svgBytes, width, height);
+            return pngBytes;
+        } finally {
+            if (event.shouldCommit()) {
+                event.svgBytes = svgBytes.length;
+                event.pngBytes = pngBytes != null ? pngBytes.length : 0;
+                event.width = width;
+                event.height = height;
+                event.commit();
+            }
+        }
     }
 
     /**
@@ -92,21 +110,33 @@ public class BatikSvgHandler implements SvgHandler {
     }
 
     /**
-     * Encapsulates all Batik reflection logic.
+     * Encapsulates all Batik reflection logic. The constructors and methods are looked up once
+     * and kept as method handles, adapted to {@code Object} parameters and results.
      */
-    private record BatikReflection(Class<?> transcoderClass, Class<?> inputClass, Class<?> outputClass, Object keyWidth,
-                                   Object keyHeight) {
+    private record BatikReflection(MethodHandle newTranscoder, MethodHandle addTranscodingHint,
+                                   MethodHandle newInput, MethodHandle newOutput, MethodHandle transcode,
+                                   Object keyWidth, Object keyHeight) {
 
         static BatikReflection tryLoad() {
             try {
                 Class<?> tc = Class.forName("org.apache.batik.transcoder.image.PNGTranscoder");
                 Class<?> ic = Class.forName("org.apache.batik.transcoder.TranscoderInput");
                 Class<?> oc = Class.forName("org.apache.batik.transcoder.TranscoderOutput");
+                Class<?> hintKey = Class.forName("org.apache.batik.transcoder.TranscodingHints$Key");
                 Object kw = tc.getField("KEY_WIDTH").get(null);
                 Object kh = tc.getField("KEY_HEIGHT").get(null);
 
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                BatikReflection reflection = new BatikReflection(
+                        generic(lookup.findConstructor(tc, MethodType.methodType(void.class))),
+                        generic(lookup.unreflect(tc.getMethod("addTranscodingHint", hintKey, Object.class))),
+                        generic(lookup.findConstructor(ic, MethodType.methodType(void.class, InputStream.class))),
+                        generic(lookup.findConstructor(oc, MethodType.methodType(void.class, OutputStream.class))),
+                        generic(lookup.unreflect(tc.getMethod("transcode", ic, oc))),
+                        kw, kh);
+
                 log.info("Apache Batik SVG support available");
-                return new BatikReflection(tc, ic, oc, kw, kh);
+                return reflection;
             } catch (ClassNotFoundException e) {
                 log.debug("Batik not on classpath");
                 return null;
@@ -116,34 +146,35 @@ public class BatikSvgHandler implements SvgHandler {
             }
         }
 
+        private static MethodHandle generic(MethodHandle handle) {
+            return handle.asType(MethodType.genericMethodType(handle.type().parameterCount())
+                    .changeReturnType(handle.type().returnType() == void.class ? void.class : Object.class));
+        }
+
         boolean isAvailable() {
             return true;
         }
 
         byte[] convert(byte[] svgBytes, float width, float height) throws SvgConversionException {
             try {
-                Object transcoder = transcoderClass.getDeclaredConstructor().newInstance();
-
-                var addHint = transcoderClass.getMethod("addTranscodingHint",
-                        Class.forName("org.apache.batik.transcoder.TranscodingHints$Key"),
-                        Object.class);
-                addHint.invoke(transcoder, keyWidth, width);
-                addHint.invoke(transcoder, keyHeight, height);
-
-                var input = inputClass.getConstructor(InputStream.class)
-                        .newInstance(new ByteArrayInputStream(svgBytes));
+                Object transcoder = (Object) newTranscoder.invokeExact();
+                addTranscodingHint.invokeExact(transcoder, keyWidth, (Object) width);
+                addTranscodingHint.invokeExact(transcoder, keyHeight, (Object) height);
 
+                Object input = (Object) newInput.invokeExact((Object) new ByteArrayInputStream(svgBytes));
                 var baos = new ByteArrayOutputStream();
-                var output = outputClass.getConstructor(OutputStream.class)
-                        .newInstance(baos);
+                Object output = (Object) newOutput.invokeExact((Object) baos);
 
-                transcoderClass.getMethod("transcode", inputClass, outputClass)
-                        .invoke(transcoder, input, output);
+                transcode.invokeExact(transcoder, input, output);
 
                 return baos.toByteArray();
-            } catch (Exception e) {
-                throw new SvgConversionException("Conversion failed: " + e.getMessage(), e);
+            } catch (Throwable e) {
+                if (e instanceof Error error && !(e instanceof LinkageError)) {
+                    throw error;
+                }
+                throw new SvgConversionException("Conversion failed: " + e.getMessage(),
+                        e instanceof Exception exception ? exception : new RuntimeException(e));
             }
         }
     }
-}
\ No newline at end of file
+}
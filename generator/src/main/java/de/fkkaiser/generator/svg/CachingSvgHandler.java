@@ -0,0 +1,198 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator.svg;
+
+import de.fkkaiser.generator.ImageStore;
+import de.fkkaiser.generator.WeightedLruMap;
+import de.fkkaiser.model.annotation.Internal;
+
+import java.util.Objects;
+
+/**
+ * SVG handler that remembers the PNG images of another handler.
+ *
+ * <p>Documents often use the same inline SVG many times, e.g. as list bullet or in a header.
+ * This handler transcodes each distinct combination of SVG content and target size once and
+ * returns the remembered PNG bytes afterwards. The PNG images are held least recently used
+ * first, up to a maximum number of bytes.</p>
+ *
+ * <p>The returned arrays are shared between callers and must not be modified.</p>
+ *
+ * <p><b>Thread Safety:</b></p>
+ * All methods are thread-safe. Two threads converting the same SVG at the same time may both
+ * transcode it.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.1
+ */
+@Internal
+public final class CachingSvgHandler implements SvgHandler {
+
+    /**
+     * The default maximum number of cached PNG bytes (16 MB).
+     */
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    private final SvgHandler delegate;
+    private final long maxBytes;
+    private final WeightedLruMap<Key, byte[]> entries;
+    private long hitCount;
+    private long missCount;
+
+    private record Key(String hash, float width, float height) {
+    }
+
+    /**
+     * Creates a caching handler with the {@link #DEFAULT_MAX_BYTES default size}.
+     *
+     * @param delegate the handler that transcodes the images
+     * @throws NullPointerException if delegate is {@code null}
+     */
+    public CachingSvgHandler(SvgHandler delegate) {
+        this(delegate, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a caching handler.
+     *
+     * @param delegate the handler that transcodes the images
+     * @param maxBytes the maximum number of cached PNG bytes; {@code 0} disables caching
+     * @throws NullPointerException     if delegate is {@code null}
+     * @throws IllegalArgumentException if maxBytes is negative
+     */
+    public CachingSvgHandler(SvgHandler delegate, long maxBytes) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.entries = new WeightedLruMap<>(maxBytes, pngBytes -> pngBytes.length);
+    }
+
+    /**
+     * Returns the remembered PNG image of the SVG, or transcodes it with the delegate.
+     * Failed conversions are not remembered.
+     *
+     * @param svgBytes The SVG content
+     * @param width    Target width in pixels
+     * @param height   Target height in pixels
+     * @return PNG bytes; must not be modified
+     * @throws SvgConversionException if the delegate fails to convert the image
+     */
+    @Override
+    public byte[] convertToPng(byte[] svgBytes, float width, float height) throws SvgConversionException {
+        Key key = new Key(ImageStore.sha256(svgBytes), width, height);
+        synchronized (entries) {
+            byte[] pngBytes = entries.get(key);
+            if (pngBytes != null) {
+                hitCount++;
+                return pngBytes;
+            }
+            missCount++;
+        }
+
+        byte[] pngBytes = delegate.convertToPng(svgBytes, width, height);
+        if (pngBytes.length <= maxBytes) {
+            synchronized (entries) {
+                entries.put(key, pngBytes);
+            }
+        }
+        return pngBytes;
+    }
+
+    /**
+     * Returns the name of the delegate.
+     *
+     * @return the name of the handler that transcodes the images
+     */
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    /**
+     * Returns the priority of the delegate.
+     *
+     * @return the priority of the handler that transcodes the images
+     */
+    @Override
+    public int getPriority() {
+        return delegate.getPriority();
+    }
+
+    /**
+     * Indicates whether the delegate is available.
+     *
+     * @return {@code true} if the handler that transcodes the images is available
+     */
+    @Override
+    public boolean isAvailable() {
+        return delegate.isAvailable();
+    }
+
+    /**
+     * Returns the number of cached PNG images.
+     *
+     * @return the number of images
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the number of cached PNG bytes.
+     *
+     * @return the number of bytes
+     */
+    public long byteSize() {
+        synchronized (entries) {
+            return entries.weight();
+        }
+    }
+
+    /**
+     * Returns how often a conversion was answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long hitCount() {
+        synchronized (entries) {
+            return hitCount;
+        }
+    }
+
+    /**
+     * Returns how often a conversion was passed to the delegate.
+     *
+     * @return the number of cache misses
+     */
+    public long missCount() {
+        synchronized (entries) {
+            return missCount;
+        }
+    }
+
+    /**
+     * Removes all cached images.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
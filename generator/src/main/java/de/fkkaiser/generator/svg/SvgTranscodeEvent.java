@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator.svg;
+
+import de.fkkaiser.model.annotation.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for converting an SVG image to PNG with {@link BatikSvgHandler}.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@Internal
+@Name("de.fkkaiser.SvgTranscode")
+@Label("SVG Transcoding")
+@Category({"JAccessPDF", "Generation"})
+@Description("Converting an SVG image to PNG with Apache Batik")
+@StackTrace(false)
+final class SvgTranscodeEvent extends jdk.jfr.Event {
+
+    @Label("SVG Bytes")
+    @DataAmount
+    long svgBytes;
+
+    @Label("PNG Bytes")
+    @Description("Size of the PNG, 0 if the conversion failed")
+    @DataAmount
+    long pngBytes;
+
+    @Label("Width")
+    @Description("Target width in pixels")
+    float width;
+
+    @Label("Height")
+    @Description("Target height in pixels")
+    float height;
+}
@@ -16,6 +16,9 @@
 module generator {
     requires org.slf4j;
     requires java.compiler;
+    requires java.xml;
+    requires java.desktop;
+    requires jdk.jfr;
     requires model;
     requires org.apache.xmlgraphics.commons;
     requires org.apache.commons.logging;
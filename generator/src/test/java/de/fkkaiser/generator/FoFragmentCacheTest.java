@@ -0,0 +1,201 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.structure.*;
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.model.style.SvgRendering;
+import de.fkkaiser.model.style.TextStyle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoFragmentCacheTest {
+
+    private final StyleSheet styleSheet = new StyleSheet(
+            List.of(new TextStyle("Default Style", "10pt", "Open Sans", "400", "normal")),
+            Collections.emptyList(), Collections.emptyList(), null);
+
+    @Test
+    @DisplayName("Repeated headers and sections are generated once and produce the same XSL-FO")
+    void shouldReuseRepeatedContent() {
+        Document document = document(3);
+        FoFragmentCache cache = new FoFragmentCache(FoFragmentCache.DEFAULT_MAX_SIZE);
+
+        String uncached = new XslFoGenerator().generate(document, styleSheet, null);
+        String cached = XslFoGenerator.builder().withFragmentCache(cache).build()
+                .generate(document, styleSheet, null);
+
+        assertEquals(uncached, cached);
+        // Header and boilerplate section are generated for the first page sequence only
+        assertEquals(2, cache.missCount());
+        assertEquals(4, cache.hitCount());
+        assertEquals(2, cache.size());
+
+        // A second job with the same style sheet reuses all fragments
+        assertEquals(uncached, XslFoGenerator.builder().withFragmentCache(cache).build()
+                .generate(document(3), styleSheet, null));
+        assertEquals(10, cache.hitCount());
+    }
+
+    @Test
+    @DisplayName("Subtrees with headlines or notes and different style sheets are not shared")
+    void shouldNotCacheIdsOrOtherStyleSheets() {
+        FoFragmentCache cache = new FoFragmentCache(FoFragmentCache.DEFAULT_MAX_SIZE);
+        Section withHeadline = new Section("section", SectionVariant.SECTION,
+                List.of(new Headline("headline", "Chapter", 1)));
+        Section note = new Section("note", SectionVariant.NOTE, List.of(paragraph("Note")));
+
+        assertNull(cache.key(withHeadline, styleSheet, null, ImageSettings.defaults(), false));
+        assertNull(cache.key(note, styleSheet, null, ImageSettings.defaults(), false));
+        // Only sections and parts are looked up in bodies
+        assertNull(cache.key(paragraph("Text"), styleSheet, null, ImageSettings.defaults(), false));
+        assertNotNull(cache.key(paragraph("Text"), styleSheet, null, ImageSettings.defaults(), true));
+
+        StyleSheet other = new StyleSheet(styleSheet.textStyles(), Collections.emptyList(), Collections.emptyList(), null);
+        assertEquals(cache.key(boilerplate(), styleSheet, null, ImageSettings.defaults(), false), cache.key(boilerplate(), styleSheet, null, ImageSettings.defaults(), false));
+        assertNotEquals(cache.key(boilerplate(), styleSheet, null, ImageSettings.defaults(), false), cache.key(boilerplate(), other, null, ImageSettings.defaults(), false));
+        assertNotEquals(cache.key(paragraph("A"), styleSheet, null, ImageSettings.defaults(), true), cache.key(paragraph("B"), styleSheet, null, ImageSettings.defaults(), true));
+        assertNotEquals(cache.key(paragraph("A"), styleSheet, null, ImageSettings.defaults(), true), cache.key(paragraph("A"), styleSheet, null, ImageSettings.defaults().withSvgRendering(SvgRendering.VECTOR), true));
+    }
+
+    @Test
+    @DisplayName("The least recently used fragment is evicted and size 0 disables the cache")
+    void shouldEvictLeastRecentlyUsed() {
+        FoFragmentCache cache = new FoFragmentCache(1);
+        FoFragmentCache.Key first = cache.key(paragraph("A"), styleSheet, null, ImageSettings.defaults(), true);
+        FoFragmentCache.Key second = cache.key(paragraph("B"), styleSheet, null, ImageSettings.defaults(), true);
+
+        cache.put(first, "<fo:block>A</fo:block>", null);
+        cache.put(second, "<fo:block>B</fo:block>", null);
+
+        assertNull(cache.get(first, null));
+        assertEquals("<fo:block>B</fo:block>", cache.get(second, null));
+        assertEquals(1, cache.evictionCount());
+        assertEquals("FoFragmentCache (size=1/1, chars=36/8388608, hits=1, misses=1, evictions=1)", cache.toString());
+
+        assertNull(new FoFragmentCache(0).key(paragraph("A"), styleSheet, null, ImageSettings.defaults(), true));
+        assertThrows(IllegalArgumentException.class, () -> new FoFragmentCache(-1));
+    }
+
+    @Test
+    @DisplayName("Fragments are evicted when the characters of fragments and keys exceed the bound")
+    void shouldBoundCharacters() {
+        FoFragmentCache cache = new FoFragmentCache(10, 120);
+        FoFragmentCache.Key first = cache.key(paragraph("A"), styleSheet, null, ImageSettings.defaults(), true);
+        FoFragmentCache.Key second = cache.key(paragraph("B"), styleSheet, null, ImageSettings.defaults(), true);
+        FoFragmentCache.Key third = cache.key(paragraph("C"), styleSheet, null, ImageSettings.defaults(), true);
+
+        // 40 characters of XSL-FO and 14 of the key texts ("paragraph", "text", "A")
+        cache.put(first, "x".repeat(40), null);
+        assertEquals(54, cache.charSize());
+        cache.put(second, "x".repeat(40), null);
+        cache.put(third, "x".repeat(40), null);
+
+        assertNull(cache.get(first, null));
+        assertNotNull(cache.get(second, null));
+        assertEquals(108, cache.charSize());
+        assertEquals(1, cache.evictionCount());
+
+        // An entry larger than the bound is not cached and evicts nothing
+        FoFragmentCache.Key large = cache.key(paragraph("D"), styleSheet, null, ImageSettings.defaults(), true);
+        cache.put(large, "x".repeat(110), null);
+        assertNull(cache.get(large, null));
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.charSize());
+        assertNull(new FoFragmentCache(10, 0)
+                .key(paragraph("A"), styleSheet, null, ImageSettings.defaults(), true));
+        assertThrows(IllegalArgumentException.class, () -> new FoFragmentCache(10, -1));
+    }
+
+    @Test
+    @DisplayName("Fragments of collected style sheets are removed instead of keeping the style sheets alive")
+    void shouldNotKeepStyleSheetsAlive() throws InterruptedException {
+        FoFragmentCache cache = new FoFragmentCache(FoFragmentCache.DEFAULT_MAX_SIZE);
+        WeakReference<StyleSheet> discarded = putWithTemporaryStyleSheet(cache);
+        for (int i = 0; i < 50 && discarded.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(discarded.get(), "The cache keeps the style sheet of a finished job alive");
+
+        cache.put(cache.key(paragraph("B"), styleSheet, null, ImageSettings.defaults(), true),
+                "<fo:block>B</fo:block>", null);
+        assertEquals(1, cache.size());
+    }
+
+    private WeakReference<StyleSheet> putWithTemporaryStyleSheet(FoFragmentCache cache) {
+        StyleSheet temporary = new StyleSheet(styleSheet.textStyles(), Collections.emptyList(),
+                Collections.emptyList(), null);
+        cache.put(cache.key(paragraph("A"), temporary, null, ImageSettings.defaults(), true),
+                "<fo:block>A</fo:block>", null);
+        assertEquals(1, cache.size());
+        return new WeakReference<>(temporary);
+    }
+
+    @Test
+    @DisplayName("A reused fragment registers its images in the image store of the current job")
+    void shouldRegisterImagesOfReusedFragments() throws Exception {
+        FoFragmentCache cache = new FoFragmentCache(FoFragmentCache.DEFAULT_MAX_SIZE);
+        XslFoGenerator generator = XslFoGenerator.builder().withFragmentCache(cache).build();
+        ImageResolver resolver = path -> getClass().getClassLoader().getResource(path);
+        ContentArea header = new ContentArea(List.of(new BlockImage(null, "images/img.png", "Logo", null, null)));
+        Document document = new Document(null, Metadata.builder("A Title").build(), List.of(
+                new PageSequence("default", new ContentArea(List.of(paragraph("Text"))), header, null)));
+
+        ImageStore first = new ImageStore();
+        generator.generate(document, styleSheet, resolver, first, new DefaultHandler());
+        ImageStore second = new ImageStore();
+        generator.generate(document, styleSheet, resolver, second, new DefaultHandler());
+
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertEquals(first.byteSize(), second.byteSize());
+        // The kept image counts towards the character bound
+        assertTrue(cache.charSize() > first.byteSize() / 2);
+    }
+
+    private Document document(int sequences) {
+        List<PageSequence> pageSequences = new ArrayList<>();
+        for (int s = 0; s < sequences; s++) {
+            List<Element> body = List.of(
+                    new Headline("headline", "Chapter " + s, 1),
+                    paragraph("Text " + s),
+                    boilerplate());
+            ContentArea header = new ContentArea(List.of(new Paragraph("header", List.of(new PageNumber()))));
+            pageSequences.add(new PageSequence("default", new ContentArea(body), header, null));
+        }
+        return new Document(null, Metadata.builder("A Title").build(), pageSequences);
+    }
+
+    private Section boilerplate() {
+        return new Section("legal", SectionVariant.SECTION, List.of(paragraph("All rights reserved.")));
+    }
+
+    private Paragraph paragraph(String text) {
+        return new Paragraph("paragraph", List.of(new TextRun(text, "text")));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoTemplateTest {
+
+    private static final String FO = "<fo:block>Dear {{name}},</fo:block>"
+            + "<fo:table-body>"
+            + "<fo:table-row><fo:table-cell><fo:block>Item</fo:block></fo:table-cell></fo:table-row>"
+            + "<fo:table-row><fo:table-cell><fo:block>{{items[].label}}: {{items[].price}} {{currency}}</fo:block>"
+            + "</fo:table-cell></fo:table-row>"
+            + "</fo:table-body>";
+
+    @Test
+    @DisplayName("Slots and repeatable rows are filled")
+    void shouldFillSlotsAndRows() {
+        FoTemplate template = FoTemplate.compile(FO);
+
+        assertEquals(Set.of("name", "currency"), template.slotNames());
+        assertEquals(Map.of("items", Set.of("label", "price")), template.regionFields());
+
+        String fo = template.fill(
+                Map.of("name", "Jane & John", "currency", "EUR"),
+                Map.of("items", List.of(
+                        Map.of("label", "A", "price", "1"),
+                        Map.of("label", "B", "price", "2"))));
+
+        assertTrue(fo.contains("<fo:block>Dear Jane &amp; John,</fo:block>"));
+        assertTrue(fo.contains("<fo:block>A: 1 EUR</fo:block></fo:table-cell></fo:table-row>"
+                + "<fo:table-row><fo:table-cell><fo:block>B: 2 EUR</fo:block>"));
+        assertTrue(fo.contains("<fo:block>Item</fo:block>"));
+        assertFalse(fo.contains("{{"));
+    }
+
+    @Test
+    @DisplayName("Empty collections remove the repeatable row")
+    void shouldEmitNoRowsForEmptyCollection() {
+        String fo = FoTemplate.compile(FO).fill(Map.of("name", "Jane", "currency", "EUR"), Map.of("items", List.of()));
+
+        assertEquals(1, fo.split("<fo:table-row>", -1).length - 1);
+    }
+
+    @Test
+    @DisplayName("Missing values are rejected")
+    void shouldRejectMissingValues() {
+        FoTemplate template = FoTemplate.compile(FO);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> template.fill(Map.of("currency", "EUR"), Map.of("items", List.of())));
+        assertThrows(IllegalArgumentException.class,
+                () -> template.fill(Map.of("name", "Jane", "currency", "EUR"), Map.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> template.fill(Map.of("name", "Jane", "currency", "EUR"),
+                        Map.of("items", List.of(Map.of("label", "A")))));
+    }
+
+    @Test
+    @DisplayName("Invalid repeatable regions are rejected at compile time")
+    void shouldRejectInvalidRegions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FoTemplate.compile("<fo:block>{{items[].label}}</fo:block>"));
+        assertThrows(IllegalArgumentException.class,
+                () -> FoTemplate.compile("<fo:table-row><fo:block>{{items[].a}}</fo:block></fo:table-row>"
+                        + "<fo:table-row><fo:block>{{items[].b}}</fo:block></fo:table-row>"));
+        assertThrows(IllegalArgumentException.class,
+                () -> FoTemplate.compile("<fo:table-row><fo:block id=\"h-1\">{{items[].a}}</fo:block></fo:table-row>"));
+        // A row closed before the placeholder does not contain it
+        IllegalArgumentException afterTable = assertThrows(IllegalArgumentException.class,
+                () -> FoTemplate.compile(FO + "<fo:block>{{others[].label}}</fo:block>"
+                        + "<fo:table-row><fo:table-cell><fo:block>Later</fo:block></fo:table-cell></fo:table-row>"));
+        assertTrue(afterTable.getMessage().contains("not inside a table row"), afterTable.getMessage());
+    }
+
+    @Test
+    @DisplayName("A placeholder in an outer cell after a nested table repeats the outer row")
+    void shouldRepeatOuterRowAroundNestedTable() {
+        String nested = "<fo:table-row><fo:table-cell><fo:block>{{items[].label}}</fo:block></fo:table-cell></fo:table-row>";
+        String outer = "<fo:table-row><fo:table-cell><fo:table><fo:table-body>"
+                + "<fo:table-row><fo:table-cell><fo:block>Inner</fo:block></fo:table-cell></fo:table-row>"
+                + "</fo:table-body></fo:table>"
+                + "<fo:block>{{items[].price}}</fo:block></fo:table-cell></fo:table-row>";
+        FoTemplate template = FoTemplate.compile("<fo:table-body>" + outer + "</fo:table-body>");
+
+        String fo = template.fill(Map.of(), Map.of("items", List.of(Map.of("price", "1"), Map.of("price", "2"))));
+        assertEquals(outer.replace("{{items[].price}}", "1") + outer.replace("{{items[].price}}", "2"),
+                fo.substring("<fo:table-body>".length(), fo.length() - "</fo:table-body>".length()));
+
+        // The placeholders of a collection must not be split between the outer and the nested row
+        String split = outer.replace("<fo:block>Inner</fo:block>", "<fo:block>{{items[].label}}</fo:block>");
+        assertThrows(IllegalArgumentException.class, () -> FoTemplate.compile(split));
+        assertEquals(Map.of("items", Set.of("label")), FoTemplate.compile(nested).regionFields());
+    }
+}
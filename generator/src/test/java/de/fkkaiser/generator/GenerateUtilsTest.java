@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerateUtilsTest {
+
+    @Test
+    @DisplayName("Text without special characters is returned as it is")
+    void escapeXml_withPlainText_shouldReturnSameInstance() {
+        String text = "Grüße aus Köln, 100 % (ok) 😀";
+        assertSame(text, GenerateUtils.escapeXml(text));
+        assertEquals("", GenerateUtils.escapeXml(null));
+    }
+
+    @Test
+    @DisplayName("Markup characters are replaced by entities")
+    void escapeXml_withMarkup_shouldEscapeEntities() {
+        assertEquals("&lt;a href=&quot;x&quot;&gt;Tom &amp; Jerry&apos;s&lt;/a&gt;",
+                GenerateUtils.escapeXml("<a href=\"x\">Tom & Jerry's</a>"));
+    }
+
+    @Test
+    @DisplayName("Characters not allowed in XML 1.0 are removed")
+    void escapeXml_withIllegalCharacters_shouldRemoveThem() {
+        assertEquals("a\tb\nc\rd", GenerateUtils.escapeXml("a\tb\nc\rd"));
+        assertEquals("abc", GenerateUtils.escapeXml("a\u0001b\u000Bc\uFFFE"));
+        assertEquals("x😀y", GenerateUtils.escapeXml("x\uD83D😀\uDE00y"));
+    }
+
+    @Test
+    @DisplayName("Appending produces the same output as escaping")
+    void appendEscapedXml_shouldMatchEscapeXml() {
+        StringBuilder builder = new StringBuilder("[");
+        GenerateUtils.appendEscapedXml(builder, "plain");
+        GenerateUtils.appendEscapedXml(builder, null);
+        GenerateUtils.appendEscapedXml(builder, "1 < 2\u0000");
+        assertEquals("[plain" + GenerateUtils.escapeXml("1 < 2\u0000"), builder.toString());
+        assertEquals("[plain1 &lt; 2", builder.toString());
+    }
+}
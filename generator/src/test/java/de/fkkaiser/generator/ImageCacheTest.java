@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageCacheTest {
+
+    private final AtomicInteger resolved = new AtomicInteger();
+    private final ImageResolver resolver = path -> {
+        resolved.incrementAndGet();
+        return getClass().getClassLoader().getResource(path);
+    };
+
+    @Test
+    @DisplayName("An image is loaded once and its data URI and store URI are reused")
+    void shouldReuseLoadedImage() {
+        ImageCache cache = new ImageCache(ImageCache.DEFAULT_MAX_BYTES);
+
+        String first = ImageUtils.resolveToUri("images/img.png", resolver, ImageSettings.defaults().withImageCache(cache), null);
+        String second = ImageUtils.resolveToUri("images/img.png", resolver, ImageSettings.defaults().withImageCache(cache), null);
+
+        assertSame(first, second);
+        assertEquals(ImageUtils.resolveToDataUri("images/img.png", resolver), first);
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.size());
+
+        ImageStore store = new ImageStore();
+        String stored = ImageUtils.resolveToUri("images/img.png", resolver,
+                ImageSettings.defaults().withImageStore(store).withImageCache(cache), null);
+        assertEquals(ImageUtils.resolveToUri("images/img.png", resolver,
+                ImageSettings.defaults().withImageStore(new ImageStore()), null), stored);
+        assertEquals(2, cache.hitCount());
+    }
+
+    @Test
+    @DisplayName("Least recently used images are evicted when the byte bound is exceeded")
+    void shouldEvictLeastRecentlyUsed() throws Exception {
+        ImageCache cache = new ImageCache(250);
+        URL a = URI.create("file:/a.png").toURL();
+        URL b = URI.create("file:/b.png").toURL();
+        URL c = URI.create("file:/c.png").toURL();
+
+        cache.put(a, image("a", 100));
+        cache.put(b, image("b", 100));
+        assertNotNull(cache.get(a)); // a is now most recent
+        cache.put(c, image("c", 100)); // evicts b
+
+        assertEquals(200, cache.byteSize());
+        assertEquals(1, cache.evictionCount());
+        assertNull(cache.get(b));
+        assertNotNull(cache.get(a));
+        assertNotNull(cache.get(c));
+
+        // Larger than the bound, not cached
+        cache.put(b, image("big", 300));
+        assertNull(cache.get(b));
+        assertTrue(cache.toString().contains("evictions=1"));
+    }
+
+    @Test
+    @DisplayName("The same content behind another URL is found by its hash")
+    void shouldFindImageByContent() throws Exception {
+        ImageCache cache = new ImageCache(1000);
+        ImageCache.CachedImage image = image("a", 10);
+        cache.put(URI.create("file:/a.png").toURL(), image);
+
+        URL copy = URI.create("file:/copy.png").toURL();
+        assertNull(cache.get(copy));
+        assertSame(image, cache.getByContent(copy, "a"));
+        assertSame(image, cache.get(copy));
+    }
+
+    @Test
+    @DisplayName("Evicted images are kept by soft references and moved back on their next use")
+    void shouldRetainEvictedImagesSoftly() throws Exception {
+        ImageCache cache = new ImageCache(150, ImageCache.Retention.SOFT);
+        URL a = URI.create("file:/a.png").toURL();
+        ImageCache.CachedImage image = image("a", 100);
+        cache.put(a, image);
+        cache.put(URI.create("file:/b.png").toURL(), image("b", 100)); // evicts a into the soft tier
+
+        assertEquals(1, cache.size());
+        assertSame(image, cache.get(a));
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    @DisplayName("A cache without capacity caches nothing")
+    void shouldNotCacheWithZeroSize() throws Exception {
+        ImageCache cache = new ImageCache(0);
+        URL a = URI.create("file:/a.png").toURL();
+        cache.put(a, image("a", 1));
+
+        assertNull(cache.get(a));
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new ImageCache(-1));
+    }
+
+    private static ImageCache.CachedImage image(String hash, int size) {
+        byte[] bytes = new byte[size];
+        return new ImageCache.CachedImage("image/png", hash, bytes, "image/png", bytes, hash);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageOptimizerTest {
+
+    @Test
+    @DisplayName("Images are downsampled to the maximum resolution at their content width, once per size")
+    void shouldDownsampleToContentWidth() throws IOException {
+        byte[] png = resource("images/img.png");
+        ImageOptimizer optimizer = ImageOptimizer.builder().withMaxDpi(100).build();
+
+        ImageOptimizer.Optimized optimized = optimizer.optimize(png, null, "2.54cm");
+        assertNotNull(optimized);
+        assertEquals("image/png", optimized.mimeType());
+        assertTrue(optimized.bytes().length < png.length);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(optimized.bytes()));
+        assertEquals(100, image.getWidth());
+        // 500 x 628 pixels keep their aspect ratio
+        assertEquals(126, image.getHeight());
+        assertEquals(ImageStore.sha256(optimized.bytes()), optimized.hash());
+
+        assertSame(optimized, optimizer.optimize(png, null, "1in"));
+        assertEquals(1, optimizer.hitCount());
+        assertEquals(1, optimizer.missCount());
+        assertEquals(png.length - optimized.bytes().length, optimizer.savedBytes());
+
+        // Large enough for the target, or no absolute width: the original bytes are used
+        assertNull(optimizer.optimize(png, null, "20cm"));
+        assertNull(optimizer.optimize(png, null, "50%"));
+        assertNull(optimizer.optimize(png, null, null));
+        // Relative and missing widths share one entry
+        assertEquals(3, optimizer.size());
+    }
+
+    @Test
+    @DisplayName("Large images are subsampled while decoding, keeping twice the target width for scaling")
+    void shouldSubsampleLargeImages() throws IOException {
+        assertEquals(20, ImageOptimizer.subsampling(4000, 100));
+        assertEquals(2, ImageOptimizer.subsampling(500, 100));
+        assertEquals(1, ImageOptimizer.subsampling(399, 100));
+        assertEquals(1, ImageOptimizer.subsampling(4000, 0));
+
+        BufferedImage large = new BufferedImage(4000, 2000, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(large, "jpeg", out);
+
+        ImageOptimizer.Optimized optimized = ImageOptimizer.builder().withMaxDpi(100).build()
+                .optimize(out.toByteArray(), null, "1in");
+        assertNotNull(optimized);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(optimized.bytes()));
+        assertEquals(100, image.getWidth());
+        assertEquals(50, image.getHeight());
+    }
+
+    @Test
+    @DisplayName("JPEG images are recompressed and stay JPEG")
+    void shouldRecompressJpeg() throws IOException {
+        byte[] jpeg = resource("images/img2.jpg");
+        ImageOptimizer optimizer = ImageOptimizer.builder().withMaxDpi(72).withJpegQuality(0.5f).build();
+
+        ImageOptimizer.Optimized optimized = optimizer.optimize(jpeg, null, "1in");
+        assertNotNull(optimized);
+        assertEquals("image/jpeg", optimized.mimeType());
+        assertEquals(72, ImageIO.read(new ByteArrayInputStream(optimized.bytes())).getWidth());
+        assertTrue(optimized.bytes().length < jpeg.length);
+    }
+
+    @Test
+    @DisplayName("GIF images are converted to PNG unless format conversion is disabled")
+    void shouldConvertGif() throws IOException {
+        BufferedImage image = new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "gif", out);
+        byte[] gif = out.toByteArray();
+
+        ImageOptimizer.Optimized optimized = ImageOptimizer.defaults().optimize(gif, null, null);
+        assertNotNull(optimized);
+        assertEquals("image/png", optimized.mimeType());
+        assertEquals(40, ImageIO.read(new ByteArrayInputStream(optimized.bytes())).getWidth());
+
+        assertNull(ImageOptimizer.builder().withFormatConversion(false).build().optimize(gif, null, null));
+        // Unreadable bytes are kept
+        assertNull(ImageOptimizer.defaults().optimize(new byte[]{1, 2, 3}, null, "1cm"));
+    }
+
+    @Test
+    @DisplayName("Absolute XSL-FO lengths are converted to inches")
+    void shouldConvertLengths() {
+        assertEquals(1.0, ImageOptimizer.toInches("2.54cm"), 1e-9);
+        assertEquals(1.0, ImageOptimizer.toInches("25.4mm"), 1e-9);
+        assertEquals(2.0, ImageOptimizer.toInches(" 144pt "), 1e-9);
+        assertEquals(0.5, ImageOptimizer.toInches("3pc"), 1e-9);
+        assertEquals(1.0, ImageOptimizer.toInches("72px"), 1e-9);
+        assertTrue(Double.isNaN(ImageOptimizer.toInches("100%")));
+        assertTrue(Double.isNaN(ImageOptimizer.toInches("auto")));
+        assertThrows(IllegalArgumentException.class, () -> ImageOptimizer.builder().withJpegQuality(1.5f));
+    }
+
+    private byte[] resource(String name) throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(name)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageStoreTest {
+
+    private final ImageResolver resolver = path -> getClass().getClassLoader().getResource(path);
+
+    @Test
+    @DisplayName("Equal image bytes are stored once under the same URI")
+    void shouldAddressImagesByContent() {
+        ImageStore store = new ImageStore();
+
+        String first = store.register("image/png", new byte[]{1, 2, 3});
+        String second = store.register("image/png", new byte[]{1, 2, 3});
+        String other = store.register("image/png", new byte[]{4});
+
+        assertTrue(first.startsWith(ImageStore.SCHEME + ":"));
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertEquals(2, store.size());
+        assertEquals(4, store.byteSize());
+        assertArrayEquals(new byte[]{1, 2, 3}, store.get(first).bytes());
+    }
+
+    @Test
+    @DisplayName("Equal images get the same URI in every store, but are only found in the store bound to the thread")
+    void shouldFindImagesInBoundStore() throws Exception {
+        ImageStore store = new ImageStore();
+        ImageStore other = new ImageStore();
+
+        String uri = store.register("image/png", new byte[]{1, 9});
+        assertNull(other.get(uri));
+        assertNull(ImageStore.find(uri));
+
+        try (ImageStore.Binding ignored = store.bind()) {
+            assertEquals("image/png", ImageStore.find(uri).mimeType());
+            assertNull(ImageStore.find("data:image/png;base64,AQk="));
+            // Another thread has no store bound
+            assertNull(CompletableFuture.supplyAsync(() -> ImageStore.find(uri)).get());
+
+            try (ImageStore.Binding nested = other.bind()) {
+                assertNull(ImageStore.find(uri));
+                assertEquals(uri, other.register("image/png", new byte[]{1, 9}));
+                assertNotNull(ImageStore.find(uri));
+            }
+            store.clear();
+            assertNull(ImageStore.find(uri));
+        }
+        assertNull(ImageStore.find(uri));
+    }
+
+    @Test
+    @DisplayName("The images referenced by XSL-FO can be registered in another store")
+    void shouldCopyReferencedImages() {
+        ImageStore store = new ImageStore();
+        String uri = store.register("image/png", new byte[]{1, 2});
+        store.register("image/png", new byte[]{3});
+        String fo = "<fo:external-graphic src=\"" + uri + "\"/><fo:block>" + ImageStore.SCHEME + ":</fo:block>";
+
+        Map<String, ImageStore.StoredImage> referenced = store.referencedBy(fo);
+        assertEquals(1, referenced.size());
+        assertTrue(store.referencedBy("<fo:block/>").isEmpty());
+
+        ImageStore other = new ImageStore();
+        other.registerAll(referenced);
+        assertEquals(1, other.size());
+        assertArrayEquals(new byte[]{1, 2}, other.get(uri).bytes());
+    }
+
+    @Test
+    @DisplayName("Path and base64 images are registered instead of embedded")
+    void shouldRegisterImagesOfImageUtils() throws Exception {
+        ImageStore store = new ImageStore();
+        ImageSettings images = ImageSettings.defaults().withImageStore(store);
+        byte[] png;
+        try (var in = resolver.resolve("images/img.png").openStream()) {
+            png = in.readAllBytes();
+        }
+
+        String fromPath = ImageUtils.resolveToUri("images/img.png", resolver, images, null);
+        String fromBase64 = ImageUtils.base64DataToUri(
+                "data:image/png;base64," + Base64.getEncoder().encodeToString(png), images, null);
+
+        assertTrue(ImageStore.isStoreUri(fromPath));
+        assertEquals(fromPath, fromBase64);
+        assertArrayEquals(png, store.get(fromPath).bytes());
+        assertEquals("image/png", store.get(fromPath).mimeType());
+
+        // Values that are no base64 data URI, or without a store, stay unchanged
+        assertEquals("data:image/png,raw", ImageUtils.base64DataToUri("data:image/png,raw", images, null));
+        assertEquals("data:image/png;base64,AQ==", ImageUtils.base64DataToUri("data:image/png;base64,AQ==",
+                ImageSettings.defaults(), null));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.structure.*;
+import de.fkkaiser.model.style.StyleSheet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageSequenceSplittingTest {
+
+    private final StyleSheet styleSheet = new StyleSheet(Collections.emptyList(), Collections.emptyList(),
+            Collections.emptyList(), null);
+
+    @Test
+    @DisplayName("Large bodies are split into page sequences with the same master, header and footer")
+    void shouldSplitAfterMaxElements() {
+        Document document = document(10);
+
+        Document split = PageSequenceSplitting.afterElements(4).split(document);
+
+        assertEquals(3, split.pageSequences().size());
+        assertEquals(List.of(4, 4, 2), split.pageSequences().stream().map(s -> s.body().elements().size()).toList());
+        for (PageSequence sequence : split.pageSequences()) {
+            assertEquals("default", sequence.styleClass());
+            assertSame(document.pageSequences().getFirst().header(), sequence.header());
+        }
+        // Nothing to split
+        assertSame(document, PageSequenceSplitting.afterElements(10).split(document));
+        assertSame(document, PageSequenceSplitting.disabled().split(document));
+    }
+
+    @Test
+    @DisplayName("With beforeHeadlinesOnly, every further part starts with a headline")
+    void shouldSplitBeforeHeadlines() {
+        Document split = PageSequenceSplitting.afterElements(2).beforeHeadlinesOnly(true).split(document(10));
+
+        // Headlines are at 0, 3, 6 and 9
+        assertEquals(List.of(3, 3, 3, 1), split.pageSequences().stream().map(s -> s.body().elements().size()).toList());
+        for (PageSequence sequence : split.pageSequences()) {
+            assertInstanceOf(Headline.class, sequence.body().elements().getFirst());
+        }
+    }
+
+    @Test
+    @DisplayName("The generated XSL-FO repeats the header and keeps all bookmarks")
+    void shouldGenerateSplitPageSequences() {
+        Document document = document(10);
+
+        String fo = XslFoGenerator.builder()
+                .withPageSequenceSplitting(PageSequenceSplitting.afterElements(4)).build().generate(document, styleSheet, null);
+
+        assertEquals(3, count(fo, "<fo:page-sequence master-reference=\"default\">"));
+        assertEquals(3, count(fo, "flow-name=\"xsl-region-before\""));
+        assertEquals(4, count(fo, "<fo:bookmark "));
+        assertFalse(fo.contains("initial-page-number"));
+    }
+
+    private Document document(int elements) {
+        List<Element> body = new ArrayList<>();
+        for (int i = 0; i < elements; i++) {
+            body.add(i % 3 == 0 ? new Headline("headline", "Chapter " + i, 1) : new Paragraph("paragraph", "Text " + i));
+        }
+        ContentArea header = new ContentArea(List.of(new Paragraph("header", List.of(new PageNumber()))));
+        PageSequence sequence = new PageSequence("default", new ContentArea(body), header, null);
+        return new Document(null, Metadata.builder("A Title").build(), List.of(sequence));
+    }
+
+    private static int count(String text, String part) {
+        return text.split(java.util.regex.Pattern.quote(part), -1).length - 1;
+    }
+}
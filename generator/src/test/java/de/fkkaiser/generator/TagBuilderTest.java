@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagBuilderTest {
+
+    @Test
+    @DisplayName("Nested elements are written with escaped attributes and content")
+    void shouldBuildNestedElements() {
+        TagBuilder block = GenerateUtils.tagBuilder("block")
+                .addAttribute("role", "P")
+                .addAttribute("color", null)
+                .addChild(GenerateUtils.tagBuilder("inline")
+                        .addAttribute("font-family", "A & B")
+                        .addContent("x < y"))
+                .addNestedContent("<fo:leader/>");
+
+        assertEquals("<fo:block role=\"P\"><fo:inline font-family=\"A &amp; B\">x &lt; y</fo:inline>"
+                + "<fo:leader/></fo:block>", block.build());
+        // Building does not change the builder
+        assertEquals(block.build(), block.build());
+    }
+
+    @Test
+    @DisplayName("Streaming with open and close produces the same output as building the tree")
+    void shouldStreamIntoSharedBuffer() {
+        StringBuilder built = new StringBuilder("before");
+        GenerateUtils.tagBuilder("list-item")
+                .addChild(GenerateUtils.tagBuilder("list-item-label").addContent("1."))
+                .addChild(GenerateUtils.tagBuilder("list-item-body").addContent("text"))
+                .buildInto(built);
+
+        StringBuilder streamed = new StringBuilder("before");
+        TagBuilder item = GenerateUtils.tagBuilder("list-item")
+                .addChild(GenerateUtils.tagBuilder("list-item-label").addContent("1."));
+        TagBuilder body = GenerateUtils.tagBuilder("list-item-body");
+        item.open(streamed);
+        body.open(streamed);
+        streamed.append("text");
+        body.close(streamed);
+        item.close(streamed);
+
+        assertEquals(built.toString(), streamed.toString());
+    }
+}
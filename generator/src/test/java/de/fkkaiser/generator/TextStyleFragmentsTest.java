@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import de.fkkaiser.model.style.StyleSheet;
+import de.fkkaiser.model.style.TextStyle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextStyleFragmentsTest {
+
+    @Test
+    @DisplayName("Font attributes are escaped once and looked up by name")
+    void shouldPrecompileTextStyles() {
+        StyleSheet styleSheet = new StyleSheet(List.of(
+                new TextStyle("body", "10pt", "A & B", "400", "normal"),
+                new TextStyle("body", "12pt", "Other", "700", "italic")),
+                Collections.emptyList(), Collections.emptyList(), null);
+
+        TextStyleFragments fragments = TextStyleFragments.of(styleSheet);
+
+        // The first text style with the name wins
+        assertEquals(" font-family=\"A &amp; B\" font-size=\"10pt\" font-weight=\"400\" font-style=\"normal\"",
+                fragments.get("body"));
+        assertNull(fragments.get("unknown"));
+        assertNull(fragments.get(null));
+
+        // The same attributes as writing them one by one
+        TagBuilder builder = GenerateUtils.tagBuilder("inline");
+        GenerateUtils.appendTextStyleTags(builder, styleSheet.textStyles().getFirst());
+        assertEquals("<fo:inline" + fragments.get("body") + "></fo:inline>", builder.build());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedLruMapTest {
+
+    @Test
+    @DisplayName("The least recently used entries are evicted when the weight bound is exceeded")
+    void shouldEvictLeastRecentlyUsedByWeight() {
+        List<String> evicted = new ArrayList<>();
+        WeightedLruMap<String, String> map = new WeightedLruMap<>(Integer.MAX_VALUE, 6, String::length,
+                (key, value) -> evicted.add(key));
+
+        map.put("a", "aa");
+        map.put("b", "bb");
+        map.put("c", "cc");
+        assertEquals("aa", map.get("a"));
+        map.put("d", "dd");
+
+        assertEquals(List.of("b"), evicted);
+        assertEquals(3, map.size());
+        assertEquals(6, map.weight());
+        assertFalse(map.containsKey("b"));
+    }
+
+    @Test
+    @DisplayName("The size bound, replaced values and changed weights are taken into account")
+    void shouldApplySizeBoundAndReweigh() {
+        List<String> evicted = new ArrayList<>();
+        WeightedLruMap<String, StringBuilder> map = new WeightedLruMap<>(2, 10, StringBuilder::length,
+                (key, value) -> evicted.add(key));
+
+        map.put("a", new StringBuilder("a"));
+        map.put("a", new StringBuilder("aaa"));
+        assertEquals(3, map.weight());
+        map.put("b", new StringBuilder("b"));
+        map.put("c", new StringBuilder("c"));
+        assertEquals(List.of("a"), evicted);
+
+        map.get("b").append("bbbbbbbbbb");
+        map.reweigh("b");
+        assertEquals(List.of("a", "c", "b"), evicted);
+        assertEquals(0, map.weight());
+    }
+
+    @Test
+    @DisplayName("Removed and cleared entries are not reported as evicted")
+    void shouldNotReportRemovedEntries() {
+        List<String> evicted = new ArrayList<>();
+        WeightedLruMap<String, String> map = new WeightedLruMap<>(Integer.MAX_VALUE, 100, String::length,
+                (key, value) -> evicted.add(key));
+
+        map.put("a", "aa");
+        map.put("b", "bbb");
+        map.removeIf((key, value) -> key.equals("a"));
+        assertEquals(3, map.weight());
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(0, map.weight());
+        assertTrue(evicted.isEmpty());
+    }
+}
@@ -20,10 +20,20 @@ import de.fkkaiser.model.style.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
+import javax.xml.parsers.SAXParserFactory;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -129,4 +139,279 @@ class XslFoGeneratorTest {
         assertTrue(result.contains("<fo:bookmark-tree>"), "The fo:bookmark-tree is missing.");
         assertTrue(result.contains("<fo:bookmark-title>Chapter 1</fo:bookmark-title>"), "The title of the bookmark is missing.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should derive ids from the document structure, so the output is reproducible")
+    void generate_twice_shouldProduceIdenticalOutput() {
+        String first = xslFoGenerator.generate(testDocument, testStyleSheet, null);
+        String second = new XslFoGenerator().generate(testDocument, testStyleSheet, null);
+
+        assertEquals(first, second);
+        // Header and footer are the top-level elements 0 and 1, the headline is the first of the body
+        assertTrue(first.contains("id=\"headline-2-1\""), "The headline id is missing.");
+        assertTrue(first.contains("internal-destination=\"headline-2-1\""), "The bookmark does not reference the headline.");
+    }
+
+    @Test
+    @DisplayName("Should deliver the XSL-FO document as namespace-aware SAX events")
+    void generate_withContentHandler_shouldEmitSaxEvents() throws Exception {
+        List<String> elements = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        boolean[] documentEnded = {false};
+
+        xslFoGenerator.generate(testDocument, testStyleSheet, null, new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                elements.add(uri + "|" + localName);
+            }
+
+            @Override
+            public void characters(char[] ch, int start, int length) {
+                text.append(ch, start, length);
+            }
+
+            @Override
+            public void endDocument() {
+                documentEnded[0] = true;
+            }
+        });
+
+        assertEquals("http://www.w3.org/1999/XSL/Format|root", elements.getFirst());
+        assertTrue(elements.contains("http://www.w3.org/1999/XSL/Format|page-sequence"));
+        assertTrue(text.toString().contains("Hello World!"));
+        assertTrue(documentEnded[0], "endDocument was not emitted.");
+    }
+
+    @Test
+    @DisplayName("The SAX events should match the generated XSL-FO, including bookmarks of nested headlines")
+    void generate_withContentHandler_shouldMatchGeneratedString() throws Exception {
+        Table table = Table.builder("table")
+                .addColumns("50%", "50%")
+                .addHeaderCells(new Headline("default-headline", "In the header", 2), new Paragraph("head", "Head"))
+                .addBody(new TableSection(new ArrayList<>(List.of(new TableRow(List.of(
+                        new TableCell("cell", List.of(new Headline("default-headline", "In a cell", 3)), null, null),
+                        new TableCell("cell", List.of(new Paragraph("body", "Fish & Chips <3")), null, null)))))))
+                .build();
+        Section section = new Section("section", null, List.of(new Headline("default-headline", "In a section", 2)));
+        Document document = new Document(null, Metadata.builder("A Title").build(), List.of(new PageSequence("default",
+                new ContentArea(List.of(new Headline("default-headline", "Chapter", 1), table, section)), null, null)));
+
+        String fo = xslFoGenerator.generate(document, testStyleSheet, null);
+        assertEquals(4, fo.split("<fo:bookmark ", -1).length - 1);
+        Recorder recorder = new Recorder();
+        xslFoGenerator.generate(document, testStyleSheet, null, recorder);
+        assertEquals(parse(fo), recorder.events());
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Recorder parallel = new Recorder();
+            XslFoGenerator.builder().withPool(pool).withChunkSize(1).build().generate(document, testStyleSheet, null, parallel);
+            assertEquals(recorder.events(), parallel.events());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Bookmarks should point at their headlines, also in and after tables with a row source")
+    void generate_withRowSourceAndHeadlines_shouldBookmarkGeneratedIds() {
+        Iterator<TableRow> rows = List.of(new TableRow(List.of(new TableCell("cell",
+                List.of(new Headline("default-headline", "In a row", 2)), null, null)))).iterator();
+        Table table = Table.builder("table").addColumns("100%").withBodyRows(TableRowSource.of(rows)).build();
+        Section section = new Section("section", SectionVariant.SECTION,
+                List.of(new Headline("default-headline", "Before", 1), table, new Headline("default-headline", "After", 2)));
+        Document document = new Document(null, Metadata.builder("A Title").build(), List.of(
+                new PageSequence("default", new ContentArea(List.of(section)), null, null)));
+
+        String fo = xslFoGenerator.generate(document, testStyleSheet, null);
+
+        Matcher bookmark = Pattern.compile("internal-destination=\"([^\"]+)\">\\s*<fo:bookmark-title>([^<]+)<").matcher(fo);
+        List<String> titles = new ArrayList<>();
+        while (bookmark.find()) {
+            titles.add(bookmark.group(2));
+            int block = fo.indexOf("id=\"" + bookmark.group(1) + "\"");
+            assertTrue(block >= 0, "No block for bookmark " + bookmark.group(2));
+            assertTrue(fo.substring(block, fo.indexOf("</fo:block>", block)).contains(bookmark.group(2)),
+                    "The bookmark " + bookmark.group(2) + " points at another block");
+        }
+        assertEquals(List.of("Before", "In a row", "After"), titles);
+    }
+
+    @Test
+    @DisplayName("A document with extension elements should be delivered as the SAX events of the generated XSL-FO")
+    void generate_withContentHandlerAndExtensionElements_shouldMatchGeneratedString() throws Exception {
+        Document document = new Document(null, Metadata.builder("A Title").build(), List.of(new PageSequence("default",
+                new ContentArea(List.of(new Box(List.of(new Headline("default-headline", "Boxed", 1))))), null, null)));
+        xslFoGenerator.registerExtension(Box.class, (box, context, generator) -> {
+            context.builder().append("<fo:block border=\"1pt solid\">");
+            generator.generateBlockElements(box.elements(), context);
+            context.builder().append("</fo:block>");
+        });
+
+        String fo = xslFoGenerator.generate(document, testStyleSheet, null);
+        assertTrue(fo.contains("<fo:bookmark-title>Boxed</fo:bookmark-title>"), "The bookmark of the extension content is missing.");
+        Recorder recorder = new Recorder();
+        xslFoGenerator.generate(document, testStyleSheet, null, recorder);
+        assertEquals(parse(fo), recorder.events());
+
+        // XSL-FO that is not well-formed is reported by the SAX path
+        xslFoGenerator.registerExtension(Box.class, (box, context, generator) -> context.builder().append("<fo:block>"));
+        assertThrows(SAXException.class, () -> xslFoGenerator.generate(document, testStyleSheet, null, new DefaultHandler()));
+    }
+
+    @Test
+    @DisplayName("Parallel generation should produce the same XSL-FO as sequential generation")
+    void generate_withPool_shouldMatchSequentialGeneration() {
+        List<PageSequence> sequences = new ArrayList<>();
+        for (int s = 0; s < 3; s++) {
+            List<Element> body = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                body.add(i % 4 == 0
+                        ? new Headline("default-headline", "Chapter " + s + "." + i, 1 + i % 3)
+                        : new Paragraph("default-paragraph", List.of(new TextRun("Text " + s + "." + i, "default-text"))));
+            }
+            ContentArea header = new ContentArea(List.of(new Paragraph("header-style", List.of(new PageNumber()))));
+            sequences.add(new PageSequence("default", new ContentArea(body), header, null));
+        }
+        Document document = new Document(null, Metadata.builder("A Title").build(), sequences);
+
+        String sequential = xslFoGenerator.generate(document, testStyleSheet, null);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            String parallel = XslFoGenerator.builder().withPool(pool).withChunkSize(3).build().generate(document, testStyleSheet, null);
+            assertEquals(sequential, parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("The builder should reject invalid settings and default to the settings of the no-arg constructor")
+    void builder_shouldValidateSettings() {
+        XslFoGenerator.Builder builder = XslFoGenerator.builder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.withChunkSize(0));
+        assertThrows(NullPointerException.class, () -> builder.withImages(null));
+        assertThrows(NullPointerException.class, () -> builder.withPageSequenceSplitting(null));
+        assertSame(ImageSettings.defaults(), builder.build().images());
+        assertSame(ImageSettings.defaults(), new XslFoGenerator().images());
+    }
+
+    @Test
+    @DisplayName("Extension elements should be generated by the generators registered for their types")
+    void generate_withExtensionElements_shouldUseRegisteredGenerators() {
+        Paragraph paragraph = new Paragraph("default-paragraph",
+                List.of(new TextRun("Sum ", "default-text"), new Symbol("\u2211")));
+        Document document = new Document(null, Metadata.builder("A Title").build(), List.of(
+                new PageSequence("default", new ContentArea(List.of(new Box(List.of(paragraph)))), null, null)));
+
+        xslFoGenerator.registerExtension(Box.class, (box, context, generator) -> {
+            context.builder().append("<fo:block border=\"1pt solid\">");
+            generator.generateBlockElements(box.elements(), context);
+            context.builder().append("</fo:block>");
+        });
+        xslFoGenerator.registerInlineExtension(Symbol.class, (symbol, context, generator) ->
+                GenerateUtils.appendEscapedXml(context.builder(), symbol.text()));
+        String result = xslFoGenerator.generate(document, testStyleSheet, null);
+
+        assertTrue(result.contains("<fo:block border=\"1pt solid\"><fo:block role=\"P\">Sum \u2211</fo:block></fo:block>"),
+                "The extension elements are missing.");
+        // Without registered generators the extension elements are skipped
+        assertFalse(new XslFoGenerator().generate(document, testStyleSheet, null).contains("1pt solid"));
+    }
+
+    private record Box(List<Element> elements) implements ExtensionElement {
+        @Override public ElementTargetType getType() { return null; }
+        @Override public String getStyleClass() { return null; }
+        @Override public void resolveStyles(StyleResolverContext context) { }
+        @Override public ElementStyleProperties getResolvedStyle() { return null; }
+        @Override public StandardElementType getStandardElementType() { return null; }
+    }
+
+    private record Symbol(String text) implements InlineExtensionElement {
+        @Override public ElementTargetType getType() { return null; }
+        @Override public String getStyleClass() { return null; }
+        @Override public void resolveStyles(StyleResolverContext context) { }
+        @Override public ElementStyleProperties getResolvedStyle() { return null; }
+        @Override public StandardElementType getStandardElementType() { return null; }
+    }
+
+    static List<String> parse(String fo) throws Exception {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Recorder recorder = new Recorder();
+        factory.newSAXParser().parse(new InputSource(new StringReader(fo)), recorder);
+        return recorder.events();
+    }
+
+    /**
+     * Records the events of a document, with adjacent character events joined.
+     */
+    static final class Recorder extends DefaultHandler {
+
+        private final List<String> events = new ArrayList<>();
+        private final StringBuilder text = new StringBuilder();
+
+        List<String> events() {
+            return events;
+        }
+
+        @Override
+        public void startDocument() {
+            events.add("start");
+        }
+
+        @Override
+        public void endDocument() {
+            flush();
+            events.add("end");
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) {
+            flush();
+            events.add("prefix " + prefix + "=" + uri);
+        }
+
+        @Override
+        public void endPrefixMapping(String prefix) {
+            flush();
+            events.add("/prefix " + prefix);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            flush();
+            StringBuilder event = new StringBuilder("<{").append(uri).append('}').append(localName).append(' ').append(qName);
+            for (int i = 0; i < attributes.getLength(); i++) {
+                event.append(" {").append(attributes.getURI(i)).append('}').append(attributes.getLocalName(i))
+                        .append(' ').append(attributes.getQName(i)).append("=[").append(attributes.getValue(i)).append(']');
+            }
+            events.add(event.toString());
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            flush();
+            events.add("</{" + uri + "}" + localName + " " + qName);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            text.append(ch, start, length);
+        }
+
+        @Override
+        public void processingInstruction(String target, String data) {
+            flush();
+            events.add("?" + target + " " + data);
+        }
+
+        private void flush() {
+            if (!text.isEmpty()) {
+                events.add("text [" + text + "]");
+                text.setLength(0);
+            }
+        }
+    }
+}
@@ -15,12 +15,15 @@
  */
 package de.fkkaiser.generator.element;
 
+import de.fkkaiser.generator.FoContext;
+import de.fkkaiser.generator.IdAllocator;
 import de.fkkaiser.model.structure.Hyperlink;
 import de.fkkaiser.model.style.StyleSheet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -52,7 +55,7 @@ class HyperlinkFoGeneratorTest {
                 "Besuchen Sie unsere Webseite" +
                 "</fo:basic-link>";
 
-        generator.generate(link, styleSheet, builder);
+        generator.generate(link, new FoContext(styleSheet, null, builder, new ArrayList<>(), new IdAllocator(0), false));
         assertEquals(expectedXml, builder.toString(), "the fo string is not correct");
     }
 
@@ -66,7 +69,7 @@ class HyperlinkFoGeneratorTest {
                 " fox:alt-text=\"\">" +
                 "</fo:basic-link>";
 
-        generator.generate(link, styleSheet, builder);
+        generator.generate(link, new FoContext(styleSheet, null, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         assertEquals(expectedXml, builder.toString(), "Empty strings are not correct");
     }
@@ -15,6 +15,8 @@
  */
 package de.fkkaiser.generator.element;
 
+import de.fkkaiser.generator.FoContext;
+import de.fkkaiser.generator.IdAllocator;
 import de.fkkaiser.generator.ImageResolver;
 import de.fkkaiser.generator.XslFoGenerator;
 import de.fkkaiser.model.structure.*;
@@ -53,7 +55,7 @@ class ListFoGeneratorTest {
         ListFoGenerator generator = new ListFoGenerator(mockGenerator);
 
         // Execute the method
-        generator.generate(list, styleSheet, builder, Collections.emptyList(), mockResolver, false);
+        generator.generate(list, new FoContext(styleSheet, mockResolver, builder, Collections.emptyList(), new IdAllocator(0), false));
 
         // Assert the output
         String output = builder.toString();
@@ -85,7 +87,7 @@ class ListFoGeneratorTest {
         ListFoGenerator generator = new ListFoGenerator(mockGenerator);
 
         // Execute the method
-        generator.generate(list, styleSheet, builder, Collections.emptyList(), mockResolver, false);
+        generator.generate(list, new FoContext(styleSheet, mockResolver, builder, Collections.emptyList(), new IdAllocator(0), false));
 
         // Assert the output
         String output = builder.toString();
@@ -116,7 +118,7 @@ class ListFoGeneratorTest {
         ListFoGenerator generator = new ListFoGenerator(mockGenerator);
 
         // Execute the method
-        generator.generate(list, styleSheet, builder, Collections.emptyList(), mockResolver, true);
+        generator.generate(list, new FoContext(styleSheet, mockResolver, builder, Collections.emptyList(), new IdAllocator(0), true));
 
         // Assert the output
         String output = builder.toString();
@@ -129,14 +131,13 @@ class ListFoGeneratorTest {
      */
     static class MockXslFoGenerator extends XslFoGenerator {
         @Override
-        public void generateInlineElement(InlineElement inlineElement, StyleSheet styleSheet, StringBuilder builder) {
-            builder.append("Inline content");
+        public void generateInlineElement(InlineElement inlineElement, FoContext context) {
+            context.builder().append("Inline content");
         }
 
         @Override
-        public void generateBlockElement(Element element, StyleSheet styleSheet, StringBuilder builder,
-                                         List<Headline> headlines, ImageResolver resolver, boolean isExternalArtefact) {
-            builder.append("Block content");
+        public void generateBlockElement(Element element, FoContext context) {
+            context.builder().append("Block content");
         }
     }
 
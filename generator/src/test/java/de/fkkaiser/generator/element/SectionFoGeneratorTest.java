@@ -15,6 +15,8 @@
  */
 package de.fkkaiser.generator.element;
 
+import de.fkkaiser.generator.FoContext;
+import de.fkkaiser.generator.IdAllocator;
 import de.fkkaiser.generator.ImageResolver;
 import de.fkkaiser.generator.XslFoGenerator;
 import de.fkkaiser.model.structure.Paragraph;
@@ -64,7 +66,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("role=\"Sect\""));
@@ -80,10 +82,11 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(4), false));
 
         String result = builder.toString();
         assertTrue(result.contains("role=\"Div\""));
+        assertTrue(result.contains("id=\"note-4-1\""));
     }
 
     @Test
@@ -94,7 +97,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("role=\"Aside\""));
@@ -108,7 +111,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("fox:alt-text=\"Important warning\""));
@@ -122,7 +125,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("&lt;dangerous&gt;"));
@@ -138,7 +141,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertFalse(result.contains("fox:alt-text"));
@@ -152,7 +155,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertFalse(result.contains("fox:alt-text"));
@@ -168,7 +171,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("<fo:inline"));
@@ -184,7 +187,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         int inlineCount = result.split("<fo:inline").length - 1;
@@ -200,7 +203,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("keep-together.within-page=\"always\""));
@@ -215,7 +218,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertFalse(result.contains("keep-together"));
@@ -230,7 +233,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("break-before=\"page\""));
@@ -245,7 +248,7 @@ class SectionFoGeneratorTest {
 //        section.setResolvedStyle(style);
 //
 //        StringBuilder builder = new StringBuilder();
-//        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+//        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 //
 //        String result = builder.toString();
 //        assertFalse(result.contains("break-before"));
@@ -260,7 +263,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("break-after=\"page\""));
@@ -275,7 +278,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("keep-with-next.within-page=\"always\""));
@@ -290,7 +293,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("orphans=\"2\""));
@@ -305,7 +308,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("widows=\"3\""));
@@ -326,7 +329,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("padding=\"1cm\""));
@@ -349,15 +352,11 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         verify(mockMainGenerator, times(1)).generateBlockElements(
                 eq(section.getElements()),
-                eq(styleSheet),
-                any(StringBuilder.class),
-                any(List.class),
-                eq(mockResolver),
-                eq(false)
+                any(FoContext.class)
         );
     }
 
@@ -370,7 +369,7 @@ class SectionFoGeneratorTest {
         StringBuilder builder = new StringBuilder();
 
         assertDoesNotThrow(() ->
-                generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false)
+                generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false))
         );
 
         String result = builder.toString();
@@ -387,7 +386,7 @@ class SectionFoGeneratorTest {
         section.setResolvedStyle(style);
 
         StringBuilder builder = new StringBuilder();
-        generator.generate(section, styleSheet, builder, new ArrayList<>(), mockResolver, false);
+        generator.generate(section, new FoContext(styleSheet, mockResolver, builder, new ArrayList<>(), new IdAllocator(0), false));
 
         String result = builder.toString();
         assertTrue(result.contains("&lt;color&gt;"));
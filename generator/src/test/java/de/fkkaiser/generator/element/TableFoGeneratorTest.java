@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator.element;
+
+import de.fkkaiser.generator.FoContext;
+import de.fkkaiser.generator.IdAllocator;
+import de.fkkaiser.generator.XslFoGenerator;
+import de.fkkaiser.model.structure.*;
+import de.fkkaiser.model.style.StyleSheet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableFoGeneratorTest {
+
+    private final TableFoGenerator generator = new TableFoGenerator(new XslFoGenerator());
+    private final StyleSheet styleSheet = new StyleSheet(List.of(), List.of(), List.of(), null);
+
+    @Test
+    @DisplayName("Rows of a row source are generated like materialized body rows")
+    void shouldGenerateStreamedRowsLikeMaterializedRows() {
+        Table materialized = Table.builder("table")
+                .addColumns("50%", "50%")
+                .addHeaderCells(new Paragraph("head", "Head"))
+                .addBody(new TableSection(new ArrayList<>(rows(0, 5))))
+                .build();
+        Table streamed = Table.builder("table")
+                .addColumns("50%", "50%")
+                .addHeaderCells(new Paragraph("head", "Head"))
+                .addBody(new TableSection(new ArrayList<>(rows(0, 2))))
+                .withBodyRows(TableRowSource.of(rows(2, 5).iterator()))
+                .build();
+
+        String expected = generate(materialized);
+        assertEquals(expected, generate(streamed));
+        assertEquals(5, expected.split("<fo:table-row>", -1).length - 2);
+
+        // The rows have been consumed
+        assertThrows(IllegalStateException.class, () -> generate(streamed));
+    }
+
+    private String generate(Table table) {
+        StringBuilder builder = new StringBuilder();
+        generator.generate(table, new FoContext(styleSheet, null, builder, new ArrayList<>(), new IdAllocator(0), false));
+        return builder.toString();
+    }
+
+    private static List<TableRow> rows(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> new TableRow(List.of(
+                        new TableCell("cell", List.of(new Paragraph("body", "Row " + i)), null, null),
+                        new TableCell("cell", List.of(new Paragraph("body", "Value " + i)), null, null))))
+                .toList();
+    }
+}
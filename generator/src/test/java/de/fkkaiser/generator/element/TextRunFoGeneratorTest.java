@@ -15,6 +15,8 @@
  */
 package de.fkkaiser.generator.element;
 
+import de.fkkaiser.generator.FoContext;
+import de.fkkaiser.generator.IdAllocator;
 import de.fkkaiser.model.structure.ElementTargetType;
 import de.fkkaiser.model.structure.TextRun;
 import de.fkkaiser.model.style.*;
@@ -22,6 +24,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -81,7 +84,7 @@ class TextRunFoGeneratorTest {
 
         TextRun textRun = new TextRun("Unstyled text");
 
-        generator.generate(textRun, styleSheet, builder);
+        generator.generate(textRun, new FoContext(styleSheet, null, builder, new ArrayList<>(), new IdAllocator(0), false));
         String result = builder.toString();
 
         // ASSERT
@@ -95,7 +98,7 @@ class TextRunFoGeneratorTest {
         TextRun textRun = new TextRun("Bold text","text-run-style");
         textRun.resolveStyles(context);
 
-        generator.generate(textRun, styleSheet, builder);
+        generator.generate(textRun, new FoContext(styleSheet, null, builder, new ArrayList<>(), new IdAllocator(0), false));
         String result = builder.toString();
 
         assertTrue(result.startsWith("<fo:inline"), "Should start with an fo:inline tag.");
@@ -112,7 +115,7 @@ class TextRunFoGeneratorTest {
 
         TextRun textRun = new TextRun("Red underlined text","text-run-style-2");
         textRun.resolveStyles(context);
-        generator.generate(textRun, styleSheet, builder);
+        generator.generate(textRun, new FoContext(styleSheet, null, builder, new ArrayList<>(), new IdAllocator(0), false));
         String result = builder.toString();
 
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.generator.svg;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingSvgHandlerTest {
+
+    private static final byte[] CIRCLE = "<svg><circle r=\"4\"/></svg>".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SQUARE = "<svg><rect width=\"4\"/></svg>".getBytes(StandardCharsets.UTF_8);
+
+    /** Returns a PNG stand-in of ten bytes and counts the conversions. */
+    private static final class CountingSvgHandler implements SvgHandler {
+        int conversions;
+
+        @Override
+        public byte[] convertToPng(byte[] svgBytes, float width, float height) {
+            conversions++;
+            if (svgBytes.length == 0) {
+                throw new SvgConversionException("empty");
+            }
+            return new byte[10];
+        }
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public int getPriority() {
+            return 7;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+    }
+
+    @Test
+    @DisplayName("Each SVG content and target size is transcoded once")
+    void shouldTranscodeEachSvgOnce() {
+        CountingSvgHandler delegate = new CountingSvgHandler();
+        CachingSvgHandler handler = new CachingSvgHandler(delegate);
+
+        byte[] first = handler.convertToPng(CIRCLE, 96f, 96f);
+        // Equal content in another array is a hit
+        assertSame(first, handler.convertToPng(CIRCLE.clone(), 96f, 96f));
+        handler.convertToPng(CIRCLE, 48f, 48f);
+        handler.convertToPng(SQUARE, 96f, 96f);
+
+        assertEquals(3, delegate.conversions);
+        assertEquals(1, handler.hitCount());
+        assertEquals(3, handler.missCount());
+        assertEquals(3, handler.size());
+        assertEquals(30, handler.byteSize());
+        assertEquals("counting", handler.getName());
+        assertEquals(7, handler.getPriority());
+    }
+
+    @Test
+    @DisplayName("The least recently used images are evicted beyond the size limit and failures are not cached")
+    void shouldEvictAndNotCacheFailures() {
+        CountingSvgHandler delegate = new CountingSvgHandler();
+        CachingSvgHandler handler = new CachingSvgHandler(delegate, 20);
+
+        handler.convertToPng(CIRCLE, 96f, 96f);
+        handler.convertToPng(SQUARE, 96f, 96f);
+        handler.convertToPng(CIRCLE, 96f, 96f);
+        handler.convertToPng(CIRCLE, 48f, 48f);
+
+        assertEquals(2, handler.size());
+        assertEquals(20, handler.byteSize());
+        handler.convertToPng(CIRCLE, 96f, 96f);
+        assertEquals(3, delegate.conversions);
+
+        assertThrows(SvgConversionException.class, () -> handler.convertToPng(new byte[0], 96f, 96f));
+        assertThrows(SvgConversionException.class, () -> handler.convertToPng(new byte[0], 96f, 96f));
+        assertEquals(5, delegate.conversions);
+
+        handler.clear();
+        assertEquals(0, handler.size());
+        assertEquals(0, handler.byteSize());
+    }
+}
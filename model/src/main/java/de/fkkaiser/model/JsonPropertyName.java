@@ -340,6 +340,10 @@ public class JsonPropertyName {
      * Property name for scaling
      */
     public static final String SCALING = "scaling";
+    /**
+     * Property name for the rendering of SVG images
+     */
+    public static final String SVG_RENDERING = "svg-rendering";
     /**
      * Property name for alignment
      */
@@ -27,7 +27,7 @@ import de.fkkaiser.model.style.StyleResolverContext;
  * @version 1.0.2
  */
 @Internal
-public abstract class AbstractElement implements Element {
+public abstract sealed class AbstractElement implements Element permits TextBlock, AbstractInlineElement {
 
     @JsonProperty(JsonPropertyName.STYLE_CLASS)
     protected String styleClass;
@@ -27,7 +27,8 @@ import de.fkkaiser.model.annotation.PublicAPI;
  * @version 1.0.1
  */
 @Internal
-public abstract class AbstractInlineElement extends AbstractElement implements InlineElement {
+public abstract sealed class AbstractInlineElement extends AbstractElement implements InlineElement
+        permits TextRun, PageNumber, Footnote {
 
     /**
      * Constructor for creating an inline element with both style class and variant.
@@ -34,8 +34,12 @@ import de.fkkaiser.model.style.StyleResolverContext;
  * {@link SimpleList}, {@link Table}, {@link Section}, {@link BlockImage},
  * and {@link LayoutTable}.</p>
  *
+ * <p>The hierarchy is sealed, so the generator can dispatch on the element type with an
+ * exhaustive switch. Element types defined outside of this library implement
+ * {@link ExtensionElement} and register a generator for their type.</p>
+ *
  * @author Katrin Kaiser
- * @version 1.1.1
+ * @version 1.2.0
  */
 @JsonTypeInfo(
         use = JsonTypeInfo.Id.NAME,
@@ -50,7 +54,9 @@ import de.fkkaiser.model.style.StyleResolverContext;
         @JsonSubTypes.Type(value = BlockImage.class, name = JsonPropertyName.BLOCK_IMAGE),
         @JsonSubTypes.Type(value = LayoutTable.class, name = JsonPropertyName.LAYOUT_TABLE),
 })
-public interface Element {
+public sealed interface Element
+        permits AbstractElement, InlineElement, BlockImage, LayoutTable, Table, SimpleList, Section, ListItem, Part,
+        ExtensionElement {
 
     /**
      * Returns the type identifier for this element.
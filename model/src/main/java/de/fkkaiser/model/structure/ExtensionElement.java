@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.model.structure;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+
+/**
+ * Base interface for block elements whose type is not defined by this library.
+ *
+ * <p>The built-in element types form a sealed hierarchy. An element type of an application
+ * implements this interface instead, and the XSL-FO of its instances is written by the generator
+ * registered for its class, e.g. via
+ * {@code PdfGenerationFacade.Builder#withExtensionGenerator}. Extension elements are created
+ * in code; they are not read from the JSON structure.</p>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public non-sealed interface ExtensionElement extends Element {
+}
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.fkkaiser.model.JsonPropertyName;
+import de.fkkaiser.model.annotation.Internal;
 import de.fkkaiser.model.style.ElementStyle;
 import de.fkkaiser.model.style.FootnoteStyleProperties;
 import de.fkkaiser.model.style.StandardElementType;
@@ -28,7 +29,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Represents a footnote element within a document.
@@ -57,7 +57,7 @@ public final class Footnote extends AbstractInlineElement {
     private static final String DEFAULT_INDEX = "*";
 
     @JsonIgnore
-    private final String id;
+    private String id;
     private final String index;
     private final List<InlineElement> inlineElements;
 
@@ -81,7 +81,6 @@ public final class Footnote extends AbstractInlineElement {
             @JsonProperty("inline-elements") List<InlineElement> inlineElements
     ) {
         super(styleClass);
-        this.id = "footnote-" + UUID.randomUUID();
         if (index == null || index.isEmpty()) {
             log.warn("index is null or empty. Set default one {}", DEFAULT_INDEX);
             this.index = DEFAULT_INDEX;
@@ -94,20 +93,31 @@ public final class Footnote extends AbstractInlineElement {
     /**
      * Returns the unique identifier for this footnote.
      *
-     * <p>This ID is automatically generated upon construction using a UUID and is
-     * prefixed with "footnote-" for clarity. The ID is used internally to link
-     * footnote references in the main text with their corresponding content in
-     * the footnote area during PDF rendering.</p>
+     * <p>The ID is assigned during XSL-FO generation from the position of the
+     * footnote in the document and is prefixed with "footnote-" for clarity.
+     * It links the footnote reference in the main text with its content in
+     * the footnote area during PDF rendering. The same document always gets
+     * the same IDs.</p>
      *
-     * <p><b>Note:</b> This ID is not serialized to JSON and will be different
-     * each time a footnote is deserialized from JSON.</p>
+     * <p><b>Note:</b> This ID is not serialized to JSON.</p>
      *
-     * @return the unique footnote identifier (e.g., "footnote-123e4567-e89b-12d3-a456-426614174000")
+     * @return the footnote identifier (e.g., "footnote-12-1"), or {@code null} if not generated yet
      */
     public String getId() {
         return id;
     }
 
+    /**
+     * Sets the unique identifier of the footnote.
+     * This method is intended for internal use during generation.
+     *
+     * @param id the footnote ID to set
+     */
+    @Internal
+    public void setId(String id) {
+        this.id = id;
+    }
+
     /**
      * Returns the visible index marker for this footnote.
      *
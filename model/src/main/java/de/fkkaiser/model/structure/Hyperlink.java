@@ -30,7 +30,7 @@ import org.slf4j.LoggerFactory;
  * @author Katrin Kaiser
  * @version 1.1.2
  */
-public class Hyperlink extends TextRun {
+public final class Hyperlink extends TextRun {
 
     private static final Logger log = LoggerFactory.getLogger(Hyperlink.class);
 
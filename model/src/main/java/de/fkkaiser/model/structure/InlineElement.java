@@ -23,9 +23,10 @@ import de.fkkaiser.model.JsonPropertyName;
  * Base interface for all inline elements in the document structure.
  * Inline elements are elements that can be part of text content, such as
  * text runs, hyperlinks, footnotes, and page numbers.
+ * Inline element types defined outside of this library implement {@link InlineExtensionElement}.
  *
  * @author Katrin Kaiser
- * @version 1.1.0
+ * @version 1.2.0
  */
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
 @JsonSubTypes({
@@ -34,7 +35,7 @@ import de.fkkaiser.model.JsonPropertyName;
         @JsonSubTypes.Type(value = Footnote.class, name = JsonPropertyName.FOOTNOTE),
         @JsonSubTypes.Type(value = Hyperlink.class, name = JsonPropertyName.HYPERLINK)
 })
-public interface InlineElement extends Element {
+public sealed interface InlineElement extends Element permits AbstractInlineElement, InlineExtensionElement {
 
 
 }
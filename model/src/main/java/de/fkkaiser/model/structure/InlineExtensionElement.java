@@ -0,0 +1,31 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.model.structure;
+
+import de.fkkaiser.model.annotation.PublicAPI;
+
+/**
+ * Base interface for inline elements whose type is not defined by this library.
+ *
+ * <p>The inline counterpart of {@link ExtensionElement}: instances can be added to text blocks
+ * and footnotes, and their XSL-FO is written by the generator registered for their class.</p>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public non-sealed interface InlineExtensionElement extends InlineElement {
+}
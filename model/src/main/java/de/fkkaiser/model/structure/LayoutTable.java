@@ -36,7 +36,7 @@ import java.util.stream.Stream;
  * @author Katrin Kaiser
  * @version 1.0.1
  */
-public class LayoutTable implements Element {
+public final class LayoutTable implements Element {
 
     private final String styleClass;
     private final Element elementLeft;
@@ -32,7 +32,7 @@ import de.fkkaiser.model.style.StyleResolverContext;
  * @version 1.0.2
  */
 @JsonTypeName(JsonPropertyName.PAGE_NUMBER)
-public class PageNumber extends AbstractInlineElement {
+public final class PageNumber extends AbstractInlineElement {
 
     /**
      * Constructor for PageNumber.
@@ -34,7 +34,7 @@ import java.util.List;
  */
 @PublicAPI
 @JsonTypeName(JsonPropertyName.PARAGRAPH)
-public class Paragraph extends TextBlock {
+public final class Paragraph extends TextBlock {
 
     /**
      * Constructs a Paragraph with the specified style class and inline elements.
@@ -28,6 +28,7 @@ import de.fkkaiser.model.style.*;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -45,9 +46,15 @@ public final class Table implements Element {
     private final TableSection body;
     private final TableSection footer;
 
+    @JsonIgnore
+    private final TableRowSource bodyRows;
+
     @JsonIgnore
     private TableStyleProperties resolvedStyle;
 
+    @JsonIgnore
+    private StyleResolverContext bodyRowContext;
+
     /**
      * Creates a new Table element with the specified properties.
      *
@@ -66,10 +73,28 @@ public final class Table implements Element {
             @JsonProperty(JsonPropertyName.BODY) TableSection body,
             @JsonProperty(JsonPropertyName.FOOTER) TableSection footer
     ) {
+        this(styleClass, columns, header, body, null, footer);
+    }
+
+    /**
+     * Creates a new Table element whose body rows are followed by the rows of a row source,
+     * which are resolved and generated one at a time.
+     *
+     * @param styleClass the style class for the table (may be null)
+     * @param columns    the list of column identifiers (defaults to empty list if null)
+     * @param header     the table header section (may be null)
+     * @param body       the table body section (may be null)
+     * @param bodyRows   the source of further body rows (may be null)
+     * @param footer     the table footer section (may be null)
+     */
+    @Internal
+    public Table(String styleClass, List<String> columns, TableSection header, TableSection body,
+                 TableRowSource bodyRows, TableSection footer) {
         this.styleClass = styleClass;
         this.columns = Objects.requireNonNullElse(columns, List.of());
         this.header = header;
         this.body = body;
+        this.bodyRows = bodyRows;
         this.footer = footer;
     }
 
@@ -114,6 +139,37 @@ public final class Table implements Element {
         return body;
     }
 
+    /**
+     * Gets the source of the body rows that follow the rows of the body section.
+     *
+     * @return the row source (may be null)
+     */
+    @Internal
+    public TableRowSource getBodyRows() {
+        return bodyRows;
+    }
+
+    /**
+     * Passes the rows of the row source to the action, one at a time, after resolving the
+     * style of each row with the context of the table body. Does nothing if the table has
+     * no row source.
+     *
+     * @param action the action generating each row
+     * @throws IllegalStateException if the rows have already been consumed
+     */
+    @Internal
+    public void forEachBodyRow(Consumer<TableRow> action) {
+        if (bodyRows == null) {
+            return;
+        }
+        bodyRows.forEach(row -> {
+            if (bodyRowContext != null) {
+                row.resolveStyles(bodyRowContext);
+            }
+            action.accept(row);
+        });
+    }
+
     /**
      * Gets the footer section of the table.
      *
@@ -162,6 +218,7 @@ public final class Table implements Element {
      * 1. Resolve the style for the table container itself, merging with parent context.
      * 2. Create a new, more specific context for the children.
      * 3. Delegate the style resolution down the hierarchy.
+     * The rows of a {@link TableRowSource} are resolved later, in {@link #forEachBodyRow(Consumer)}.
      *
      * @param context The current style context.
      */
@@ -200,6 +257,8 @@ public final class Table implements Element {
         Stream.of(header, body, footer)
                 .filter(Objects::nonNull)
                 .forEach(section -> section.resolveStyles(childContext));
+        // Rows of the row source are resolved when they are generated
+        this.bodyRowContext = bodyRows != null ? childContext : null;
     }
 
     /**
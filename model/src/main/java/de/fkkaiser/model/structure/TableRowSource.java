@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.model.structure;
+
+import de.fkkaiser.model.annotation.Internal;
+import de.fkkaiser.model.annotation.PublicAPI;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A one-shot source of table rows that are consumed while the XSL-FO is generated.
+ *
+ * <p>Tables with many rows, e.g. read from a database cursor, do not have to be held in memory
+ * as a whole: a {@link Table} with a row source resolves the style of each row, generates its
+ * XSL-FO and releases it before the next row is requested. Use
+ * {@link de.fkkaiser.model.structure.builder.TableBuilder#withBodyRows(TableRowSource)} to add
+ * the rows to the body of a table.</p>
+ *
+ * <p>The rows can be consumed only once, so a document with a row source can be rendered only
+ * once. A source created from a {@link Stream} closes the stream after the last row or when
+ * the generation fails.</p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>{@code
+ * try (Stream<Booking> bookings = repository.streamBookings(account)) {
+ *     Table table = Table.builder("statement")
+ *             .addColumns("30%", "70%")
+ *             .withBodyRows(TableRowSource.of(bookings.map(Booking::toTableRow)))
+ *             .build();
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public final class TableRowSource {
+
+    private final Iterator<TableRow> rows;
+    private final Runnable onClose;
+    private boolean consumed;
+
+    private TableRowSource(Iterator<TableRow> rows, Runnable onClose) {
+        this.rows = rows;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Creates a source of the rows of an iterator.
+     *
+     * @param rows the rows; must not be {@code null}
+     * @return the row source
+     * @throws NullPointerException if rows is {@code null}
+     */
+    public static TableRowSource of(Iterator<TableRow> rows) {
+        return new TableRowSource(Objects.requireNonNull(rows, "rows must not be null"), null);
+    }
+
+    /**
+     * Creates a source of the rows of a spliterator.
+     *
+     * @param rows the rows; must not be {@code null}
+     * @return the row source
+     * @throws NullPointerException if rows is {@code null}
+     */
+    public static TableRowSource of(Spliterator<TableRow> rows) {
+        return of(Spliterators.iterator(Objects.requireNonNull(rows, "rows must not be null")));
+    }
+
+    /**
+     * Creates a source of the rows of a stream. The stream is closed after its last row has
+     * been generated or when the generation fails.
+     *
+     * @param rows the rows; must not be {@code null}
+     * @return the row source
+     * @throws NullPointerException if rows is {@code null}
+     */
+    public static TableRowSource of(Stream<TableRow> rows) {
+        Objects.requireNonNull(rows, "rows must not be null");
+        return new TableRowSource(rows.iterator(), rows::close);
+    }
+
+    /**
+     * Passes the remaining rows to the action, one at a time, and closes the source.
+     *
+     * @param action the action receiving each row
+     * @throws IllegalStateException if the rows have already been consumed
+     */
+    @Internal
+    public void forEach(Consumer<TableRow> action) {
+        synchronized (this) {
+            if (consumed) {
+                throw new IllegalStateException("The rows of a TableRowSource can only be consumed once");
+            }
+            consumed = true;
+        }
+        try {
+            while (rows.hasNext()) {
+                action.accept(rows.next());
+            }
+        } finally {
+            if (onClose != null) {
+                onClose.run();
+            }
+        }
+    }
+}
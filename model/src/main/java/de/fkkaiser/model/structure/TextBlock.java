@@ -35,7 +35,7 @@ import java.util.List;
  * @author Katrin Kaiser
  * @version 1.0.1
  */
-public abstract class TextBlock extends AbstractElement {
+public abstract sealed class TextBlock extends AbstractElement permits Paragraph, Headline {
 
     private static final Logger log = LoggerFactory.getLogger(TextBlock.class);
 
@@ -36,7 +36,7 @@ import java.util.Optional;
  * @version 1.0.2
  */
 @JsonTypeName(JsonPropertyName.TEXT_RUN)
-public class TextRun extends AbstractInlineElement {
+public sealed class TextRun extends AbstractInlineElement permits Hyperlink {
 
     private static final Logger log = LoggerFactory.getLogger(TextRun.class);
     private final String text;
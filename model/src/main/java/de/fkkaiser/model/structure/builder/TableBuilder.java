@@ -29,6 +29,7 @@ public class TableBuilder {
     private TableSection header;
     private TableSection body;
     private TableSection footer;
+    private TableRowSource bodyRows;
 
     private String headerStyleClass;
     private String bodyStyleClass;
@@ -81,6 +82,20 @@ public class TableBuilder {
         this.body = body;
         return this;
     }
+    /**
+     * Adds a source of body rows that are resolved and generated one at a time, after the
+     * body rows added with the other methods. The rows are not held in memory, so the table
+     * can be generated only once.
+     *
+     * @param bodyRows The {@link TableRowSource} providing the body rows.
+     * @return The TableBuilder instance for method chaining.
+     */
+    @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+    public TableBuilder withBodyRows(TableRowSource bodyRows) {
+        this.bodyRows = bodyRows;
+        return this;
+    }
+
     /**
      * Adds a footer section to the table.
      *
@@ -312,6 +327,6 @@ public class TableBuilder {
         if(this.currentRow != null) {
             endBodyRow();
         }
-        return new Table(styleClass, columns, header, body, footer);
+        return new Table(styleClass, columns, header, body, bodyRows, footer);
     }
 }
@@ -27,7 +27,7 @@ import de.fkkaiser.model.structure.ElementTargetType;
  * This class extends {@link ElementBlockStyleProperties} to include
  * additional properties for controlling image sizing, scaling, and alignment.
  * @author Katrin Kaiser
- * @version 1.1.1
+ * @version 1.2.0
  */
 @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
 @JsonTypeName(JsonPropertyName.BLOCK_IMAGE)
@@ -47,6 +47,9 @@ public class BlockImageStyleProperties extends ElementBlockStyleProperties {
     @JsonProperty(JsonPropertyName.ALIGNMENT)
     private String alignment;
 
+    @JsonProperty(JsonPropertyName.SVG_RENDERING)
+    private SvgRendering svgRendering;
+
     // --- Getters and Setters ---
     /**
      * Gets the display width of the image content.
@@ -136,6 +139,28 @@ public class BlockImageStyleProperties extends ElementBlockStyleProperties {
         this.blockWidth = blockWidth;
     }
 
+    /**
+     * Gets how an SVG image is put into the PDF.
+     *
+     * @return the SVG rendering, or {@code null} if not set and the document default applies
+     */
+    @Internal
+    public SvgRendering getSvgRendering() {
+        return svgRendering;
+    }
+
+    /**
+     * Sets how an SVG image is put into the PDF, overriding the default of the document.
+     *
+     * @param svgRendering {@link SvgRendering#VECTOR} to embed the SVG as vector graphic,
+     *                     {@link SvgRendering#RASTER} to convert it to PNG; may be {@code null}
+     *                     to use the default of the document
+     */
+    @PublicAPI
+    public void setSvgRendering(SvgRendering svgRendering) {
+        this.svgRendering = svgRendering;
+    }
+
     // --- Overrides ---
 
     /**
@@ -166,6 +191,7 @@ public class BlockImageStyleProperties extends ElementBlockStyleProperties {
             partTarget.setScaling(scaling);
             partTarget.setAlignment(alignment);
             partTarget.setBlockWidth(blockWidth);
+            partTarget.setSvgRendering(svgRendering);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.model.style;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import de.fkkaiser.model.annotation.Internal;
+import de.fkkaiser.model.annotation.PublicAPI;
+
+/**
+ * Enum representing how SVG images are put into the PDF.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+public enum SvgRendering {
+
+    /**
+     * Convert the SVG to a PNG image of 96 x 96 pixels.
+     */
+    RASTER("raster"),
+    /**
+     * Embed the SVG as vector graphic, drawn by FOP.
+     */
+    VECTOR("vector");
+
+    private final String value;
+
+    /**
+     * Constructor for SvgRendering enum.
+     *
+     * @param value The string value associated with the enum constant.
+     */
+    SvgRendering(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the string value associated with the enum constant.
+     *
+     * @return The string value.
+     */
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Creates a SvgRendering from a string representation.
+     *
+     * @param text the string representation of the SVG rendering
+     * @return the corresponding SvgRendering, or null if not found
+     */
+    @Internal
+    @JsonCreator
+    public static SvgRendering fromString(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        for (SvgRendering b : SvgRendering.values()) {
+            if (b.value.equalsIgnoreCase(text) || b.name().equalsIgnoreCase(text)) {
+                return b;
+            }
+        }
+        return null;
+    }
+}
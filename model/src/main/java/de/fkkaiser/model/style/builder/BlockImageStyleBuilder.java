@@ -18,6 +18,7 @@ package de.fkkaiser.model.style.builder;
 import de.fkkaiser.model.structure.ElementTargetType;
 import de.fkkaiser.model.style.BlockImageStyleProperties;
 import de.fkkaiser.model.style.ElementStyle;
+import de.fkkaiser.model.style.SvgRendering;
 
 public class BlockImageStyleBuilder {
     String name;
@@ -76,6 +77,19 @@ public class BlockImageStyleBuilder {
         return this;
     }
 
+    /**
+     * Sets how an SVG image is put into the PDF.
+     *
+     * @param svgRendering {@link SvgRendering#VECTOR} to embed the SVG as vector graphic,
+     *                     {@link SvgRendering#RASTER} to convert it to PNG;
+     *                     may be {@code null} to use the default of the document
+     */
+    @SuppressWarnings("unused")
+    public BlockImageStyleBuilder withSvgRendering(SvgRendering svgRendering) {
+        this.properties.setSvgRendering(svgRendering);
+        return this;
+    }
+
     public ElementStyle build() {
         return new ElementStyle(this.name, ElementTargetType.BLOCK_IMAGE, this.properties);
     }
@@ -36,16 +36,16 @@ class FootnoteTest {
     @Mock
     private StyleResolverContext mockContext;
     @Mock
-    private InlineElement mockInlineElement;
+    private InlineExtensionElement mockInlineElement;
 
     @Test
-    @DisplayName("should generate a unique ID on creation")
-    void shouldGenerateUniqueId() {
-        Footnote footnote1 = new Footnote(null, null, null);
-        Footnote footnote2 = new Footnote(null, null, null);
+    @DisplayName("should leave the ID to the XSL-FO generation")
+    void shouldAssignIdDuringGeneration() {
+        Footnote footnote = new Footnote(null, null, null);
+        assertNull(footnote.getId());
 
-        assertNotNull(footnote1.getId());
-        assertNotEquals(footnote1.getId(), footnote2.getId());
+        footnote.setId("footnote-3-1");
+        assertEquals("footnote-3-1", footnote.getId());
     }
 
     @Test
@@ -15,10 +15,18 @@
  */
 package de.fkkaiser.model.structure;
 
+import de.fkkaiser.model.style.StyleResolverContext;
+import de.fkkaiser.model.style.StyleSheet;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
 public class TableTest {
 
     @Test
@@ -60,4 +68,29 @@ public class TableTest {
         Assertions.assertEquals(tableStyle,table.getStyleClass());
         Assertions.assertEquals(3,table.getColumns().size());
     }
+
+    @Test
+    @DisplayName("Rows of a row source are resolved one at a time and consumed once")
+    public void testStreamBodyRows() {
+        TableCell cell = new TableCell("Body-Style", List.of(new Paragraph("body", "Row 1")), null, null);
+        AtomicBoolean closed = new AtomicBoolean();
+        Table table = Table.builder("Table-Style")
+                .addColumns("100%")
+                .withBodyRows(TableRowSource.of(Stream.of(new TableRow(List.of(cell))).onClose(() -> closed.set(true))))
+                .build();
+
+        table.resolveStyles(new StyleResolverContext(new StyleSheet(null, null, null, null), Map.of(), null));
+        // Styles of streamed rows are resolved when the rows are generated
+        Assertions.assertNull(cell.getResolvedStyle());
+
+        List<TableRow> generated = new ArrayList<>();
+        table.forEachBodyRow(row -> {
+            Assertions.assertNotNull(row.cells().getFirst().getResolvedStyle());
+            generated.add(row);
+        });
+
+        Assertions.assertEquals(1, generated.size());
+        Assertions.assertTrue(closed.get());
+        Assertions.assertThrows(IllegalStateException.class, () -> table.forEachBodyRow(row -> { }));
+    }
 }
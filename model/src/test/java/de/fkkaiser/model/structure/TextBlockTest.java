@@ -42,7 +42,7 @@ class TextBlockTest {
     @Mock
     private Map<String, ElementStyle> mockStyleMap;
     @Mock
-    private InlineElement mockInlineElement;
+    private InlineExtensionElement mockInlineElement;
 
     private TextBlockStyleProperties parentStyle;
     private ElementStyle specificElementStyle;
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.postprocessor;
+
+import de.fkkaiser.model.annotation.Internal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes the result of a post-processing operation to a file.
+ * <p>
+ * The result is written to a temporary file next to the target, which replaces the target
+ * only once it is complete. The target may therefore also be the input of the operation,
+ * and a failed operation leaves an existing target unchanged instead of truncated.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@Internal
+final class OutputFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutputFile.class);
+
+    private OutputFile() {
+        // Utility class
+    }
+
+    /**
+     * Writes the output of an operation into a file.
+     *
+     * @param outputFile  the target file
+     * @param description what is written, e.g. {@code "encrypted PDF"}, for the error message
+     * @param content     writes the output; its input has to be closed when it returns
+     * @return the target file
+     * @throws IOException if the operation or writing the file fails; the target is left unchanged
+     */
+    static File write(File outputFile, String description, Content content) throws IOException {
+        Path target = outputFile.toPath().toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        boolean moved = false;
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                content.writeTo(out);
+            }
+            replace(temp, target);
+            moved = true;
+            return outputFile;
+        } catch (IOException e) {
+            logger.error("Failed to write {} to file: {}", description, e.getMessage(), e);
+            throw new IOException("Failed to write " + description + " to file: " + e.getMessage(), e);
+        } finally {
+            if (!moved) {
+                deleteTemp(temp);
+            }
+        }
+    }
+
+    private static void replace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteTemp(Path temp) {
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            logger.warn("Could not delete temporary file {}: {}", temp, e.getMessage());
+        }
+    }
+
+    /**
+     * The output of an operation.
+     */
+    @FunctionalInterface
+    interface Content {
+
+        /**
+         * Writes the output.
+         *
+         * @param out the stream to the temporary file; closed by the caller
+         * @throws IOException if the operation fails
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -76,7 +76,7 @@ import java.util.Objects;
  * </ul>
  *
  * @author Katrin Kaiser
- * @version 1.0.0
+ * @version 1.0.1
  * @since 0.10.0
  */
 @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
@@ -326,14 +326,8 @@ public class PDFEncryptor {
         @PublicAPI
         public ByteArrayOutputStream encrypt(File inputFile) throws IOException {
             Objects.requireNonNull(inputFile, "inputFile must not be null");
-            if (!inputFile.exists()) {
-                throw new IllegalArgumentException("Input file does not exist: " + inputFile.getAbsolutePath());
-            }
-            if (!inputFile.isFile()) {
-                throw new IllegalArgumentException("Input is not a file: " + inputFile.getAbsolutePath());
-            }
 
-            try (PDDocument document = Loader.loadPDF(inputFile)) {
+            try (PDDocument document = Loader.loadPDF(encryptInput(inputFile))) {
                 return encryptDocument(document);
             }
         }
@@ -463,31 +457,111 @@ public class PDFEncryptor {
             return encrypt(resourceUrl);
         }
 
+        /**
+         * Encrypts a PDF file and writes the result to the given OutputStream.
+         * The encrypted PDF is not buffered in memory; the OutputStream is flushed but not closed.
+         *
+         * @param inputFile the PDF file to encrypt; must not be {@code null}
+         * @param out the target stream for the encrypted PDF; must not be {@code null}
+         * @throws NullPointerException if inputFile or out is {@code null}
+         * @throws IllegalArgumentException if inputFile does not exist or is not a file
+         * @throws IllegalStateException if no user password is set
+         * @throws IOException if an I/O error occurs during encryption or writing
+         */
+        @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+        public void encrypt(File inputFile, OutputStream out) throws IOException {
+            Objects.requireNonNull(inputFile, "inputFile must not be null");
+            Objects.requireNonNull(out, "out must not be null");
+
+            try (PDDocument document = Loader.loadPDF(encryptInput(inputFile))) {
+                encryptDocument(document, out);
+            }
+        }
+
+        /**
+         * Encrypts a PDF document from an InputStream and writes the result to the given OutputStream.
+         * The input stream will be closed after reading; the OutputStream is flushed but not closed.
+         *
+         * @param inputStream the PDF input stream; must not be {@code null}
+         * @param out the target stream for the encrypted PDF; must not be {@code null}
+         * @throws NullPointerException if inputStream or out is {@code null}
+         * @throws IllegalStateException if no user password is set
+         * @throws IOException if an I/O error occurs during encryption or writing
+         */
+        @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+        public void encrypt(InputStream inputStream, OutputStream out) throws IOException {
+            Objects.requireNonNull(inputStream, "inputStream must not be null");
+            Objects.requireNonNull(out, "out must not be null");
+
+            try (inputStream; PDDocument document = Loader.loadPDF(inputStream.readAllBytes())) {
+                encryptDocument(document, out);
+            }
+        }
+
+        /**
+         * Encrypts a PDF document from a byte array and writes the result to the given OutputStream.
+         * The OutputStream is flushed but not closed.
+         *
+         * @param pdfBytes the PDF content as byte array; must not be {@code null}
+         * @param out the target stream for the encrypted PDF; must not be {@code null}
+         * @throws NullPointerException if pdfBytes or out is {@code null}
+         * @throws IllegalStateException if no user password is set
+         * @throws IOException if an I/O error occurs during encryption or writing
+         */
+        @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+        public void encrypt(byte[] pdfBytes, OutputStream out) throws IOException {
+            Objects.requireNonNull(pdfBytes, "pdfBytes must not be null");
+            Objects.requireNonNull(out, "out must not be null");
+
+            try (PDDocument document = Loader.loadPDF(pdfBytes)) {
+                encryptDocument(document, out);
+            }
+        }
+
         /**
          * Encrypts a PDF document and writes the result directly to a file.
          * This is a convenience method equivalent to encrypt() + writing to file.
+         * The output file may be the input file; it is only replaced once the encrypted
+         * PDF is complete and is left unchanged if encryption fails.
          *
          * @param inputFile the PDF file to encrypt; must not be {@code null}
          * @param outputFile the target file for the encrypted PDF; must not be {@code null}
          * @return the output file
          * @throws NullPointerException if inputFile or outputFile is {@code null}
+         * @throws IllegalArgumentException if inputFile does not exist or is not a file
          * @throws IllegalStateException if no user password is set
          * @throws IOException if an I/O error occurs during encryption or writing
          */
         @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
         public File encryptToFile(File inputFile, File outputFile) throws IOException {
+            Objects.requireNonNull(inputFile, "inputFile must not be null");
             Objects.requireNonNull(outputFile, "outputFile must not be null");
 
-            ByteArrayOutputStream encrypted = encrypt(inputFile);
+            encryptInput(inputFile);
+            OutputFile.write(outputFile, "encrypted PDF", out -> {
+                try (PDDocument document = Loader.loadPDF(inputFile)) {
+                    encryptDocument(document, out);
+                }
+            });
+            logger.info("Encrypted PDF written to: {}", outputFile.getAbsolutePath());
+            return outputFile;
+        }
 
-            try (FileOutputStream fos = new FileOutputStream(outputFile)) {
-                encrypted.writeTo(fos);
-                logger.info("Encrypted PDF written to: {}", outputFile.getAbsolutePath());
-                return outputFile;
-            } catch (IOException e) {
-                logger.error("Failed to write encrypted PDF to file: {}", e.getMessage(), e);
-                throw new IOException("Failed to write encrypted PDF to file: " + e.getMessage(), e);
+        /**
+         * Validates that the input of a file based encryption is an existing file.
+         *
+         * @param inputFile the file to check
+         * @return the checked file
+         * @throws IllegalArgumentException if inputFile does not exist or is not a file
+         */
+        private File encryptInput(File inputFile) {
+            if (!inputFile.exists()) {
+                throw new IllegalArgumentException("Input file does not exist: " + inputFile.getAbsolutePath());
+            }
+            if (!inputFile.isFile()) {
+                throw new IllegalArgumentException("Input is not a file: " + inputFile.getAbsolutePath());
             }
+            return inputFile;
         }
 
         /**
@@ -532,10 +606,25 @@ public class PDFEncryptor {
          * @throws IOException if encryption fails
          */
         private ByteArrayOutputStream encryptDocument(PDDocument document) throws IOException {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            encryptDocument(document, outputStream);
+            return outputStream;
+        }
+
+        /**
+         * Core encryption logic that applies the protection policy to a PDDocument
+         * and writes the result to the given stream.
+         *
+         * @param document the document to encrypt
+         * @param out the target stream for the encrypted PDF
+         * @throws IOException if encryption or writing fails
+         */
+        private void encryptDocument(PDDocument document, OutputStream out) throws IOException {
             validate();
 
             logger.info("Starting encryption with {}-bit key", keyLength);
 
+            PostProcessEvent event = new PostProcessEvent("encrypt", 1);
             try {
                 // Create access permissions
                 StandardProtectionPolicy policy = getStandardProtectionPolicy();
@@ -544,11 +633,11 @@ public class PDFEncryptor {
                 document.protect(policy);
 
                 // Save to output stream
-                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                document.save(outputStream);
+                document.save(event.track(out));
+                out.flush();
+                event.complete(document.getNumberOfPages());
 
                 logger.info("Successfully encrypted document");
-                return outputStream;
 
             } catch (IOException e) {
                 logger.error("Failed to encrypt document: {}", e.getMessage(), e);
@@ -86,7 +86,7 @@ import java.util.*;
  * and can no longer be edited. This is useful for creating final, non-editable documents.
  *
  * @author Katrin Kaiser
- * @version 1.0.0
+ * @version 1.0.1
  * @since 0.10.0
  */
 @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
@@ -219,14 +219,8 @@ public class PDFFormFiller {
         @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
         public ByteArrayOutputStream fill(File inputFile) throws IOException {
             Objects.requireNonNull(inputFile, "inputFile must not be null");
-            if (!inputFile.exists()) {
-                throw new IllegalArgumentException("Input file does not exist: " + inputFile.getAbsolutePath());
-            }
-            if (!inputFile.isFile()) {
-                throw new IllegalArgumentException("Input is not a file: " + inputFile.getAbsolutePath());
-            }
 
-            try (PDDocument document = Loader.loadPDF(inputFile)) {
+            try (PDDocument document = Loader.loadPDF(fillInput(inputFile))) {
                 return fillDocument(document);
             }
         }
@@ -355,9 +349,71 @@ public class PDFFormFiller {
             return fill(resourceUrl);
         }
 
+        /**
+         * Fills a PDF form from a file and writes the result to the given OutputStream.
+         * The filled PDF is not buffered in memory; the OutputStream is flushed but not closed.
+         *
+         * @param inputFile the PDF file with form fields; must not be {@code null} and must exist
+         * @param out the target stream for the filled PDF; must not be {@code null}
+         * @throws NullPointerException if inputFile or out is {@code null}
+         * @throws IllegalArgumentException if inputFile does not exist or is not a file, or if the PDF has no form
+         * @throws IOException if an I/O error occurs during form filling or writing
+         */
+        @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+        public void fill(File inputFile, OutputStream out) throws IOException {
+            Objects.requireNonNull(inputFile, "inputFile must not be null");
+            Objects.requireNonNull(out, "out must not be null");
+
+            try (PDDocument document = Loader.loadPDF(fillInput(inputFile))) {
+                fillDocument(document, out);
+            }
+        }
+
+        /**
+         * Fills a PDF form from an InputStream and writes the result to the given OutputStream.
+         * The input stream will be closed after reading; the OutputStream is flushed but not closed.
+         *
+         * @param inputStream the PDF input stream with form fields; must not be {@code null}
+         * @param out the target stream for the filled PDF; must not be {@code null}
+         * @throws NullPointerException if inputStream or out is {@code null}
+         * @throws IllegalArgumentException if the PDF has no form
+         * @throws IOException if an I/O error occurs during form filling or writing
+         */
+        @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+        public void fill(InputStream inputStream, OutputStream out) throws IOException {
+            Objects.requireNonNull(inputStream, "inputStream must not be null");
+            Objects.requireNonNull(out, "out must not be null");
+
+            try (inputStream; PDDocument document = Loader.loadPDF(inputStream.readAllBytes())) {
+                fillDocument(document, out);
+            }
+        }
+
+        /**
+         * Fills a PDF form from a byte array and writes the result to the given OutputStream.
+         * The OutputStream is flushed but not closed.
+         *
+         * @param pdfBytes the PDF content as byte array with form fields; must not be {@code null}
+         * @param out the target stream for the filled PDF; must not be {@code null}
+         * @throws NullPointerException if pdfBytes or out is {@code null}
+         * @throws IllegalArgumentException if the PDF has no form
+         * @throws IOException if an I/O error occurs during form filling or writing
+         */
+        @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+        public void fill(byte[] pdfBytes, OutputStream out) throws IOException {
+            Objects.requireNonNull(pdfBytes, "pdfBytes must not be null");
+            Objects.requireNonNull(out, "out must not be null");
+
+            try (PDDocument document = Loader.loadPDF(pdfBytes)) {
+                fillDocument(document, out);
+            }
+        }
+
         /**
          * Fills a PDF form and writes the result directly to a file.
          * This is a convenience method equivalent to fill() + writing to file.
+         * The output file may be the input file; it is only replaced once the filled
+         * PDF is complete and is left unchanged if filling fails.
          *
          * @param inputFile the PDF file with form fields to fill; must not be {@code null}
          * @param outputFile the target file for the filled PDF; must not be {@code null}
@@ -368,18 +424,34 @@ public class PDFFormFiller {
          */
         @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
         public File fillToFile(File inputFile, File outputFile) throws IOException {
+            Objects.requireNonNull(inputFile, "inputFile must not be null");
             Objects.requireNonNull(outputFile, "outputFile must not be null");
 
-            ByteArrayOutputStream filled = fill(inputFile);
+            fillInput(inputFile);
+            OutputFile.write(outputFile, "filled PDF", out -> {
+                try (PDDocument document = Loader.loadPDF(inputFile)) {
+                    fillDocument(document, out);
+                }
+            });
+            logger.info("Filled PDF written to: {}", outputFile.getAbsolutePath());
+            return outputFile;
+        }
 
-            try (FileOutputStream fos = new FileOutputStream(outputFile)) {
-                filled.writeTo(fos);
-                logger.info("Filled PDF written to: {}", outputFile.getAbsolutePath());
-                return outputFile;
-            } catch (IOException e) {
-                logger.error("Failed to write filled PDF to file: {}", e.getMessage(), e);
-                throw new IOException("Failed to write filled PDF to file: " + e.getMessage(), e);
+        /**
+         * Validates that the input of a file based form filling is an existing file.
+         *
+         * @param inputFile the file to check
+         * @return the checked file
+         * @throws IllegalArgumentException if inputFile does not exist or is not a file
+         */
+        private File fillInput(File inputFile) {
+            if (!inputFile.exists()) {
+                throw new IllegalArgumentException("Input file does not exist: " + inputFile.getAbsolutePath());
+            }
+            if (!inputFile.isFile()) {
+                throw new IllegalArgumentException("Input is not a file: " + inputFile.getAbsolutePath());
             }
+            return inputFile;
         }
 
         /**
@@ -424,6 +496,20 @@ public class PDFFormFiller {
          * @throws IOException if form filling fails
          */
         private ByteArrayOutputStream fillDocument(PDDocument document) throws IOException {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            fillDocument(document, outputStream);
+            return outputStream;
+        }
+
+        /**
+         * Core form filling logic that populates fields in a PDDocument
+         * and writes the result to the given stream.
+         *
+         * @param document the document with form fields to fill
+         * @param out the target stream for the filled PDF
+         * @throws IOException if form filling or writing fails
+         */
+        private void fillDocument(PDDocument document, OutputStream out) throws IOException {
             validate();
 
             PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
@@ -433,6 +519,7 @@ public class PDFFormFiller {
 
             logger.info("Starting form filling with {} fields", fieldValues.size());
 
+            PostProcessEvent event = new PostProcessEvent("fill-form", 1);
             try {
                 // Get all available fields for validation
                 Map<String, PDField> availableFields = new HashMap<>();
@@ -471,10 +558,9 @@ public class PDFFormFiller {
                 }
 
                 // Save to output stream
-                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                document.save(outputStream);
-
-                return outputStream;
+                document.save(event.track(out));
+                out.flush();
+                event.complete(document.getNumberOfPages());
 
             } catch (IOException e) {
                 logger.error("Failed to fill form: {}", e.getMessage(), e);
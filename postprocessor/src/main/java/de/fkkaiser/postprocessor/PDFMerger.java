@@ -45,7 +45,7 @@ import java.util.Objects;
  * }</pre>
  *
  * @author Katrin Kaiser
- * @version 1.0.0
+ * @version 1.0.1
  * @since 0.10.0
  */
 @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
@@ -197,12 +197,31 @@ public class PDFMerger {
          */
         @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
         public ByteArrayOutputStream merge() throws IOException {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            merge(baos);
+            logger.info("Successfully merged PDF documents with size {} bytes.", baos.size());
+            return baos;
+        }
+
+        /**
+         * Merges the added PDF documents and writes the result to the given OutputStream.
+         * The merged PDF is not buffered in memory; the OutputStream is flushed but not closed.
+         * All added documents are closed after merging.
+         *
+         * @param out the target stream for the merged PDF; must not be {@code null}
+         * @throws IOException if an error occurs during the merge process or while writing
+         * @throws IllegalStateException if less than two documents have been added
+         * @throws NullPointerException if out is {@code null}
+         */
+        @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
+        public void merge(OutputStream out) throws IOException {
+            Objects.requireNonNull(out, "Output stream must not be null");
 
             validate();
 
             logger.info("Merging {} PDF documents.", this.documents.size());
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            PostProcessEvent event = new PostProcessEvent("merge", this.documents.size());
             try (PDDocument document = new PDDocument()) {
                 try {
                     PDFMergerUtility merger = new PDFMergerUtility();
@@ -211,9 +230,9 @@ public class PDFMerger {
                         merger.appendDocument(document, doc);
                     }
 
-                    document.save(baos);
-                    logger.info("Successfully merged PDF documents with size {} bytes.", baos.size());
-                    return baos;
+                    document.save(event.track(out));
+                    out.flush();
+                    event.complete(document.getNumberOfPages());
                 } catch (IOException e) {
                     logger.error("Failed to merge documents: {}", e.getMessage());
                     throw new IOException("Failed to merge PDF documents", e);
@@ -231,19 +250,25 @@ public class PDFMerger {
             }
         }
 
+        /**
+         * Merges the added PDF documents and writes the result to the specified file.
+         * The file may be one of the added documents; it is only replaced once the merged
+         * PDF is complete and is left unchanged if merging fails.
+         * @param outputFile the file where the merged PDF should be saved
+         * @return the output file
+         * @throws IOException if an error occurs during the merge or file writing process
+         * @throws IllegalStateException if less than two documents have been added
+         * @throws NullPointerException if the outputFile is null
+         */
+        @PublicAPI(status = PublicAPI.Status.EXPERIMENTAL)
         public File mergeToFile(File outputFile) throws IOException {
             Objects.requireNonNull(outputFile, "Output file must not be null");
 
-            ByteArrayOutputStream baos = this.merge();
+            validate();
 
-            try (FileOutputStream fos = new FileOutputStream(outputFile)) {
-                baos.writeTo(fos);
-                logger.info("Successfully wrote merged PDF to file: {}", outputFile.getAbsolutePath());
-                return outputFile;
-            } catch (IOException e) {
-                logger.error("Failed to write merged PDF to file: {}", e.getMessage());
-                throw new IOException("Failed to write merged PDF to file", e);
-            }
+            OutputFile.write(outputFile, "merged PDF", this::merge);
+            logger.info("Successfully wrote merged PDF to file: {}", outputFile.getAbsolutePath());
+            return outputFile;
         }
 
         /**
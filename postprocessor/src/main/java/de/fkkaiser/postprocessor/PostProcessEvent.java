@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.postprocessor;
+
+import de.fkkaiser.model.annotation.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * JDK Flight Recorder event for a post-processing operation on a loaded PDF:
+ * encrypting, filling a form or merging documents.
+ * The output is only wrapped for counting bytes while the event is enabled.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@Internal
+@Name("de.fkkaiser.PostProcess")
+@Label("PDF Post-Processing")
+@Category({"JAccessPDF", "Post-Processing"})
+@Description("Encrypting, form filling or merging PDF documents")
+@StackTrace(false)
+final class PostProcessEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    @Description("encrypt, fill-form or merge")
+    String operation;
+
+    @Label("Input Documents")
+    int inputDocuments;
+
+    @Label("Pages")
+    @Description("Pages of the resulting document")
+    int pages;
+
+    @Label("Output Bytes")
+    @DataAmount
+    long outputBytes;
+
+    private transient CountingOutputStream counter;
+
+    /**
+     * Creates and begins an event.
+     *
+     * @param operation      the post-processing operation
+     * @param inputDocuments the number of processed documents
+     */
+    PostProcessEvent(String operation, int inputDocuments) {
+        this.operation = operation;
+        this.inputDocuments = inputDocuments;
+        begin();
+    }
+
+    /**
+     * Wraps the output to count the bytes written, if the event is enabled.
+     *
+     * @param out the target of the PDF
+     * @return the counting stream, or the given stream if the event is disabled
+     */
+    OutputStream track(OutputStream out) {
+        if (!isEnabled()) {
+            return out;
+        }
+        counter = new CountingOutputStream(out);
+        return counter;
+    }
+
+    /**
+     * Commits the event if it is enabled and above its threshold.
+     *
+     * @param pages the number of pages of the resulting document
+     */
+    void complete(int pages) {
+        if (shouldCommit()) {
+            this.pages = pages;
+            this.outputBytes = counter != null ? counter.count : 0;
+            commit();
+        }
+    }
+
+    /**
+     * Counts the bytes written to the wrapped stream.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 module postprocessor {
 
     requires org.slf4j;
+    requires jdk.jfr;
 
     requires org.apache.pdfbox;
     requires api;
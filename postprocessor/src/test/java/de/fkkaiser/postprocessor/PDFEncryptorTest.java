@@ -29,6 +29,7 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -158,6 +159,47 @@ class PDFEncryptorTest {
         }
     }
 
+    @Test
+    void testEncryptToFileInPlace() throws IOException {
+        File result = PDFEncryptor.builder()
+                .withUserPassword(USER_PASSWORD)
+                .encryptToFile(testPdf, testPdf);
+
+        assertEquals(testPdf, result);
+        try (PDDocument doc = Loader.loadPDF(testPdf, USER_PASSWORD)) {
+            assertTrue(doc.isEncrypted());
+            assertEquals(1, doc.getNumberOfPages());
+        }
+        assertArrayEquals(new String[]{testPdf.getName()}, tempDir.toFile().list());
+    }
+
+    @Test
+    void testEncryptToFileFailureKeepsExistingFile() throws IOException {
+        File outputFile = tempDir.resolve("existing.pdf").toFile();
+        Files.writeString(outputFile.toPath(), "previous content");
+
+        assertThrows(IllegalStateException.class, () ->
+                PDFEncryptor.builder()
+                        .encryptToFile(testPdf, outputFile)
+        );
+
+        assertEquals("previous content", Files.readString(outputFile.toPath()));
+        assertEquals(2, tempDir.toFile().list().length, "The temporary file should be deleted");
+    }
+
+    @Test
+    void testEncryptToOutputStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PDFEncryptor.builder()
+                .withUserPassword(USER_PASSWORD)
+                .encrypt(testPdf, out);
+
+        try (PDDocument doc = Loader.loadPDF(out.toByteArray(), USER_PASSWORD)) {
+            assertTrue(doc.isEncrypted());
+        }
+    }
+
     @Test
     void testEncryptFromByteArray() throws IOException {
         byte[] pdfBytes = readPdfAsBytes(testPdf);
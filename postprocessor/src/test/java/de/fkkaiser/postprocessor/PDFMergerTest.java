@@ -116,6 +116,33 @@ class PDFMergerTest {
         }
     }
 
+    @Test
+    void testMergeToFileInPlace() throws IOException {
+        File result = PDFMerger.builder()
+                .addDocument(pdf1)
+                .addDocument(pdf2)
+                .mergeToFile(pdf1);
+
+        assertEquals(pdf1, result);
+        try (PDDocument doc = Loader.loadPDF(pdf1)) {
+            assertEquals(2, doc.getNumberOfPages());
+        }
+    }
+
+    @Test
+    void testMergeToOutputStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PDFMerger.builder()
+                .addDocument(pdf1)
+                .addDocument(pdf2)
+                .merge(out);
+
+        try (PDDocument doc = Loader.loadPDF(out.toByteArray())) {
+            assertEquals(2, doc.getNumberOfPages());
+        }
+    }
+
     @Test
     void testMergeWithLessThanTwoDocuments() {
         IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.processor;
+
+import de.fkkaiser.model.annotation.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for {@link StyleResolverService#resolve(de.fkkaiser.model.structure.Document,
+ * de.fkkaiser.model.style.StyleResolverContext)}.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@Internal
+@Name("de.fkkaiser.StyleResolve")
+@Label("Style Resolution")
+@Category({"JAccessPDF", "Processing"})
+@Description("Resolving the element styles of a document")
+@StackTrace(false)
+final class StyleResolveEvent extends jdk.jfr.Event {
+
+    @Label("Document Id")
+    @Description("Identity hash of the Document, shared by the events of the render job")
+    String documentId;
+
+    @Label("Page Sequences")
+    int pageSequences;
+
+    @Label("Top-Level Elements")
+    @Description("Elements in the headers, bodies and footers of all page sequences")
+    int topLevelElements;
+}
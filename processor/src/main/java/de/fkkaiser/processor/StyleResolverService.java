@@ -25,6 +25,7 @@ import de.fkkaiser.model.style.StyleSheet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -52,12 +53,44 @@ public final class StyleResolverService {
             log.warn("Document or StyleSheet is null or empty, aborting style resolution.");
             return;
         }
+        resolve(document, createContext(styleSheet));
+    }
+
+    /**
+     * Creates the initial context for resolving documents against the given style sheet.
+     * The context is immutable and can be reused to resolve any number of documents,
+     * so the lookup map of the named element styles is only built once.
+     *
+     * @param styleSheet The style sheet containing element styles for resolution.
+     * @return The initial context, or {@code null} if the style sheet has no element styles.
+     */
+    public static StyleResolverContext createContext(StyleSheet styleSheet) {
+        if (styleSheet == null || styleSheet.elementStyles() == null) {
+            return null;
+        }
+
+        // Not Map.copyOf: elements without a style class look up null keys
+        Map<String, ElementStyle> styleMap = Collections.unmodifiableMap(styleSheet.elementStyles().stream()
+                .collect(Collectors.toMap(ElementStyle::name, Function.identity())));
+
+        // Initial parent style is null
+        return new StyleResolverContext(styleSheet, styleMap, null);
+    }
 
-        Map<String, ElementStyle> styleMap = styleSheet.elementStyles().stream()
-                .collect(Collectors.toMap(ElementStyle::name, Function.identity()));
+    /**
+     * Resolves the styles for all elements in the given document using a prepared context.
+     *
+     * @param document       The document to resolve styles for.
+     * @param initialContext The context created by {@link #createContext(StyleSheet)}.
+     */
+    public static void resolve(Document document, StyleResolverContext initialContext) {
+        if (document == null || initialContext == null) {
+            log.warn("Document or StyleResolverContext is null, aborting style resolution.");
+            return;
+        }
 
-        // Create the initial context. Initial parent style is null
-        StyleResolverContext initialContext = new StyleResolverContext(styleSheet,styleMap, null);
+        StyleResolveEvent event = new StyleResolveEvent();
+        event.begin();
 
         // Start the recursive process for all elements at the top level.
         if (document.pageSequences() != null) {
@@ -72,6 +105,22 @@ public final class StyleResolverService {
         }else {
             log.warn("Document contains no page sequences, nothing to resolve.");
         }
+
+        if (event.shouldCommit()) {
+            event.documentId = Integer.toHexString(System.identityHashCode(document));
+            if (document.pageSequences() != null) {
+                event.pageSequences = document.pageSequences().size();
+                for (PageSequence sequence : document.pageSequences()) {
+                    event.topLevelElements += countElements(sequence.header())
+                            + countElements(sequence.body()) + countElements(sequence.footer());
+                }
+            }
+            event.commit();
+        }
+    }
+
+    private static int countElements(ContentArea area) {
+        return area != null && area.elements() != null ? area.elements().size() : 0;
     }
 
     /**
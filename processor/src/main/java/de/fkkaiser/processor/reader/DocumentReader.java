@@ -50,9 +50,13 @@ public final class DocumentReader {
      * @throws JsonReadException if there is an issue reading or parsing the JSON data
      */
     public Document readJson(InputStream inputStream) throws JsonReadException {
+        JsonReadEvent event = new JsonReadEvent("structure");
         try {
             log.debug("Reading font document from stream...");
-            return objectMapper.readValue(inputStream, Document.class);
+            Document document = objectMapper.readValue(event.track(inputStream), Document.class);
+            event.complete(document != null && document.pageSequences() != null
+                    ? document.pageSequences().size() : 0, document);
+            return document;
 
         } catch (IOException io) {
             log.error("Not able to read structure json, {}", io.getMessage());
@@ -46,9 +46,10 @@ public final class FontFamilyListReader {
     public FontFamilyList readJson(InputStream inputStream) throws JsonReadException {
         Objects.requireNonNull(inputStream, "inputStream is null");
 
+        JsonReadEvent event = new JsonReadEvent("font-family-list");
         try {
             log.debug("Reading font family list from stream...");
-            FontFamilyList list = objectMapper.readValue(inputStream, FontFamilyList.class);
+            FontFamilyList list = objectMapper.readValue(event.track(inputStream), FontFamilyList.class);
             Objects.requireNonNull(list, "FontFamilyList-Object in inputStream is null");
             Objects.requireNonNull(list.getFontFamilyList(), "FontFamilyList in inputStream is null");
 
@@ -57,6 +58,7 @@ public final class FontFamilyListReader {
                 throw new JsonReadException("Empty font family list.");
             }
             log.info("Successfully read {} font families.", list.getFontFamilyList().size());
+            event.complete(list.getFontFamilyList().size(), null);
             return list;
         } catch (IOException io) {
             log.error("Failed to read font families from stream.", io);
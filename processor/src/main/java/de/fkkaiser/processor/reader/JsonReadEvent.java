@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Katrin Kaiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fkkaiser.processor.reader;
+
+import de.fkkaiser.model.annotation.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * JDK Flight Recorder event for reading a JSON input into model objects.
+ * The input stream is only wrapped for counting bytes while the event is enabled.
+ *
+ * @author Katrin Kaiser
+ * @version 1.0.0
+ */
+@Internal
+@Name("de.fkkaiser.JsonRead")
+@Label("JSON Read")
+@Category({"JAccessPDF", "Input"})
+@Description("Reading a structure, style sheet or font family list JSON")
+@StackTrace(false)
+final class JsonReadEvent extends jdk.jfr.Event {
+
+    @Label("Input")
+    @Description("The kind of JSON read: structure, style-sheet or font-family-list")
+    String input;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Entries")
+    @Description("Page sequences, text styles or font families read")
+    int entries;
+
+    @Label("Document Id")
+    @Description("Identity hash of the read Document, shared by the later events of the render job")
+    String documentId;
+
+    private transient CountingInputStream counter;
+
+    /**
+     * Creates and begins an event.
+     *
+     * @param input the kind of JSON read
+     */
+    JsonReadEvent(String input) {
+        this.input = input;
+        begin();
+    }
+
+    /**
+     * Wraps the input to count the bytes read, if the event is enabled.
+     *
+     * @param in the JSON input
+     * @return the counting stream, or the given stream if the event is disabled
+     */
+    InputStream track(InputStream in) {
+        if (!isEnabled()) {
+            return in;
+        }
+        counter = new CountingInputStream(in);
+        return counter;
+    }
+
+    /**
+     * Commits the event if it is enabled and above its threshold.
+     *
+     * @param entries  the number of top-level entries read
+     * @param document the read document, or {@code null} for other inputs
+     */
+    void complete(int entries, Object document) {
+        if (shouldCommit()) {
+            this.entries = entries;
+            this.bytes = counter != null ? counter.count : 0;
+            this.documentId = document != null ? Integer.toHexString(System.identityHashCode(document)) : null;
+            commit();
+        }
+    }
+
+    /**
+     * Counts the bytes read from the wrapped stream.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
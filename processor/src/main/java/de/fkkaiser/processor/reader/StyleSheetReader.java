@@ -54,9 +54,10 @@ public final class StyleSheetReader {
      */
     public StyleSheet readJson(InputStream inputStream) throws JsonReadException {
         Objects.requireNonNull(inputStream, "inputStream is null");
+        JsonReadEvent event = new JsonReadEvent("style-sheet");
         try {
             log.debug("Reading stylesheet...");
-            StyleSheet styleSheet = objectMapper.readValue(inputStream, StyleSheet.class);
+            StyleSheet styleSheet = objectMapper.readValue(event.track(inputStream), StyleSheet.class);
             Objects.requireNonNull(styleSheet, "StyleSheet-Object in inputStream is null");
             Objects.requireNonNull(styleSheet.textStyles(), "textStyles in inputStream is null");
             if (styleSheet.textStyles().isEmpty()) {
@@ -64,6 +65,7 @@ public final class StyleSheetReader {
                 throw new JsonReadException("Stylesheet has no text styles.");
             }
 
+            event.complete(styleSheet.textStyles().size(), null);
             return styleSheet;
 
         } catch (IOException io) {
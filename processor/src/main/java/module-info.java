@@ -18,6 +18,7 @@ module processor {
     exports de.fkkaiser.processor;
     requires com.fasterxml.jackson.databind;
     requires com.fasterxml.jackson.datatype.jsr310;
+    requires jdk.jfr;
     requires model;
     requires org.slf4j;
 }
\ No newline at end of file
@@ -17,7 +17,7 @@ package de.fkkaiser.processor;
 
 import de.fkkaiser.model.structure.ContentArea;
 import de.fkkaiser.model.structure.Document;
-import de.fkkaiser.model.structure.Element;
+import de.fkkaiser.model.structure.ExtensionElement;
 import de.fkkaiser.model.structure.PageSequence;
 import de.fkkaiser.model.style.StyleResolverContext;
 import de.fkkaiser.model.style.StyleSheet;
@@ -48,7 +48,7 @@ class StyleResolverServiceTest {
     @Mock
     private ContentArea mockHeader, mockBody, mockFooter;
     @Mock
-    private Element mockElementHeader, mockElementBody, mockElementFooter;
+    private ExtensionElement mockElementHeader, mockElementBody, mockElementFooter;
 
     @Test
     @DisplayName("should call resolveStyles on all elements in the document")